@@ -0,0 +1,5 @@
+#!/bin/bash
+# Разрешает потоковую репликацию для реплики из профиля replica.
+# Скрипт выполняется только при инициализации пустого тома основной БД.
+set -e
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
@@ -0,0 +1,56 @@
+package naumen.project.bulkhead;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ограничитель одновременного выполнения с очередью ограниченной длины.
+ * Если свободного места нет, вызывающий ждет в очереди не дольше заданного времени,
+ * а при переполненной очереди получает отказ сразу.
+ */
+public class Bulkhead {
+
+    private final Semaphore permits;
+    private final int maxQueue;
+    private final Duration queueTimeout;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    public Bulkhead(int maxConcurrent, int maxQueue, Duration queueTimeout) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxQueue = maxQueue;
+        this.queueTimeout = queueTimeout;
+    }
+
+    /**
+     * Пытается занять место, при необходимости ожидая в очереди
+     *
+     * @return true, если место занято и после выполнения его нужно освободить через {@link #release()}
+     */
+    public boolean tryAcquire() {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+
+        if (queued.incrementAndGet() > maxQueue) {
+            queued.decrementAndGet();
+            return false;
+        }
+        try {
+            return permits.tryAcquire(queueTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    /**
+     * Освобождает занятое место
+     */
+    public void release() {
+        permits.release();
+    }
+}
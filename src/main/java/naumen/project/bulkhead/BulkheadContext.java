@@ -0,0 +1,28 @@
+package naumen.project.bulkhead;
+
+/**
+ * Группа API, к которой относится запрос, обрабатываемый текущим потоком.
+ * Выставляется {@link BulkheadFilter} на время обработки запроса.
+ */
+public final class BulkheadContext {
+
+    private static final ThreadLocal<String> CURRENT_GROUP = new ThreadLocal<>();
+
+    private BulkheadContext() {
+    }
+
+    /**
+     * Название группы текущего запроса, null вне запроса или если запрос не относится ни к одной группе
+     */
+    public static String getCurrentGroup() {
+        return CURRENT_GROUP.get();
+    }
+
+    static void setCurrentGroup(String group) {
+        CURRENT_GROUP.set(group);
+    }
+
+    static void clear() {
+        CURRENT_GROUP.remove();
+    }
+}
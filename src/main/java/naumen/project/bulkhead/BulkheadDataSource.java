@@ -0,0 +1,45 @@
+package naumen.project.bulkhead;
+
+import naumen.project.config.props.BulkheadProps;
+import naumen.project.datasource.ConcurrencyLimitingDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Источник данных, ограничивающий количество соединений с БД для каждой группы API.
+ * Группа берется из {@link BulkheadContext}, запросы вне групп и фоновые задачи не ограничиваются.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+    private final Map<String, DataSource> groupDataSources = new HashMap<>();
+
+    public BulkheadDataSource(DataSource targetDataSource, BulkheadProps bulkheadProps) {
+        super(targetDataSource);
+        bulkheadProps.getGroups().forEach((name, group) -> {
+            if (group.getMaxConnections() > 0) {
+                groupDataSources.put(name, new ConcurrencyLimitingDataSource(targetDataSource,
+                        group.getMaxConnections(), group.getMaxConcurrent(), group.getConnectionTimeout()));
+            }
+        });
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return currentDataSource().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return currentDataSource().getConnection(username, password);
+    }
+
+    private DataSource currentDataSource() {
+        String group = BulkheadContext.getCurrentGroup();
+        return group == null ? obtainTargetDataSource() : groupDataSources.getOrDefault(group, obtainTargetDataSource());
+    }
+}
@@ -0,0 +1,67 @@
+package naumen.project.bulkhead;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import naumen.project.exception.handler.ErrorResponseWriter;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Фильтр изоляции групп API. Ограничивает количество одновременно обрабатываемых запросов каждой группы,
+ * лишние запросы ждут в очереди группы, а при переполненной очереди или истекшем ожидании получают 503.
+ * Стоит перед цепочкой Spring Security, чтобы отклоненный запрос не успел загрузить пользователя из БД.
+ *
+ * @see BulkheadRegistry
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 10)
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final BulkheadRegistry bulkheadRegistry;
+    private final ErrorResponseWriter errorResponseWriter;
+
+    public BulkheadFilter(BulkheadRegistry bulkheadRegistry, ErrorResponseWriter errorResponseWriter) {
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.errorResponseWriter = errorResponseWriter;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        Optional<BulkheadRegistry.Group> group = bulkheadRegistry.resolve(request);
+        if (group.isEmpty()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Bulkhead bulkhead = group.get().bulkhead();
+        if (!bulkhead.tryAcquire()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            errorResponseWriter.write(request, response, HttpStatus.SERVICE_UNAVAILABLE,
+                    "Сервис перегружен, повторите запрос позже");
+            return;
+        }
+
+        BulkheadContext.setCurrentGroup(group.get().name());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            BulkheadContext.clear();
+            bulkhead.release();
+        }
+    }
+}
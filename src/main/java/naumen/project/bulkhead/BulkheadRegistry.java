@@ -0,0 +1,59 @@
+package naumen.project.bulkhead;
+
+import jakarta.servlet.http.HttpServletRequest;
+import naumen.project.config.props.BulkheadProps;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Реестр групп API с их ограничителями запросов.
+ * Группа запроса определяется по пути, поэтому до аутентификации и обращения к БД.
+ *
+ * @see BulkheadProps
+ */
+@Component
+public class BulkheadRegistry {
+
+    private final List<Group> groups;
+
+    public BulkheadRegistry(BulkheadProps bulkheadProps) {
+        this.groups = bulkheadProps.getGroups().entrySet().stream()
+                .map(entry -> new Group(
+                        entry.getKey(),
+                        entry.getValue().getPaths().stream()
+                                .map(PathPatternParser.defaultInstance::parse)
+                                .toList(),
+                        new Bulkhead(entry.getValue().getMaxConcurrent(), entry.getValue().getMaxQueue(),
+                                entry.getValue().getQueueTimeout())))
+                .toList();
+    }
+
+    /**
+     * Находит группу, к которой относится запрос
+     *
+     * @param request HTTP запрос
+     * @return группа, пустая если запрос не относится ни к одной группе
+     */
+    public Optional<Group> resolve(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(
+                request.getRequestURI().substring(request.getContextPath().length()));
+        return groups.stream()
+                .filter(group -> group.paths().stream().anyMatch(pattern -> pattern.matches(path)))
+                .findFirst();
+    }
+
+    /**
+     * Группа API
+     *
+     * @param name     название группы
+     * @param paths    шаблоны путей запросов группы
+     * @param bulkhead ограничитель одновременных запросов группы
+     */
+    public record Group(String name, List<PathPattern> paths, Bulkhead bulkhead) {
+    }
+}
@@ -0,0 +1,106 @@
+package naumen.project.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import naumen.project.deadline.RequestDeadline;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Объединение одновременных одинаковых вызовов: пока загрузка по ключу выполняется,
+ * остальные вызовы с тем же ключом ждут ее и получают тот же результат.
+ * Результат не кэшируется: после завершения загрузки следующий вызов снова идет в источник.
+ * Результат достается нескольким потокам, поэтому он должен быть неизменяемым и не привязанным
+ * к контексту персистентности загрузившего потока - например, DTO, а не сущностью.
+ * <p>
+ * Ожидающий вызов ждет не дольше оставшегося времени на обработку своего запроса ({@link RequestDeadline})
+ * и по его истечении получает {@link QueryTimeoutException}. Ошибка чужой загрузки ожидающим не передается:
+ * она могла быть вызвана ограничениями загрузившего запроса (временем на обработку, лимитом соединений),
+ * поэтому ожидающий вызов выполняет загрузку сам.
+ * <p>
+ * Метрики: {@code singleflight.calls} с тегами {@code name} и {@code outcome} (loaded - вызов выполнил загрузку,
+ * coalesced - получил результат чужой загрузки) и {@code singleflight.in_flight} - число выполняющихся загрузок.
+ * Доля объединенных вызовов - coalesced / (loaded + coalesced).
+ *
+ * @param <K> тип ключа
+ * @param <V> тип результата
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter loaded;
+    private final Counter coalesced;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.loaded = Counter.builder("singleflight.calls")
+                .tag("name", name)
+                .tag("outcome", "loaded")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("singleflight.calls")
+                .tag("name", name)
+                .tag("outcome", "coalesced")
+                .register(meterRegistry);
+        Gauge.builder("singleflight.in_flight", inFlight, Map::size)
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Выполняет загрузку по ключу или присоединяется к уже выполняющейся
+     *
+     * @param key    ключ загрузки
+     * @param loader загрузка, выполняется в вызывающем потоке
+     * @return результат загрузки
+     * @throws QueryTimeoutException если время на обработку запроса истекло во время ожидания чужой загрузки
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing, loader);
+        }
+
+        loaded.increment();
+        try {
+            V value = loader.get();
+            created.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    /**
+     * Ожидает чужую загрузку в пределах времени на обработку запроса.
+     * Если чужая загрузка завершилась ошибкой, выполняет загрузку сам
+     */
+    private V await(CompletableFuture<V> future, Supplier<V> loader) {
+        Optional<Duration> remaining = RequestDeadline.remaining();
+        try {
+            return remaining.isPresent()
+                    ? future.get(Math.max(0, remaining.get().toNanos()), TimeUnit.NANOSECONDS)
+                    : future.get();
+        } catch (TimeoutException e) {
+            throw new QueryTimeoutException("Время на обработку запроса истекло");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryTimeoutException("Ожидание загрузки прервано", e);
+        } catch (ExecutionException e) {
+            return loader.get();
+        }
+    }
+}
@@ -1,6 +1,19 @@
 package naumen.project.config;
 
 import naumen.project.auth.AuthProps;
+import naumen.project.config.props.AdaptiveLimitProps;
+import naumen.project.config.props.BulkheadProps;
+import naumen.project.config.props.DataSourceProps;
+import naumen.project.config.props.DeadlineProps;
+import naumen.project.config.props.IdempotencyProps;
+import naumen.project.config.props.KitchenProps;
+import naumen.project.config.props.MenuImageProps;
+import naumen.project.config.props.MenuImportProps;
+import naumen.project.config.props.OrderArchiveProps;
+import naumen.project.config.props.OrderMetricsProps;
+import naumen.project.config.props.OrderStreamProps;
+import naumen.project.config.props.OrderSweepProps;
+import naumen.project.config.props.ScheduledOrderProps;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -8,7 +21,22 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 /**
  * Общие настройки приложения
  */
-@EnableConfigurationProperties({AuthProps.class})
+@EnableConfigurationProperties({
+        AuthProps.class,
+        MenuImportProps.class,
+        MenuImageProps.class,
+        DataSourceProps.class,
+        BulkheadProps.class,
+        AdaptiveLimitProps.class,
+        DeadlineProps.class,
+        IdempotencyProps.class,
+        KitchenProps.class,
+        OrderStreamProps.class,
+        OrderMetricsProps.class,
+        OrderSweepProps.class,
+        ScheduledOrderProps.class,
+        OrderArchiveProps.class
+})
 @EnableScheduling
 @Configuration
 public class AppConfig {
@@ -0,0 +1,108 @@
+package naumen.project.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import naumen.project.bulkhead.BulkheadDataSource;
+import naumen.project.config.props.BulkheadProps;
+import naumen.project.config.props.DataSourceProps;
+import naumen.project.datasource.ConcurrencyLimitingDataSource;
+import naumen.project.datasource.ReadYourWritesTracker;
+import naumen.project.datasource.ReplicaDataSources;
+import naumen.project.datasource.ReplicaRoutingDataSource;
+import naumen.project.deadline.DeadlineDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Настройки источника данных.
+ * Пул оборачивается в {@link LazyConnectionDataSourceProxy}: транзакция берет соединение из пула
+ * только при первом запросе к БД, а не при своем начале. Так транзакции, которые до БД не доходят
+ * или сначала выполняют работу вне БД, не занимают соединение.
+ * Между ленивым прокси и пулами стоит {@link ConcurrencyLimitingDataSource}, если лимит задан,
+ * а при настроенных репликах - {@link ReplicaRoutingDataSource}.
+ * Сразу под ленивым прокси {@link DeadlineDataSource} ограничивает запросы временем на обработку HTTP запроса,
+ * а {@link BulkheadDataSource} - соединения каждой группы API. Сумма лимитов соединений групп должна
+ * оставлять в пуле запас для фоновых задач и запросов вне групп, иначе при старте пишется предупреждение.
+ *
+ * @see DataSourceProps
+ */
+@Configuration
+public class DataSourceConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourceConfig.class);
+
+    /**
+     * Оборачивает источник данных приложения в ограничители, маршрутизатор реплик и ленивый прокси.
+     * Метод статический, чтобы постпроцессор создавался раньше остальных бинов конфигурации.
+     *
+     * @param dataSourceProps       настройки источников данных
+     * @param replicaDataSources    пулы соединений реплик
+     * @param readYourWritesTracker отслеживание записей пользователей
+     * @param bulkheadProps         настройки групп API
+     * @return постпроцессор источника данных
+     */
+    @Bean
+    public static BeanPostProcessor lazyConnectionDataSourcePostProcessor(
+            ObjectProvider<DataSourceProps> dataSourceProps,
+            ObjectProvider<ReplicaDataSources> replicaDataSources,
+            ObjectProvider<ReadYourWritesTracker> readYourWritesTracker,
+            ObjectProvider<BulkheadProps> bulkheadProps) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof LazyConnectionDataSourceProxy) {
+                    return bean;
+                }
+
+                if (dataSource instanceof HikariDataSource hikari) {
+                    checkBulkheadConnections(bulkheadProps.getObject(), hikari.getMaximumPoolSize());
+                }
+
+                DataSourceProps props = dataSourceProps.getObject();
+                DataSource target = limited(dataSource, props);
+                if (!props.getReplicas().isEmpty()) {
+                    ReplicaDataSources replicas = replicaDataSources.getObject();
+                    Map<String, DataSource> limitedReplicas = new HashMap<>();
+                    replicas.getDataSources().forEach((name, replica) ->
+                            limitedReplicas.put(name, limited(replica, props)));
+                    target = new ReplicaRoutingDataSource(
+                            target, limitedReplicas, replicas, readYourWritesTracker.getObject());
+                }
+                return new LazyConnectionDataSourceProxy(
+                        new DeadlineDataSource(new BulkheadDataSource(target, bulkheadProps.getObject())));
+            }
+        };
+    }
+
+    /**
+     * Предупреждает, если лимиты соединений групп API не оставляют в пуле места для фоновых задач
+     */
+    private static void checkBulkheadConnections(BulkheadProps bulkheadProps, int poolSize) {
+        int reserved = bulkheadProps.getGroups().values().stream()
+                .mapToInt(BulkheadProps.Group::getMaxConnections)
+                .sum();
+        if (reserved >= poolSize) {
+            log.warn("Сумма лимитов соединений групп API ({}) не меньше размера пула ({}): "
+                    + "фоновым задачам и запросам вне групп может не хватить соединений", reserved, poolSize);
+        }
+    }
+
+    /**
+     * Ограничивает количество одновременных соединений пула, если лимит задан
+     */
+    private static DataSource limited(DataSource dataSource, DataSourceProps props) {
+        if (props.getMaxConcurrency() <= 0) {
+            return dataSource;
+        }
+        return new ConcurrencyLimitingDataSource(dataSource, props.getMaxConcurrency(),
+                props.getMaxWaiting(), props.getAcquireTimeout());
+    }
+}
@@ -0,0 +1,41 @@
+package naumen.project.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Table;
+import jakarta.persistence.metamodel.EntityType;
+import naumen.project.entity.IdEntity;
+import naumen.project.repository.IdSequenceJdbcRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Выравнивает последовательность идентификаторов по уже существующим строкам при запуске приложения,
+ * до того как веб-сервер начнет принимать запросы.
+ *
+ * @see IdSequenceJdbcRepository#alignWithExistingIds(List)
+ */
+@Component
+public class IdSequenceInitializer implements SmartInitializingSingleton {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final IdSequenceJdbcRepository idSequenceJdbcRepository;
+
+    public IdSequenceInitializer(EntityManagerFactory entityManagerFactory,
+                                 IdSequenceJdbcRepository idSequenceJdbcRepository) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.idSequenceJdbcRepository = idSequenceJdbcRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<String> tables = entityManagerFactory.getMetamodel().getEntities().stream()
+                .map(EntityType::getJavaType)
+                .filter(IdEntity.class::isAssignableFrom)
+                .map(type -> type.getAnnotation(Table.class).name())
+                .sorted()
+                .toList();
+        idSequenceJdbcRepository.alignWithExistingIds(tables);
+    }
+}
@@ -0,0 +1,56 @@
+package naumen.project.config;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Table;
+import jakarta.persistence.metamodel.EntityType;
+import naumen.project.entity.enums.OrderStatus;
+import naumen.project.repository.EnumCheckJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Приводит ограничения CHECK колонок статуса заказа к текущему списку {@link OrderStatus} при запуске приложения,
+ * после обновления схемы Hibernate и до того как веб-сервер начнет принимать запросы.
+ * Без этого таблицы, созданные до появления нового статуса, отклоняют заказы в этом статусе.
+ *
+ * @see EnumCheckJdbcRepository#replaceCheck(String, String, List)
+ */
+@Component
+public class OrderStatusCheckInitializer implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderStatusCheckInitializer.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final EnumCheckJdbcRepository enumCheckJdbcRepository;
+
+    public OrderStatusCheckInitializer(EntityManagerFactory entityManagerFactory,
+                                       EnumCheckJdbcRepository enumCheckJdbcRepository) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.enumCheckJdbcRepository = enumCheckJdbcRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<String> statuses = Arrays.stream(OrderStatus.values()).map(Enum::name).toList();
+        entityManagerFactory.getMetamodel().getEntities().stream()
+                .map(EntityType::getJavaType)
+                .forEach(type -> Arrays.stream(type.getDeclaredFields())
+                        .filter(field -> field.getType() == OrderStatus.class)
+                        .forEach(field -> replaceCheck(type, field, statuses)));
+    }
+
+    private void replaceCheck(Class<?> type, Field field, List<String> statuses) {
+        String table = type.getAnnotation(Table.class).name();
+        String column = field.getAnnotation(Column.class).name();
+        if (enumCheckJdbcRepository.replaceCheck(table, column, statuses)) {
+            log.info("Ограничение статусов колонки {}.{} обновлено: {}", table, column, statuses);
+        }
+    }
+}
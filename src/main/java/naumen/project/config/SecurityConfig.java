@@ -1,10 +1,13 @@
 package naumen.project.config;
 
+import jakarta.servlet.DispatcherType;
 import naumen.project.auth.JwtFilter;
 import naumen.project.auth.handler.AccessDeniedHandlerImpl;
 import naumen.project.auth.handler.AuthenticationEntryPointImpl;
+import naumen.project.limiter.AdaptiveConcurrencyFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -23,10 +26,14 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     /**
-     * Настройка цепочки фильтров, авторизации запросов
+     * Настройка цепочки фильтров, авторизации запросов.
+     * Адаптивный ограничитель стоит перед JWT фильтром, чтобы отклоненный запрос не загружал пользователя.
+     * Асинхронная диспетчеризация (завершение потоков событий) разрешена: исходный запрос уже прошел проверку.
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtFilter jwtFilter) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   JwtFilter jwtFilter,
+                                                   AdaptiveConcurrencyFilter adaptiveConcurrencyFilter) throws Exception {
         return http
                 .httpBasic(AbstractHttpConfigurer::disable)
                 .csrf(AbstractHttpConfigurer::disable)
@@ -36,12 +43,15 @@ public class SecurityConfig {
                         .accessDeniedHandler(new AccessDeniedHandlerImpl())
                 )
                 .authorizeHttpRequests(authorizeHttpRequests -> authorizeHttpRequests
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
                         .requestMatchers("/api/v1/auth/logout").authenticated()
                         .requestMatchers("/api/v1/auth/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/menu/images/**").permitAll()
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(adaptiveConcurrencyFilter, JwtFilter.class)
                 .build();
     }
 
@@ -0,0 +1,106 @@
+package naumen.project.config.props;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Конфигурационные проперти адаптивного ограничения одновременных запросов.
+ * Лимит подстраивается под наблюдаемое время ответа: растет, пока время ответа стабильно,
+ * и снижается, когда запросы начинают ждать.
+ */
+@ConfigurationProperties(prefix = "app.adaptive-limit")
+public class AdaptiveLimitProps {
+
+    /**
+     * Включено ли ограничение
+     */
+    private boolean enabled = true;
+
+    /**
+     * Начальный лимит одновременных запросов
+     */
+    private int initialLimit = 20;
+
+    /**
+     * Минимальный лимит
+     */
+    private int minLimit = 5;
+
+    /**
+     * Максимальный лимит
+     */
+    private int maxLimit = 500;
+
+    /**
+     * Доля нового значения лимита при сглаживании, от 0 до 1
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * Доля лимита, доступная только приоритетным запросам
+     */
+    private double priorityReserve = 0.2;
+
+    /**
+     * Шаблоны путей, изменяющие запросы к которым приоритетны
+     */
+    private List<String> priorityPaths = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public double getSmoothing() {
+        return smoothing;
+    }
+
+    public void setSmoothing(double smoothing) {
+        this.smoothing = smoothing;
+    }
+
+    public double getPriorityReserve() {
+        return priorityReserve;
+    }
+
+    public void setPriorityReserve(double priorityReserve) {
+        this.priorityReserve = priorityReserve;
+    }
+
+    public List<String> getPriorityPaths() {
+        return priorityPaths;
+    }
+
+    public void setPriorityPaths(List<String> priorityPaths) {
+        this.priorityPaths = priorityPaths;
+    }
+}
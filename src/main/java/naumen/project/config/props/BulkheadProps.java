@@ -0,0 +1,115 @@
+package naumen.project.config.props;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Конфигурационные проперти изоляции групп API (bulkhead).
+ * Каждая группа получает свой лимит одновременных запросов и соединений с БД,
+ * чтобы всплеск запросов одной группы не занимал ресурсы остальных.
+ */
+@ConfigurationProperties(prefix = "app.bulkhead")
+public class BulkheadProps {
+
+    /**
+     * Группы API по названиям. Запрос относится к первой группе, шаблону пути которой он соответствует
+     */
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    public Map<String, Group> getGroups() {
+        return groups;
+    }
+
+    public void setGroups(Map<String, Group> groups) {
+        this.groups = groups;
+    }
+
+    /**
+     * Настройки группы API
+     */
+    public static class Group {
+
+        /**
+         * Шаблоны путей запросов группы
+         */
+        private List<String> paths = new ArrayList<>();
+
+        /**
+         * Максимальное количество одновременно обрабатываемых запросов
+         */
+        private int maxConcurrent = 20;
+
+        /**
+         * Максимальное количество запросов, ожидающих обработки. Остальные сразу получают 503
+         */
+        private int maxQueue = 50;
+
+        /**
+         * Максимальное время ожидания обработки в очереди
+         */
+        private Duration queueTimeout = Duration.ofSeconds(1);
+
+        /**
+         * Максимальное количество одновременно открытых соединений с БД, 0 - без ограничения
+         */
+        private int maxConnections = 0;
+
+        /**
+         * Максимальное время ожидания соединения с БД
+         */
+        private Duration connectionTimeout = Duration.ofSeconds(2);
+
+        public List<String> getPaths() {
+            return paths;
+        }
+
+        public void setPaths(List<String> paths) {
+            this.paths = paths;
+        }
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public int getMaxQueue() {
+            return maxQueue;
+        }
+
+        public void setMaxQueue(int maxQueue) {
+            this.maxQueue = maxQueue;
+        }
+
+        public Duration getQueueTimeout() {
+            return queueTimeout;
+        }
+
+        public void setQueueTimeout(Duration queueTimeout) {
+            this.queueTimeout = queueTimeout;
+        }
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public Duration getConnectionTimeout() {
+            return connectionTimeout;
+        }
+
+        public void setConnectionTimeout(Duration connectionTimeout) {
+            this.connectionTimeout = connectionTimeout;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package naumen.project.config.props;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Конфигурационные проперти источников данных: ограничение одновременных обращений к БД и реплики для чтения.
+ * Ограничение нужно прежде всего на виртуальных потоках: число потоков больше не ограничивает
+ * число одновременных запросов, и без него все запросы разом встают в очередь пула соединений.
+ */
+@ConfigurationProperties(prefix = "app.datasource")
+public class DataSourceProps {
+
+    /**
+     * Максимальное количество одновременно открытых соединений, 0 - без ограничения
+     */
+    private int maxConcurrency = 10;
+
+    /**
+     * Максимальное количество потоков, ожидающих соединения. Остальные сразу получают отказ
+     */
+    private int maxWaiting = 1000;
+
+    /**
+     * Максимальное время ожидания соединения
+     */
+    private Duration acquireTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Реплики, на которые направляются читающие транзакции. Если список пуст, все запросы идут в основную БД
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Максимальное отставание реплики, при котором на нее еще направляются запросы
+     */
+    private Duration replicaMaxLag = Duration.ofSeconds(5);
+
+    /**
+     * Время после записи пользователя, в течение которого его чтения идут в основную БД
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public int getMaxWaiting() {
+        return maxWaiting;
+    }
+
+    public void setMaxWaiting(int maxWaiting) {
+        this.maxWaiting = maxWaiting;
+    }
+
+    public Duration getAcquireTimeout() {
+        return acquireTimeout;
+    }
+
+    public void setAcquireTimeout(Duration acquireTimeout) {
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public void setReplicas(List<Replica> replicas) {
+        this.replicas = replicas;
+    }
+
+    public Duration getReplicaMaxLag() {
+        return replicaMaxLag;
+    }
+
+    public void setReplicaMaxLag(Duration replicaMaxLag) {
+        this.replicaMaxLag = replicaMaxLag;
+    }
+
+    public Duration getReadYourWritesWindow() {
+        return readYourWritesWindow;
+    }
+
+    public void setReadYourWritesWindow(Duration readYourWritesWindow) {
+        this.readYourWritesWindow = readYourWritesWindow;
+    }
+
+    /**
+     * Настройки подключения к реплике
+     */
+    public static class Replica {
+
+        /**
+         * JDBC URL реплики
+         */
+        private String url;
+
+        /**
+         * Имя пользователя, по умолчанию как у основной БД
+         */
+        private String username;
+
+        /**
+         * Пароль, по умолчанию как у основной БД
+         */
+        private String password;
+
+        /**
+         * Максимальный размер пула соединений реплики
+         */
+        private int maxPoolSize = 10;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public int getMaxPoolSize() {
+            return maxPoolSize;
+        }
+
+        public void setMaxPoolSize(int maxPoolSize) {
+            this.maxPoolSize = maxPoolSize;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package naumen.project.config.props;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Конфигурационные проперти времени на обработку запроса.
+ * Клиент может сократить время заголовком, но не увеличить его сверх значения для эндпоинта.
+ */
+@ConfigurationProperties(prefix = "app.deadline")
+public class DeadlineProps {
+
+    /**
+     * Время на обработку запроса по умолчанию
+     */
+    private Duration defaultTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Время на обработку запросов к отдельным эндпоинтам. Берется первое совпадение по шаблону пути
+     */
+    private List<Endpoint> endpoints = new ArrayList<>();
+
+    public Duration getDefaultTimeout() {
+        return defaultTimeout;
+    }
+
+    public void setDefaultTimeout(Duration defaultTimeout) {
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(List<Endpoint> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    /**
+     * Время на обработку запросов к эндпоинту
+     */
+    public static class Endpoint {
+
+        /**
+         * Шаблон пути запроса
+         */
+        private String path;
+
+        /**
+         * Время на обработку запроса
+         */
+        private Duration timeout;
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+}
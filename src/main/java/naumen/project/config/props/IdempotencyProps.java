@@ -0,0 +1,86 @@
+package naumen.project.config.props;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Конфигурационные проперти обработки заголовка Idempotency-Key
+ */
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProps {
+
+    /**
+     * Срок хранения ответа на запрос с ключом идемпотентности
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Срок блокировки ключа на время обработки запроса. Если обработка прервалась,
+     * например из-за падения приложения, по истечении срока запрос можно повторить
+     */
+    private Duration lockTimeout = Duration.ofMinutes(1);
+
+    /**
+     * Эндпоинты, поддерживающие ключ идемпотентности
+     */
+    private List<Endpoint> endpoints = new ArrayList<>();
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public Duration getLockTimeout() {
+        return lockTimeout;
+    }
+
+    public void setLockTimeout(Duration lockTimeout) {
+        this.lockTimeout = lockTimeout;
+    }
+
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(List<Endpoint> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    /**
+     * Эндпоинт, поддерживающий ключ идемпотентности
+     */
+    public static class Endpoint {
+
+        /**
+         * HTTP метод запроса
+         */
+        private String method;
+
+        /**
+         * Шаблон пути запроса
+         */
+        private String path;
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+    }
+}
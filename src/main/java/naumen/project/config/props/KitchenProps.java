@@ -0,0 +1,64 @@
+package naumen.project.config.props;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Конфигурационные проперти ограничения очереди заказов на кухне ресторана.
+ * В очереди кухни находятся заказы в статусах CREATED и ACCEPTED.
+ */
+@ConfigurationProperties(prefix = "app.kitchen")
+public class KitchenProps {
+
+    /**
+     * Максимальное количество заказов в очереди кухни ресторана, 0 - без ограничения
+     */
+    private int defaultCapacity = 100;
+
+    /**
+     * Максимальное количество заказов в очереди кухни для отдельных ресторанов по их идентификатору
+     */
+    private Map<Long, Integer> capacities = new HashMap<>();
+
+    /**
+     * Через сколько клиенту предлагается повторить заказ в перегруженный ресторан
+     */
+    private Duration retryAfter = Duration.ofSeconds(60);
+
+    public int getDefaultCapacity() {
+        return defaultCapacity;
+    }
+
+    public void setDefaultCapacity(int defaultCapacity) {
+        this.defaultCapacity = defaultCapacity;
+    }
+
+    public Map<Long, Integer> getCapacities() {
+        return capacities;
+    }
+
+    public void setCapacities(Map<Long, Integer> capacities) {
+        this.capacities = capacities;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    public void setRetryAfter(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Максимальное количество заказов в очереди кухни ресторана
+     *
+     * @param restaurantId идентификатор ресторана
+     * @return ограничение, 0 - без ограничения
+     */
+    public int capacityOf(Long restaurantId) {
+        return capacities.getOrDefault(restaurantId, defaultCapacity);
+    }
+}
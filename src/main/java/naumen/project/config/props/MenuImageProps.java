@@ -0,0 +1,138 @@
+package naumen.project.config.props;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Конфигурационные проперти хранилища изображений позиций меню
+ */
+@ConfigurationProperties(prefix = "app.menu.image")
+public class MenuImageProps {
+
+    /**
+     * Каталог на локальной файловой системе, в котором хранятся изображения
+     */
+    private Path storageDir = Path.of("data", "images");
+
+    /**
+     * Максимальный размер одного изображения
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(5);
+
+    /**
+     * Настройки генерации уменьшенных вариантов изображений
+     */
+    private Variants variants = new Variants();
+
+    public Path getStorageDir() {
+        return storageDir;
+    }
+
+    public void setStorageDir(Path storageDir) {
+        this.storageDir = storageDir;
+    }
+
+    public DataSize getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(DataSize maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Variants getVariants() {
+        return variants;
+    }
+
+    public void setVariants(Variants variants) {
+        this.variants = variants;
+    }
+
+    /**
+     * Настройки генерации уменьшенных вариантов изображений
+     */
+    public static class Variants {
+
+        /**
+         * Каталог дискового кэша вариантов
+         */
+        private Path cacheDir = Path.of("data", "image-variants");
+
+        /**
+         * Максимальный суммарный размер кэша вариантов, при превышении удаляются давно не запрошенные
+         */
+        private DataSize cacheMaxSize = DataSize.ofGigabytes(1);
+
+        /**
+         * Через сколько после исключения из кэша удаляется файл варианта.
+         * За это время ответы, уже получившие путь к варианту, успевают открыть файл
+         */
+        private Duration evictionDelay = Duration.ofMinutes(1);
+
+        /**
+         * Количество потоков генерации вариантов
+         */
+        private int workers = 2;
+
+        /**
+         * Максимальное количество ожидающих задач генерации, задачи сверх лимита отбрасываются
+         */
+        private int queueCapacity = 200;
+
+        /**
+         * Максимальное количество пикселей исходного изображения, для которого генерируются варианты
+         */
+        private long maxPixels = 40_000_000;
+
+        public Path getCacheDir() {
+            return cacheDir;
+        }
+
+        public void setCacheDir(Path cacheDir) {
+            this.cacheDir = cacheDir;
+        }
+
+        public DataSize getCacheMaxSize() {
+            return cacheMaxSize;
+        }
+
+        public void setCacheMaxSize(DataSize cacheMaxSize) {
+            this.cacheMaxSize = cacheMaxSize;
+        }
+
+        public Duration getEvictionDelay() {
+            return evictionDelay;
+        }
+
+        public void setEvictionDelay(Duration evictionDelay) {
+            this.evictionDelay = evictionDelay;
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public long getMaxPixels() {
+            return maxPixels;
+        }
+
+        public void setMaxPixels(long maxPixels) {
+            this.maxPixels = maxPixels;
+        }
+    }
+}
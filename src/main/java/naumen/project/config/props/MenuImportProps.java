@@ -0,0 +1,49 @@
+package naumen.project.config.props;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Конфигурационные проперти массового импорта меню
+ */
+@ConfigurationProperties(prefix = "app.menu.import")
+public class MenuImportProps {
+
+    /**
+     * Количество строк, которые вставляются в БД одним JDBC батчем
+     */
+    private int batchSize = 500;
+
+    /**
+     * Максимальное количество строк в одном импорте
+     */
+    private int maxRows = 10000;
+
+    /**
+     * Максимальное количество ошибок, которое возвращается в ответе
+     */
+    private int maxErrors = 100;
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    public void setMaxRows(int maxRows) {
+        this.maxRows = maxRows;
+    }
+
+    public int getMaxErrors() {
+        return maxErrors;
+    }
+
+    public void setMaxErrors(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+}
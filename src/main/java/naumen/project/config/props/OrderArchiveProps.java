@@ -0,0 +1,51 @@
+package naumen.project.config.props;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Конфигурационные проперти переноса завершенных, удаленных и отмененных заказов в архив
+ */
+@ConfigurationProperties(prefix = "app.order-archive")
+public class OrderArchiveProps {
+
+    /**
+     * Через сколько после перехода в конечный статус заказ переносится в архив
+     */
+    private Duration age = Duration.ofDays(30);
+
+    /**
+     * Максимальное количество заказов, переносимых одним запросом в одной транзакции
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Максимальное количество пачек за один запуск, остальные заказы перенесутся при следующем
+     */
+    private int maxBatches = 100;
+
+    public Duration getAge() {
+        return age;
+    }
+
+    public void setAge(Duration age) {
+        this.age = age;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxBatches() {
+        return maxBatches;
+    }
+
+    public void setMaxBatches(int maxBatches) {
+        this.maxBatches = maxBatches;
+    }
+}
@@ -0,0 +1,25 @@
+package naumen.project.config.props;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Конфигурационные проперти метрик времени прохождения заказами статусов
+ */
+@ConfigurationProperties(prefix = "app.order-metrics")
+public class OrderMetricsProps {
+
+    /**
+     * Период, за который гистограммы восстанавливаются из журнала переходов при перестроении
+     */
+    private Duration window = Duration.ofHours(24);
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+}
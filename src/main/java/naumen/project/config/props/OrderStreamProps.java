@@ -0,0 +1,39 @@
+package naumen.project.config.props;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Конфигурационные проперти потоков событий заказов (Server-Sent Events)
+ */
+@ConfigurationProperties(prefix = "app.order-stream")
+public class OrderStreamProps {
+
+    /**
+     * Максимальное количество неотправленных событий одного подписчика.
+     * При переполнении события подписчика отбрасываются, и ему отправляется событие resync
+     */
+    private int bufferSize = 64;
+
+    /**
+     * Время жизни подключения, после которого сервер закрывает его и клиент переподключается
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+}
@@ -0,0 +1,59 @@
+package naumen.project.config.props;
+
+import naumen.project.entity.enums.OrderStatus;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Конфигурационные проперти автоматической отмены заказов, которые слишком долго не меняют статус
+ */
+@ConfigurationProperties(prefix = "app.order-sweep")
+public class OrderSweepProps {
+
+    /**
+     * Время в статусе, после которого заказ отменяется. Заказы в статусах без ограничения не отменяются
+     */
+    private Map<OrderStatus, Duration> timeouts = new EnumMap<>(Map.of(
+            OrderStatus.CREATED, Duration.ofHours(2),
+            OrderStatus.ACCEPTED, Duration.ofHours(3),
+            OrderStatus.PREPARED, Duration.ofHours(2),
+            OrderStatus.DELIVERING, Duration.ofHours(4)
+    ));
+
+    /**
+     * Максимальное количество заказов, отменяемых одним запросом в одной транзакции
+     */
+    private int batchSize = 500;
+
+    /**
+     * Максимальное количество пачек по одному статусу за один запуск, остальные заказы отменятся при следующем
+     */
+    private int maxBatches = 20;
+
+    public Map<OrderStatus, Duration> getTimeouts() {
+        return timeouts;
+    }
+
+    public void setTimeouts(Map<OrderStatus, Duration> timeouts) {
+        this.timeouts = timeouts;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxBatches() {
+        return maxBatches;
+    }
+
+    public void setMaxBatches(int maxBatches) {
+        this.maxBatches = maxBatches;
+    }
+}
@@ -0,0 +1,55 @@
+package naumen.project.config.props;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Конфигурационные проперти заказов, запланированных клиентом на определенное время.
+ * Запланированный заказ находится в статусе SCHEDULED и передается ресторану заранее,
+ * чтобы его успели приготовить и доставить к указанному времени.
+ */
+@ConfigurationProperties(prefix = "app.scheduled-orders")
+public class ScheduledOrderProps {
+
+    /**
+     * За сколько до времени доставки заказ передается ресторану.
+     * Заказы с более близким временем доставки оформляются сразу
+     */
+    private Duration leadTime = Duration.ofMinutes(60);
+
+    /**
+     * На сколько вперед можно запланировать заказ
+     */
+    private Duration maxAdvance = Duration.ofDays(7);
+
+    /**
+     * Заказы, которые нужно передать ресторанам в пределах этого периода, периодически загружаются из базы данных.
+     * Период должен быть больше интервала загрузки
+     */
+    private Duration reloadHorizon = Duration.ofMinutes(10);
+
+    public Duration getLeadTime() {
+        return leadTime;
+    }
+
+    public void setLeadTime(Duration leadTime) {
+        this.leadTime = leadTime;
+    }
+
+    public Duration getMaxAdvance() {
+        return maxAdvance;
+    }
+
+    public void setMaxAdvance(Duration maxAdvance) {
+        this.maxAdvance = maxAdvance;
+    }
+
+    public Duration getReloadHorizon() {
+        return reloadHorizon;
+    }
+
+    public void setReloadHorizon(Duration reloadHorizon) {
+        this.reloadHorizon = reloadHorizon;
+    }
+}
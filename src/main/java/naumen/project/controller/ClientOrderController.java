@@ -2,21 +2,36 @@ package naumen.project.controller;
 
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.PositiveOrZero;
+import naumen.project.dto.order.OrderChangesResponseDto;
+import naumen.project.dto.order.client.BulkOrderMode;
+import naumen.project.dto.order.client.OrderClientBulkCreateRequestDto;
+import naumen.project.dto.order.client.OrderClientBulkCreateResponseDto;
+import naumen.project.dto.order.client.OrderClientBulkResultDto;
 import naumen.project.dto.order.client.OrderClientCreateRequestDto;
 import naumen.project.dto.order.client.OrderClientInfoResponseDto;
 import naumen.project.dto.order.client.OrderClientShortResponseDto;
 import naumen.project.entity.Order;
 import naumen.project.entity.OrderItem;
 import naumen.project.entity.User;
+import naumen.project.entity.enums.Role;
 import naumen.project.mapper.OrderMapper;
 import naumen.project.service.OrderItemService;
 import naumen.project.service.order.ClientOrderService;
+import naumen.project.service.order.OrderChangeService;
+import naumen.project.stream.OrderStreamHub;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Контроллер для работы с заказами со стороны клиента
@@ -26,6 +41,7 @@ import java.util.List;
  * @see ClientOrderService
  * @see OrderItemService
  * @see OrderMapper
+ * @see OrderStreamHub
  */
 @SecurityRequirement(name = "JWT")
 @RestController
@@ -35,18 +51,25 @@ public class ClientOrderController {
     private final ClientOrderService clientOrderService;
     private final OrderItemService orderItemService;
     private final OrderMapper orderMapper;
+    private final OrderChangeService orderChangeService;
+    private final OrderStreamHub orderStreamHub;
 
     public ClientOrderController(
             ClientOrderService clientOrderService,
             OrderItemService orderItemService,
-            OrderMapper orderMapper) {
+            OrderMapper orderMapper,
+            OrderChangeService orderChangeService,
+            OrderStreamHub orderStreamHub) {
         this.clientOrderService = clientOrderService;
         this.orderItemService = orderItemService;
         this.orderMapper = orderMapper;
+        this.orderChangeService = orderChangeService;
+        this.orderStreamHub = orderStreamHub;
     }
 
     /**
-     * Создание заказа. Заказ получает статус CREATED.
+     * Создание заказа. Заказ получает статус CREATED, а если доставка запланирована на более позднее время -
+     * статус SCHEDULED до передачи ресторану.
      * Все позиции заказа должны принадлежать указанному ресторану
      *
      * @param request запрос на создание
@@ -69,6 +92,7 @@ public class ClientOrderController {
                 request.restaurantId(),
                 orderItemList,
                 request.deliveryAddress(),
+                request.deliverAt(),
                 client
         );
 
@@ -76,24 +100,70 @@ public class ClientOrderController {
     }
 
     /**
-     * Получение списка заказов текущего клиента
+     * Массовое оформление заказов, например корпоративным клиентом на каждого сотрудника.
+     * Все заказы проверяются до сохранения. В режиме ALL_OR_NOTHING при хотя бы одном некорректном
+     * заказе не оформляется ни один, в режиме BEST_EFFORT оформляются корректные заказы
      *
-     * @param client текущий клиент
+     * @param request запрос на массовое оформление
+     * @param client  клиент, который оформляет заказы
+     * @return результаты по каждому заказу в порядке запроса
+     */
+    @PostMapping("/bulk")
+    @Transactional
+    public OrderClientBulkCreateResponseDto createOrders(
+            @RequestBody @Valid OrderClientBulkCreateRequestDto request,
+            @AuthenticationPrincipal User client
+    ) {
+        List<ClientOrderService.OrderDraft> drafts = request.orders().stream()
+                .map(order -> new ClientOrderService.OrderDraft(
+                        order.restaurantId(),
+                        order.deliveryAddress(),
+                        order.items().stream()
+                                .map(item -> new ClientOrderService.OrderItemDraft(item.menuItemId(), item.quantity()))
+                                .toList(),
+                        order.deliverAt()))
+                .toList();
+
+        List<OrderClientBulkResultDto> results = clientOrderService
+                .createOrders(drafts, request.mode() == BulkOrderMode.ALL_OR_NOTHING, client).stream()
+                .map(result -> new OrderClientBulkResultDto(
+                        result.index(),
+                        result.order() == null ? null : orderMapper.toClientInfoResponse(result.order()),
+                        result.error()))
+                .toList();
+
+        long created = results.stream().filter(result -> result.order() != null).count();
+        long failed = results.stream().filter(result -> result.error() != null).count();
+        return new OrderClientBulkCreateResponseDto(created, failed, results);
+    }
+
+    /**
+     * Получение списка заказов текущего клиента.
+     * После заказов из основной таблицы идут последние заказы, перенесенные в архив, начиная с самых новых:
+     * архив со временем растет, поэтому целиком не загружается
+     *
+     * @param archivedLimit максимальное количество архивных заказов в ответе
+     * @param client        текущий клиент
      * @return страница с заказами клиента
      */
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
+    @Validated
     @Transactional(readOnly = true)
     public List<OrderClientShortResponseDto> getOrders(
+            @Min(0) @Max(100) @RequestParam(defaultValue = "20") int archivedLimit,
             @AuthenticationPrincipal User client
     ) {
-        return clientOrderService.getOrders(client).stream()
-                .map(orderMapper::toClientShortResponse)
-                .toList();
+        return Stream.concat(
+                clientOrderService.getOrders(client).stream().map(orderMapper::toClientShortResponse),
+                clientOrderService.getArchivedOrders(client, archivedLimit).stream()
+                        .map(orderMapper::toClientShortResponse)
+        ).toList();
     }
 
     /**
      * Получение информации о заказе по его id.
+     * Если заказа нет в основной таблице, он ищется в архиве.
      * Проверяется доступ, что заказ принадлежит текущему клиенту
      *
      * @param orderId id заказа
@@ -106,8 +176,10 @@ public class ClientOrderController {
             @PathVariable Long orderId,
             @AuthenticationPrincipal User client
     ) {
-        Order order = clientOrderService.getOrder(orderId, client);
-        return orderMapper.toClientInfoResponse(order);
+        return clientOrderService.findOrder(orderId, client)
+                .map(orderMapper::toClientInfoResponse)
+                .orElseGet(() -> orderMapper.toClientInfoResponse(
+                        clientOrderService.getArchivedOrder(orderId, client)));
     }
 
     /**
@@ -123,4 +195,45 @@ public class ClientOrderController {
                                     @AuthenticationPrincipal User client) {
         clientOrderService.deleteOrder(orderId, client);
     }
+
+    /**
+     * Получает изменения заказов клиента после номера, который уже есть у клиента.
+     * Позволяет опрашивать сервер, получая только изменившиеся заказы, а не списки заказов целиком.
+     *
+     * @param sinceSequence номер последнего полученного изменения, 0 - с начала журнала
+     * @param limit         максимальное количество изменений в ответе
+     * @param client        аутентифицированный пользователь
+     * @return изменения заказов
+     */
+    @GetMapping("/changes")
+    @ResponseStatus(HttpStatus.OK)
+    @Validated
+    @Transactional(readOnly = true)
+    public OrderChangesResponseDto getOrderChanges(
+            @PositiveOrZero @RequestParam(defaultValue = "0") long sinceSequence,
+            @Min(1) @Max(500) @RequestParam(defaultValue = "100") int limit,
+            @AuthenticationPrincipal User client) {
+        OrderChangeService.OrderChanges changes = orderChangeService.getChanges(Role.CLIENT, client, sinceSequence,
+                limit);
+
+        return new OrderChangesResponseDto(
+                changes.sequence(),
+                changes.hasMore(),
+                changes.changes().stream().map(orderMapper::toChangeResponse).toList()
+        );
+    }
+
+    /**
+     * Подписка на изменения статусов заказов клиента через Server-Sent Events.
+     * Первым приходит событие resync: получив его, подписчик запрашивает актуальные заказы
+     * и дальше применяет события order-status. Событие resync повторяется, если подписчик не успевал
+     * принимать события и часть из них была отброшена.
+     *
+     * @param client аутентифицированный пользователь
+     * @return поток событий заказов
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrders(@AuthenticationPrincipal User client) {
+        return orderStreamHub.subscribe(OrderStreamHub.Channel.CLIENT, client.getId());
+    }
 }
@@ -1,18 +1,28 @@
 package naumen.project.controller;
 
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.PositiveOrZero;
+import naumen.project.dto.order.OrderChangesResponseDto;
 import naumen.project.dto.order.courier.OrderCourierResponseDto;
 import naumen.project.dto.paged.PagedResponseDto;
 import naumen.project.entity.User;
+import naumen.project.entity.enums.Role;
 import naumen.project.mapper.OrderMapper;
 import naumen.project.mapper.PageMapper;
 import naumen.project.service.order.CourierOrderService;
+import naumen.project.service.order.OrderChangeService;
+import naumen.project.stream.OrderStreamHub;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -23,6 +33,7 @@ import java.util.List;
  *
  * @see CourierOrderService
  * @see OrderMapper
+ * @see OrderStreamHub
  * @see PageMapper
  */
 @SecurityRequirement(name = "JWT")
@@ -33,15 +44,21 @@ public class CourierOrderController {
     private final CourierOrderService courierOrderService;
     private final OrderMapper orderMapper;
     private final PageMapper pageMapper;
+    private final OrderChangeService orderChangeService;
+    private final OrderStreamHub orderStreamHub;
 
     public CourierOrderController(
             CourierOrderService courierOrderService,
             OrderMapper orderMapper,
-            PageMapper pageMapper
+            PageMapper pageMapper,
+            OrderChangeService orderChangeService,
+            OrderStreamHub orderStreamHub
     ) {
         this.courierOrderService = courierOrderService;
         this.orderMapper = orderMapper;
         this.pageMapper = pageMapper;
+        this.orderChangeService = orderChangeService;
+        this.orderStreamHub = orderStreamHub;
     }
 
     /**
@@ -120,4 +137,46 @@ public class CourierOrderController {
                              @AuthenticationPrincipal User courier) {
         courierOrderService.deliverOrder(orderId, courier);
     }
+
+    /**
+     * Получает изменения заказов курьера и доступных для приема заказов после номера, который уже есть у курьера:
+     * курьер узнает и о новых доступных заказах, и о заказах, принятых другими курьерами.
+     * Позволяет опрашивать сервер, получая только изменившиеся заказы, а не списки заказов целиком.
+     *
+     * @param sinceSequence номер последнего полученного изменения, 0 - с начала журнала
+     * @param limit         максимальное количество изменений в ответе
+     * @param courier       аутентифицированный пользователь
+     * @return изменения заказов
+     */
+    @GetMapping("/changes")
+    @ResponseStatus(HttpStatus.OK)
+    @Validated
+    @Transactional(readOnly = true)
+    public OrderChangesResponseDto getOrderChanges(
+            @PositiveOrZero @RequestParam(defaultValue = "0") long sinceSequence,
+            @Min(1) @Max(500) @RequestParam(defaultValue = "100") int limit,
+            @AuthenticationPrincipal User courier) {
+        OrderChangeService.OrderChanges changes = orderChangeService.getChanges(Role.COURIER, courier, sinceSequence,
+                limit);
+
+        return new OrderChangesResponseDto(
+                changes.sequence(),
+                changes.hasMore(),
+                changes.changes().stream().map(orderMapper::toChangeResponse).toList()
+        );
+    }
+
+    /**
+     * Подписка на изменения статусов заказов курьера и заказов, доступных для приема через Server-Sent Events.
+     * Первым приходит событие resync: получив его, подписчик запрашивает актуальные заказы
+     * и дальше применяет события order-status. Событие resync повторяется, если подписчик не успевал
+     * принимать события и часть из них была отброшена.
+     *
+     * @param courier аутентифицированный пользователь
+     * @return поток событий заказов
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrders(@AuthenticationPrincipal User courier) {
+        return orderStreamHub.subscribe(OrderStreamHub.Channel.COURIER, courier.getId());
+    }
 }
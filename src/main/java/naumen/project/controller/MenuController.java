@@ -1,26 +1,37 @@
 package naumen.project.controller;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
+import naumen.project.coalescing.SingleFlight;
+import naumen.project.dto.menu.MenuChangesResponseDto;
 import naumen.project.dto.menu.MenuItemResponseDto;
 import naumen.project.dto.paged.PagedResponseDto;
-import naumen.project.entity.MenuItem;
 import naumen.project.exception.InvalidInputException;
 import naumen.project.mapper.MenuMapper;
 import naumen.project.mapper.PageMapper;
 import naumen.project.service.MenuService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Optional;
+
 /**
  * Контроллер для работы с меню ресторанов.
- * Предоставляет endpoint для получения списка блюд с фильтрацией и пагинацией.
+ * Предоставляет endpoint для получения списка блюд с фильтрацией и пагинацией
+ * и endpoint для дельта-синхронизации меню ресторана по версии.
  * Требует аутентификации с JWT токеном.
  *
+ * Одновременные одинаковые запросы списка и позиции меню объединяются в одну загрузку из БД.
+ * Общим для запросов становится готовый ответ, а не сущности: сущности остаются в контексте
+ * персистентности загрузившего запроса.
+ *
  * @see MenuService
  * @see MenuMapper
  * @see PageMapper
@@ -33,11 +44,20 @@ public class MenuController {
     private final MenuService menuService;
     private final MenuMapper menuMapper;
     private final PageMapper pageMapper;
+    private final SingleFlight<Long, Optional<MenuItemResponseDto>> menuItemLoads;
+    private final SingleFlight<MenuItemsQuery, PagedResponseDto<MenuItemResponseDto>> menuItemsLoads;
 
-    public MenuController(MenuService menuService, MenuMapper menuMapper, PageMapper pageMapper) {
+    public MenuController(
+            MenuService menuService,
+            MenuMapper menuMapper,
+            PageMapper pageMapper,
+            MeterRegistry meterRegistry
+    ) {
         this.menuService = menuService;
         this.menuMapper = menuMapper;
         this.pageMapper = pageMapper;
+        this.menuItemLoads = new SingleFlight<>("menu.item", meterRegistry);
+        this.menuItemsLoads = new SingleFlight<>("menu.items", meterRegistry);
     }
 
     /**
@@ -59,11 +79,42 @@ public class MenuController {
             @RequestParam(required = false) String title,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
-        Page<MenuItemResponseDto> menuPages = menuService
-                .getMenuItems(restaurantId, title, PageRequest.of(page, size))
-                .map(menuMapper::toResponse);
+        Pageable pageable = PageRequest.of(page, size);
 
-        return pageMapper.toMenuResponse(menuPages);
+        return menuItemsLoads.execute(new MenuItemsQuery(restaurantId, title, pageable), () -> {
+            Page<MenuItemResponseDto> menuPages = menuService
+                    .getMenuItems(restaurantId, title, pageable)
+                    .map(menuMapper::toResponse);
+
+            return pageMapper.toMenuResponse(menuPages);
+        });
+    }
+
+    /**
+     * Получает изменения меню ресторана после версии, которая уже есть у клиента.
+     * Для нулевой версии возвращается полный снимок меню.
+     *
+     * @param restaurantId идентификатор ресторана
+     * @param sinceVersion версия меню, которая уже есть у клиента
+     * @return добавленные, измененные и удаленные позиции меню
+     */
+    @GetMapping("/changes")
+    @ResponseStatus(HttpStatus.OK)
+    @Validated
+    @Transactional(readOnly = true)
+    public MenuChangesResponseDto getMenuChanges(
+            @RequestParam Long restaurantId,
+            @PositiveOrZero
+            @RequestParam(defaultValue = "0") long sinceVersion) {
+        MenuService.MenuChanges changes = menuService.getMenuChanges(restaurantId, sinceVersion);
+
+        return new MenuChangesResponseDto(
+                restaurantId,
+                changes.version(),
+                changes.full(),
+                changes.upserted().stream().map(menuMapper::toResponse).toList(),
+                changes.deleted()
+        );
     }
 
     /**
@@ -76,9 +127,13 @@ public class MenuController {
     @ResponseStatus(HttpStatus.OK)
     @Transactional(readOnly = true)
     public MenuItemResponseDto getMenuItem(@PathVariable Long menuId) {
-        MenuItem menuItem = menuService.getMenuItemById(menuId)
+        return menuItemLoads.execute(menuId, () -> menuService.getMenuItemById(menuId).map(menuMapper::toResponse))
                 .orElseThrow(() -> new InvalidInputException("Позиция меню с id '%d' не найдена", menuId));
+    }
 
-        return menuMapper.toResponse(menuItem);
+    /**
+     * Ключ объединения одинаковых запросов страницы меню
+     */
+    private record MenuItemsQuery(Long restaurantId, String title, Pageable pageable) {
     }
 }
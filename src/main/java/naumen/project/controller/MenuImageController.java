@@ -0,0 +1,181 @@
+package naumen.project.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import naumen.project.exception.EntityNotFoundException;
+import naumen.project.exception.InvalidInputException;
+import naumen.project.service.MenuImageService;
+import naumen.project.service.MenuImageVariantService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Контроллер выдачи изображений позиций меню.
+ * Изображения неизменяемы (адресуются хэшем содержимого), поэтому отдаются со строгим ETag
+ * и долгоживущими заголовками кэширования. Поддерживается запрос одного диапазона байт.
+ * Тело ответа передается без копирования через heap: средствами sendfile сервлет-контейнера,
+ * а если он недоступен - через {@link FileChannel#transferTo}.
+ * Доступен без аутентификации.
+ *
+ * @see MenuImageService
+ * @see MenuImageVariantService
+ */
+@RestController
+@RequestMapping("/api/v1/menu/images")
+public class MenuImageController {
+
+    static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private static final String CACHE_CONTROL_IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final String CACHE_CONTROL_PENDING_VARIANT = "public, max-age=60";
+
+    private final MenuImageService menuImageService;
+    private final MenuImageVariantService menuImageVariantService;
+
+    public MenuImageController(MenuImageService menuImageService, MenuImageVariantService menuImageVariantService) {
+        this.menuImageService = menuImageService;
+        this.menuImageVariantService = menuImageVariantService;
+    }
+
+    /**
+     * Отдает изображение позиции меню или его уменьшенный вариант целиком или запрошенный диапазон байт.
+     * Если вариант еще не сгенерирован, отдается исходное изображение с коротким сроком кэширования,
+     * а генерация варианта ставится в очередь.
+     *
+     * @param fileName имя файла изображения
+     * @param variant  вариант изображения: thumbnail, list или detail (опционально)
+     * @param request  HTTP запрос
+     * @param response HTTP ответ
+     * @throws IOException при ошибке чтения файла или записи ответа
+     */
+    @GetMapping("/{fileName}")
+    public void getImage(@PathVariable String fileName,
+                         @RequestParam(required = false) String variant,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        MenuImageService.StoredImage image = menuImageService.find(fileName)
+                .orElseThrow(() -> new EntityNotFoundException("Изображение '%s' не найдено", fileName));
+        String cacheControl = CACHE_CONTROL_IMMUTABLE;
+
+        if (variant != null) {
+            MenuImageVariantService.Variant requested = MenuImageVariantService.Variant.byKey(variant)
+                    .orElseThrow(() -> new InvalidInputException("Неизвестный вариант изображения '%s'", variant));
+            Optional<MenuImageService.StoredImage> generated = menuImageVariantService.findVariant(image, requested);
+            if (generated.isPresent()) {
+                image = generated.get();
+            } else {
+                cacheControl = CACHE_CONTROL_PENDING_VARIANT;
+            }
+        }
+
+        String etag = "\"" + image.hash() + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (etagMatches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long size = image.size();
+        long start = 0;
+        long end = size - 1;
+
+        HttpRange range = requestedRange(request, etag);
+        if (range != null) {
+            try {
+                start = range.getRangeStart(size);
+                end = range.getRangeEnd(size);
+            } catch (IllegalArgumentException e) {
+                start = size;
+            }
+            if (start >= size || start > end) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        }
+
+        response.setContentType(image.contentType());
+        response.setContentLengthLong(end - start + 1);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+            // Контейнер сам передаст файл в сокет после завершения обработки запроса
+            request.setAttribute(SENDFILE_FILENAME_ATTR, image.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTR, start);
+            request.setAttribute(SENDFILE_END_ATTR, end + 1);
+            return;
+        }
+
+        try (FileChannel file = FileChannel.open(image.path(), StandardOpenOption.READ)) {
+            WritableByteChannel output = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = end - start + 1;
+            while (remaining > 0) {
+                long transferred = file.transferTo(position, remaining, output);
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+
+    /**
+     * Определяет запрошенный диапазон байт.
+     * Несколько диапазонов, некорректный заголовок или устаревший If-Range
+     * обрабатываются как запрос всего файла.
+     *
+     * @param request HTTP запрос
+     * @param etag    ETag изображения
+     * @return запрошенный диапазон или null, если нужен весь файл
+     */
+    private HttpRange requestedRange(HttpServletRequest request, String etag) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (rangeHeader == null || (ifRange != null && !ifRange.equals(etag))) {
+            return null;
+        }
+
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.getFirst() : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Проверяет, совпадает ли ETag из заголовка If-None-Match с ETag изображения
+     */
+    private boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(etag) || value.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
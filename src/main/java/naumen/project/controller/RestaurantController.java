@@ -0,0 +1,56 @@
+package naumen.project.controller;
+
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import naumen.project.dto.paged.CursorPagedResponseDto;
+import naumen.project.dto.restaurant.RestaurantSummaryDto;
+import naumen.project.service.RestaurantDirectoryService;
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Контроллер каталога ресторанов.
+ * Предоставляет endpoint для получения списка ресторанов со сводкой по меню и пагинацией по курсору.
+ * Требует аутентификации с JWT токеном.
+ *
+ * @see RestaurantDirectoryService
+ */
+@SecurityRequirement(name = "JWT")
+@RestController
+@RequestMapping("/api/v1/restaurants")
+public class RestaurantController {
+
+    private final RestaurantDirectoryService restaurantDirectoryService;
+
+    public RestaurantController(RestaurantDirectoryService restaurantDirectoryService) {
+        this.restaurantDirectoryService = restaurantDirectoryService;
+    }
+
+    /**
+     * Получает страницу каталога ресторанов.
+     *
+     * @param cursor курсор, полученный на предыдущей странице (опционально)
+     * @param size   количество элементов на странице
+     * @return страница ресторанов и курсор следующей страницы
+     */
+    @GetMapping
+    @ResponseStatus(HttpStatus.OK)
+    @Validated
+    public CursorPagedResponseDto<RestaurantSummaryDto> getRestaurants(
+            @RequestParam(required = false) Long cursor,
+            @Min(1) @Max(100)
+            @RequestParam(defaultValue = "20") int size) {
+        List<RestaurantSummaryDto> restaurants = restaurantDirectoryService.getRestaurants(cursor, size + 1);
+
+        if (restaurants.size() <= size) {
+            return new CursorPagedResponseDto<>(restaurants, null);
+        }
+
+        List<RestaurantSummaryDto> content = restaurants.subList(0, size);
+        return new CursorPagedResponseDto<>(content, content.getLast().id());
+    }
+}
@@ -2,25 +2,39 @@ package naumen.project.controller;
 
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
+import naumen.project.dto.menu.AdjustMenuPricesRequestDto;
+import naumen.project.dto.menu.AdjustMenuPricesResponseDto;
 import naumen.project.dto.menu.CreateMenuItemRequestDto;
+import naumen.project.dto.menu.MenuImportResultDto;
 import naumen.project.dto.menu.MenuItemResponseDto;
 import naumen.project.dto.menu.UpdateMenuItemRequestDto;
 import naumen.project.entity.MenuItem;
 import naumen.project.entity.User;
 import naumen.project.exception.InvalidInputException;
 import naumen.project.mapper.MenuMapper;
+import naumen.project.service.MenuImageService;
+import naumen.project.service.MenuImageVariantService;
+import naumen.project.service.MenuImportService;
 import naumen.project.service.MenuService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 /**
  * Контроллер для управления меню ресторана.
  * Предоставляет endpoints для создания, обновления и удаления блюд в меню.
  * Требует аутентификации с JWT токеном и права доступа RESTAURANT.
  *
  * @see MenuService
+ * @see MenuImportService
+ * @see MenuImageService
+ * @see MenuImageVariantService
  * @see MenuMapper
  */
 @SecurityRequirement(name = "JWT")
@@ -28,11 +42,26 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/v1/restaurant/menu")
 public class RestaurantMenuController {
 
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final String IMAGE_WEBP_VALUE = "image/webp";
+
     private final MenuService menuService;
+    private final MenuImportService menuImportService;
+    private final MenuImageService menuImageService;
+    private final MenuImageVariantService menuImageVariantService;
     private final MenuMapper menuMapper;
 
-    public RestaurantMenuController(MenuService menuService, MenuMapper menuMapper) {
+    public RestaurantMenuController(
+            MenuService menuService,
+            MenuImportService menuImportService,
+            MenuImageService menuImageService,
+            MenuImageVariantService menuImageVariantService,
+            MenuMapper menuMapper
+    ) {
         this.menuService = menuService;
+        this.menuImportService = menuImportService;
+        this.menuImageService = menuImageService;
+        this.menuImageVariantService = menuImageVariantService;
         this.menuMapper = menuMapper;
     }
 
@@ -60,6 +89,33 @@ public class RestaurantMenuController {
         return menuMapper.toResponse(menuItem);
     }
 
+    /**
+     * Массово импортирует блюда в меню ресторана текущего пользователя.
+     * Принимает CSV с заголовком (title, description, price) или NDJSON, тело читается потоково.
+     * Невалидные строки пропускаются и возвращаются в списке ошибок.
+     * Строки сверх лимита не импортируются, а в ответе возвращается признак прерванного импорта.
+     * Каждая пачка сохраняется в своей транзакции, чтобы соединение с БД не удерживалось,
+     * пока читается тело запроса.
+     *
+     * @param contentType формат тела запроса
+     * @param body        тело запроса
+     * @param user        аутентифицированный ресторан
+     * @return количество импортированных позиций и ошибки по строкам
+     * @throws IOException при ошибке чтения тела запроса
+     */
+    @PostMapping(value = "/import", consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @ResponseStatus(HttpStatus.OK)
+    public MenuImportResultDto importMenuItems(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                               InputStream body,
+                                               @AuthenticationPrincipal User user) throws IOException {
+        MenuImportService.Format format = MediaType.parseMediaType(contentType)
+                .isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? MenuImportService.Format.NDJSON
+                : MenuImportService.Format.CSV;
+
+        return menuImportService.importMenu(body, format, user);
+    }
+
     /**
      * Обновляет существующее блюдо в меню ресторана.
      *
@@ -93,6 +149,60 @@ public class RestaurantMenuController {
         return menuMapper.toResponse(menuItem);
     }
 
+    /**
+     * Загружает изображение блюда. Тело запроса - содержимое изображения, оно записывается на диск потоково.
+     * Генерация уменьшенных вариантов ставится в очередь и выполняется в фоне.
+     * Файл записывается вне транзакции, соединение с БД берется только на чтение и обновление позиции.
+     *
+     * @param id   идентификатор позиции меню
+     * @param body содержимое изображения
+     * @param user аутентифицированный ресторан
+     * @return обновленное блюдо с адресом изображения
+     * @throws IOException при ошибке чтения тела запроса или записи файла
+     */
+    @PutMapping(value = "/{id}/image",
+            consumes = {MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE, IMAGE_WEBP_VALUE})
+    @ResponseStatus(HttpStatus.OK)
+    public MenuItemResponseDto uploadMenuItemImage(@PathVariable Long id,
+                                                   InputStream body,
+                                                   @AuthenticationPrincipal User user) throws IOException {
+        MenuItem menuItem = menuService.getMenuItemById(id)
+                .orElseThrow(() -> new InvalidInputException(
+                        "Не удалось загрузить изображение, причина: Позиция меню с id '%d' не найдена", id));
+        menuService.assertBelongsToRestaurant(menuItem, user);
+
+        String image = menuImageService.store(body);
+        menuItem.setImage(image);
+        menuService.updateMenuItem(menuItem, user);
+        menuImageVariantService.enqueue(image);
+
+        return menuMapper.toResponse(menuItem);
+    }
+
+    /**
+     * Массово изменяет цены блюд в меню ресторана (например, +7% на всё меню).
+     * Изменение выполняется одним запросом к БД, без загрузки каждой позиции.
+     *
+     * @param request способ и величина изменения, фильтры по названию и идентификаторам
+     * @param user    аутентифицированный ресторан
+     * @return количество позиций с измененной ценой
+     */
+    @PatchMapping("/prices")
+    @ResponseStatus(HttpStatus.OK)
+    @Transactional
+    public AdjustMenuPricesResponseDto adjustPrices(@RequestBody @Valid AdjustMenuPricesRequestDto request,
+                                                    @AuthenticationPrincipal User user) {
+        int updated = menuService.adjustPrices(
+                user,
+                request.type(),
+                request.value(),
+                request.title(),
+                request.ids()
+        );
+
+        return new AdjustMenuPricesResponseDto(updated);
+    }
+
     /**
      * Удаляет блюдо из меню ресторана.
      *
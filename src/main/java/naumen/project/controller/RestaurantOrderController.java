@@ -1,20 +1,34 @@
 package naumen.project.controller;
 
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.PositiveOrZero;
+import naumen.project.dto.order.OrderChangesResponseDto;
+import naumen.project.dto.order.restaurant.OrderBulkTransitionRequestDto;
+import naumen.project.dto.order.restaurant.OrderBulkTransitionResponseDto;
 import naumen.project.dto.order.restaurant.OrderRestaurantResponseDto;
 import naumen.project.dto.order.restaurant.OrderRestaurantShortResponseDto;
+import naumen.project.dto.order.restaurant.OrderTransitionFailureDto;
 import naumen.project.dto.paged.PagedResponseDto;
 import naumen.project.entity.Order;
 import naumen.project.entity.User;
+import naumen.project.entity.enums.Role;
 import naumen.project.mapper.OrderMapper;
 import naumen.project.mapper.PageMapper;
+import naumen.project.service.order.OrderChangeService;
 import naumen.project.service.order.RestaurantOrderService;
+import naumen.project.stream.OrderStreamHub;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * Контроллер для управления заказами ресторана.
@@ -23,6 +37,7 @@ import org.springframework.web.bind.annotation.*;
  *
  * @see RestaurantOrderService
  * @see OrderMapper
+ * @see OrderStreamHub
  * @see PageMapper
  */
 @SecurityRequirement(name = "JWT")
@@ -33,15 +48,21 @@ public class RestaurantOrderController {
     private final RestaurantOrderService restaurantOrderService;
     private final OrderMapper orderMapper;
     private final PageMapper pageMapper;
+    private final OrderChangeService orderChangeService;
+    private final OrderStreamHub orderStreamHub;
 
     public RestaurantOrderController(
             RestaurantOrderService restaurantOrderService,
             OrderMapper orderMapper,
-            PageMapper pageMapper
+            PageMapper pageMapper,
+            OrderChangeService orderChangeService,
+            OrderStreamHub orderStreamHub
     ) {
         this.restaurantOrderService = restaurantOrderService;
         this.orderMapper = orderMapper;
         this.pageMapper = pageMapper;
+        this.orderChangeService = orderChangeService;
+        this.orderStreamHub = orderStreamHub;
     }
 
     /**
@@ -54,7 +75,6 @@ public class RestaurantOrderController {
      */
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    @Transactional(readOnly = true)
     public PagedResponseDto<OrderRestaurantShortResponseDto> getActiveOrders(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
@@ -111,4 +131,85 @@ public class RestaurantOrderController {
                            @AuthenticationPrincipal User restaurant) {
         restaurantOrderService.readyOrder(orderId, restaurant);
     }
+
+    /**
+     * Помечает несколько заказов как в приготовлении одним запросом к БД.
+     *
+     * @param request    идентификаторы заказов
+     * @param restaurant аутентифицированный ресторан
+     * @return переведенные заказы и причины отказа по остальным
+     */
+    @PatchMapping("/bulk/prepare")
+    @Transactional
+    public OrderBulkTransitionResponseDto prepareOrders(@RequestBody @Valid OrderBulkTransitionRequestDto request,
+                                                        @AuthenticationPrincipal User restaurant) {
+        return toResponse(restaurantOrderService.prepareOrders(request.orderIds(), restaurant));
+    }
+
+    /**
+     * Помечает несколько заказов как готовые одним запросом к БД.
+     *
+     * @param request    идентификаторы заказов
+     * @param restaurant аутентифицированный ресторан
+     * @return переведенные заказы и причины отказа по остальным
+     */
+    @PatchMapping("/bulk/ready")
+    @Transactional
+    public OrderBulkTransitionResponseDto readyOrders(@RequestBody @Valid OrderBulkTransitionRequestDto request,
+                                                      @AuthenticationPrincipal User restaurant) {
+        return toResponse(restaurantOrderService.readyOrders(request.orderIds(), restaurant));
+    }
+
+    /**
+     * Преобразует результат массового перевода заказов в ответ
+     */
+    private OrderBulkTransitionResponseDto toResponse(RestaurantOrderService.BulkTransitionResult result) {
+        return new OrderBulkTransitionResponseDto(
+                result.transitioned(),
+                result.failed().stream()
+                        .map(failure -> new OrderTransitionFailureDto(failure.orderId(), failure.reason()))
+                        .toList()
+        );
+    }
+
+    /**
+     * Получает изменения заказов ресторана после номера, который уже есть у ресторана.
+     * Позволяет опрашивать сервер, получая только изменившиеся заказы, а не списки заказов целиком.
+     *
+     * @param sinceSequence номер последнего полученного изменения, 0 - с начала журнала
+     * @param limit         максимальное количество изменений в ответе
+     * @param restaurant    аутентифицированный пользователь
+     * @return изменения заказов
+     */
+    @GetMapping("/changes")
+    @ResponseStatus(HttpStatus.OK)
+    @Validated
+    @Transactional(readOnly = true)
+    public OrderChangesResponseDto getOrderChanges(
+            @PositiveOrZero @RequestParam(defaultValue = "0") long sinceSequence,
+            @Min(1) @Max(500) @RequestParam(defaultValue = "100") int limit,
+            @AuthenticationPrincipal User restaurant) {
+        OrderChangeService.OrderChanges changes = orderChangeService.getChanges(Role.RESTAURANT, restaurant,
+                sinceSequence, limit);
+
+        return new OrderChangesResponseDto(
+                changes.sequence(),
+                changes.hasMore(),
+                changes.changes().stream().map(orderMapper::toChangeResponse).toList()
+        );
+    }
+
+    /**
+     * Подписка на изменения статусов заказов ресторана через Server-Sent Events.
+     * Первым приходит событие resync: получив его, подписчик запрашивает актуальные заказы
+     * и дальше применяет события order-status. Событие resync повторяется, если подписчик не успевал
+     * принимать события и часть из них была отброшена.
+     *
+     * @param restaurant аутентифицированный пользователь
+     * @return поток событий заказов
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrders(@AuthenticationPrincipal User restaurant) {
+        return orderStreamHub.subscribe(OrderStreamHub.Channel.RESTAURANT, restaurant.getId());
+    }
 }
@@ -38,12 +38,12 @@ public class UserController {
 
     /**
      * Получает информацию о текущем аутентифицированном пользователе.
+     * Пользователь уже загружен при аутентификации, поэтому к БД запрос не обращается.
      *
      * @param user аутентифицированный пользователь
      * @return данные пользователя
      */
     @GetMapping("/me")
-    @Transactional(readOnly = true)
     public UserResponseDto getMyUser(@AuthenticationPrincipal User user) {
         return userMapper.toResponse(user);
     }
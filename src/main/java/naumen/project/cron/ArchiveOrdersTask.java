@@ -0,0 +1,54 @@
+package naumen.project.cron;
+
+import naumen.project.config.props.OrderArchiveProps;
+import naumen.project.service.order.OrderArchiveService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Планировщик задач для переноса давно завершенных, удаленных и отмененных заказов в архив.
+ * Заказы переносятся пачками, каждая в своей транзакции. Задача может выполняться на нескольких
+ * экземплярах приложения одновременно: заблокированные другим экземпляром заказы пропускаются.
+ *
+ * @see OrderArchiveService
+ * @see OrderArchiveProps
+ */
+@Component
+public class ArchiveOrdersTask {
+
+    private final Logger log = LoggerFactory.getLogger(ArchiveOrdersTask.class);
+
+    private final OrderArchiveService orderArchiveService;
+    private final OrderArchiveProps orderArchiveProps;
+
+    public ArchiveOrdersTask(OrderArchiveService orderArchiveService, OrderArchiveProps orderArchiveProps) {
+        this.orderArchiveService = orderArchiveService;
+        this.orderArchiveProps = orderArchiveProps;
+    }
+
+    /**
+     * Переносит заказы в архив пачками, пока пачки заполняются целиком, но не больше заданного числа пачек.
+     * Количество перенесенных заказов пишется в лог и в метрику {@code order.archive.archived}.
+     * Метод запускается автоматически каждый час.
+     */
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.HOURS)
+    public void run() {
+        int batchSize = orderArchiveProps.getBatchSize();
+        int total = 0;
+        for (int batch = 0; batch < orderArchiveProps.getMaxBatches(); batch++) {
+            int count = orderArchiveService.archiveOrders(orderArchiveProps.getAge(), batchSize);
+            total += count;
+            if (count < batchSize) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            log.info("Перенесено в архив {} заказов старше {}", total, orderArchiveProps.getAge());
+        }
+    }
+}
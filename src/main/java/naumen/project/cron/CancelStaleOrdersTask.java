@@ -0,0 +1,66 @@
+package naumen.project.cron;
+
+import naumen.project.config.props.OrderSweepProps;
+import naumen.project.entity.enums.OrderStatus;
+import naumen.project.service.order.OrderSweepService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Планировщик задач для отмены заказов, которые слишком долго не меняют статус.
+ * Заказы отменяются пачками, каждая в своей транзакции. Задача может выполняться на нескольких
+ * экземплярах приложения одновременно: заблокированные другим экземпляром заказы пропускаются.
+ *
+ * @see OrderSweepService
+ * @see OrderSweepProps
+ */
+@Component
+public class CancelStaleOrdersTask {
+
+    private final Logger log = LoggerFactory.getLogger(CancelStaleOrdersTask.class);
+
+    private final OrderSweepService orderSweepService;
+    private final OrderSweepProps orderSweepProps;
+
+    public CancelStaleOrdersTask(OrderSweepService orderSweepService, OrderSweepProps orderSweepProps) {
+        this.orderSweepService = orderSweepService;
+        this.orderSweepProps = orderSweepProps;
+    }
+
+    /**
+     * Отменяет зависшие заказы по каждому статусу с ограничением времени.
+     * Количество отмененных заказов пишется в лог и в метрику {@code order.sweep.cancelled}.
+     * Метод запускается автоматически каждые 5 минут.
+     */
+    @Scheduled(fixedDelay = 5, timeUnit = TimeUnit.MINUTES)
+    public void run() {
+        new TreeMap<>(orderSweepProps.getTimeouts()).forEach((status, timeout) -> {
+            int count = cancelStaleOrders(status, timeout);
+            if (count > 0) {
+                log.info("Отменено {} заказов, находившихся в статусе {} дольше {}", count, status, timeout);
+            }
+        });
+    }
+
+    /**
+     * Отменяет заказы в статусе пачками, пока пачки заполняются целиком, но не больше заданного числа пачек
+     */
+    private int cancelStaleOrders(OrderStatus status, Duration timeout) {
+        int batchSize = orderSweepProps.getBatchSize();
+        int total = 0;
+        for (int batch = 0; batch < orderSweepProps.getMaxBatches(); batch++) {
+            int count = orderSweepService.cancelStaleOrders(status, timeout, batchSize);
+            total += count;
+            if (count < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+}
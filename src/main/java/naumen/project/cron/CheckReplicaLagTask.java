@@ -0,0 +1,39 @@
+package naumen.project.cron;
+
+import naumen.project.datasource.ReadYourWritesTracker;
+import naumen.project.datasource.ReplicaDataSources;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Планировщик проверки отставания реплик для чтения.
+ * Реплики, которые отстали или недоступны, исключаются из маршрутизации до следующей успешной проверки.
+ *
+ * @see ReplicaDataSources
+ */
+@Component
+public class CheckReplicaLagTask {
+
+    private final ReplicaDataSources replicaDataSources;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    /**
+     * Инициализация планировщика проверки реплик.
+     */
+    public CheckReplicaLagTask(ReplicaDataSources replicaDataSources, ReadYourWritesTracker readYourWritesTracker) {
+        this.replicaDataSources = replicaDataSources;
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    /**
+     * Проверяет отставание реплик и очищает истекшие отметки о записях пользователей.
+     * Метод запускается при старте приложения и затем каждые 5 секунд.
+     */
+    @Scheduled(fixedDelay = 5, timeUnit = TimeUnit.SECONDS)
+    public void run() {
+        replicaDataSources.checkLag();
+        readYourWritesTracker.evictExpired();
+    }
+}
@@ -0,0 +1,34 @@
+package naumen.project.cron;
+
+import naumen.project.repository.IdempotencyJdbcRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Планировщик задач для очистки истекших ответов на запросы с ключом идемпотентности.
+ *
+ * @see IdempotencyJdbcRepository
+ */
+@Component
+public class CleanExpiredIdempotencyRecordsTask {
+
+    private final IdempotencyJdbcRepository idempotencyJdbcRepository;
+
+    public CleanExpiredIdempotencyRecordsTask(IdempotencyJdbcRepository idempotencyJdbcRepository) {
+        this.idempotencyJdbcRepository = idempotencyJdbcRepository;
+    }
+
+    /**
+     * Удаляет истекшие записи.
+     * Метод запускается автоматически каждый час.
+     */
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.HOURS)
+    @Transactional
+    public void run() {
+        idempotencyJdbcRepository.deleteExpired(Instant.now());
+    }
+}
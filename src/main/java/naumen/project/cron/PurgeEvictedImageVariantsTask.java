@@ -0,0 +1,31 @@
+package naumen.project.cron;
+
+import naumen.project.service.MenuImageVariantService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Планировщик задач для удаления файлов вариантов изображений, исключенных из дискового кэша.
+ *
+ * @see MenuImageVariantService
+ */
+@Component
+public class PurgeEvictedImageVariantsTask {
+
+    private final MenuImageVariantService menuImageVariantService;
+
+    public PurgeEvictedImageVariantsTask(MenuImageVariantService menuImageVariantService) {
+        this.menuImageVariantService = menuImageVariantService;
+    }
+
+    /**
+     * Удаляет файлы исключенных вариантов, срок ожидания которых истек.
+     * Метод запускается автоматически каждую минуту.
+     */
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+    public void run() {
+        menuImageVariantService.purgeEvicted();
+    }
+}
@@ -0,0 +1,49 @@
+package naumen.project.cron;
+
+import naumen.project.scheduling.ScheduledOrderTimer;
+import naumen.project.service.order.ScheduledOrderService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Планировщик задач для передачи ресторанам запланированных заказов, время передачи которых наступило.
+ * Задача только поворачивает колесо таймеров в памяти и обращается к базе данных, лишь когда есть что передать.
+ * Если передать заказы не удалось, они будут загружены из базы данных заново при следующей загрузке.
+ *
+ * @see ScheduledOrderTimer
+ * @see ReloadScheduledOrdersTask
+ */
+@Component
+public class ReleaseScheduledOrdersTask {
+
+    private final Logger log = LoggerFactory.getLogger(ReleaseScheduledOrdersTask.class);
+
+    private final ScheduledOrderTimer scheduledOrderTimer;
+    private final ScheduledOrderService scheduledOrderService;
+
+    public ReleaseScheduledOrdersTask(ScheduledOrderTimer scheduledOrderTimer,
+                                      ScheduledOrderService scheduledOrderService) {
+        this.scheduledOrderTimer = scheduledOrderTimer;
+        this.scheduledOrderService = scheduledOrderService;
+    }
+
+    /**
+     * Передает ресторанам заказы, время передачи которых наступило.
+     * Метод запускается автоматически каждую секунду.
+     */
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.SECONDS)
+    public void run() {
+        List<Long> due = scheduledOrderTimer.advance();
+        if (due.isEmpty()) {
+            return;
+        }
+
+        int count = scheduledOrderService.releaseOrders(due);
+        log.info("Передано ресторанам {} запланированных заказов из {}", count, due.size());
+    }
+}
@@ -0,0 +1,36 @@
+package naumen.project.cron;
+
+import naumen.project.kitchen.KitchenQueue;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Планировщик задач для перестроения очередей активных заказов ресторанов по базе данных.
+ * Интервал перестроения ограничивает задержку, с которой в очередях появляются изменения,
+ * выполненные другими экземплярами приложения.
+ * Выполняется в пишущей транзакции, чтобы читать с основной БД, а не с отстающей реплики.
+ *
+ * @see KitchenQueue
+ */
+@Component
+public class ReloadKitchenQueueTask {
+
+    private final KitchenQueue kitchenQueue;
+
+    public ReloadKitchenQueueTask(KitchenQueue kitchenQueue) {
+        this.kitchenQueue = kitchenQueue;
+    }
+
+    /**
+     * Перестраивает очереди активных заказов.
+     * Метод запускается при старте приложения и затем каждую минуту.
+     */
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+    @Transactional
+    public void run() {
+        kitchenQueue.reload();
+    }
+}
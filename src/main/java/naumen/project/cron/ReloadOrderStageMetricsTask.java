@@ -0,0 +1,34 @@
+package naumen.project.cron;
+
+import naumen.project.metrics.OrderStageMetrics;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Планировщик задач для перестроения гистограмм времени в статусах заказов по журналу переходов.
+ * Выполняется в читающей транзакции: небольшое отставание реплики для метрик не важно.
+ *
+ * @see OrderStageMetrics
+ */
+@Component
+public class ReloadOrderStageMetricsTask {
+
+    private final OrderStageMetrics orderStageMetrics;
+
+    public ReloadOrderStageMetricsTask(OrderStageMetrics orderStageMetrics) {
+        this.orderStageMetrics = orderStageMetrics;
+    }
+
+    /**
+     * Перестраивает гистограммы.
+     * Метод запускается при старте приложения и затем каждый час.
+     */
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.HOURS)
+    @Transactional(readOnly = true)
+    public void run() {
+        orderStageMetrics.reload();
+    }
+}
@@ -0,0 +1,36 @@
+package naumen.project.cron;
+
+import naumen.project.service.RestaurantDirectoryService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Планировщик полной перезагрузки каталога ресторанов.
+ * Первый запуск происходит при старте приложения и заполняет каталог,
+ * последующие исправляют расхождения, если изменение было сделано в обход сервисов.
+ *
+ * @see RestaurantDirectoryService
+ */
+@Component
+public class ReloadRestaurantDirectoryTask {
+
+    private final RestaurantDirectoryService restaurantDirectoryService;
+
+    /**
+     * Инициализация планировщика перезагрузки каталога ресторанов.
+     */
+    public ReloadRestaurantDirectoryTask(RestaurantDirectoryService restaurantDirectoryService) {
+        this.restaurantDirectoryService = restaurantDirectoryService;
+    }
+
+    /**
+     * Перезагружает каталог ресторанов.
+     * Метод запускается при старте приложения и затем каждые 10 минут.
+     */
+    @Scheduled(fixedDelay = 10, timeUnit = TimeUnit.MINUTES)
+    public void run() {
+        restaurantDirectoryService.reload();
+    }
+}
@@ -0,0 +1,35 @@
+package naumen.project.cron;
+
+import naumen.project.scheduling.ScheduledOrderTimer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Планировщик задач для загрузки из базы данных запланированных заказов, которые нужно передать ресторанам
+ * в ближайшее время. Первый запуск при старте приложения восстанавливает колесо таймеров.
+ * Выполняется в пишущей транзакции, чтобы читать с основной БД, а не с отстающей реплики.
+ *
+ * @see ScheduledOrderTimer
+ */
+@Component
+public class ReloadScheduledOrdersTask {
+
+    private final ScheduledOrderTimer scheduledOrderTimer;
+
+    public ReloadScheduledOrdersTask(ScheduledOrderTimer scheduledOrderTimer) {
+        this.scheduledOrderTimer = scheduledOrderTimer;
+    }
+
+    /**
+     * Загружает запланированные заказы в колесо таймеров.
+     * Метод запускается автоматически каждую минуту.
+     */
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+    @Transactional
+    public void run() {
+        scheduledOrderTimer.reload();
+    }
+}
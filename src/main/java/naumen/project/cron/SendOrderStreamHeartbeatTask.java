@@ -0,0 +1,31 @@
+package naumen.project.cron;
+
+import naumen.project.stream.OrderStreamHub;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Планировщик задач для поддержания простаивающих подключений к потокам событий заказов
+ *
+ * @see OrderStreamHub
+ */
+@Component
+public class SendOrderStreamHeartbeatTask {
+
+    private final OrderStreamHub orderStreamHub;
+
+    public SendOrderStreamHeartbeatTask(OrderStreamHub orderStreamHub) {
+        this.orderStreamHub = orderStreamHub;
+    }
+
+    /**
+     * Отправляет подписчикам комментарий.
+     * Метод запускается каждые 30 секунд.
+     */
+    @Scheduled(fixedDelay = 30, timeUnit = TimeUnit.SECONDS)
+    public void run() {
+        orderStreamHub.heartbeat();
+    }
+}
@@ -0,0 +1,35 @@
+package naumen.project.cron;
+
+import naumen.project.kitchen.KitchenLoad;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Планировщик задач для пересчета очередей кухонь ресторанов по базе данных.
+ * Учитывает заказы, созданные и переведенные другими экземплярами приложения.
+ * Выполняется в пишущей транзакции, чтобы читать с основной БД, а не с отстающей реплики.
+ *
+ * @see KitchenLoad
+ */
+@Component
+public class SyncKitchenLoadTask {
+
+    private final KitchenLoad kitchenLoad;
+
+    public SyncKitchenLoadTask(KitchenLoad kitchenLoad) {
+        this.kitchenLoad = kitchenLoad;
+    }
+
+    /**
+     * Пересчитывает очереди кухонь.
+     * Метод запускается автоматически каждую минуту.
+     */
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+    @Transactional
+    public void run() {
+        kitchenLoad.reload();
+    }
+}
@@ -0,0 +1,82 @@
+package naumen.project.datasource;
+
+import naumen.project.config.props.DataSourceProps;
+import naumen.project.entity.User;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Отслеживает недавние записи пользователей, чтобы после своей записи пользователь читал из основной БД,
+ * пока реплики ее не догнали. Состояние хранится в памяти экземпляра приложения.
+ *
+ * @see ReplicaRoutingDataSource
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private final DataSourceProps dataSourceProps;
+
+    /**
+     * Момент (System.nanoTime), до которого чтения пользователя идут в основную БД
+     */
+    private final Map<Long, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(DataSourceProps dataSourceProps) {
+        this.dataSourceProps = dataSourceProps;
+    }
+
+    /**
+     * Запоминает запись текущего пользователя
+     */
+    public void markWrite() {
+        Long userId = currentUserId();
+        if (userId != null) {
+            stickyUntil.put(userId, System.nanoTime() + dataSourceProps.getReadYourWritesWindow().toNanos());
+        }
+    }
+
+    /**
+     * Проверяет, должен ли текущий пользователь читать из основной БД
+     *
+     * @return true, если пользователь недавно выполнял запись
+     */
+    public boolean isSticky() {
+        Long userId = currentUserId();
+        if (userId == null) {
+            return false;
+        }
+
+        Long until = stickyUntil.get(userId);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        stickyUntil.remove(userId, until);
+        return false;
+    }
+
+    /**
+     * Удаляет истекшие отметки о записи
+     */
+    public void evictExpired() {
+        long now = System.nanoTime();
+        stickyUntil.values().removeIf(until -> until - now <= 0);
+    }
+
+    /**
+     * Определяет идентификатор аутентифицированного пользователя текущего запроса
+     */
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return user.getId();
+        }
+        return null;
+    }
+}
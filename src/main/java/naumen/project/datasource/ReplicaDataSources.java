@@ -0,0 +1,122 @@
+package naumen.project.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import naumen.project.config.props.DataSourceProps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Пулы соединений реплик для чтения и их состояние.
+ * Реплика получает запросы, только если последняя проверка прошла успешно
+ * и ее отставание не превышает допустимого. До первой проверки реплики считаются недоступными.
+ *
+ * @see ReplicaRoutingDataSource
+ * @see DataSourceProps
+ */
+@Component
+public class ReplicaDataSources {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaDataSources.class);
+
+    /**
+     * Отставание реплики в секундах. Если реплика применила все полученные изменения,
+     * отставание нулевое, даже если в основную БД давно ничего не писали.
+     */
+    private static final String LAG_SQL = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+            END""";
+
+    private final DataSourceProps dataSourceProps;
+    private final Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+    private final Set<String> healthy = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaDataSources(DataSourceProps dataSourceProps, DataSourceProperties dataSourceProperties) {
+        this.dataSourceProps = dataSourceProps;
+
+        List<DataSourceProps.Replica> configured = dataSourceProps.getReplicas();
+        for (int i = 0; i < configured.size(); i++) {
+            DataSourceProps.Replica replica = configured.get(i);
+            String name = "replica-" + i;
+
+            // Пул создается без подключения, поэтому недоступная реплика не мешает запуску приложения
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName(name);
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(Optional.ofNullable(replica.getUsername())
+                    .orElse(dataSourceProperties.determineUsername()));
+            dataSource.setPassword(Optional.ofNullable(replica.getPassword())
+                    .orElse(dataSourceProperties.determinePassword()));
+            dataSource.setMaximumPoolSize(replica.getMaxPoolSize());
+            dataSource.setReadOnly(true);
+            replicas.put(name, dataSource);
+        }
+    }
+
+    /**
+     * Пулы соединений реплик по именам
+     */
+    public Map<String, HikariDataSource> getDataSources() {
+        return replicas;
+    }
+
+    /**
+     * Выбирает реплику для очередного запроса по кругу среди доступных
+     *
+     * @return имя реплики, пустое если доступных реплик нет
+     */
+    public Optional<String> nextHealthy() {
+        List<String> available = replicas.keySet().stream()
+                .filter(healthy::contains)
+                .toList();
+        if (available.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(available.get(Math.floorMod(next.getAndIncrement(), available.size())));
+    }
+
+    /**
+     * Проверяет отставание каждой реплики и обновляет список доступных
+     */
+    public void checkLag() {
+        double maxLagSeconds = dataSourceProps.getReplicaMaxLag().toMillis() / 1000.0;
+        replicas.forEach((name, dataSource) -> {
+            try {
+                Double lag = new JdbcTemplate(dataSource).queryForObject(LAG_SQL, Double.class);
+                if (lag != null && lag <= maxLagSeconds) {
+                    if (healthy.add(name)) {
+                        log.info("Реплика {} доступна для чтения", name);
+                    }
+                } else if (healthy.remove(name)) {
+                    log.warn("Реплика {} отстает на {} с, чтение переведено на основную БД", name, lag);
+                }
+            } catch (RuntimeException e) {
+                if (healthy.remove(name)) {
+                    log.warn("Реплика {} недоступна, чтение переведено на основную БД", name, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Закрывает пулы соединений реплик
+     */
+    @PreDestroy
+    public void close() {
+        replicas.values().forEach(HikariDataSource::close);
+    }
+}
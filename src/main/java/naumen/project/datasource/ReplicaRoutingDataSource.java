@@ -0,0 +1,60 @@
+package naumen.project.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Источник данных, направляющий читающие транзакции на реплики, а остальные запросы - в основную БД.
+ * Запрос идет в основную БД, если доступных реплик нет или пользователь только что выполнял запись.
+ * Решение принимается при получении соединения, поэтому источник должен быть обернут
+ * в {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: иначе соединение берется
+ * при начале транзакции, когда признак только для чтения еще не выставлен.
+ *
+ * @see ReplicaDataSources
+ * @see ReadYourWritesTracker
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final ReplicaDataSources replicaDataSources;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    ReplicaDataSources replicaDataSources,
+                                    ReadYourWritesTracker readYourWritesTracker) {
+        this.replicaDataSources = replicaDataSources;
+        this.readYourWritesTracker = readYourWritesTracker;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        readYourWritesTracker.markWrite();
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+
+        if (readYourWritesTracker.isSticky()) {
+            return PRIMARY;
+        }
+        return replicaDataSources.nextHealthy().orElse(PRIMARY);
+    }
+}
@@ -0,0 +1,89 @@
+package naumen.project.deadline;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Источник данных, ограничивающий запросы к БД оставшимся временем на обработку HTTP запроса.
+ * Каждому создаваемому JDBC statement выставляется таймаут по оставшемуся времени, поэтому запрос,
+ * клиент которого уже перестал ждать, не продолжает занимать соединение. Если время уже истекло,
+ * соединение и statement не создаются вовсе.
+ * Вне HTTP запроса (фоновые задачи) таймауты не выставляются.
+ *
+ * @see RequestDeadline
+ */
+public class DeadlineDataSource extends DelegatingDataSource {
+
+    private static final Set<String> STATEMENT_FACTORY_METHODS = Set.of("createStatement", "prepareStatement",
+            "prepareCall");
+
+    public DeadlineDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        remainingSeconds();
+        return withQueryTimeouts(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        remainingSeconds();
+        return withQueryTimeouts(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    /**
+     * Оборачивает соединение так, чтобы создаваемым statement выставлялся таймаут
+     */
+    private Connection withQueryTimeouts(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("equals")) {
+                        return proxy == args[0];
+                    }
+                    if (method.getName().equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    }
+
+                    int timeout = STATEMENT_FACTORY_METHODS.contains(method.getName()) ? remainingSeconds() : 0;
+                    Object result;
+                    try {
+                        result = method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                    if (timeout > 0 && result instanceof Statement statement) {
+                        statement.setQueryTimeout(timeout);
+                    }
+                    return result;
+                });
+    }
+
+    /**
+     * Оставшееся время в секундах, округленное вверх, так как JDBC таймаут задается в секундах
+     *
+     * @return оставшееся время в секундах, 0 вне HTTP запроса
+     * @throws SQLTimeoutException если время на обработку запроса истекло
+     */
+    private static int remainingSeconds() throws SQLTimeoutException {
+        Optional<Duration> remaining = RequestDeadline.remaining();
+        if (remaining.isEmpty()) {
+            return 0;
+        }
+        if (remaining.get().isNegative() || remaining.get().isZero()) {
+            throw new SQLTimeoutException("Время на обработку запроса истекло");
+        }
+        return (int) Math.min(Integer.MAX_VALUE, (remaining.get().toMillis() + 999) / 1000);
+    }
+}
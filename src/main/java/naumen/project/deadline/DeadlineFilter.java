@@ -0,0 +1,110 @@
+package naumen.project.deadline;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import naumen.project.config.props.DeadlineProps;
+import naumen.project.exception.handler.ErrorResponseWriter;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Фильтр, выставляющий крайний срок обработки запроса.
+ * Время на обработку берется из заголовка {@value #TIMEOUT_HEADER} (в миллисекундах), но не больше
+ * значения для эндпоинта. Отсчет идет с момента получения запроса, поэтому время ожидания
+ * в очередях ограничителей тоже учитывается.
+ * Если время истекло до или во время обращения к БД вне контроллера (например, при загрузке пользователя),
+ * отвечает 504.
+ *
+ * @see RequestDeadline
+ * @see DeadlineDataSource
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 20)
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private static final String DEADLINE_EXCEEDED_MESSAGE = "Время на обработку запроса истекло";
+
+    private final DeadlineProps deadlineProps;
+    private final ErrorResponseWriter errorResponseWriter;
+    private final List<EndpointTimeout> endpointTimeouts;
+
+    public DeadlineFilter(DeadlineProps deadlineProps, ErrorResponseWriter errorResponseWriter) {
+        this.deadlineProps = deadlineProps;
+        this.errorResponseWriter = errorResponseWriter;
+        this.endpointTimeouts = deadlineProps.getEndpoints().stream()
+                .map(endpoint -> new EndpointTimeout(PathPatternParser.defaultInstance.parse(endpoint.getPath()),
+                        endpoint.getTimeout()))
+                .toList();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        Duration timeout = resolveTimeout(request);
+        if (timeout.isNegative() || timeout.isZero()) {
+            errorResponseWriter.write(request, response, HttpStatus.GATEWAY_TIMEOUT, DEADLINE_EXCEEDED_MESSAGE);
+            return;
+        }
+
+        RequestDeadline.set(timeout);
+        try {
+            filterChain.doFilter(request, response);
+        } catch (QueryTimeoutException e) {
+            if (response.isCommitted()) {
+                throw e;
+            }
+            response.reset();
+            errorResponseWriter.write(request, response, HttpStatus.GATEWAY_TIMEOUT, DEADLINE_EXCEEDED_MESSAGE);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    /**
+     * Определяет время на обработку запроса: значение из заголовка, но не больше значения для эндпоинта
+     */
+    private Duration resolveTimeout(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(
+                request.getRequestURI().substring(request.getContextPath().length()));
+        Duration endpointTimeout = endpointTimeouts.stream()
+                .filter(endpoint -> endpoint.pattern().matches(path))
+                .map(EndpointTimeout::timeout)
+                .findFirst()
+                .orElse(deadlineProps.getDefaultTimeout());
+
+        String header = request.getHeader(TIMEOUT_HEADER);
+        if (header == null) {
+            return endpointTimeout;
+        }
+        try {
+            Duration requested = Duration.ofMillis(Long.parseLong(header.trim()));
+            return requested.compareTo(endpointTimeout) < 0 ? requested : endpointTimeout;
+        } catch (NumberFormatException e) {
+            return endpointTimeout;
+        }
+    }
+
+    /**
+     * Время на обработку запросов к эндпоинту
+     */
+    private record EndpointTimeout(PathPattern pattern, Duration timeout) {
+    }
+}
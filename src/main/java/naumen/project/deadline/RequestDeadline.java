@@ -0,0 +1,38 @@
+package naumen.project.deadline;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Крайний срок обработки запроса, обрабатываемого текущим потоком.
+ * Выставляется {@link DeadlineFilter} при получении запроса и используется
+ * для ограничения времени выполнения запросов к БД.
+ */
+public final class RequestDeadline {
+
+    /**
+     * Крайний срок в единицах System.nanoTime
+     */
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    /**
+     * Оставшееся время на обработку запроса
+     *
+     * @return оставшееся время, может быть отрицательным; пустое вне запроса
+     */
+    public static Optional<Duration> remaining() {
+        Long deadline = DEADLINE.get();
+        return deadline == null ? Optional.empty() : Optional.of(Duration.ofNanos(deadline - System.nanoTime()));
+    }
+
+    static void set(Duration timeout) {
+        DEADLINE.set(System.nanoTime() + timeout.toNanos());
+    }
+
+    static void clear() {
+        DEADLINE.remove();
+    }
+}
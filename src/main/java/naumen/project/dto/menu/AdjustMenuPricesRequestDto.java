@@ -0,0 +1,31 @@
+package naumen.project.dto.menu;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Массовое изменение цен позиций меню ресторана
+ *
+ * @param type  способ изменения цены
+ * @param value величина изменения: процент для PERCENT (например 7 или -10), сумма для ABSOLUTE
+ * @param title фильтр по вхождению текста в название (опционально)
+ * @param ids   фильтр по идентификаторам позиций меню (опционально, не больше 1000)
+ */
+public record AdjustMenuPricesRequestDto(
+
+        @NotNull
+        PriceAdjustmentType type,
+
+        @NotNull
+        BigDecimal value,
+
+        @Size(max = 30)
+        String title,
+
+        @Size(max = 1000)
+        List<Long> ids
+) {
+}
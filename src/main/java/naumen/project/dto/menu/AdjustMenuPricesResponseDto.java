@@ -0,0 +1,12 @@
+package naumen.project.dto.menu;
+
+/**
+ * Результат массового изменения цен
+ *
+ * @param updated количество позиций меню с измененной ценой
+ */
+public record AdjustMenuPricesResponseDto(
+
+        int updated
+) {
+}
@@ -0,0 +1,26 @@
+package naumen.project.dto.menu;
+
+import java.util.List;
+
+/**
+ * Ответ с изменениями меню ресторана после указанной версии
+ *
+ * @param restaurantId Идентификатор ресторана
+ * @param version      Версия меню, которую клиент передает при следующем запросе изменений
+ * @param full         Признак полного снимка меню: клиент должен заменить сохраненное меню целиком
+ * @param upserted     Добавленные и измененные позиции меню
+ * @param deleted      Идентификаторы удаленных позиций меню
+ */
+public record MenuChangesResponseDto(
+
+        Long restaurantId,
+
+        long version,
+
+        boolean full,
+
+        List<MenuItemResponseDto> upserted,
+
+        List<Long> deleted
+) {
+}
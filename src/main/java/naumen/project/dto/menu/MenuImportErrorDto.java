@@ -0,0 +1,15 @@
+package naumen.project.dto.menu;
+
+/**
+ * Ошибка в строке импорта меню
+ *
+ * @param line    номер строки во входных данных (начиная с 1)
+ * @param message описание ошибки
+ */
+public record MenuImportErrorDto(
+
+        long line,
+
+        String message
+) {
+}
@@ -0,0 +1,23 @@
+package naumen.project.dto.menu;
+
+import java.util.List;
+
+/**
+ * Результат массового импорта меню
+ *
+ * @param imported  количество добавленных позиций меню
+ * @param failed    количество строк, не прошедших валидацию
+ * @param truncated импорт прерван на превышении лимита строк, строки после лимита не прочитаны
+ * @param errors    ошибки по строкам (не больше заданного в настройках лимита)
+ */
+public record MenuImportResultDto(
+
+        long imported,
+
+        long failed,
+
+        boolean truncated,
+
+        List<MenuImportErrorDto> errors
+) {
+}
@@ -10,6 +10,7 @@ import java.math.BigDecimal;
  * @param description  Описание позиции меню
  * @param price        Цена позиции меню
  * @param restaurantId Идентификатор ресторана
+ * @param imageUrl     Адрес изображения позиции меню, null если изображения нет
  */
 public record MenuItemResponseDto(
 
@@ -21,6 +22,8 @@ public record MenuItemResponseDto(
 
         BigDecimal price,
 
-        Long restaurantId
+        Long restaurantId,
+
+        String imageUrl
 ) {
 }
\ No newline at end of file
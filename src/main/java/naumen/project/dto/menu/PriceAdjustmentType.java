@@ -0,0 +1,17 @@
+package naumen.project.dto.menu;
+
+/**
+ * Способ изменения цен позиций меню
+ */
+public enum PriceAdjustmentType {
+
+    /**
+     * Изменение на процент от текущей цены
+     */
+    PERCENT,
+
+    /**
+     * Изменение на фиксированную сумму
+     */
+    ABSOLUTE,
+}
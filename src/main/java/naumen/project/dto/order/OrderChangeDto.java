@@ -0,0 +1,25 @@
+package naumen.project.dto.order;
+
+import naumen.project.entity.enums.OrderStatus;
+
+import java.time.Instant;
+
+/**
+ * Изменение заказа в журнале изменений.
+ *
+ * @param sequence     номер изменения
+ * @param orderId      идентификатор заказа
+ * @param restaurantId идентификатор ресторана заказа
+ * @param courierId    идентификатор курьера заказа, null если курьер не назначен
+ * @param status       статус заказа после изменения
+ * @param changedAt    время изменения
+ */
+public record OrderChangeDto(
+        long sequence,
+        Long orderId,
+        Long restaurantId,
+        Long courierId,
+        OrderStatus status,
+        Instant changedAt
+) {
+}
@@ -0,0 +1,18 @@
+package naumen.project.dto.order;
+
+import java.util.List;
+
+/**
+ * Ответ с изменениями заказов после указанного номера.
+ * Журнал хранит только последнее изменение каждого заказа, поэтому промежуточные статусы могут быть пропущены.
+ *
+ * @param sequence номер, который клиент передает при следующем запросе изменений
+ * @param hasMore  признак того, что изменений больше, чем вернулось, и запрос нужно повторить сразу
+ * @param changes  изменения в порядке номеров
+ */
+public record OrderChangesResponseDto(
+        long sequence,
+        boolean hasMore,
+        List<OrderChangeDto> changes
+) {
+}
@@ -0,0 +1,28 @@
+package naumen.project.dto.order;
+
+import naumen.project.entity.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Событие изменения статуса заказа в потоке событий заказов.
+ *
+ * @param orderId        идентификатор заказа
+ * @param restaurantId   идентификатор ресторана заказа
+ * @param courierId      идентификатор курьера заказа, null если курьер не назначен
+ * @param previousStatus статус до изменения, null для созданного заказа
+ * @param status         новый статус
+ * @param totalPrice     общая стоимость заказа
+ * @param createdAt      дата создания заказа
+ */
+public record OrderStatusEventDto(
+        Long orderId,
+        Long restaurantId,
+        Long courierId,
+        OrderStatus previousStatus,
+        OrderStatus status,
+        BigDecimal totalPrice,
+        Instant createdAt
+) {
+}
@@ -0,0 +1,17 @@
+package naumen.project.dto.order.client;
+
+/**
+ * Режим массового оформления заказов
+ */
+public enum BulkOrderMode {
+
+    /**
+     * Заказы оформляются, только если все они корректны
+     */
+    ALL_OR_NOTHING,
+
+    /**
+     * Оформляются корректные заказы, некорректные пропускаются
+     */
+    BEST_EFFORT,
+}
@@ -0,0 +1,25 @@
+package naumen.project.dto.order.client;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Запрос на массовое оформление заказов
+ *
+ * @param mode   режим оформления
+ * @param orders заказы
+ */
+public record OrderClientBulkCreateRequestDto(
+
+        @NotNull
+        BulkOrderMode mode,
+
+        @NotNull
+        @Size(min = 1, max = 200)
+        List<@Valid @NotNull OrderClientCreateRequestDto> orders
+
+) {
+}
@@ -0,0 +1,20 @@
+package naumen.project.dto.order.client;
+
+import java.util.List;
+
+/**
+ * Результат массового оформления заказов
+ *
+ * @param created количество оформленных заказов
+ * @param failed  количество неоформленных заказов, включая корректные заказы, отклоненные в режиме ALL_OR_NOTHING
+ * @param results результаты по каждому заказу в порядке запроса
+ */
+public record OrderClientBulkCreateResponseDto(
+
+        long created,
+
+        long failed,
+
+        List<OrderClientBulkResultDto> results
+) {
+}
@@ -0,0 +1,18 @@
+package naumen.project.dto.order.client;
+
+/**
+ * Результат оформления одного заказа из массового запроса
+ *
+ * @param index номер заказа в запросе (начиная с 0)
+ * @param order оформленный заказ. Null, если заказ не оформлен
+ * @param error причина, по которой заказ не оформлен. Null, если заказ оформлен
+ */
+public record OrderClientBulkResultDto(
+
+        int index,
+
+        OrderClientInfoResponseDto order,
+
+        String error
+) {
+}
@@ -1,11 +1,13 @@
 package naumen.project.dto.order.client;
 
+import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import naumen.project.dto.order.item.OrderItemCreateRequestDto;
 
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -14,6 +16,8 @@ import java.util.List;
  * @param restaurantId    id ресторана
  * @param deliveryAddress адрес доставки
  * @param items           состав заказа
+ * @param deliverAt       время, к которому нужно доставить заказ (опционально). Если до него далеко,
+ *                        заказ планируется и передается ресторану заранее
  */
 public record OrderClientCreateRequestDto(
 
@@ -27,7 +31,10 @@ public record OrderClientCreateRequestDto(
 
         @NotNull
         @Size(min = 1)
-        List<OrderItemCreateRequestDto> items
+        List<OrderItemCreateRequestDto> items,
+
+        @Future
+        Instant deliverAt
 
 ) {
 }
@@ -15,6 +15,7 @@ import java.util.List;
  * @param totalPrice      общая сумма заказа
  * @param deliveryAddress адрес доставки
  * @param createdAt       дата создания заказа
+ * @param deliverAt       время, к которому запланирована доставка. Может быть null, если заказ выполняется сразу
  * @param restaurantId    id ресторана, где оформлен заказ
  * @param courierId       id курьера. Может быть null, если ещё не в доставке
  * @param items           состав заказа
@@ -27,6 +28,7 @@ public record OrderClientInfoResponseDto(
         Long restaurantId,
         Long courierId,
         Instant createdAt,
+        Instant deliverAt,
         List<OrderItemResponseDto> items
 ) {
 }
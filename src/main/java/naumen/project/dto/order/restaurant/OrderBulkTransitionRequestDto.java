@@ -0,0 +1,20 @@
+package naumen.project.dto.order.restaurant;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Запрос на перевод нескольких заказов в другой статус
+ *
+ * @param orderIds идентификаторы заказов
+ */
+public record OrderBulkTransitionRequestDto(
+
+        @NotNull
+        @Size(min = 1, max = 500)
+        List<@NotNull Long> orderIds
+
+) {
+}
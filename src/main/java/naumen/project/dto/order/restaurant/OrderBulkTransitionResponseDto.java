@@ -0,0 +1,17 @@
+package naumen.project.dto.order.restaurant;
+
+import java.util.List;
+
+/**
+ * Результат перевода нескольких заказов в другой статус
+ *
+ * @param transitioned идентификаторы переведенных заказов
+ * @param failed       заказы, которые не удалось перевести, с причинами
+ */
+public record OrderBulkTransitionResponseDto(
+
+        List<Long> transitioned,
+
+        List<OrderTransitionFailureDto> failed
+) {
+}
@@ -15,6 +15,7 @@ import java.util.List;
  * @param totalPrice общая стоимость заказа
  * @param courierId  идентификатор курьера
  * @param createdAt  время создания заказа
+ * @param deliverAt  время, к которому запланирована доставка, null если заказ выполняется сразу
  * @param items      список пунктов заказа
  */
 public record OrderRestaurantResponseDto(
@@ -23,6 +24,7 @@ public record OrderRestaurantResponseDto(
         BigDecimal totalPrice,
         Long courierId,
         Instant createdAt,
+        Instant deliverAt,
         List<OrderItemResponseDto> items
 ) {
 }
@@ -0,0 +1,15 @@
+package naumen.project.dto.order.restaurant;
+
+/**
+ * Заказ, который не удалось перевести в другой статус
+ *
+ * @param orderId идентификатор заказа
+ * @param reason  причина
+ */
+public record OrderTransitionFailureDto(
+
+        Long orderId,
+
+        String reason
+) {
+}
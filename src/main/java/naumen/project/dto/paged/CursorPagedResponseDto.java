@@ -0,0 +1,17 @@
+package naumen.project.dto.paged;
+
+import java.util.List;
+
+/**
+ * Ответ с пагинацией по курсору
+ *
+ * @param content    Список элементов на текущей странице
+ * @param nextCursor Курсор для получения следующей страницы, null если страница последняя
+ */
+public record CursorPagedResponseDto<T>(
+
+        List<T> content,
+
+        Long nextCursor
+) {
+}
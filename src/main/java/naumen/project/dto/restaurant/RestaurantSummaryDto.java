@@ -0,0 +1,33 @@
+package naumen.project.dto.restaurant;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Сводная информация о ресторане для каталога ресторанов
+ *
+ * @param id               Идентификатор ресторана
+ * @param name             Название ресторана
+ * @param address          Адрес ресторана
+ * @param itemCount        Количество позиций в меню
+ * @param minPrice         Минимальная цена позиции меню, null если меню пустое
+ * @param maxPrice         Максимальная цена позиции меню, null если меню пустое
+ * @param lastMenuChangeAt Время последнего изменения меню, null если меню не менялось
+ */
+public record RestaurantSummaryDto(
+
+        Long id,
+
+        String name,
+
+        String address,
+
+        long itemCount,
+
+        BigDecimal minPrice,
+
+        BigDecimal maxPrice,
+
+        Instant lastMenuChangeAt
+) {
+}
@@ -0,0 +1,150 @@
+package naumen.project.entity;
+
+import jakarta.persistence.*;
+import naumen.project.entity.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Заказ в архиве.
+ * Завершенные, удаленные и отмененные заказы переносятся из таблицы заказов в архив,
+ * чтобы таблица заказов и ее индексы оставались небольшими. Заказ сохраняет свой идентификатор,
+ * а ресторан, клиент и курьер хранятся идентификаторами без внешних ключей.
+ *
+ * @see Order
+ */
+@Entity
+@Table(name = "order_archive",
+        indexes = @Index(name = "idx_order_archive_client_id_created_at", columnList = "client_id, created_at"))
+public class ArchivedOrder {
+    /**
+     * Идентификатор заказа
+     */
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    /**
+     * Адрес для доставки
+     */
+    @Column(name = "delivery_address", nullable = false)
+    private String deliveryAddress;
+
+    /**
+     * Статус заказа
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private OrderStatus status;
+
+    /**
+     * Состав заказа
+     */
+    @OneToMany(mappedBy = "order")
+    private List<ArchivedOrderItem> items;
+
+    /**
+     * Общая стоимость заказа
+     */
+    @Column(name = "total_price", nullable = false)
+    private BigDecimal totalPrice;
+
+    /**
+     * Идентификатор ресторана
+     */
+    @Column(name = "restaurant_id", nullable = false)
+    private Long restaurantId;
+
+    /**
+     * Идентификатор клиента
+     */
+    @Column(name = "client_id", nullable = false)
+    private Long clientId;
+
+    /**
+     * Идентификатор курьера, пустой если курьер не назначался
+     */
+    @Column(name = "courier_id")
+    private Long courierId;
+
+    /**
+     * Дата создания заказа
+     */
+    @Column(name = "created_at")
+    private Instant createdAt;
+
+    /**
+     * Время перехода заказа в последний статус
+     */
+    @Column(name = "status_changed_at")
+    private Instant statusChangedAt;
+
+    /**
+     * Время, к которому клиент запланировал доставку
+     */
+    @Column(name = "deliver_at")
+    private Instant deliverAt;
+
+    /**
+     * Время переноса заказа в архив
+     */
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+
+    /**
+     * Пустой конструктор для JPA
+     */
+    public ArchivedOrder() {
+
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getDeliveryAddress() {
+        return deliveryAddress;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public List<ArchivedOrderItem> getItems() {
+        return items;
+    }
+
+    public BigDecimal getTotalPrice() {
+        return totalPrice;
+    }
+
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+
+    public Long getClientId() {
+        return clientId;
+    }
+
+    public Long getCourierId() {
+        return courierId;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getStatusChangedAt() {
+        return statusChangedAt;
+    }
+
+    public Instant getDeliverAt() {
+        return deliverAt;
+    }
+
+    public Instant getArchivedAt() {
+        return archivedAt;
+    }
+}
@@ -0,0 +1,86 @@
+package naumen.project.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Пункт заказа в архиве.
+ * Название блюда сохраняется на момент переноса в архив, поэтому архивный заказ
+ * не зависит от дальнейших изменений меню.
+ *
+ * @see ArchivedOrder
+ */
+@Entity
+@Table(name = "order_item_archive",
+        indexes = @Index(name = "idx_order_item_archive_order_id", columnList = "order_id"))
+public class ArchivedOrderItem {
+    /**
+     * Идентификатор пункта заказа
+     */
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    /**
+     * Количество штук блюда
+     */
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    /**
+     * Зафиксированная стоимость выбранного блюда на момент заказа
+     */
+    @Column(name = "item_price", nullable = false)
+    private BigDecimal itemPrice;
+
+    /**
+     * Идентификатор заказанного блюда
+     */
+    @Column(name = "menu_item_id", nullable = false)
+    private Long menuItemId;
+
+    /**
+     * Название заказанного блюда
+     */
+    @Column(name = "menu_item_title")
+    private String menuItemTitle;
+
+    /**
+     * К какому заказу относится
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false)
+    private ArchivedOrder order;
+
+    /**
+     * Пустой конструктор для JPA
+     */
+    public ArchivedOrderItem() {
+
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public BigDecimal getItemPrice() {
+        return itemPrice;
+    }
+
+    public Long getMenuItemId() {
+        return menuItemId;
+    }
+
+    public String getMenuItemTitle() {
+        return menuItemTitle;
+    }
+
+    public ArchivedOrder getOrder() {
+        return order;
+    }
+}
@@ -4,17 +4,33 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.SequenceGenerator;
 
 /**
- * Абстрактный класс для сущностей c id - автоинкрементное число
+ * Абстрактный класс для сущностей c id - число из общей последовательности.
+ * Идентификаторы выделяются блоками по {@link #ID_ALLOCATION_SIZE}: значение последовательности v
+ * резервирует идентификаторы (v - ID_ALLOCATION_SIZE; v]. В отличие от IDENTITY, идентификатор известен
+ * до вставки, поэтому Hibernate может объединять вставки в JDBC батчи.
  */
 @MappedSuperclass
 public abstract class IdEntity {
+
+    /**
+     * Имя последовательности идентификаторов
+     */
+    public static final String ID_SEQUENCE = "id_seq";
+
+    /**
+     * Шаг последовательности идентификаторов - размер выделяемого блока
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     /**
      * Уникальный идентификатор сущности
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     public Long getId() {
@@ -0,0 +1,111 @@
+package naumen.project.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Сохраненный ответ на запрос с ключом идемпотентности.
+ * Пока запрос обрабатывается, статус ответа не заполнен и запись служит блокировкой ключа.
+ * Ключ и тело запроса хранятся в виде SHA-256 хэшей, поэтому запись занимает немного места.
+ */
+@Entity
+@Table(name = "idempotency_record",
+        indexes = @Index(name = "idx_idempotency_record_expires_at", columnList = "expires_at"))
+public class IdempotencyRecord {
+    /**
+     * Хэш пользователя, эндпоинта и ключа идемпотентности
+     */
+    @Id
+    @Column(name = "key_hash", length = 64)
+    private String keyHash;
+
+    /**
+     * Хэш тела запроса
+     */
+    @Column(name = "request_hash", length = 64, nullable = false)
+    private String requestHash;
+
+    /**
+     * HTTP статус ответа, пустой пока запрос обрабатывается
+     */
+    @Column(name = "status")
+    private Integer status;
+
+    /**
+     * Тип содержимого ответа
+     */
+    @Column(name = "content_type")
+    private String contentType;
+
+    /**
+     * Тело ответа
+     */
+    @Column(name = "body")
+    private byte[] body;
+
+    /**
+     * Время истечения записи: для обрабатываемого запроса - срок блокировки ключа,
+     * для сохраненного ответа - срок его хранения
+     */
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    /**
+     * Конструктор с параметрами
+     *
+     * @param keyHash     хэш пользователя, эндпоинта и ключа идемпотентности
+     * @param requestHash хэш тела запроса
+     * @param status      HTTP статус ответа
+     * @param contentType тип содержимого ответа
+     * @param body        тело ответа
+     * @param expiresAt   время истечения записи
+     */
+    public IdempotencyRecord(String keyHash, String requestHash, Integer status, String contentType, byte[] body,
+                             Instant expiresAt) {
+        this.keyHash = keyHash;
+        this.requestHash = requestHash;
+        this.status = status;
+        this.contentType = contentType;
+        this.body = body;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Пустой конструктор для JPA
+     */
+    public IdempotencyRecord() {
+
+    }
+
+    public String getKeyHash() {
+        return keyHash;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public Integer getStatus() {
+        return status;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * Признак того, что запрос еще обрабатывается и ответ не сохранен
+     */
+    public boolean isInProgress() {
+        return status == null;
+    }
+}
@@ -0,0 +1,78 @@
+package naumen.project.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Запись журнала изменений меню.
+ * Журнал компактный: на каждую позицию меню хранится только последнее изменение,
+ * поэтому его размер ограничен числом когда-либо созданных позиций.
+ *
+ * @see MenuVersion
+ */
+@Entity
+@Table(name = "menu_change",
+        indexes = @Index(name = "idx_menu_change_restaurant_version", columnList = "restaurant_id, version"))
+public class MenuChange {
+    /**
+     * Идентификатор позиции меню
+     */
+    @Id
+    @Column(name = "menu_item_id")
+    private Long menuItemId;
+
+    /**
+     * Идентификатор ресторана, которому принадлежит позиция меню
+     */
+    @Column(name = "restaurant_id", nullable = false)
+    private Long restaurantId;
+
+    /**
+     * Версия меню, в которой позиция была изменена последний раз
+     */
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    /**
+     * Признак удаления позиции
+     */
+    @Column(name = "deleted", nullable = false)
+    private boolean deleted;
+
+    /**
+     * Конструктор с параметрами
+     *
+     * @param menuItemId   идентификатор позиции меню
+     * @param restaurantId идентификатор ресторана
+     * @param version      версия меню
+     * @param deleted      признак удаления позиции
+     */
+    public MenuChange(Long menuItemId, Long restaurantId, long version, boolean deleted) {
+        this.menuItemId = menuItemId;
+        this.restaurantId = restaurantId;
+        this.version = version;
+        this.deleted = deleted;
+    }
+
+    /**
+     * Пустой конструктор для JPA
+     */
+    public MenuChange() {
+
+    }
+
+    public Long getMenuItemId() {
+        return menuItemId;
+    }
+
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+}
@@ -11,7 +11,7 @@ import java.math.BigDecimal;
  * @see User
  */
 @Entity
-@Table(name = "menu_item")
+@Table(name = "menu_item", indexes = @Index(name = "idx_menu_item_restaurant_id", columnList = "restaurant_id"))
 public class MenuItem extends IdEntity {
     /**
      * Название блюда
@@ -31,6 +31,12 @@ public class MenuItem extends IdEntity {
     @Column(name = "price", nullable = false)
     private BigDecimal price;
 
+    /**
+     * Имя файла изображения блюда: SHA-256 хэш содержимого и расширение
+     */
+    @Column(name = "image")
+    private String image;
+
     /**
      * Ресторан, которому принадлежит позиция меню
      */
@@ -83,6 +89,14 @@ public class MenuItem extends IdEntity {
         this.price = price;
     }
 
+    public String getImage() {
+        return image;
+    }
+
+    public void setImage(String image) {
+        this.image = image;
+    }
+
     public User getRestaurant() {
         return restaurant;
     }
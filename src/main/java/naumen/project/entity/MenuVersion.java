@@ -0,0 +1,66 @@
+package naumen.project.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Версия меню ресторана.
+ * Монотонно увеличивается при каждом изменении меню, используется для дельта-синхронизации клиентов.
+ *
+ * @see MenuChange
+ */
+@Entity
+@Table(name = "menu_version")
+public class MenuVersion {
+    /**
+     * Идентификатор ресторана
+     */
+    @Id
+    @Column(name = "restaurant_id")
+    private Long restaurantId;
+
+    /**
+     * Текущая версия меню
+     */
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    /**
+     * Время последнего изменения меню
+     */
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    /**
+     * Конструктор с параметрами
+     *
+     * @param restaurantId идентификатор ресторана
+     * @param version      текущая версия меню
+     * @param updatedAt    время последнего изменения меню
+     */
+    public MenuVersion(Long restaurantId, long version, Instant updatedAt) {
+        this.restaurantId = restaurantId;
+        this.version = version;
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * Пустой конструктор для JPA
+     */
+    public MenuVersion() {
+
+    }
+
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
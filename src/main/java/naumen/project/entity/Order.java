@@ -12,7 +12,11 @@ import java.util.List;
  * Сущность заказа.
  */
 @Entity
-@Table(name = "\"order\"")
+@Table(name = "\"order\"",
+        indexes = {
+                @Index(name = "idx_order_status_status_changed_at", columnList = "status, status_changed_at"),
+                @Index(name = "idx_order_status_deliver_at", columnList = "status, deliver_at")
+        })
 public class Order extends IdEntity {
 
     /**
@@ -43,21 +47,21 @@ public class Order extends IdEntity {
     /**
      * Ресторан, у которого заказ
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "restaurant_id", nullable = false)
     private User restaurant;
 
     /**
      * Клиент, тот, кто заказал
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "client_id", nullable = false)
     private User client;
 
     /**
      * Курьер для данного заказа
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "courier_id")
     private User courier;
 
@@ -67,6 +71,18 @@ public class Order extends IdEntity {
     @CreationTimestamp
     private Instant createdAt;
 
+    /**
+     * Время перехода заказа в текущий статус
+     */
+    @Column(name = "status_changed_at")
+    private Instant statusChangedAt;
+
+    /**
+     * Время, к которому клиент запланировал доставку. Пустое, если заказ нужно выполнить сразу
+     */
+    @Column(name = "deliver_at")
+    private Instant deliverAt;
+
     /**
      * Конструктор для создания заказа.
      *
@@ -81,6 +97,7 @@ public class Order extends IdEntity {
                  BigDecimal totalPrice, User restaurant, User client) {
         this.deliveryAddress = deliveryAddress;
         this.status = status;
+        this.statusChangedAt = Instant.now();
         this.items = items;
         this.totalPrice = totalPrice;
         this.restaurant = restaurant;
@@ -153,4 +170,20 @@ public class Order extends IdEntity {
     public Instant getCreatedAt() {
         return createdAt;
     }
+
+    public Instant getStatusChangedAt() {
+        return statusChangedAt;
+    }
+
+    public void setStatusChangedAt(Instant statusChangedAt) {
+        this.statusChangedAt = statusChangedAt;
+    }
+
+    public Instant getDeliverAt() {
+        return deliverAt;
+    }
+
+    public void setDeliverAt(Instant deliverAt) {
+        this.deliverAt = deliverAt;
+    }
 }
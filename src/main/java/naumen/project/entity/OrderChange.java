@@ -0,0 +1,124 @@
+package naumen.project.entity;
+
+import jakarta.persistence.*;
+import naumen.project.entity.enums.OrderStatus;
+
+import java.time.Instant;
+
+/**
+ * Запись журнала изменений заказов.
+ * Каждое изменение заказа получает глобальный монотонно растущий номер, номера выдаются в порядке
+ * фиксации транзакций. Журнал компактный: на каждый заказ хранится только последнее изменение.
+ */
+@Entity
+@Table(name = "order_change",
+        indexes = {
+                @Index(name = "idx_order_change_seq", columnList = "seq", unique = true),
+                @Index(name = "idx_order_change_client_seq", columnList = "client_id, seq"),
+                @Index(name = "idx_order_change_restaurant_seq", columnList = "restaurant_id, seq"),
+                @Index(name = "idx_order_change_courier_seq", columnList = "courier_id, seq")
+        })
+public class OrderChange {
+    /**
+     * Идентификатор заказа
+     */
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    /**
+     * Номер последнего изменения заказа
+     */
+    @Column(name = "seq", nullable = false)
+    private long sequence;
+
+    /**
+     * Идентификатор ресторана заказа
+     */
+    @Column(name = "restaurant_id", nullable = false)
+    private Long restaurantId;
+
+    /**
+     * Идентификатор клиента заказа
+     */
+    @Column(name = "client_id", nullable = false)
+    private Long clientId;
+
+    /**
+     * Идентификатор курьера заказа, пустой если курьер не назначен
+     */
+    @Column(name = "courier_id")
+    private Long courierId;
+
+    /**
+     * Статус заказа после изменения
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private OrderStatus status;
+
+    /**
+     * Время изменения
+     */
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+    /**
+     * Конструктор с параметрами. Номер изменения выдается при записи в журнал
+     *
+     * @param orderId      идентификатор заказа
+     * @param restaurantId идентификатор ресторана
+     * @param clientId     идентификатор клиента
+     * @param courierId    идентификатор курьера
+     * @param status       статус заказа после изменения
+     * @param changedAt    время изменения
+     */
+    public OrderChange(Long orderId, Long restaurantId, Long clientId, Long courierId, OrderStatus status,
+                       Instant changedAt) {
+        this.orderId = orderId;
+        this.restaurantId = restaurantId;
+        this.clientId = clientId;
+        this.courierId = courierId;
+        this.status = status;
+        this.changedAt = changedAt;
+    }
+
+    /**
+     * Пустой конструктор для JPA
+     */
+    public OrderChange() {
+
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+
+    public Long getClientId() {
+        return clientId;
+    }
+
+    public Long getCourierId() {
+        return courierId;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+}
@@ -0,0 +1,131 @@
+package naumen.project.entity;
+
+import jakarta.persistence.*;
+import naumen.project.entity.enums.OrderStatus;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Запись журнала переходов заказов между статусами.
+ * Журнал компактный: статусы заказа меняются только вперед, поэтому на каждый заказ
+ * хранится не больше одной записи на статус - время перехода в него и время, проведенное в предыдущем.
+ */
+@Entity
+@IdClass(OrderTransition.Key.class)
+@Table(name = "order_transition",
+        indexes = @Index(name = "idx_order_transition_changed_at", columnList = "changed_at"))
+public class OrderTransition {
+    /**
+     * Идентификатор заказа
+     */
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    /**
+     * Статус, в который перешел заказ
+     */
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private OrderStatus status;
+
+    /**
+     * Статус, из которого перешел заказ, пустой для созданного заказа
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "previous_status")
+    private OrderStatus previousStatus;
+
+    /**
+     * Идентификатор ресторана заказа
+     */
+    @Column(name = "restaurant_id", nullable = false)
+    private Long restaurantId;
+
+    /**
+     * Время перехода
+     */
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+    /**
+     * Время в предыдущем статусе в миллисекундах, пустое для созданного заказа
+     */
+    @Column(name = "duration_ms")
+    private Long durationMillis;
+
+    /**
+     * Конструктор с параметрами
+     *
+     * @param orderId        идентификатор заказа
+     * @param status         статус, в который перешел заказ
+     * @param previousStatus статус, из которого перешел заказ
+     * @param restaurantId   идентификатор ресторана
+     * @param changedAt      время перехода
+     * @param durationMillis время в предыдущем статусе в миллисекундах
+     */
+    public OrderTransition(Long orderId, OrderStatus status, OrderStatus previousStatus, Long restaurantId,
+                           Instant changedAt, Long durationMillis) {
+        this.orderId = orderId;
+        this.status = status;
+        this.previousStatus = previousStatus;
+        this.restaurantId = restaurantId;
+        this.changedAt = changedAt;
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * Пустой конструктор для JPA
+     */
+    public OrderTransition() {
+
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public OrderStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+
+    public Long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * Составной идентификатор записи журнала переходов
+     */
+    public static class Key implements Serializable {
+
+        private Long orderId;
+        private OrderStatus status;
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key key)) return false;
+
+            return Objects.equals(orderId, key.orderId) && status == key.status;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(orderId, status);
+        }
+    }
+}
@@ -1,10 +1,18 @@
 package naumen.project.entity.enums;
 
 /**
- * Статусы заказа
+ * Статусы заказа.
+ * Новый статус добавляется в ограничения CHECK существующих таблиц при запуске приложения,
+ * см. {@link naumen.project.config.OrderStatusCheckInitializer}
  */
 public enum OrderStatus {
 
+    /**
+     * Заказ запланирован на указанное время и еще не передан ресторану.
+     * Таблицы, созданные до появления статуса, принимают его только после обновления ограничений CHECK
+     */
+    SCHEDULED,
+
     /**
      * Заказ создан
      */
@@ -34,4 +42,9 @@ public enum OrderStatus {
      * Заказ удален
      */
     DELETED,
+
+    /**
+     * Заказ отменен, потому что слишком долго не менял статус
+     */
+    CANCELLED,
 }
@@ -0,0 +1,42 @@
+package naumen.project.event;
+
+import naumen.project.entity.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Событие изменения статуса заказа, в том числе его создания.
+ * Публикуется внутри транзакции, слушатели обрабатывают его после фиксации.
+ *
+ * @param orderId                 идентификатор заказа
+ * @param restaurantId            идентификатор ресторана заказа
+ * @param clientId                идентификатор клиента заказа
+ * @param courierId               идентификатор курьера заказа, null если курьер еще не назначен
+ * @param previousStatus          статус до изменения, null для созданного заказа;
+ *                                совпадает с новым, если у заказа изменился только курьер
+ * @param status                  новый статус
+ * @param previousStatusChangedAt время перехода в предыдущий статус, null для созданного заказа
+ * @param statusChangedAt         время перехода в новый статус
+ * @param totalPrice              общая стоимость заказа
+ * @param createdAt               дата создания заказа
+ */
+public record OrderStatusChangedEvent(Long orderId, Long restaurantId, Long clientId, Long courierId,
+                                      OrderStatus previousStatus, OrderStatus status,
+                                      Instant previousStatusChangedAt, Instant statusChangedAt,
+                                      BigDecimal totalPrice, Instant createdAt) {
+
+    /**
+     * Время, проведенное заказом в предыдущем статусе
+     *
+     * @return время в миллисекундах, null если статус не изменился или время перехода в предыдущий статус неизвестно
+     */
+    public Long previousStatusDurationMillis() {
+        if (previousStatus == null || previousStatus == status
+            || previousStatusChangedAt == null || statusChangedAt == null) {
+            return null;
+        }
+        return Math.max(0, Duration.between(previousStatusChangedAt, statusChangedAt).toMillis());
+    }
+}
@@ -0,0 +1,10 @@
+package naumen.project.event;
+
+/**
+ * Событие изменения данных ресторана или его меню.
+ * Публикуется внутри транзакции, слушатели обрабатывают его после фиксации.
+ *
+ * @param restaurantId идентификатор ресторана
+ */
+public record RestaurantChangedEvent(Long restaurantId) {
+}
@@ -0,0 +1,14 @@
+package naumen.project.exception;
+
+/**
+ * Исключение, возникающее, когда запрос конфликтует с текущим состоянием ресурса
+ */
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+
+    public ConflictException(String format, Object... args) {
+        super(String.format(format, args));
+    }
+}
@@ -0,0 +1,21 @@
+package naumen.project.exception;
+
+/**
+ * Исключение, возникающее, когда ресторан не может принять новые заказы из-за переполненной очереди кухни
+ */
+public class RestaurantOverloadedException extends RuntimeException {
+
+    /**
+     * Через сколько секунд клиенту предлагается повторить запрос
+     */
+    private final long retryAfterSeconds;
+
+    public RestaurantOverloadedException(long retryAfterSeconds, String format, Object... args) {
+        super(String.format(format, args));
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -2,9 +2,12 @@ package naumen.project.exception.handler;
 
 import jakarta.servlet.http.HttpServletRequest;
 import naumen.project.dto.error.ErrorResponseDto;
+import naumen.project.exception.ConflictException;
 import naumen.project.exception.EntityNotFoundException;
 import naumen.project.exception.InvalidInputException;
 import naumen.project.exception.PermissionCheckFailedException;
+import naumen.project.exception.RestaurantOverloadedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -60,4 +63,34 @@ public class BusinessExceptionHandler {
         );
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
     }
+
+    /**
+     * Обработка исключения {@link ConflictException}
+     */
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponseDto> handleConflictException(ConflictException ex, HttpServletRequest request) {
+        ErrorResponseDto response = new ErrorResponseDto(
+                Instant.now(),
+                ex.getMessage(),
+                request.getServletPath(),
+                null
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    /**
+     * Обработка исключения {@link RestaurantOverloadedException}
+     */
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponseDto> handleRestaurantOverloadedException(RestaurantOverloadedException ex, HttpServletRequest request) {
+        ErrorResponseDto response = new ErrorResponseDto(
+                Instant.now(),
+                ex.getMessage(),
+                request.getServletPath(),
+                null
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
 }
@@ -0,0 +1,51 @@
+package naumen.project.exception.handler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import naumen.project.dto.error.ErrorResponseDto;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Записывает ответ с ошибкой напрямую в HTTP ответ.
+ * Используется фильтрами, которые отклоняют запрос до того, как он дойдет до контроллера
+ * и обработчиков исключений.
+ */
+@Component
+public class ErrorResponseWriter {
+
+    private final ObjectMapper objectMapper;
+
+    public ErrorResponseWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Записывает ответ с ошибкой
+     *
+     * @param request  HTTP запрос
+     * @param response HTTP ответ
+     * @param status   статус ответа
+     * @param message  сообщение об ошибке
+     * @throws IOException при ошибке записи ответа
+     */
+    public void write(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String message)
+            throws IOException {
+        ErrorResponseDto body = new ErrorResponseDto(
+                Instant.now(),
+                message,
+                request.getServletPath(),
+                null
+        );
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getWriter(), body);
+    }
+}
@@ -5,9 +5,15 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import naumen.project.dto.error.ErrorResponseDto;
 import naumen.project.dto.error.ViolationConstraintDto;
+import naumen.project.limiter.AdaptiveConcurrencyFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
@@ -48,6 +54,40 @@ public class GlobalExceptionHandler {
         );
     }
 
+    /**
+     * Обрабатывает отказ в соединении с БД: исчерпан лимит соединений группы API или БД недоступна.
+     */
+    @Hidden
+    @ExceptionHandler({DataAccessResourceFailureException.class, TransientDataAccessResourceException.class})
+    public ResponseEntity<ErrorResponseDto> handleDataAccessResourceFailure(Exception ex, HttpServletRequest request) {
+        log.warn("Database unavailable: {}", ex.getMessage());
+        ErrorResponseDto response = new ErrorResponseDto(
+                Instant.now(),
+                "Сервис перегружен, повторите запрос позже",
+                request.getServletPath(),
+                null
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
+    /**
+     * Обрабатывает истечение времени на обработку запроса при обращении к БД.
+     */
+    @Hidden
+    @ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+    @ExceptionHandler
+    public ErrorResponseDto handleQueryTimeoutException(QueryTimeoutException ex, HttpServletRequest request) {
+        AdaptiveConcurrencyFilter.markDropped(request);
+        return new ErrorResponseDto(
+                Instant.now(),
+                "Время на обработку запроса истекло",
+                request.getServletPath(),
+                null
+        );
+    }
+
     /**
      * Обрабатывает ошибки валидации данных запроса.
      */
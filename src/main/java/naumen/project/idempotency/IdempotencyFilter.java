@@ -0,0 +1,229 @@
+package naumen.project.idempotency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import naumen.project.config.props.IdempotencyProps;
+import naumen.project.entity.User;
+import naumen.project.exception.ConflictException;
+import naumen.project.exception.InvalidInputException;
+import naumen.project.exception.handler.ErrorResponseWriter;
+import naumen.project.service.IdempotencyService;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Фильтр обработки заголовка Idempotency-Key на изменяющих эндпоинтах заказов.
+ * Повтор запроса с тем же ключом получает ответ первого запроса с заголовком Idempotent-Replayed
+ * вместо повторного создания заказа или смены его статуса.
+ * Стоит после цепочки Spring Security: ключ действует в пределах пользователя.
+ *
+ * @see IdempotencyService
+ * @see IdempotencyProps
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final IdempotencyService idempotencyService;
+    private final ErrorResponseWriter errorResponseWriter;
+    private final List<Endpoint> endpoints;
+
+    public IdempotencyFilter(IdempotencyService idempotencyService,
+                             IdempotencyProps idempotencyProps,
+                             ErrorResponseWriter errorResponseWriter) {
+        this.idempotencyService = idempotencyService;
+        this.errorResponseWriter = errorResponseWriter;
+        this.endpoints = idempotencyProps.getEndpoints().stream()
+                .map(endpoint -> new Endpoint(HttpMethod.valueOf(endpoint.getMethod()),
+                        PathPatternParser.defaultInstance.parse(endpoint.getPath())))
+                .toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (request.getHeader(IDEMPOTENCY_KEY_HEADER) == null) {
+            return true;
+        }
+
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
+        PathContainer path = PathContainer.parsePath(request.getServletPath());
+        return endpoints.stream().noneMatch(endpoint -> endpoint.matches(method, path));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof User user)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        AtomicBoolean executed = new AtomicBoolean();
+
+        IdempotencyService.IdempotentResponse result;
+        try {
+            result = idempotencyService.execute(
+                    user.getId(),
+                    request.getMethod() + " " + request.getServletPath(),
+                    request.getHeader(IDEMPOTENCY_KEY_HEADER),
+                    cachedRequest.body,
+                    () -> {
+                        executed.set(true);
+                        try {
+                            filterChain.doFilter(cachedRequest, cachingResponse);
+                        } catch (IOException | ServletException e) {
+                            throw new FilterChainException(e);
+                        }
+                        return new IdempotencyService.IdempotentResponse(
+                                cachingResponse.getStatus(),
+                                cachingResponse.getContentType(),
+                                cachingResponse.getContentAsByteArray()
+                        );
+                    });
+        } catch (InvalidInputException e) {
+            errorResponseWriter.write(request, response, HttpStatus.BAD_REQUEST, e.getMessage());
+            return;
+        } catch (ConflictException e) {
+            errorResponseWriter.write(request, response, HttpStatus.CONFLICT, e.getMessage());
+            return;
+        } catch (FilterChainException e) {
+            if (executed.get()) {
+                cachingResponse.copyBodyToResponse();
+            }
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw (ServletException) e.getCause();
+        }
+
+        if (executed.get()) {
+            cachingResponse.copyBodyToResponse();
+            return;
+        }
+
+        // Ответ первого запроса: сохраненный или полученный одновременным запросом с тем же ключом
+        response.setStatus(result.status());
+        response.setHeader(IDEMPOTENT_REPLAYED_HEADER, "true");
+        if (result.contentType() != null) {
+            response.setContentType(result.contentType());
+        }
+        if (result.body() != null) {
+            response.setContentLength(result.body().length);
+            response.getOutputStream().write(result.body());
+        }
+    }
+
+    /**
+     * Эндпоинт, поддерживающий ключ идемпотентности
+     *
+     * @param method HTTP метод
+     * @param path   шаблон пути
+     */
+    private record Endpoint(HttpMethod method, PathPattern path) {
+
+        boolean matches(HttpMethod requestMethod, PathContainer requestPath) {
+            return method.equals(requestMethod) && path.matches(requestPath);
+        }
+    }
+
+    /**
+     * Запрос с прочитанным заранее телом: тело нужно для проверки, что ключ
+     * не использован с другим запросом, и затем еще раз для контроллера
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    // Тело уже в памяти, поэтому слушатель сразу получает все данные
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() == null
+                    ? StandardCharsets.UTF_8
+                    : Charset.forName(getCharacterEncoding());
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+
+    /**
+     * Переносит проверяемое исключение цепочки фильтров через выполнение запроса в сервисе
+     */
+    private static class FilterChainException extends RuntimeException {
+
+        FilterChainException(Exception cause) {
+            super(cause);
+        }
+    }
+}
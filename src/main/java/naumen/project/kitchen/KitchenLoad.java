@@ -0,0 +1,287 @@
+package naumen.project.kitchen;
+
+import naumen.project.config.props.KitchenProps;
+import naumen.project.entity.enums.OrderStatus;
+import naumen.project.event.OrderStatusChangedEvent;
+import naumen.project.repository.OrderJdbcRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Счетчики заказов в очереди кухни каждого ресторана - заказов в статусах CREATED и ACCEPTED.
+ * Место в очереди резервируется при создании заказа и возвращается, если транзакция не зафиксирована;
+ * заказ покидает очередь после фиксации перевода в другой статус. Запланированный заказ занимает место
+ * после фиксации передачи ресторану, даже если очередь заполнена.
+ * Счетчики изменяются атомарно и восстанавливаются из базы данных при запуске приложения
+ * и периодически, чтобы учесть заказы, созданные другими экземплярами приложения.
+ * <p>
+ * Пересчет не перезаписывает счетчики снимком из базы данных как есть: к снимку добавляются резервы
+ * незавершенных транзакций, которых в базе данных еще нет, и изменения, зафиксированные во время загрузки
+ * снимка. Изменения счетчиков выполняются под общей блокировкой и друг другу не мешают, а применение снимка -
+ * под исключительной, поэтому между ними изменения не теряются.
+ *
+ * @see KitchenProps
+ */
+@Component
+public class KitchenLoad implements SmartInitializingSingleton {
+
+    private static final Set<OrderStatus> QUEUED_STATUSES = EnumSet.of(OrderStatus.CREATED, OrderStatus.ACCEPTED);
+
+    private final Map<Long, Kitchen> kitchens = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final KitchenProps kitchenProps;
+    private final OrderJdbcRepository orderJdbcRepository;
+
+    /**
+     * Выполняется загрузка снимка: зафиксированные изменения нужно запоминать
+     */
+    private boolean recording;
+
+    public KitchenLoad(KitchenProps kitchenProps, OrderJdbcRepository orderJdbcRepository) {
+        this.kitchenProps = kitchenProps;
+        this.orderJdbcRepository = orderJdbcRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reload();
+    }
+
+    /**
+     * Резервирует место в очереди кухни ресторана под новый заказ.
+     * Если вызов выполняется в транзакции, место возвращается при ее откате.
+     *
+     * @param restaurantId идентификатор ресторана
+     * @return резерв места, пустой если очередь кухни заполнена
+     */
+    public Optional<Reservation> tryReserve(Long restaurantId) {
+        int capacity = kitchenProps.capacityOf(restaurantId);
+        Kitchen kitchen = kitchen(restaurantId);
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+
+        lock.readLock().lock();
+        try {
+            int current;
+            do {
+                current = kitchen.queued.get();
+                if (capacity > 0 && current >= capacity) {
+                    return Optional.empty();
+                }
+            } while (!kitchen.queued.compareAndSet(current, current + 1));
+
+            if (inTransaction) {
+                kitchen.inFlight.incrementAndGet();
+            } else {
+                recordCommitted(kitchen, 1);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Reservation reservation = new Reservation(kitchen, inTransaction);
+        if (inTransaction) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        reservation.commit();
+                    } else {
+                        reservation.release();
+                    }
+                }
+            });
+        }
+        return Optional.of(reservation);
+    }
+
+    /**
+     * Количество заказов в очереди кухни ресторана
+     *
+     * @param restaurantId идентификатор ресторана
+     * @return количество заказов в статусах CREATED и ACCEPTED
+     */
+    public int getQueued(Long restaurantId) {
+        Kitchen kitchen = kitchens.get(restaurantId);
+        return kitchen == null ? 0 : kitchen.queued.get();
+    }
+
+    /**
+     * Освобождает место в очереди после фиксации перевода заказа из очереди кухни в другой статус
+     * и занимает место после фиксации передачи запланированного заказа ресторану
+     *
+     * @param event событие изменения статуса заказа
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (event.previousStatus() == null) {
+            return;
+        }
+
+        boolean wasQueued = QUEUED_STATUSES.contains(event.previousStatus());
+        boolean isQueued = QUEUED_STATUSES.contains(event.status());
+        if (wasQueued == isQueued) {
+            return;
+        }
+
+        Kitchen kitchen = kitchen(event.restaurantId());
+        lock.readLock().lock();
+        try {
+            if (isQueued) {
+                kitchen.queued.incrementAndGet();
+                recordCommitted(kitchen, 1);
+            } else {
+                decrement(kitchen.queued);
+                recordCommitted(kitchen, -1);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Пересчитывает очереди кухонь по заказам в базе данных.
+     * Счетчик становится равен количеству заказов в базе данных, к которому добавлены резервы
+     * незавершенных транзакций и изменения, зафиксированные во время загрузки
+     */
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            kitchens.values().forEach(kitchen -> kitchen.committedDuringReload.set(0));
+            recording = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<Long, Integer> counts;
+        try {
+            counts = orderJdbcRepository.countByRestaurant(QUEUED_STATUSES);
+        } catch (RuntimeException e) {
+            stopRecording();
+            throw e;
+        }
+
+        counts.keySet().forEach(this::kitchen);
+        lock.writeLock().lock();
+        try {
+            kitchens.forEach((restaurantId, kitchen) -> kitchen.queued.set(Math.max(0,
+                    counts.getOrDefault(restaurantId, 0)
+                            + kitchen.inFlight.get()
+                            + kitchen.committedDuringReload.get())));
+            recording = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void stopRecording() {
+        lock.writeLock().lock();
+        try {
+            recording = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Kitchen kitchen(Long restaurantId) {
+        return kitchens.computeIfAbsent(restaurantId, id -> new Kitchen());
+    }
+
+    /**
+     * Запоминает зафиксированное изменение очереди, если выполняется загрузка снимка.
+     * Вызывается под общей блокировкой
+     */
+    private void recordCommitted(Kitchen kitchen, int delta) {
+        if (recording) {
+            kitchen.committedDuringReload.addAndGet(delta);
+        }
+    }
+
+    private static void decrement(AtomicInteger counter) {
+        counter.updateAndGet(value -> Math.max(0, value - 1));
+    }
+
+    /**
+     * Счетчики очереди кухни ресторана
+     */
+    private static class Kitchen {
+
+        /**
+         * Заказы в очереди, включая резервы незавершенных транзакций
+         */
+        private final AtomicInteger queued = new AtomicInteger();
+
+        /**
+         * Резервы незавершенных транзакций
+         */
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        /**
+         * Изменения очереди, зафиксированные во время загрузки снимка
+         */
+        private final AtomicInteger committedDuringReload = new AtomicInteger();
+    }
+
+    /**
+     * Резерв места в очереди кухни.
+     * Место возвращается не больше одного раза, сколько бы раз ни вызывался {@link #release()}
+     */
+    public final class Reservation {
+
+        private final Kitchen kitchen;
+        private final boolean inTransaction;
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private Reservation(Kitchen kitchen, boolean inTransaction) {
+            this.kitchen = kitchen;
+            this.inTransaction = inTransaction;
+        }
+
+        /**
+         * Возвращает место в очереди кухни, если оно еще не возвращено
+         */
+        public void release() {
+            if (!completed.compareAndSet(false, true)) {
+                return;
+            }
+            lock.readLock().lock();
+            try {
+                decrement(kitchen.queued);
+                if (inTransaction) {
+                    decrement(kitchen.inFlight);
+                } else {
+                    recordCommitted(kitchen, -1);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Отмечает заказ зафиксированным в базе данных: резерв больше не относится к незавершенным транзакциям
+         */
+        private void commit() {
+            if (!completed.compareAndSet(false, true)) {
+                return;
+            }
+            lock.readLock().lock();
+            try {
+                decrement(kitchen.inFlight);
+                recordCommitted(kitchen, 1);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package naumen.project.kitchen;
+
+import naumen.project.entity.enums.OrderStatus;
+import naumen.project.event.OrderStatusChangedEvent;
+import naumen.project.repository.OrderJdbcRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Очереди активных заказов ресторанов в памяти - заказов в статусах CREATED, ACCEPTED и PREPARED,
+ * упорядоченных по времени создания. Обслуживает экраны кухонь без обращения к базе данных.
+ * Очереди обновляются после фиксации изменений статуса заказов и периодически перестраиваются из базы данных,
+ * чтобы учесть заказы, измененные другими экземплярами приложения.
+ * Чтение не блокируется, изменения очередей выполняются под общей блокировкой. События, пришедшие во время
+ * загрузки снимка из базы данных, запоминаются и применяются к снимку перед его установкой, поэтому
+ * перестроение не теряет изменения, зафиксированные во время загрузки.
+ * <p>
+ * Очереди точны только для заказов, статус которых меняется через этот экземпляр приложения. Изменения,
+ * выполненные другими экземплярами, попадают в очередь только при следующем перестроении, то есть с задержкой
+ * до интервала перестроения (см. {@code ReloadKitchenQueueTask}).
+ *
+ * @see OrderStatusChangedEvent
+ */
+@Component
+public class KitchenQueue {
+
+    private static final Set<OrderStatus> ACTIVE_STATUSES =
+            EnumSet.of(OrderStatus.CREATED, OrderStatus.ACCEPTED, OrderStatus.PREPARED);
+
+    private final Map<Long, RestaurantQueue> queues = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final OrderJdbcRepository orderJdbcRepository;
+
+    /**
+     * События, пришедшие во время загрузки снимка, null если снимок не загружается
+     */
+    private List<OrderStatusChangedEvent> pendingEvents;
+
+    public KitchenQueue(OrderJdbcRepository orderJdbcRepository) {
+        this.orderJdbcRepository = orderJdbcRepository;
+    }
+
+    /**
+     * Возвращает страницу активных заказов ресторана, начиная с самых старых
+     *
+     * @param restaurantId идентификатор ресторана
+     * @param pageable     параметры пагинации
+     * @return страница активных заказов
+     */
+    public Page<OrderJdbcRepository.OrderSummary> getActiveOrders(Long restaurantId, Pageable pageable) {
+        RestaurantQueue queue = queues.get(restaurantId);
+        if (queue == null) {
+            return Page.empty(pageable);
+        }
+
+        List<OrderJdbcRepository.OrderSummary> content = queue.orders.values().stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+        return new PageImpl<>(content, pageable, queue.keys.size());
+    }
+
+    /**
+     * Обновляет очередь ресторана после фиксации изменения статуса заказа
+     *
+     * @param event событие изменения статуса заказа
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        lock.lock();
+        try {
+            apply(queues, event);
+            if (pendingEvents != null) {
+                pendingEvents.add(event);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Перестраивает очереди всех ресторанов по базе данных.
+     * События, пришедшие во время загрузки, применяются к загруженному снимку
+     */
+    public void reload() {
+        lock.lock();
+        try {
+            pendingEvents = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+
+        Map<Long, RestaurantQueue> loaded = new ConcurrentHashMap<>();
+        try {
+            orderJdbcRepository.findSummariesByStatuses(ACTIVE_STATUSES).forEach(order ->
+                    loaded.computeIfAbsent(order.restaurantId(), id -> new RestaurantQueue()).advance(order));
+        } catch (RuntimeException e) {
+            lock.lock();
+            try {
+                pendingEvents = null;
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+
+        lock.lock();
+        try {
+            pendingEvents.forEach(event -> apply(loaded, event));
+            pendingEvents = null;
+            queues.putAll(loaded);
+            queues.keySet().retainAll(loaded.keySet());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Применяет изменение статуса заказа к очередям
+     */
+    private static void apply(Map<Long, RestaurantQueue> queues, OrderStatusChangedEvent event) {
+        RestaurantQueue queue = queues.computeIfAbsent(event.restaurantId(), id -> new RestaurantQueue());
+        if (!ACTIVE_STATUSES.contains(event.status())) {
+            queue.remove(event.orderId());
+            return;
+        }
+
+        Instant createdAt = event.createdAt() == null ? Instant.now() : event.createdAt();
+        queue.advance(new OrderJdbcRepository.OrderSummary(event.orderId(), event.restaurantId(), event.status(),
+                event.totalPrice(), createdAt));
+    }
+
+    /**
+     * Ключ заказа в очереди: время создания, при равенстве - идентификатор
+     */
+    private record OrderKey(Instant createdAt, Long id) implements Comparable<OrderKey> {
+
+        private static final Comparator<OrderKey> ORDER =
+                Comparator.comparing(OrderKey::createdAt).thenComparing(OrderKey::id);
+
+        @Override
+        public int compareTo(OrderKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    /**
+     * Очередь активных заказов одного ресторана
+     */
+    private static class RestaurantQueue {
+
+        private final ConcurrentSkipListMap<OrderKey, OrderJdbcRepository.OrderSummary> orders =
+                new ConcurrentSkipListMap<>();
+        private final Map<Long, OrderKey> keys = new ConcurrentHashMap<>();
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /**
+         * Добавляет заказ или продвигает его статус. Статус заказа только растет, поэтому
+         * запоздавшее событие о более раннем статусе не откатывает заказ назад
+         */
+        void advance(OrderJdbcRepository.OrderSummary order) {
+            lock.lock();
+            try {
+                OrderKey key = keys.get(order.id());
+                OrderJdbcRepository.OrderSummary current = key == null ? null : orders.get(key);
+                if (current != null && current.status().ordinal() >= order.status().ordinal()) {
+                    return;
+                }
+
+                OrderKey newKey = key == null ? new OrderKey(order.createdAt(), order.id()) : key;
+                orders.put(newKey, new OrderJdbcRepository.OrderSummary(order.id(), order.restaurantId(),
+                        order.status(), order.totalPrice(), newKey.createdAt()));
+                keys.put(order.id(), newKey);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Удаляет заказ из очереди
+         */
+        void remove(Long orderId) {
+            lock.lock();
+            try {
+                OrderKey key = keys.remove(orderId);
+                if (key != null) {
+                    orders.remove(key);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
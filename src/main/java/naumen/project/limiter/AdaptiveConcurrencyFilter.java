@@ -0,0 +1,112 @@
+package naumen.project.limiter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import naumen.project.config.props.AdaptiveLimitProps;
+import naumen.project.exception.handler.ErrorResponseWriter;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Фильтр адаптивного ограничения одновременных запросов.
+ * Запросы сверх текущего лимита сразу получают 503, а не ждут в очереди, пока истечет время ожидания клиента.
+ * Изменяющие запросы к заказам приоритетны: им доступен весь лимит, остальным - лимит за вычетом резерва.
+ * Лимит снижают только истечения времени на обработку запроса: запрос, упавший с {@link QueryTimeoutException},
+ * или запрос, отмеченный через {@link #markDropped(HttpServletRequest)}. Собственные отказы приложения
+ * с ответом 503 (ограничения групп API, перегрузка кухни) признаком перегрузки не считаются.
+ *
+ * @see GradientLimiter
+ * @see AdaptiveLimitProps
+ */
+@Component
+public class AdaptiveConcurrencyFilter extends OncePerRequestFilter {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+    private static final String DROPPED_ATTRIBUTE = AdaptiveConcurrencyFilter.class.getName() + ".DROPPED";
+
+    private final AdaptiveLimitProps adaptiveLimitProps;
+    private final ErrorResponseWriter errorResponseWriter;
+    private final GradientLimiter limiter;
+    private final List<PathPattern> priorityPaths;
+
+    public AdaptiveConcurrencyFilter(AdaptiveLimitProps adaptiveLimitProps, ErrorResponseWriter errorResponseWriter) {
+        this.adaptiveLimitProps = adaptiveLimitProps;
+        this.errorResponseWriter = errorResponseWriter;
+        this.limiter = new GradientLimiter(
+                adaptiveLimitProps.getInitialLimit(),
+                adaptiveLimitProps.getMinLimit(),
+                adaptiveLimitProps.getMaxLimit(),
+                adaptiveLimitProps.getSmoothing(),
+                adaptiveLimitProps.getPriorityReserve()
+        );
+        this.priorityPaths = adaptiveLimitProps.getPriorityPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        if (!adaptiveLimitProps.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!limiter.tryAcquire(isPriority(request))) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            errorResponseWriter.write(request, response, HttpStatus.SERVICE_UNAVAILABLE,
+                    "Сервис перегружен, повторите запрос позже");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean dropped = false;
+        try {
+            filterChain.doFilter(request, response);
+            dropped = Boolean.TRUE.equals(request.getAttribute(DROPPED_ATTRIBUTE));
+        } catch (QueryTimeoutException e) {
+            dropped = true;
+            throw e;
+        } finally {
+            limiter.onComplete(System.nanoTime() - start, dropped);
+        }
+    }
+
+    /**
+     * Отмечает запрос как не уложившийся во время на обработку, чтобы он снизил лимит
+     *
+     * @param request HTTP запрос
+     */
+    public static void markDropped(HttpServletRequest request) {
+        request.setAttribute(DROPPED_ATTRIBUTE, Boolean.TRUE);
+    }
+
+    /**
+     * Проверяет, является ли запрос изменяющим запросом к приоритетным путям
+     */
+    private boolean isPriority(HttpServletRequest request) {
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
+        if (method == HttpMethod.GET || method == HttpMethod.HEAD || method == HttpMethod.OPTIONS) {
+            return false;
+        }
+
+        PathContainer path = PathContainer.parsePath(
+                request.getRequestURI().substring(request.getContextPath().length()));
+        return priorityPaths.stream().anyMatch(pattern -> pattern.matches(path));
+    }
+}
@@ -0,0 +1,116 @@
+package naumen.project.limiter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Адаптивный лимит одновременных запросов по градиенту времени ответа.
+ * Сравнивает кратковременное среднее время ответа с долговременным: пока они близки, лимит растет
+ * на величину допустимой очереди (квадратный корень лимита), а когда кратковременное время растет,
+ * лимит снижается пропорционально их отношению. Так лимит держится около пропускной способности,
+ * а не около размера пула потоков.
+ * Часть лимита резервируется для приоритетных запросов, поэтому при перегрузке первыми отклоняются остальные.
+ */
+public class GradientLimiter {
+
+    private static final double SHORT_ALPHA = 2.0 / (10 + 1);
+    private static final double LONG_ALPHA = 2.0 / (600 + 1);
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double priorityReserve;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private double shortRtt;
+    private double longRtt;
+
+    public GradientLimiter(int initialLimit, int minLimit, int maxLimit, double smoothing, double priorityReserve) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.priorityReserve = priorityReserve;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Пытается начать обработку запроса
+     *
+     * @param priority приоритетный ли запрос
+     * @return true, если запрос можно обрабатывать, после обработки нужно вызвать {@link #onComplete}
+     */
+    public boolean tryAcquire(boolean priority) {
+        int currentLimit = limit;
+        int allowed = priority ? currentLimit : Math.max(1, (int) (currentLimit * (1 - priorityReserve)));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Завершает обработку запроса и пересчитывает лимит по времени его обработки
+     *
+     * @param rttNanos время обработки запроса
+     * @param dropped  запрос не обработан из-за перегрузки, лимит нужно снизить
+     */
+    public void onComplete(long rttNanos, boolean dropped) {
+        int inFlightBefore = inFlight.getAndDecrement();
+
+        lock.lock();
+        try {
+            if (dropped) {
+                estimatedLimit = Math.max(minLimit, estimatedLimit * DROP_BACKOFF);
+                limit = (int) estimatedLimit;
+                return;
+            }
+
+            shortRtt = shortRtt == 0 ? rttNanos : shortRtt + (rttNanos - shortRtt) * SHORT_ALPHA;
+            longRtt = longRtt == 0 ? rttNanos : longRtt + (rttNanos - longRtt) * LONG_ALPHA;
+
+            // После спада нагрузки долговременное среднее догоняет кратковременное быстрее
+            if (longRtt / shortRtt > 2) {
+                longRtt *= 0.95;
+            }
+
+            // Пока запросов намного меньше лимита, время ответа ничего не говорит о пределе
+            if (inFlightBefore < estimatedLimit / 2) {
+                return;
+            }
+
+            double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, longRtt / shortRtt));
+            double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            estimatedLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+            estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit));
+            limit = (int) estimatedLimit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Текущий лимит одновременных запросов
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Количество запросов в обработке
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -12,6 +12,11 @@ import org.mapstruct.Mapping;
 @Mapper(componentModel = "spring")
 public interface MenuMapper {
 
+    /**
+     * Адрес, по которому отдаются изображения позиций меню
+     */
+    String IMAGE_URL_PREFIX = "/api/v1/menu/images/";
+
     /**
      * Преобразует сущность MenuItem в DTO ответа.
      *
@@ -20,5 +25,7 @@ public interface MenuMapper {
      */
     @Mapping(target = "restaurantId",
             expression = "java(menuItem.getRestaurant() != null ? menuItem.getRestaurant().getId() : null)")
+    @Mapping(target = "imageUrl",
+            expression = "java(menuItem.getImage() != null ? IMAGE_URL_PREFIX + menuItem.getImage() : null)")
     MenuItemResponseDto toResponse(MenuItem menuItem);
 }
@@ -1,13 +1,18 @@
 package naumen.project.mapper;
 
+import naumen.project.dto.order.OrderChangeDto;
 import naumen.project.dto.order.client.OrderClientInfoResponseDto;
 import naumen.project.dto.order.client.OrderClientShortResponseDto;
 import naumen.project.dto.order.courier.OrderCourierResponseDto;
 import naumen.project.dto.order.item.OrderItemResponseDto;
 import naumen.project.dto.order.restaurant.OrderRestaurantResponseDto;
 import naumen.project.dto.order.restaurant.OrderRestaurantShortResponseDto;
+import naumen.project.entity.ArchivedOrder;
+import naumen.project.entity.ArchivedOrderItem;
 import naumen.project.entity.Order;
+import naumen.project.entity.OrderChange;
 import naumen.project.entity.OrderItem;
+import naumen.project.repository.OrderJdbcRepository;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -35,6 +40,14 @@ public interface OrderMapper {
      */
     OrderRestaurantShortResponseDto toRestaurantShortResponse(Order order);
 
+    /**
+     * Преобразует заказ из очереди кухни в короткий DTO ответа для ресторана.
+     *
+     * @param order краткие данные заказа
+     * @return DTO с данными заказа для ресторана
+     */
+    OrderRestaurantShortResponseDto toRestaurantShortResponse(OrderJdbcRepository.OrderSummary order);
+
     /**
      * Преобразует сущность Order в DTO ответа для ресторана.
      *
@@ -63,6 +76,30 @@ public interface OrderMapper {
      */
     OrderClientShortResponseDto toClientShortResponse(Order order);
 
+    /**
+     * Преобразует архивный заказ в ответ для клиента. Подробный вариант
+     *
+     * @param order архивный заказ
+     * @return DTO ответа клиенту
+     */
+    OrderClientInfoResponseDto toClientInfoResponse(ArchivedOrder order);
+
+    /**
+     * Преобразует архивный заказ в ответ для клиента. Короткий вариант
+     *
+     * @param order архивный заказ
+     * @return DTO ответа клиенту
+     */
+    OrderClientShortResponseDto toClientShortResponse(ArchivedOrder order);
+
+    /**
+     * Преобразует запись журнала изменений заказов в DTO ответа.
+     *
+     * @param orderChange запись журнала изменений
+     * @return DTO изменения заказа
+     */
+    OrderChangeDto toChangeResponse(OrderChange orderChange);
+
     /**
      * Преобразует сущность OrderItem в DTO ответа.
      * Нужен для маппинга Order в response
@@ -74,4 +111,14 @@ public interface OrderMapper {
     @Mapping(target = "menuItemTitle", source = "menuItem.title")
     @Mapping(target = "price", source = "itemPrice")
     OrderItemResponseDto toOrderItemResponse(OrderItem orderItem);
+
+    /**
+     * Преобразует пункт архивного заказа в DTO ответа.
+     * Нужен для маппинга ArchivedOrder в response
+     *
+     * @param orderItem пункт архивного заказа
+     * @return DTO элемента заказа
+     */
+    @Mapping(target = "price", source = "itemPrice")
+    OrderItemResponseDto toOrderItemResponse(ArchivedOrderItem orderItem);
 }
@@ -0,0 +1,121 @@
+package naumen.project.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Компактная гистограмма задержек в миллисекундах с логарифмически-линейными корзинами, как в HdrHistogram.
+ * Значения до 32 мс хранятся точно, каждый следующий интервал между соседними степенями двойки
+ * делится на 16 корзин, поэтому относительная погрешность перцентилей не больше 1/16.
+ * Гистограмма занимает фиксированный объем памяти независимо от числа значений.
+ * Запись не блокируется и может выполняться из нескольких потоков одновременно.
+ */
+public class LatencyHistogram {
+
+    /**
+     * Максимальное записываемое значение - неделя, большие значения записываются как максимальное
+     */
+    public static final long MAX_VALUE = 7L * 24 * 60 * 60 * 1000;
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT / 2;
+
+    private final AtomicLongArray counts = new AtomicLongArray(indexOf(MAX_VALUE) + 1);
+    private final LongAdder totalSum = new LongAdder();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * Записывает значение
+     *
+     * @param value значение в миллисекундах, отрицательные значения записываются как 0
+     */
+    public void record(long value) {
+        long clamped = Math.min(Math.max(value, 0), MAX_VALUE);
+        counts.incrementAndGet(indexOf(clamped));
+        totalSum.add(clamped);
+        maxValue.accumulateAndGet(clamped, Math::max);
+    }
+
+    /**
+     * Снимает статистику по записанным значениям.
+     * Значения, записанные во время снятия, могут учитываться частично
+     *
+     * @return статистика
+     */
+    public Snapshot snapshot() {
+        long[] snapshotCounts = new long[counts.length()];
+        long count = 0;
+        for (int i = 0; i < snapshotCounts.length; i++) {
+            snapshotCounts[i] = counts.get(i);
+            count += snapshotCounts[i];
+        }
+        if (count == 0) {
+            return new Snapshot(0, 0, 0, 0, 0, 0);
+        }
+
+        long max = maxValue.get();
+        double mean = (double) totalSum.sum() / count;
+        return new Snapshot(count, mean,
+                percentile(snapshotCounts, count, 0.5, max),
+                percentile(snapshotCounts, count, 0.9, max),
+                percentile(snapshotCounts, count, 0.99, max),
+                max);
+    }
+
+    /**
+     * Находит значение, не больше которого доля {@code quantile} записанных значений.
+     * Возвращается верхняя граница корзины, но не больше максимального записанного значения
+     */
+    private static long percentile(long[] counts, long count, double quantile, long max) {
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Номер корзины для значения
+     */
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS + 1;
+        return SUB_BUCKET_COUNT + (exponent - SUB_BUCKET_BITS) * SUB_BUCKET_HALF
+               + (int) (value >> shift) - SUB_BUCKET_HALF;
+    }
+
+    /**
+     * Наибольшее значение, попадающее в корзину
+     */
+    static long upperBoundOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int exponent = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF + SUB_BUCKET_BITS;
+        long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+        int shift = exponent - SUB_BUCKET_BITS + 1;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * Статистика по записанным значениям в миллисекундах
+     *
+     * @param count количество значений
+     * @param mean  среднее значение
+     * @param p50   медиана
+     * @param p90   90-й перцентиль
+     * @param p99   99-й перцентиль
+     * @param max   максимальное значение
+     */
+    public record Snapshot(long count, double mean, long p50, long p90, long p99, long max) {
+    }
+}
@@ -0,0 +1,132 @@
+package naumen.project.metrics;
+
+import naumen.project.config.props.OrderMetricsProps;
+import naumen.project.entity.enums.OrderStatus;
+import naumen.project.event.OrderStatusChangedEvent;
+import naumen.project.repository.OrderJdbcRepository;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Гистограммы времени, которое заказы проводят в статусах CREATED, ACCEPTED, PREPARED и DELIVERING,
+ * общие и по каждому ресторану. Гистограммы обновляются в памяти после фиксации изменения статуса заказа
+ * и периодически перестраиваются по журналу переходов за последний период, чтобы учесть переходы
+ * в других экземплярах приложения и не копить устаревшие значения.
+ * Статистика доступна в actuator endpoint'е {@code /actuator/orderstages}.
+ *
+ * @see LatencyHistogram
+ * @see OrderMetricsProps
+ */
+@Component
+@Endpoint(id = "orderstages")
+public class OrderStageMetrics {
+
+    private static final Set<OrderStatus> STAGES =
+            EnumSet.of(OrderStatus.CREATED, OrderStatus.ACCEPTED, OrderStatus.PREPARED, OrderStatus.DELIVERING);
+
+    /**
+     * Переходы в эти статусы прерывают прохождение заказа, поэтому время до них не учитывается
+     */
+    private static final Set<OrderStatus> ABORTED_STATUSES = EnumSet.of(OrderStatus.DELETED, OrderStatus.CANCELLED);
+
+    private final OrderJdbcRepository orderJdbcRepository;
+    private final OrderMetricsProps orderMetricsProps;
+
+    private volatile Histograms histograms = new Histograms();
+
+    public OrderStageMetrics(OrderJdbcRepository orderJdbcRepository, OrderMetricsProps orderMetricsProps) {
+        this.orderJdbcRepository = orderJdbcRepository;
+        this.orderMetricsProps = orderMetricsProps;
+    }
+
+    /**
+     * Записывает время, проведенное заказом в предыдущем статусе, после фиксации изменения статуса.
+     * Удаление и отмена заказа не учитываются
+     *
+     * @param event событие изменения статуса заказа
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        Long durationMillis = event.previousStatusDurationMillis();
+        if (durationMillis != null && STAGES.contains(event.previousStatus())
+            && !ABORTED_STATUSES.contains(event.status())) {
+            histograms.record(event.restaurantId(), event.previousStatus(), durationMillis);
+        }
+    }
+
+    /**
+     * Перестраивает гистограммы по журналу переходов за последний период.
+     * Переходы, зафиксированные во время перестроения, могут не попасть в гистограммы до следующего перестроения
+     */
+    public void reload() {
+        Histograms reloaded = new Histograms();
+        orderJdbcRepository.forEachStageDuration(Instant.now().minus(orderMetricsProps.getWindow()),
+                duration -> {
+                    if (STAGES.contains(duration.stage())) {
+                        reloaded.record(duration.restaurantId(), duration.stage(), duration.durationMillis());
+                    }
+                });
+        histograms = reloaded;
+    }
+
+    /**
+     * Статистика времени в статусах по всем ресторанам
+     *
+     * @return статистика по статусам в миллисекундах
+     */
+    @ReadOperation
+    public Map<OrderStatus, LatencyHistogram.Snapshot> getStages() {
+        return snapshot(histograms.global);
+    }
+
+    /**
+     * Статистика времени в статусах по ресторану
+     *
+     * @param restaurantId идентификатор ресторана
+     * @return статистика по статусам в миллисекундах, null если у ресторана не было переходов
+     */
+    @ReadOperation
+    public Map<OrderStatus, LatencyHistogram.Snapshot> getRestaurantStages(@Selector Long restaurantId) {
+        Map<OrderStatus, LatencyHistogram> restaurant = histograms.restaurants.get(restaurantId);
+        return restaurant == null ? null : snapshot(restaurant);
+    }
+
+    /**
+     * Снимает статистику с гистограмм статусов
+     */
+    private Map<OrderStatus, LatencyHistogram.Snapshot> snapshot(Map<OrderStatus, LatencyHistogram> stages) {
+        Map<OrderStatus, LatencyHistogram.Snapshot> snapshot = new EnumMap<>(OrderStatus.class);
+        stages.forEach((stage, histogram) -> snapshot.put(stage, histogram.snapshot()));
+        return snapshot;
+    }
+
+    /**
+     * Гистограммы по статусам: общие и по ресторанам
+     */
+    private static class Histograms {
+
+        private final Map<OrderStatus, LatencyHistogram> global = createStages();
+        private final Map<Long, Map<OrderStatus, LatencyHistogram>> restaurants = new ConcurrentHashMap<>();
+
+        void record(Long restaurantId, OrderStatus stage, long durationMillis) {
+            global.get(stage).record(durationMillis);
+            restaurants.computeIfAbsent(restaurantId, id -> createStages()).get(stage).record(durationMillis);
+        }
+
+        private static Map<OrderStatus, LatencyHistogram> createStages() {
+            Map<OrderStatus, LatencyHistogram> stages = new EnumMap<>(OrderStatus.class);
+            STAGES.forEach(stage -> stages.put(stage, new LatencyHistogram()));
+            return stages;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package naumen.project.repository;
+
+import naumen.project.entity.ArchivedOrder;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * DAO слой для {@link ArchivedOrder}
+ */
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+
+    /**
+     * Поиск архивного заказа по идентификатору вместе с позициями, одним запросом
+     *
+     * @param id идентификатор заказа
+     * @return архивный заказ с загруженными позициями
+     */
+    @EntityGraph(attributePaths = "items")
+    @Query("SELECT o FROM ArchivedOrder o WHERE o.id = :id")
+    Optional<ArchivedOrder> findWithItemsById(Long id);
+
+    /**
+     * Поиск последних архивных заказов клиента
+     *
+     * @param clientId идентификатор клиента
+     * @param limit    максимальное количество заказов
+     * @return архивные заказы клиента, начиная с последних
+     */
+    List<ArchivedOrder> findByClientIdOrderByCreatedAtDesc(Long clientId, Limit limit);
+}
@@ -0,0 +1,77 @@
+package naumen.project.repository;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * DAO слой для ограничений CHECK на колонках перечислений.
+ * Hibernate создает для колонки {@code @Enumerated(EnumType.STRING)} ограничение со списком значений
+ * перечисления только вместе с таблицей, а при {@code ddl-auto: update} его не обновляет,
+ * поэтому вставка нового значения в существующую таблицу нарушает старое ограничение.
+ */
+@Repository
+public class EnumCheckJdbcRepository {
+
+    private static final String FIND_CHECKS_SQL = """
+            SELECT con.conname, pg_get_constraintdef(con.oid) AS definition
+            FROM pg_constraint con
+            JOIN pg_class rel ON rel.oid = con.conrelid
+            JOIN pg_attribute att ON att.attrelid = con.conrelid AND att.attnum = con.conkey[1]
+            WHERE con.contype = 'c'
+                AND cardinality(con.conkey) = 1
+                AND rel.relnamespace = to_regnamespace(current_schema())
+                AND rel.relname = :table
+                AND att.attname = :column""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public EnumCheckJdbcRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Заменяет ограничения CHECK колонки одним ограничением со всеми значениями перечисления.
+     * Если ограничения колонки уже допускают все значения, ничего не меняет, поэтому повторный вызов
+     * не блокирует таблицу. Старые ограничения удаляются и новое добавляется одной командой.
+     *
+     * @param table  таблица, в кавычках, если имя таблицы - ключевое слово
+     * @param column колонка
+     * @param values допустимые значения колонки
+     * @return true, если ограничения были заменены
+     */
+    public boolean replaceCheck(String table, String column, List<String> values) {
+        String relation = table.replace("\"", "");
+        List<Check> checks = jdbcTemplate.query(FIND_CHECKS_SQL,
+                new MapSqlParameterSource("table", relation).addValue("column", column),
+                (rs, rowNum) -> new Check(rs.getString("conname"), rs.getString("definition")));
+        boolean upToDate = !checks.isEmpty() && checks.stream().allMatch(check -> values.stream()
+                .allMatch(value -> check.definition().contains("'" + value + "'")));
+        if (upToDate) {
+            return false;
+        }
+
+        String drops = checks.stream()
+                .map(check -> "DROP CONSTRAINT IF EXISTS \"" + check.name() + "\", ")
+                .collect(Collectors.joining());
+        String allowed = values.stream()
+                .map(value -> "'" + value + "'")
+                .collect(Collectors.joining(", "));
+        jdbcTemplate.getJdbcTemplate().execute("ALTER TABLE " + table + " " + drops
+                                               + "ADD CONSTRAINT \"" + relation + "_" + column + "_check\""
+                                               + " CHECK (" + column + " IN (" + allowed + "))");
+        return true;
+    }
+
+    /**
+     * Ограничение CHECK
+     *
+     * @param name       имя ограничения
+     * @param definition текст ограничения
+     */
+    private record Check(String name, String definition) {
+    }
+}
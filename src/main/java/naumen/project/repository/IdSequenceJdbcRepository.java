@@ -0,0 +1,70 @@
+package naumen.project.repository;
+
+import naumen.project.entity.IdEntity;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * DAO слой для последовательности идентификаторов {@link IdEntity}.
+ * Выделяет идентификаторы для вставок через JDBC теми же блоками, что и Hibernate,
+ * поэтому идентификаторы, выделенные обоими способами, не пересекаются.
+ */
+@Repository
+public class IdSequenceJdbcRepository {
+
+    private static final String NEXT_VALUES_SQL =
+            "SELECT nextval('" + IdEntity.ID_SEQUENCE + "') FROM generate_series(1, :count)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public IdSequenceJdbcRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Выделяет идентификаторы для вставки.
+     * Каждое значение последовательности дает блок из {@link IdEntity#ID_ALLOCATION_SIZE} идентификаторов.
+     *
+     * @param count количество идентификаторов
+     * @return идентификаторы в порядке возрастания внутри блока
+     */
+    public List<Long> allocate(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        if (count == 0) {
+            return ids;
+        }
+
+        int blocks = (count + IdEntity.ID_ALLOCATION_SIZE - 1) / IdEntity.ID_ALLOCATION_SIZE;
+        List<Long> values = jdbcTemplate.queryForList(NEXT_VALUES_SQL,
+                new MapSqlParameterSource("count", blocks), Long.class);
+        for (Long value : values) {
+            for (long id = value - IdEntity.ID_ALLOCATION_SIZE + 1; id <= value && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Сдвигает последовательность за максимальный идентификатор в таблицах.
+     * Нужно при переходе с IDENTITY: строки, вставленные до перехода, уже заняли часть идентификаторов.
+     * Последовательность только увеличивается, поэтому повторный вызов ничего не меняет.
+     *
+     * @param tables таблицы сущностей с идентификатором из последовательности
+     */
+    public void alignWithExistingIds(List<String> tables) {
+        String maxIds = tables.stream()
+                .map(table -> "(SELECT COALESCE(MAX(id), 0) FROM " + table + ")")
+                .collect(Collectors.joining(", "));
+        String sql = "SELECT setval('" + IdEntity.ID_SEQUENCE + "', ids.max_id)"
+                     + " FROM (SELECT GREATEST(1, " + maxIds + ") AS max_id) ids"
+                     + " WHERE ids.max_id >= (SELECT last_value FROM " + IdEntity.ID_SEQUENCE + ")";
+        jdbcTemplate.getJdbcTemplate().query(sql, rs -> {
+        });
+    }
+}
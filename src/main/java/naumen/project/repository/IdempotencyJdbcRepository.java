@@ -0,0 +1,128 @@
+package naumen.project.repository;
+
+import naumen.project.entity.IdempotencyRecord;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * DAO слой для {@link IdempotencyRecord}, работающий напрямую через JDBC.
+ * Захват ключа выполняется одним INSERT ... ON CONFLICT, чтобы одновременные запросы
+ * с одним ключом на разных экземплярах приложения не выполнились дважды.
+ */
+@Repository
+public class IdempotencyJdbcRepository {
+
+    private static final String ACQUIRE_SQL = """
+            INSERT INTO idempotency_record (key_hash, request_hash, expires_at)
+            VALUES (:keyHash, :requestHash, :expiresAt)
+            ON CONFLICT (key_hash) DO UPDATE SET request_hash = EXCLUDED.request_hash, status = NULL,
+                content_type = NULL, body = NULL, expires_at = EXCLUDED.expires_at
+            WHERE idempotency_record.expires_at < :now
+            RETURNING key_hash""";
+
+    private static final String FIND_SQL = """
+            SELECT key_hash, request_hash, status, content_type, body, expires_at
+            FROM idempotency_record WHERE key_hash = :keyHash AND expires_at >= :now""";
+
+    private static final String COMPLETE_SQL = """
+            UPDATE idempotency_record SET status = :status, content_type = :contentType, body = :body,
+                expires_at = :expiresAt
+            WHERE key_hash = :keyHash""";
+
+    private static final String RELEASE_SQL =
+            "DELETE FROM idempotency_record WHERE key_hash = :keyHash AND status IS NULL";
+
+    private static final String DELETE_EXPIRED_SQL = "DELETE FROM idempotency_record WHERE expires_at < :now";
+
+    private static final RowMapper<IdempotencyRecord> ROW_MAPPER = (rs, rowNum) -> new IdempotencyRecord(
+            rs.getString("key_hash"),
+            rs.getString("request_hash"),
+            rs.getObject("status", Integer.class),
+            rs.getString("content_type"),
+            rs.getBytes("body"),
+            rs.getTimestamp("expires_at").toInstant()
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public IdempotencyJdbcRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Захватывает ключ на время обработки запроса.
+     * Ключ захватывается, если записи с ним нет или ее срок истек.
+     *
+     * @param keyHash     хэш ключа
+     * @param requestHash хэш тела запроса
+     * @param now         текущее время
+     * @param lockedUntil срок блокировки ключа
+     * @return true, если ключ захвачен
+     */
+    public boolean tryAcquire(String keyHash, String requestHash, Instant now, Instant lockedUntil) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("keyHash", keyHash)
+                .addValue("requestHash", requestHash)
+                .addValue("now", Timestamp.from(now))
+                .addValue("expiresAt", Timestamp.from(lockedUntil));
+        return !jdbcTemplate.queryForList(ACQUIRE_SQL, params, String.class).isEmpty();
+    }
+
+    /**
+     * Находит неистекшую запись по хэшу ключа
+     *
+     * @param keyHash хэш ключа
+     * @param now     текущее время
+     * @return запись, пустая если ее нет или срок ее истек
+     */
+    public Optional<IdempotencyRecord> find(String keyHash, Instant now) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("keyHash", keyHash)
+                .addValue("now", Timestamp.from(now));
+        return jdbcTemplate.query(FIND_SQL, params, ROW_MAPPER).stream().findFirst();
+    }
+
+    /**
+     * Сохраняет ответ на запрос и продлевает срок записи до срока хранения ответа
+     *
+     * @param keyHash     хэш ключа
+     * @param status      HTTP статус ответа
+     * @param contentType тип содержимого ответа
+     * @param body        тело ответа
+     * @param expiresAt   срок хранения ответа
+     */
+    public void complete(String keyHash, int status, String contentType, byte[] body, Instant expiresAt) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("keyHash", keyHash)
+                .addValue("status", status)
+                .addValue("contentType", contentType)
+                .addValue("body", body)
+                .addValue("expiresAt", Timestamp.from(expiresAt));
+        jdbcTemplate.update(COMPLETE_SQL, params);
+    }
+
+    /**
+     * Освобождает ключ, захваченный запросом, ответ на который не сохраняется
+     *
+     * @param keyHash хэш ключа
+     */
+    public void release(String keyHash) {
+        jdbcTemplate.update(RELEASE_SQL, new MapSqlParameterSource("keyHash", keyHash));
+    }
+
+    /**
+     * Удаляет истекшие записи
+     *
+     * @param now текущее время
+     * @return количество удаленных записей
+     */
+    public int deleteExpired(Instant now) {
+        return jdbcTemplate.update(DELETE_EXPIRED_SQL, new MapSqlParameterSource("now", Timestamp.from(now)));
+    }
+}
@@ -0,0 +1,23 @@
+package naumen.project.repository;
+
+import naumen.project.entity.MenuChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * DAO слой для {@link MenuChange}
+ */
+@Repository
+public interface MenuChangeRepository extends JpaRepository<MenuChange, Long> {
+
+    /**
+     * Находит изменения меню ресторана, произошедшие после указанной версии
+     *
+     * @param restaurantId идентификатор ресторана
+     * @param version      версия меню, после которой ищутся изменения
+     * @return список изменений
+     */
+    List<MenuChange> findByRestaurantIdAndVersionGreaterThan(Long restaurantId, long version);
+}
@@ -0,0 +1,197 @@
+package naumen.project.repository;
+
+import naumen.project.entity.MenuItem;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DAO слой для {@link MenuItem}, работающий напрямую через JDBC.
+ * Используется для массовых операций, где накладные расходы JPA слишком велики.
+ */
+@Repository
+public class MenuJdbcRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO menu_item (id, title, description, price, restaurant_id) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String NEXT_VERSION_SQL = """
+            INSERT INTO menu_version (restaurant_id, version, updated_at) VALUES (:restaurantId, 1, now())
+            ON CONFLICT (restaurant_id) DO UPDATE SET version = menu_version.version + 1, updated_at = now()
+            RETURNING version""";
+
+    private static final String LOCK_VERSION_SQL =
+            "SELECT version FROM menu_version WHERE restaurant_id = :restaurantId FOR UPDATE";
+
+    private static final String RECORD_CHANGE_SQL = """
+            INSERT INTO menu_change (menu_item_id, restaurant_id, version, deleted) VALUES (?, ?, ?, ?)
+            ON CONFLICT (menu_item_id) DO UPDATE SET version = EXCLUDED.version, deleted = EXCLUDED.deleted""";
+
+    private static final String ADJUSTED_PRICE = "ROUND(m.price * :factor + :delta, 2)";
+
+    private static final BigDecimal MAX_PRICE = BigDecimal.valueOf(100000);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final IdSequenceJdbcRepository idSequenceJdbcRepository;
+
+    public MenuJdbcRepository(NamedParameterJdbcTemplate jdbcTemplate,
+                              IdSequenceJdbcRepository idSequenceJdbcRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idSequenceJdbcRepository = idSequenceJdbcRepository;
+    }
+
+    /**
+     * Вставляет позиции меню одним JDBC батчем и проставляет им идентификаторы из последовательности
+     *
+     * @param menuItems позиции меню для вставки
+     * @return идентификаторы вставленных позиций в порядке вставки
+     */
+    public List<Long> batchInsert(List<MenuItem> menuItems) {
+        List<Long> ids = idSequenceJdbcRepository.allocate(menuItems.size());
+        for (int i = 0; i < ids.size(); i++) {
+            menuItems.get(i).setId(ids.get(i));
+        }
+
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_SQL, menuItems, menuItems.size(),
+                (ps, menuItem) -> {
+                    ps.setLong(1, menuItem.getId());
+                    ps.setString(2, menuItem.getTitle());
+                    ps.setString(3, menuItem.getDescription());
+                    ps.setBigDecimal(4, menuItem.getPrice());
+                    ps.setLong(5, menuItem.getRestaurant().getId());
+                });
+        return ids;
+    }
+
+    /**
+     * Увеличивает версию меню ресторана.
+     * Строка версии остается заблокированной до конца транзакции, поэтому версии
+     * одного ресторана выдаются в порядке фиксации транзакций.
+     *
+     * @param restaurantId идентификатор ресторана
+     * @return новая версия меню
+     */
+    public long nextVersion(Long restaurantId) {
+        Long version = jdbcTemplate.queryForObject(NEXT_VERSION_SQL,
+                new MapSqlParameterSource("restaurantId", restaurantId), Long.class);
+        return version == null ? 0 : version;
+    }
+
+    /**
+     * Блокирует строку версии меню ресторана до конца транзакции, не меняя версию.
+     * Нужна перед изменением, которое увеличивает версию, только если что-то изменилось:
+     * строка версии блокируется раньше строк позиций меню, как при {@link #nextVersion(Long)}.
+     *
+     * @param restaurantId идентификатор ресторана
+     */
+    public void lockVersion(Long restaurantId) {
+        jdbcTemplate.query(LOCK_VERSION_SQL, new MapSqlParameterSource("restaurantId", restaurantId), rs -> {
+        });
+    }
+
+    /**
+     * Записывает изменения позиций меню в журнал, заменяя предыдущие записи этих позиций
+     *
+     * @param restaurantId идентификатор ресторана
+     * @param menuItemIds  идентификаторы измененных позиций
+     * @param version      версия меню, в которой произошло изменение
+     * @param deleted      признак удаления позиций
+     */
+    public void recordChanges(Long restaurantId, List<Long> menuItemIds, long version, boolean deleted) {
+        jdbcTemplate.getJdbcTemplate().batchUpdate(RECORD_CHANGE_SQL, menuItemIds, menuItemIds.size(),
+                (ps, menuItemId) -> {
+                    ps.setLong(1, menuItemId);
+                    ps.setLong(2, restaurantId);
+                    ps.setLong(3, version);
+                    ps.setBoolean(4, deleted);
+                });
+    }
+
+    /**
+     * Считает позиции меню, цена которых после изменения выйдет за допустимые пределы (0; 100000]
+     *
+     * @param restaurantId идентификатор ресторана
+     * @param factor       множитель цены
+     * @param delta        слагаемое цены
+     * @param title        фильтр по вхождению в название (опционально)
+     * @param ids          фильтр по идентификаторам (опционально)
+     * @return количество позиций с недопустимой итоговой ценой
+     */
+    public long countWithAdjustedPriceOutOfRange(Long restaurantId, BigDecimal factor, BigDecimal delta,
+                                                 String title, List<Long> ids) {
+        MapSqlParameterSource params = priceAdjustmentParams(restaurantId, factor, delta, title, ids);
+        String sql = "SELECT COUNT(*) FROM menu_item m WHERE " + filterCondition(title, ids)
+                     + " AND (" + ADJUSTED_PRICE + " <= 0 OR " + ADJUSTED_PRICE + " > :maxPrice)";
+
+        Long count = jdbcTemplate.queryForObject(sql, params, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Изменяет цены позиций меню ресторана одним UPDATE: новая цена = ROUND(цена * factor + delta, 2).
+     * Позиции, цена которых выйдет за допустимые пределы, не изменяются.
+     * Если изменилась хотя бы одна позиция, в том же запросе увеличивается версия меню,
+     * а измененные позиции записываются в журнал изменений меню с новой версией.
+     * Если не изменилась ни одна позиция, версия остается прежней.
+     *
+     * @param restaurantId идентификатор ресторана
+     * @param factor       множитель цены
+     * @param delta        слагаемое цены
+     * @param title        фильтр по вхождению в название (опционально)
+     * @param ids          фильтр по идентификаторам (опционально)
+     * @return количество измененных позиций
+     */
+    public int adjustPrices(Long restaurantId, BigDecimal factor, BigDecimal delta, String title, List<Long> ids) {
+        MapSqlParameterSource params = priceAdjustmentParams(restaurantId, factor, delta, title, ids);
+        String sql = "WITH updated AS (UPDATE menu_item m SET price = " + ADJUSTED_PRICE
+                     + " WHERE " + filterCondition(title, ids)
+                     + " AND " + ADJUSTED_PRICE + " > 0 AND " + ADJUSTED_PRICE + " <= :maxPrice RETURNING m.id)"
+                     + ", bumped AS (INSERT INTO menu_version (restaurant_id, version, updated_at)"
+                     + " SELECT :restaurantId, 1, now() WHERE EXISTS (SELECT 1 FROM updated)"
+                     + " ON CONFLICT (restaurant_id) DO UPDATE SET version = menu_version.version + 1,"
+                     + " updated_at = now() RETURNING version)"
+                     + ", changes AS (INSERT INTO menu_change (menu_item_id, restaurant_id, version, deleted)"
+                     + " SELECT u.id, :restaurantId, b.version, false FROM updated u CROSS JOIN bumped b"
+                     + " ON CONFLICT (menu_item_id) DO UPDATE SET version = EXCLUDED.version, deleted = false)"
+                     + " SELECT COUNT(*) FROM updated";
+
+        Integer updated = jdbcTemplate.queryForObject(sql, params, Integer.class);
+        return updated == null ? 0 : updated;
+    }
+
+    /**
+     * Формирует условие выборки позиций меню ресторана.
+     * Необязательные фильтры добавляются в запрос, только если заданы.
+     *
+     * @param title фильтр по вхождению в название
+     * @param ids   фильтр по идентификаторам
+     * @return SQL условие
+     */
+    private String filterCondition(String title, List<Long> ids) {
+        StringBuilder condition = new StringBuilder("m.restaurant_id = :restaurantId");
+        if (title != null) {
+            condition.append(" AND LOWER(m.title) LIKE LOWER(CONCAT('%', :title, '%'))");
+        }
+        if (ids != null && !ids.isEmpty()) {
+            condition.append(" AND m.id IN (:ids)");
+        }
+        return condition.toString();
+    }
+
+    /**
+     * Собирает параметры запросов изменения цен
+     */
+    private MapSqlParameterSource priceAdjustmentParams(Long restaurantId, BigDecimal factor, BigDecimal delta,
+                                                        String title, List<Long> ids) {
+        return new MapSqlParameterSource()
+                .addValue("restaurantId", restaurantId)
+                .addValue("factor", factor)
+                .addValue("delta", delta)
+                .addValue("maxPrice", MAX_PRICE)
+                .addValue("title", title)
+                .addValue("ids", ids);
+    }
+}
@@ -8,6 +8,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 /**
  * DAO слой для {@link MenuItem}
  */
@@ -30,4 +32,12 @@ public interface MenuRepository extends JpaRepository<MenuItem, Long> {
             @Param("restaurantId") Long restaurantId,
             @Param("title") String title,
             Pageable pageable);
+
+    /**
+     * Находит все позиции меню ресторана
+     *
+     * @param restaurantId идентификатор ресторана
+     * @return список позиций меню
+     */
+    List<MenuItem> findAllByRestaurantId(Long restaurantId);
 }
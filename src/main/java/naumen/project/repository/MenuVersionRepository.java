@@ -0,0 +1,12 @@
+package naumen.project.repository;
+
+import naumen.project.entity.MenuVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * DAO слой для {@link MenuVersion}
+ */
+@Repository
+public interface MenuVersionRepository extends JpaRepository<MenuVersion, Long> {
+}
@@ -0,0 +1,55 @@
+package naumen.project.repository;
+
+import naumen.project.entity.OrderChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * DAO слой для {@link OrderChange}
+ */
+@Repository
+public interface OrderChangeRepository extends JpaRepository<OrderChange, Long> {
+
+    /**
+     * Находит изменения заказов клиента после указанного номера
+     *
+     * @param clientId идентификатор клиента
+     * @param sequence номер изменения, после которого ищутся изменения
+     * @param limit    максимальное количество изменений
+     * @return изменения в порядке номеров
+     */
+    List<OrderChange> findByClientIdAndSequenceGreaterThanOrderBySequence(Long clientId, long sequence, Limit limit);
+
+    /**
+     * Находит изменения заказов ресторана после указанного номера
+     *
+     * @param restaurantId идентификатор ресторана
+     * @param sequence     номер изменения, после которого ищутся изменения
+     * @param limit        максимальное количество изменений
+     * @return изменения в порядке номеров
+     */
+    List<OrderChange> findByRestaurantIdAndSequenceGreaterThanOrderBySequence(Long restaurantId, long sequence,
+                                                                              Limit limit);
+
+    /**
+     * Находит изменения заказов, которые видит курьер, после указанного номера:
+     * заказов курьера, заказов в статусах, в которых заказ доступен или только что принят курьером,
+     * и заказов без курьера, которые были отменены или удалены
+     *
+     * @param courierId идентификатор курьера
+     * @param sequence  номер изменения, после которого ищутся изменения
+     * @param limit     максимальное количество изменений
+     * @return изменения в порядке номеров
+     */
+    @Query("SELECT c FROM OrderChange c " +
+            "WHERE c.sequence > :sequence " +
+            "AND (c.courierId = :courierId " +
+            "OR c.status IN ('CREATED', 'ACCEPTED', 'PREPARED') " +
+            "OR (c.courierId IS NULL AND c.status IN ('DELETED', 'CANCELLED'))) " +
+            "ORDER BY c.sequence")
+    List<OrderChange> findCourierChanges(Long courierId, long sequence, Limit limit);
+}
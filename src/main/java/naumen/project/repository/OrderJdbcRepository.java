@@ -0,0 +1,429 @@
+package naumen.project.repository;
+
+import naumen.project.entity.Order;
+import naumen.project.entity.OrderChange;
+import naumen.project.entity.OrderTransition;
+import naumen.project.entity.enums.OrderStatus;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * DAO слой для {@link Order}, работающий напрямую через JDBC.
+ * Используется для массовых операций, где загрузка каждого заказа через JPA слишком дорога.
+ */
+@Repository
+public class OrderJdbcRepository {
+
+    /**
+     * Внешний SELECT видит состояние заказов до UPDATE, поэтому для не переведенных заказов
+     * возвращается статус и ресторан, по которым можно объяснить отказ
+     */
+    private static final String TRANSITION_STATUS_SQL = """
+            WITH updated AS (
+                UPDATE "order" SET status = :toStatus, status_changed_at = :changedAt
+                WHERE id IN (:ids) AND restaurant_id = :restaurantId AND status = :fromStatus
+                RETURNING id
+            )
+            SELECT o.id, o.status, o.restaurant_id, o.client_id, o.courier_id, o.total_price, o.created_at,
+                COALESCE(o.status_changed_at, o.created_at) AS status_changed_at,
+                o.id IN (SELECT id FROM updated) AS transitioned
+            FROM "order" o WHERE o.id IN (:ids)""";
+
+    /**
+     * Строки выбираются с блокировкой и пропуском уже заблокированных, поэтому несколько экземпляров
+     * приложения отменяют разные заказы и не ждут друг друга. Заказы без времени смены статуса,
+     * созданные до его появления, отбираются по дате создания
+     */
+    private static final String CANCEL_STALE_SQL = """
+            WITH stale AS (
+                SELECT id, COALESCE(status_changed_at, created_at) AS status_changed_at FROM "order"
+                WHERE status = :status
+                    AND (status_changed_at < :cutoff OR status_changed_at IS NULL AND created_at < :cutoff)
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            )
+            UPDATE "order" o SET status = :cancelledStatus, status_changed_at = :changedAt
+            FROM stale WHERE o.id = stale.id
+            RETURNING o.id, o.restaurant_id, o.client_id, o.courier_id, o.total_price, o.created_at,
+                stale.status_changed_at AS previous_status_changed_at""";
+
+    /**
+     * Заказы, которые уже передаются ресторану другим экземпляром приложения или удаляются клиентом, пропускаются
+     */
+    private static final String RELEASE_SCHEDULED_SQL = """
+            WITH scheduled AS (
+                SELECT id, COALESCE(status_changed_at, created_at) AS status_changed_at FROM "order"
+                WHERE id IN (:ids) AND status = :scheduledStatus
+                FOR UPDATE SKIP LOCKED
+            )
+            UPDATE "order" o SET status = :createdStatus, status_changed_at = :changedAt
+            FROM scheduled WHERE o.id = scheduled.id
+            RETURNING o.id, o.restaurant_id, o.client_id, o.courier_id, o.total_price, o.created_at,
+                scheduled.status_changed_at AS previous_status_changed_at""";
+
+    private static final String FIND_SCHEDULED_SQL = """
+            SELECT id, deliver_at FROM "order"
+            WHERE status = :scheduledStatus AND deliver_at < :deliverBefore""";
+
+    /**
+     * Заказы пачки и их позиции копируются в архив и удаляются из основных таблиц одним запросом.
+     * Внешние ключи проверяются в конце запроса, поэтому порядок подзапросов не важен.
+     * Если заказ уже есть в архиве, запрос завершается ошибкой целиком, и заказ не удаляется без копии.
+     * Заблокированные строки пропускаются, как при отмене зависших заказов
+     */
+    private static final String ARCHIVE_SQL = """
+            WITH batch AS (
+                SELECT id FROM "order"
+                WHERE status IN (:statuses)
+                    AND (status_changed_at < :cutoff OR status_changed_at IS NULL AND created_at < :cutoff)
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            ), archived_orders AS (
+                INSERT INTO order_archive (id, delivery_address, status, total_price, restaurant_id, client_id,
+                    courier_id, created_at, status_changed_at, deliver_at, archived_at)
+                SELECT o.id, o.delivery_address, o.status, o.total_price, o.restaurant_id, o.client_id,
+                    o.courier_id, o.created_at, o.status_changed_at, o.deliver_at, :archivedAt
+                FROM "order" o JOIN batch b ON o.id = b.id
+            ), archived_items AS (
+                INSERT INTO order_item_archive (id, order_id, menu_item_id, menu_item_title, quantity, item_price)
+                SELECT i.id, i.order_id, i.menu_item_id, m.title, i.quantity, i.item_price
+                FROM order_item i JOIN batch b ON i.order_id = b.id LEFT JOIN menu_item m ON m.id = i.menu_item_id
+            ), deleted_items AS (
+                DELETE FROM order_item i USING batch b WHERE i.order_id = b.id
+            )
+            DELETE FROM "order" o USING batch b WHERE o.id = b.id""";
+
+    private static final String COUNT_BY_RESTAURANT_SQL = """
+            SELECT restaurant_id, COUNT(*) AS orders FROM "order"
+            WHERE status IN (:statuses) GROUP BY restaurant_id""";
+
+    private static final String FIND_BY_STATUSES_SQL = """
+            SELECT id, restaurant_id, status, total_price, created_at FROM "order"
+            WHERE status IN (:statuses)""";
+
+    /**
+     * Ключ блокировки журнала изменений заказов. Блокировка держится до конца транзакции,
+     * поэтому номера изменений выдаются в порядке фиксации транзакций
+     */
+    private static final long ORDER_CHANGE_LOCK_KEY = 0x6F726465725F63L;
+
+    private static final String LOCK_CHANGES_SQL = "SELECT pg_advisory_xact_lock(:lockKey)";
+
+    private static final String MAX_CHANGE_SEQUENCE_SQL = "SELECT COALESCE(MAX(seq), 0) FROM order_change";
+
+    private static final String RECORD_CHANGE_SQL = """
+            INSERT INTO order_change (order_id, seq, restaurant_id, client_id, courier_id, status, changed_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (order_id) DO UPDATE SET seq = EXCLUDED.seq, courier_id = EXCLUDED.courier_id,
+                status = EXCLUDED.status, changed_at = EXCLUDED.changed_at""";
+
+    private static final String RECORD_TRANSITION_SQL = """
+            INSERT INTO order_transition (order_id, status, previous_status, restaurant_id, changed_at, duration_ms)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (order_id, status) DO NOTHING""";
+
+    private static final String FIND_STAGE_DURATIONS_SQL = """
+            SELECT restaurant_id, previous_status, duration_ms FROM order_transition
+            WHERE changed_at >= :since AND previous_status IS NOT NULL AND duration_ms IS NOT NULL
+                AND status NOT IN ('DELETED', 'CANCELLED')""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public OrderJdbcRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Переводит заказы ресторана из одного статуса в другой одним UPDATE.
+     * Переводятся только заказы указанного ресторана, находящиеся в исходном статусе.
+     *
+     * @param restaurantId идентификатор ресторана
+     * @param ids          идентификаторы заказов
+     * @param fromStatus   ожидаемый исходный статус
+     * @param toStatus     новый статус
+     * @param changedAt    время перевода
+     * @return состояние найденных заказов до перевода и признак перевода; несуществующие заказы пропускаются
+     */
+    public List<StatusTransition> transitionStatus(Long restaurantId, Collection<Long> ids,
+                                                   OrderStatus fromStatus, OrderStatus toStatus,
+                                                   Instant changedAt) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("restaurantId", restaurantId)
+                .addValue("ids", ids)
+                .addValue("fromStatus", fromStatus.name())
+                .addValue("toStatus", toStatus.name())
+                .addValue("changedAt", Timestamp.from(changedAt));
+        return jdbcTemplate.query(TRANSITION_STATUS_SQL, params, (rs, rowNum) -> new StatusTransition(
+                rs.getLong("id"),
+                OrderStatus.valueOf(rs.getString("status")),
+                rs.getLong("restaurant_id"),
+                rs.getLong("client_id"),
+                rs.getObject("courier_id", Long.class),
+                rs.getBigDecimal("total_price"),
+                toInstant(rs.getTimestamp("created_at")),
+                toInstant(rs.getTimestamp("status_changed_at")),
+                changedAt,
+                rs.getBoolean("transitioned")
+        ));
+    }
+
+    /**
+     * Отменяет заказы, находящиеся в статусе дольше допустимого, одним UPDATE
+     *
+     * @param status    статус заказов
+     * @param cutoff    заказы, перешедшие в статус раньше этого момента, отменяются
+     * @param limit     максимальное количество отменяемых заказов
+     * @param changedAt время отмены
+     * @return отмененные заказы
+     */
+    public List<StatusTransition> cancelStale(OrderStatus status, Instant cutoff, int limit, Instant changedAt) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("status", status.name())
+                .addValue("cutoff", Timestamp.from(cutoff))
+                .addValue("limit", limit)
+                .addValue("cancelledStatus", OrderStatus.CANCELLED.name())
+                .addValue("changedAt", Timestamp.from(changedAt));
+        return jdbcTemplate.query(CANCEL_STALE_SQL, params, (rs, rowNum) -> new StatusTransition(
+                rs.getLong("id"),
+                status,
+                rs.getLong("restaurant_id"),
+                rs.getLong("client_id"),
+                rs.getObject("courier_id", Long.class),
+                rs.getBigDecimal("total_price"),
+                toInstant(rs.getTimestamp("created_at")),
+                toInstant(rs.getTimestamp("previous_status_changed_at")),
+                changedAt,
+                true
+        ));
+    }
+
+    /**
+     * Передает запланированные заказы ресторанам одним UPDATE: переводит их из статуса SCHEDULED в CREATED
+     *
+     * @param ids       идентификаторы заказов
+     * @param changedAt время передачи
+     * @return переданные заказы; заказы, которые уже не запланированы, пропускаются
+     */
+    public List<StatusTransition> releaseScheduled(Collection<Long> ids, Instant changedAt) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("scheduledStatus", OrderStatus.SCHEDULED.name())
+                .addValue("createdStatus", OrderStatus.CREATED.name())
+                .addValue("changedAt", Timestamp.from(changedAt));
+        return jdbcTemplate.query(RELEASE_SCHEDULED_SQL, params, (rs, rowNum) -> new StatusTransition(
+                rs.getLong("id"),
+                OrderStatus.SCHEDULED,
+                rs.getLong("restaurant_id"),
+                rs.getLong("client_id"),
+                rs.getObject("courier_id", Long.class),
+                rs.getBigDecimal("total_price"),
+                toInstant(rs.getTimestamp("created_at")),
+                toInstant(rs.getTimestamp("previous_status_changed_at")),
+                changedAt,
+                true
+        ));
+    }
+
+    /**
+     * Переносит в архив одну пачку заказов в указанных статусах, перешедших в них раньше указанного момента
+     *
+     * @param statuses   конечные статусы заказов
+     * @param cutoff     заказы, перешедшие в статус раньше этого момента, переносятся
+     * @param limit      максимальное количество переносимых заказов
+     * @param archivedAt время переноса
+     * @return количество перенесенных заказов
+     */
+    public int archive(Collection<OrderStatus> statuses, Instant cutoff, int limit, Instant archivedAt) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("statuses", statuses.stream().map(OrderStatus::name).toList())
+                .addValue("cutoff", Timestamp.from(cutoff))
+                .addValue("limit", limit)
+                .addValue("archivedAt", Timestamp.from(archivedAt));
+        return jdbcTemplate.update(ARCHIVE_SQL, params);
+    }
+
+    /**
+     * Находит запланированные заказы со временем доставки раньше указанного
+     *
+     * @param deliverBefore граница времени доставки
+     * @return запланированные заказы
+     */
+    public List<ScheduledOrder> findScheduled(Instant deliverBefore) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("scheduledStatus", OrderStatus.SCHEDULED.name())
+                .addValue("deliverBefore", Timestamp.from(deliverBefore));
+        return jdbcTemplate.query(FIND_SCHEDULED_SQL, params, (rs, rowNum) -> new ScheduledOrder(
+                rs.getLong("id"),
+                rs.getTimestamp("deliver_at").toInstant()
+        ));
+    }
+
+    /**
+     * Считает заказы в указанных статусах по ресторанам
+     *
+     * @param statuses статусы заказов
+     * @return количество заказов по идентификатору ресторана; рестораны без таких заказов пропускаются
+     */
+    public Map<Long, Integer> countByRestaurant(Collection<OrderStatus> statuses) {
+        Map<Long, Integer> counts = new HashMap<>();
+        jdbcTemplate.query(COUNT_BY_RESTAURANT_SQL,
+                new MapSqlParameterSource("statuses", statuses.stream().map(OrderStatus::name).toList()),
+                rs -> {
+                    counts.put(rs.getLong("restaurant_id"), rs.getInt("orders"));
+                });
+        return counts;
+    }
+
+    /**
+     * Находит краткую информацию о заказах в указанных статусах
+     *
+     * @param statuses статусы заказов
+     * @return заказы в указанных статусах
+     */
+    public List<OrderSummary> findSummariesByStatuses(Collection<OrderStatus> statuses) {
+        return jdbcTemplate.query(FIND_BY_STATUSES_SQL,
+                new MapSqlParameterSource("statuses", statuses.stream().map(OrderStatus::name).toList()),
+                (rs, rowNum) -> new OrderSummary(
+                        rs.getLong("id"),
+                        rs.getLong("restaurant_id"),
+                        OrderStatus.valueOf(rs.getString("status")),
+                        rs.getBigDecimal("total_price"),
+                        toInstant(rs.getTimestamp("created_at"))
+                ));
+    }
+
+    /**
+     * Записывает изменения заказов в журнал, заменяя предыдущие записи этих заказов, и проставляет им номера.
+     * Журнал блокируется до конца транзакции, поэтому вызывать метод нужно непосредственно перед фиксацией.
+     *
+     * @param changes изменения заказов, не больше одного на заказ
+     */
+    public void recordChanges(List<OrderChange> changes) {
+        jdbcTemplate.query(LOCK_CHANGES_SQL, new MapSqlParameterSource("lockKey", ORDER_CHANGE_LOCK_KEY),
+                (RowCallbackHandler) rs -> {
+                });
+        Long lastSequence = jdbcTemplate.getJdbcTemplate().queryForObject(MAX_CHANGE_SEQUENCE_SQL, Long.class);
+        long sequence = lastSequence == null ? 0 : lastSequence;
+        for (OrderChange change : changes) {
+            change.setSequence(++sequence);
+        }
+
+        jdbcTemplate.getJdbcTemplate().batchUpdate(RECORD_CHANGE_SQL, changes, changes.size(),
+                (ps, change) -> {
+                    ps.setLong(1, change.getOrderId());
+                    ps.setLong(2, change.getSequence());
+                    ps.setLong(3, change.getRestaurantId());
+                    ps.setLong(4, change.getClientId());
+                    ps.setObject(5, change.getCourierId(), Types.BIGINT);
+                    ps.setString(6, change.getStatus().name());
+                    ps.setTimestamp(7, Timestamp.from(change.getChangedAt()));
+                });
+    }
+
+    /**
+     * Записывает переходы заказов между статусами в журнал переходов одним батчем.
+     * Повторный переход заказа в тот же статус не записывается
+     *
+     * @param transitions переходы заказов
+     */
+    public void recordTransitions(List<OrderTransition> transitions) {
+        jdbcTemplate.getJdbcTemplate().batchUpdate(RECORD_TRANSITION_SQL, transitions, transitions.size(),
+                (ps, transition) -> {
+                    ps.setLong(1, transition.getOrderId());
+                    ps.setString(2, transition.getStatus().name());
+                    ps.setString(3, transition.getPreviousStatus() == null
+                            ? null
+                            : transition.getPreviousStatus().name());
+                    ps.setLong(4, transition.getRestaurantId());
+                    ps.setTimestamp(5, Timestamp.from(transition.getChangedAt()));
+                    ps.setObject(6, transition.getDurationMillis(), Types.BIGINT);
+                });
+    }
+
+    /**
+     * Передает обработчику время, проведенное заказами в статусах, по переходам начиная с указанного момента.
+     * Удаление и отмена заказов не учитываются. Строки читаются потоком, не собираясь в список
+     *
+     * @param since   начало периода
+     * @param handler обработчик времени в статусе
+     */
+    public void forEachStageDuration(Instant since, Consumer<StageDuration> handler) {
+        jdbcTemplate.query(FIND_STAGE_DURATIONS_SQL, new MapSqlParameterSource("since", Timestamp.from(since)),
+                (RowCallbackHandler) rs -> handler.accept(new StageDuration(
+                        rs.getLong("restaurant_id"),
+                        OrderStatus.valueOf(rs.getString("previous_status")),
+                        rs.getLong("duration_ms")
+                )));
+    }
+
+    /**
+     * Преобразует время из БД, которое может быть не заполнено
+     */
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+
+    /**
+     * Краткая информация о заказе
+     *
+     * @param id           идентификатор заказа
+     * @param restaurantId идентификатор ресторана
+     * @param status       статус заказа
+     * @param totalPrice   общая стоимость заказа
+     * @param createdAt    дата создания заказа
+     */
+    public record OrderSummary(Long id, Long restaurantId, OrderStatus status, BigDecimal totalPrice,
+                               Instant createdAt) {
+    }
+
+    /**
+     * Запланированный заказ
+     *
+     * @param id        идентификатор заказа
+     * @param deliverAt время доставки заказа
+     */
+    public record ScheduledOrder(Long id, Instant deliverAt) {
+    }
+
+    /**
+     * Время, проведенное заказом в статусе
+     *
+     * @param restaurantId   идентификатор ресторана заказа
+     * @param stage          статус заказа
+     * @param durationMillis время в статусе в миллисекундах
+     */
+    public record StageDuration(Long restaurantId, OrderStatus stage, long durationMillis) {
+    }
+
+    /**
+     * Результат перевода заказа в другой статус
+     *
+     * @param orderId                 идентификатор заказа
+     * @param previousStatus          статус заказа до перевода
+     * @param restaurantId            идентификатор ресторана заказа
+     * @param clientId                идентификатор клиента заказа
+     * @param courierId               идентификатор курьера заказа, null если курьер не назначен
+     * @param totalPrice              общая стоимость заказа
+     * @param createdAt               дата создания заказа
+     * @param previousStatusChangedAt время перехода заказа в статус до перевода
+     * @param statusChangedAt         время перевода
+     * @param transitioned            признак того, что заказ переведен
+     */
+    public record StatusTransition(Long orderId, OrderStatus previousStatus, Long restaurantId, Long clientId,
+                                   Long courierId, BigDecimal totalPrice, Instant createdAt,
+                                   Instant previousStatusChangedAt, Instant statusChangedAt,
+                                   boolean transitioned) {
+    }
+}
@@ -4,11 +4,13 @@ import naumen.project.entity.Order;
 import naumen.project.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * DAO слой для {@link Order}
@@ -16,6 +18,16 @@ import java.util.List;
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
+    /**
+     * Поиск заказа по идентификатору вместе с позициями и блюдами, одним запросом
+     *
+     * @param id идентификатор заказа
+     * @return заказ с загруженными позициями
+     */
+    @EntityGraph(attributePaths = {"items", "items.menuItem"})
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findWithItemsById(Long id);
+
     /**
      * Поиск доступных заказов для курьеров
      *
@@ -25,6 +37,7 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT o FROM Order o " +
             "WHERE o.courier IS NULL " +
             "AND o.status IN ('CREATED', 'ACCEPTED', 'PREPARED')")
+    @EntityGraph(attributePaths = "restaurant")
     Page<Order> findAvailableOrdersForCourier(Pageable pageable);
 
     /**
@@ -35,21 +48,10 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      */
     @Query("SELECT o FROM Order o " +
             "WHERE o.courier = :courier " +
-            "AND o.status != 'COMPLETED'")
+            "AND o.status NOT IN ('COMPLETED', 'CANCELLED')")
+    @EntityGraph(attributePaths = "restaurant")
     List<Order> findActiveOrdersByCourier(User courier);
 
-    /**
-     * Поиск активных заказов ресторана
-     *
-     * @param restaurant ресторан
-     * @param pageable   параметры пагинации
-     * @return список активных заказов ресторана
-     */
-    @Query("SELECT o FROM Order o " +
-            "WHERE o.restaurant = :restaurant " +
-            "AND o.status IN ('CREATED', 'ACCEPTED', 'PREPARED')")
-    Page<Order> findActiveOrdersByRestaurant(User restaurant, Pageable pageable);
-
     /**
      * Поиск заказов клиента
      *
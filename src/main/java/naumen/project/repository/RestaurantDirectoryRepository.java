@@ -0,0 +1,75 @@
+package naumen.project.repository;
+
+import naumen.project.dto.restaurant.RestaurantSummaryDto;
+import naumen.project.entity.enums.Role;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * DAO слой для сводной информации о ресторанах, работающий напрямую через JDBC.
+ * Агрегирует меню ресторанов одним запросом.
+ */
+@Repository
+public class RestaurantDirectoryRepository {
+
+    private static final String SUMMARY_SQL = """
+            SELECT u.id, u.name, u.address, COUNT(m.id) AS item_count,
+                   MIN(m.price) AS min_price, MAX(m.price) AS max_price, v.updated_at
+            FROM "user" u
+            LEFT JOIN menu_item m ON m.restaurant_id = u.id
+            LEFT JOIN menu_version v ON v.restaurant_id = u.id
+            WHERE u.role = :role""";
+
+    private static final String GROUP_BY = " GROUP BY u.id, u.name, u.address, v.updated_at";
+
+    private static final RowMapper<RestaurantSummaryDto> ROW_MAPPER = (rs, rowNum) -> {
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        return new RestaurantSummaryDto(
+                rs.getLong("id"),
+                rs.getString("name"),
+                rs.getString("address"),
+                rs.getLong("item_count"),
+                rs.getBigDecimal("min_price"),
+                rs.getBigDecimal("max_price"),
+                updatedAt == null ? null : updatedAt.toInstant()
+        );
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public RestaurantDirectoryRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Получает сводную информацию обо всех ресторанах
+     *
+     * @return список сводок по ресторанам
+     */
+    public List<RestaurantSummaryDto> findAllSummaries() {
+        return jdbcTemplate.query(SUMMARY_SQL + GROUP_BY,
+                new MapSqlParameterSource("role", Role.RESTAURANT.name()), ROW_MAPPER);
+    }
+
+    /**
+     * Получает сводную информацию о ресторане
+     *
+     * @param restaurantId идентификатор ресторана
+     * @return сводка по ресторану, пустая если ресторан не найден
+     */
+    public Optional<RestaurantSummaryDto> findSummary(Long restaurantId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("role", Role.RESTAURANT.name())
+                .addValue("restaurantId", restaurantId);
+
+        return jdbcTemplate.query(SUMMARY_SQL + " AND u.id = :restaurantId" + GROUP_BY, params, ROW_MAPPER)
+                .stream()
+                .findFirst();
+    }
+}
@@ -0,0 +1,183 @@
+package naumen.project.scheduling;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Иерархическое колесо таймеров, как в Kafka и Netty.
+ * Каждый уровень - кольцо из {@code wheelSize} ячеек; ячейка нулевого уровня охватывает один тик,
+ * ячейка каждого следующего уровня - целый оборот предыдущего. Элемент кладется на самый низкий уровень,
+ * оборот которого вмещает срок, а при повороте старшего уровня его ячейка раскладывается по младшим.
+ * Поэтому добавление и срабатывание элемента стоят O(1) независимо от числа элементов и дальности срока,
+ * а уровни добавляются по мере необходимости. Элементы срабатывают с точностью до тика.
+ * Методы потокобезопасны.
+ *
+ * @param <T> тип элементов
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final List<List<Entry<T>>[]> levels = new ArrayList<>();
+    private final List<T> overdue = new ArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Последний обработанный тик
+     */
+    private long currentTick;
+    private int size;
+
+    /**
+     * Конструктор с параметрами
+     *
+     * @param tick      длительность тика
+     * @param wheelSize количество ячеек на каждом уровне
+     * @param start     момент, с которого отсчитываются тики
+     */
+    public HierarchicalTimingWheel(Duration tick, int wheelSize, Instant start) {
+        if (tick.toMillis() <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("Тик должен быть не меньше 1 мс, а уровень - не меньше 2 ячеек");
+        }
+        this.tickMillis = tick.toMillis();
+        this.wheelSize = wheelSize;
+        this.currentTick = start.toEpochMilli() / tickMillis;
+    }
+
+    /**
+     * Добавляет элемент. Элемент со сроком в прошлом или в текущем тике сработает при следующем повороте
+     *
+     * @param element  элемент
+     * @param deadline срок срабатывания
+     */
+    public void schedule(T element, Instant deadline) {
+        lock.lock();
+        try {
+            place(new Entry<>(element, Math.floorDiv(deadline.toEpochMilli(), tickMillis)));
+            size++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Поворачивает колесо до указанного момента и забирает элементы, срок которых наступил
+     *
+     * @param now текущий момент
+     * @return элементы, срок которых наступил, в порядке срабатывания
+     */
+    public List<T> advance(Instant now) {
+        long targetTick = now.toEpochMilli() / tickMillis;
+        lock.lock();
+        try {
+            List<T> expired = new ArrayList<>(overdue);
+            overdue.clear();
+            while (currentTick < targetTick && size > expired.size()) {
+                currentTick++;
+                for (int level = levels.size() - 1; level > 0; level--) {
+                    long span = span(level);
+                    if (currentTick % span == 0) {
+                        cascade(level, currentTick / span, expired);
+                    }
+                }
+                drain(levels.isEmpty() ? null : levels.getFirst(), currentTick, expired);
+            }
+            currentTick = Math.max(currentTick, targetTick);
+            size -= expired.size();
+            return expired;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Количество элементов, срок которых еще не наступил или которые еще не забраны
+     *
+     * @return количество элементов
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Кладет элемент на самый низкий уровень, оборот которого вмещает срок
+     */
+    private void place(Entry<T> entry) {
+        if (entry.deadlineTick() <= currentTick) {
+            overdue.add(entry.element());
+            return;
+        }
+
+        int level = 0;
+        while (entry.deadlineTick() / span(level) - currentTick / span(level) >= wheelSize) {
+            level++;
+        }
+        while (levels.size() <= level) {
+            levels.add(createLevel());
+        }
+        int slot = (int) (entry.deadlineTick() / span(level) % wheelSize);
+        levels.get(level)[slot].add(entry);
+    }
+
+    /**
+     * Раскладывает ячейку старшего уровня по младшим уровням
+     */
+    private void cascade(int level, long slotTick, List<T> expired) {
+        List<Entry<T>> slot = levels.get(level)[(int) (slotTick % wheelSize)];
+        List<Entry<T>> entries = new ArrayList<>(slot);
+        slot.clear();
+        for (Entry<T> entry : entries) {
+            if (entry.deadlineTick() <= currentTick) {
+                expired.add(entry.element());
+            } else {
+                place(entry);
+            }
+        }
+    }
+
+    /**
+     * Забирает элементы из ячейки нулевого уровня
+     */
+    private void drain(List<Entry<T>>[] level, long tick, List<T> expired) {
+        if (level == null) {
+            return;
+        }
+        List<Entry<T>> slot = level[(int) (tick % wheelSize)];
+        slot.forEach(entry -> expired.add(entry.element()));
+        slot.clear();
+    }
+
+    /**
+     * Количество тиков, которое охватывает одна ячейка уровня
+     */
+    private long span(int level) {
+        long span = 1;
+        for (int i = 0; i < level; i++) {
+            span *= wheelSize;
+        }
+        return span;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Entry<T>>[] createLevel() {
+        List<Entry<T>>[] slots = new List[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            slots[i] = new ArrayList<>();
+        }
+        return slots;
+    }
+
+    /**
+     * Элемент колеса со сроком в тиках
+     */
+    private record Entry<T>(T element, long deadlineTick) {
+    }
+}
@@ -0,0 +1,114 @@
+package naumen.project.scheduling;
+
+import naumen.project.config.props.ScheduledOrderProps;
+import naumen.project.repository.OrderJdbcRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Таймер передачи запланированных заказов ресторанам.
+ * Заказы хранятся в памяти в иерархическом колесе таймеров до момента передачи ресторану -
+ * времени доставки за вычетом времени на приготовление и доставку, поэтому базу данных не нужно
+ * часто опрашивать в поисках заказов, которые пора передать.
+ * Заказ добавляется в колесо после фиксации транзакции, в которой он запланирован. Кроме того,
+ * заказы, которые нужно передать в ближайшее время, периодически загружаются из базы данных, чтобы учесть
+ * заказы, запланированные до запуска приложения или другими экземплярами приложения.
+ *
+ * @see HierarchicalTimingWheel
+ * @see ScheduledOrderProps
+ */
+@Component
+public class ScheduledOrderTimer {
+
+    private static final Duration TICK = Duration.ofSeconds(1);
+    private static final int WHEEL_SIZE = 60;
+
+    private final HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZE, Instant.now());
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final ScheduledOrderProps scheduledOrderProps;
+    private final OrderJdbcRepository orderJdbcRepository;
+
+    public ScheduledOrderTimer(ScheduledOrderProps scheduledOrderProps, OrderJdbcRepository orderJdbcRepository) {
+        this.scheduledOrderProps = scheduledOrderProps;
+        this.orderJdbcRepository = orderJdbcRepository;
+    }
+
+    /**
+     * Момент, когда заказ нужно передать ресторану
+     *
+     * @param deliverAt время доставки заказа
+     * @return время доставки за вычетом времени на приготовление и доставку
+     */
+    public Instant releaseTimeOf(Instant deliverAt) {
+        return deliverAt.minus(scheduledOrderProps.getLeadTime());
+    }
+
+    /**
+     * Добавляет запланированный заказ в колесо.
+     * Если вызов выполняется в транзакции, заказ добавляется только после ее фиксации.
+     *
+     * @param orderId   идентификатор заказа
+     * @param deliverAt время доставки заказа
+     */
+    public void schedule(Long orderId, Instant deliverAt) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(orderId, deliverAt);
+                }
+            });
+        } else {
+            add(orderId, deliverAt);
+        }
+    }
+
+    /**
+     * Поворачивает колесо до текущего момента
+     *
+     * @return идентификаторы заказов, которые пора передать ресторанам
+     */
+    public List<Long> advance() {
+        List<Long> due = wheel.advance(Instant.now());
+        due.forEach(pending::remove);
+        return due;
+    }
+
+    /**
+     * Количество заказов в колесе
+     *
+     * @return количество заказов, ожидающих передачи ресторанам
+     */
+    public int size() {
+        return wheel.size();
+    }
+
+    /**
+     * Загружает из базы данных запланированные заказы, которые нужно передать ресторанам
+     * в пределах {@link ScheduledOrderProps#getReloadHorizon()}, в том числе просроченные.
+     * Заказы, уже находящиеся в колесе, не добавляются повторно
+     */
+    public void reload() {
+        Instant deliverBefore = Instant.now()
+                .plus(scheduledOrderProps.getReloadHorizon())
+                .plus(scheduledOrderProps.getLeadTime());
+        orderJdbcRepository.findScheduled(deliverBefore)
+                .forEach(order -> add(order.id(), order.deliverAt()));
+    }
+
+    /**
+     * Добавляет заказ в колесо, если его там еще нет
+     */
+    private void add(Long orderId, Instant deliverAt) {
+        if (pending.add(orderId)) {
+            wheel.schedule(orderId, releaseTimeOf(deliverAt));
+        }
+    }
+}
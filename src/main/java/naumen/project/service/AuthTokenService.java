@@ -40,12 +40,15 @@ public class AuthTokenService {
 
     /**
      * Проверяет, разрешен ли токен к использованию.
+     * Транзакция не помечается только для чтения, чтобы проверка шла в основную БД, а не в реплику:
+     * при проверке пользователь еще не аутентифицирован, поэтому чтение своих записей не работает,
+     * и отставшая реплика не знала бы о только что выданных токенах и принимала бы отозванные.
      *
      * @param token проверяемый токен
      * @param type  тип токена
      * @return true если токен активен и разрешен
      */
-    @Transactional(readOnly = true)
+    @Transactional
     public boolean isTokenAllowed(String token, TokenType type) {
         return authTokenRepository.existsByTokenAndType(token, type);
     }
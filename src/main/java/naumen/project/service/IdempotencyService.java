@@ -0,0 +1,148 @@
+package naumen.project.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import naumen.project.coalescing.SingleFlight;
+import naumen.project.config.props.IdempotencyProps;
+import naumen.project.entity.IdempotencyRecord;
+import naumen.project.exception.ConflictException;
+import naumen.project.exception.InvalidInputException;
+import naumen.project.repository.IdempotencyJdbcRepository;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Сервис выполнения запросов с ключом идемпотентности.
+ * Первый запрос с ключом выполняется, его ответ сохраняется на срок {@link IdempotencyProps#getTtl()},
+ * повторы получают сохраненный ответ без повторного выполнения.
+ * Одновременные повторы внутри экземпляра приложения ждут первый запрос и получают его ответ,
+ * на разных экземплярах - получают 409, пока первый запрос не завершится.
+ * Ответы о временной ошибке (5xx, 408, 425 и 429) не сохраняются: такой запрос можно повторить с тем же ключом,
+ * например после Retry-After, и он будет выполнен заново.
+ *
+ * @see IdempotencyJdbcRepository
+ */
+@Service
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    /**
+     * Коды ответов до 500, после которых запрос можно повторить: таймаут запроса, слишком ранний запрос
+     * и превышение лимита запросов
+     */
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(408, 425, 429);
+
+    private final IdempotencyJdbcRepository idempotencyJdbcRepository;
+    private final IdempotencyProps idempotencyProps;
+    private final SingleFlight<String, IdempotentResponse> executions;
+
+    public IdempotencyService(IdempotencyJdbcRepository idempotencyJdbcRepository,
+                              IdempotencyProps idempotencyProps,
+                              MeterRegistry meterRegistry) {
+        this.idempotencyJdbcRepository = idempotencyJdbcRepository;
+        this.idempotencyProps = idempotencyProps;
+        this.executions = new SingleFlight<>("idempotency", meterRegistry);
+    }
+
+    /**
+     * Выполняет запрос не более одного раза для ключа идемпотентности
+     *
+     * @param userId      идентификатор пользователя
+     * @param endpoint    метод и путь запроса
+     * @param key         ключ идемпотентности
+     * @param requestBody тело запроса
+     * @param call        выполнение запроса
+     * @return ответ на запрос: полученный при выполнении или сохраненный ранее
+     * @throws InvalidInputException если ключ некорректен или уже использован с другим телом запроса
+     * @throws ConflictException     если запрос с этим ключом выполняется на другом экземпляре приложения
+     */
+    public IdempotentResponse execute(Long userId, String endpoint, String key, byte[] requestBody,
+                                      Supplier<IdempotentResponse> call) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidInputException("Ключ идемпотентности должен содержать от 1 до %d символов",
+                    MAX_KEY_LENGTH);
+        }
+
+        String keyHash = sha256(String.join("\n", String.valueOf(userId), endpoint, key)
+                .getBytes(StandardCharsets.UTF_8));
+        String requestHash = sha256(requestBody);
+        return executions.execute(keyHash + ":" + requestHash, () -> executeOnce(keyHash, requestHash, call));
+    }
+
+    /**
+     * Захватывает ключ и выполняет запрос, либо возвращает сохраненный ответ
+     */
+    private IdempotentResponse executeOnce(String keyHash, String requestHash, Supplier<IdempotentResponse> call) {
+        Instant now = Instant.now();
+        if (!idempotencyJdbcRepository.tryAcquire(keyHash, requestHash, now,
+                now.plus(idempotencyProps.getLockTimeout()))) {
+            return stored(keyHash, requestHash, now);
+        }
+
+        IdempotentResponse response;
+        try {
+            response = call.get();
+        } catch (RuntimeException | Error e) {
+            idempotencyJdbcRepository.release(keyHash);
+            throw e;
+        }
+
+        if (isRetryable(response.status())) {
+            idempotencyJdbcRepository.release(keyHash);
+        } else {
+            idempotencyJdbcRepository.complete(keyHash, response.status(), response.contentType(), response.body(),
+                    Instant.now().plus(idempotencyProps.getTtl()));
+        }
+        return response;
+    }
+
+    /**
+     * Проверяет, что ответ сообщает о временной ошибке и запрос нужно выполнить заново при повторе
+     */
+    private boolean isRetryable(int status) {
+        return status >= 500 || RETRYABLE_STATUSES.contains(status);
+    }
+
+    /**
+     * Возвращает сохраненный ответ на запрос с захваченным ключом
+     */
+    private IdempotentResponse stored(String keyHash, String requestHash, Instant now) {
+        IdempotencyRecord record = idempotencyJdbcRepository.find(keyHash, now)
+                .orElseThrow(() -> new ConflictException("Запрос с этим ключом идемпотентности уже выполняется"));
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new InvalidInputException("Ключ идемпотентности уже использован для другого запроса");
+        }
+        if (record.isInProgress()) {
+            throw new ConflictException("Запрос с этим ключом идемпотентности уже выполняется");
+        }
+        return new IdempotentResponse(record.getStatus(), record.getContentType(), record.getBody());
+    }
+
+    /**
+     * Вычисляет SHA-256 хэш в шестнадцатеричном виде
+     */
+    private String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Алгоритм SHA-256 недоступен", e);
+        }
+    }
+
+    /**
+     * Ответ на запрос с ключом идемпотентности
+     *
+     * @param status      HTTP статус ответа
+     * @param contentType тип содержимого ответа
+     * @param body        тело ответа
+     */
+    public record IdempotentResponse(int status, String contentType, byte[] body) {
+    }
+}
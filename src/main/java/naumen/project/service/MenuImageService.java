@@ -0,0 +1,243 @@
+package naumen.project.service;
+
+import naumen.project.config.props.MenuImageProps;
+import naumen.project.exception.InvalidInputException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Сервис хранения изображений позиций меню на локальной файловой системе.
+ * Изображения хранятся по адресу содержимого: имя файла - SHA-256 хэш содержимого и расширение,
+ * поэтому одинаковые изображения хранятся один раз, а сохраненный файл никогда не изменяется.
+ *
+ * @see MenuImageProps
+ */
+@Service
+public class MenuImageService {
+
+    private static final Pattern FILE_NAME_PATTERN = Pattern.compile("([0-9a-f]{64})\\.([a-z]+)");
+
+    private static final int HEADER_SIZE = 12;
+
+    private final MenuImageProps menuImageProps;
+
+    public MenuImageService(MenuImageProps menuImageProps) {
+        this.menuImageProps = menuImageProps;
+    }
+
+    /**
+     * Сохраняет изображение из потока.
+     * Поток копируется во временный файл с одновременным вычислением хэша,
+     * затем файл атомарно переносится на место, определяемое хэшем.
+     *
+     * @param input поток с содержимым изображения
+     * @return имя сохраненного файла изображения
+     * @throws IOException при ошибке чтения потока или записи файла
+     */
+    public String store(InputStream input) throws IOException {
+        Path storageDir = menuImageProps.getStorageDir();
+        Files.createDirectories(storageDir);
+
+        Path tempFile = Files.createTempFile(storageDir, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            long maxSize = menuImageProps.getMaxSize().toBytes();
+            long size = 0;
+
+            try (OutputStream output = Files.newOutputStream(tempFile)) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = input.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxSize) {
+                        throw new InvalidInputException("Размер изображения превышает %d байт", maxSize);
+                    }
+                    digest.update(buffer, 0, read);
+                    output.write(buffer, 0, read);
+                }
+            }
+
+            ImageType type = ImageType.detect(readHeader(tempFile))
+                    .orElseThrow(() -> new InvalidInputException(
+                            "Поддерживаются только изображения в форматах JPEG, PNG и WebP"));
+
+            String fileName = HexFormat.of().formatHex(digest.digest()) + "." + type.getExtension();
+            Path target = resolve(fileName);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return fileName;
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Находит сохраненное изображение по имени файла
+     *
+     * @param fileName имя файла изображения
+     * @return изображение, пустое если имя некорректно или файла нет
+     * @throws IOException при ошибке чтения атрибутов файла
+     */
+    public Optional<StoredImage> find(String fileName) throws IOException {
+        Matcher matcher = FILE_NAME_PATTERN.matcher(fileName);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+
+        Optional<ImageType> type = ImageType.byExtension(matcher.group(2));
+        Path path = resolve(fileName);
+        if (type.isEmpty() || !Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new StoredImage(path, matcher.group(1), type.get(), Files.size(path)));
+    }
+
+    /**
+     * Определяет путь к файлу изображения. Файлы раскладываются по подкаталогам
+     * по первым двум символам хэша, чтобы не держать все файлы в одном каталоге.
+     *
+     * @param fileName имя файла изображения
+     * @return путь к файлу
+     */
+    private Path resolve(String fileName) {
+        return menuImageProps.getStorageDir().resolve(fileName.substring(0, 2)).resolve(fileName);
+    }
+
+    /**
+     * Читает первые байты файла для определения формата
+     */
+    private byte[] readHeader(Path file) throws IOException {
+        try (InputStream input = Files.newInputStream(file)) {
+            return input.readNBytes(HEADER_SIZE);
+        }
+    }
+
+    /**
+     * Создает экземпляр алгоритма SHA-256
+     */
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Алгоритм SHA-256 недоступен", e);
+        }
+    }
+
+    /**
+     * Сохраненное изображение
+     *
+     * @param path путь к файлу
+     * @param hash SHA-256 хэш содержимого, для вариантов - с суффиксом варианта
+     * @param type формат изображения
+     * @param size размер файла в байтах
+     */
+    public record StoredImage(Path path, String hash, ImageType type, long size) {
+
+        /**
+         * MIME тип изображения
+         */
+        public String contentType() {
+            return type.getContentType();
+        }
+    }
+
+    /**
+     * Поддерживаемые форматы изображений.
+     * Формат определяется по сигнатуре в начале файла, а не по заголовку запроса.
+     */
+    public enum ImageType {
+
+        JPEG("jpg", MediaType.IMAGE_JPEG_VALUE, "jpeg"),
+
+        PNG("png", MediaType.IMAGE_PNG_VALUE, "png"),
+
+        /**
+         * Стандартный ImageIO не умеет читать WebP, поэтому варианты для него не генерируются
+         */
+        WEBP("webp", "image/webp", null);
+
+        private static final byte[] JPEG_SIGNATURE = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+        private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+        private static final byte[] RIFF_SIGNATURE = "RIFF".getBytes(StandardCharsets.US_ASCII);
+        private static final byte[] WEBP_SIGNATURE = "WEBP".getBytes(StandardCharsets.US_ASCII);
+
+        private final String extension;
+        private final String contentType;
+        private final String imageIoFormat;
+
+        ImageType(String extension, String contentType, String imageIoFormat) {
+            this.extension = extension;
+            this.contentType = contentType;
+            this.imageIoFormat = imageIoFormat;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        /**
+         * Имя формата для записи через ImageIO, null если формат не поддерживается
+         */
+        public String getImageIoFormat() {
+            return imageIoFormat;
+        }
+
+        /**
+         * Определяет формат по первым байтам файла
+         *
+         * @param header первые байты файла
+         * @return формат, пустой если формат не поддерживается
+         */
+        public static Optional<ImageType> detect(byte[] header) {
+            if (startsWith(header, 0, JPEG_SIGNATURE)) {
+                return Optional.of(JPEG);
+            }
+            if (startsWith(header, 0, PNG_SIGNATURE)) {
+                return Optional.of(PNG);
+            }
+            if (startsWith(header, 0, RIFF_SIGNATURE) && startsWith(header, 8, WEBP_SIGNATURE)) {
+                return Optional.of(WEBP);
+            }
+            return Optional.empty();
+        }
+
+        /**
+         * Находит формат по расширению файла
+         *
+         * @param extension расширение файла
+         * @return формат, пустой если расширение не поддерживается
+         */
+        public static Optional<ImageType> byExtension(String extension) {
+            return Arrays.stream(values())
+                    .filter(type -> type.extension.equals(extension))
+                    .findFirst();
+        }
+
+        private static boolean startsWith(byte[] header, int offset, byte[] signature) {
+            return header.length >= offset + signature.length
+                   && Arrays.equals(header, offset, offset + signature.length, signature, 0, signature.length);
+        }
+    }
+}
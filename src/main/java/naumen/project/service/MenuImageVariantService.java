@@ -0,0 +1,484 @@
+package naumen.project.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import naumen.project.config.props.MenuImageProps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Сервис уменьшенных вариантов изображений позиций меню.
+ * Варианты генерируются средствами ImageIO в ограниченном пуле потоков с ограниченной очередью:
+ * при переполнении очереди задача отбрасывается, поэтому потоки обработки запросов никогда не ждут генерации.
+ * Готовые варианты хранятся в дисковом кэше, размер которого ограничен: при превышении
+ * из индекса исключаются варианты, которые дольше всего не запрашивались. Файлы исключенных вариантов
+ * удаляются не сразу, а через {@link MenuImageProps.Variants#getEvictionDelay()}, чтобы ответы, уже получившие
+ * путь к варианту, успели открыть файл; если вариант снова запросят до удаления, он возвращается в индекс.
+ *
+ * @see MenuImageService
+ * @see MenuImageProps.Variants
+ */
+@Service
+public class MenuImageVariantService {
+
+    private static final Logger log = LoggerFactory.getLogger(MenuImageVariantService.class);
+
+    private final MenuImageService menuImageService;
+    private final MenuImageProps.Variants props;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Варианты, генерация которых уже поставлена в очередь
+     */
+    private final Set<Path> inFlight = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Индекс дискового кэша в порядке последнего обращения: путь к варианту и его размер
+     */
+    private final LinkedHashMap<Path, Long> cacheIndex = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock cacheLock = new ReentrantLock();
+    private long cacheSize;
+
+    /**
+     * Варианты, исключенные из индекса и ожидающие удаления, в порядке исключения
+     */
+    private final LinkedHashMap<Path, EvictedVariant> evicted = new LinkedHashMap<>();
+
+    public MenuImageVariantService(MenuImageService menuImageService, MenuImageProps menuImageProps) {
+        this.menuImageService = menuImageService;
+        this.props = menuImageProps.getVariants();
+        this.executor = new ThreadPoolExecutor(
+                props.getWorkers(),
+                props.getWorkers(),
+                0,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(props.getQueueCapacity()),
+                Thread.ofPlatform().name("menu-image-variant-", 0).daemon().factory()
+        );
+    }
+
+    /**
+     * Восстанавливает индекс дискового кэша по файлам, оставшимся с прошлого запуска
+     *
+     * @throws IOException при ошибке чтения каталога кэша
+     */
+    @PostConstruct
+    public void loadCacheIndex() throws IOException {
+        Path cacheDir = props.getCacheDir();
+        if (!Files.isDirectory(cacheDir)) {
+            return;
+        }
+
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(cacheDir)) {
+            files = walk.filter(Files::isRegularFile)
+                    .filter(path -> !path.getFileName().toString().endsWith(".tmp"))
+                    .sorted(Comparator.comparing(this::lastModified))
+                    .toList();
+        }
+        for (Path file : files) {
+            register(file, Files.size(file));
+        }
+    }
+
+    /**
+     * Останавливает пул генерации, дожидаясь завершения уже начатых задач
+     *
+     * @throws InterruptedException если ожидание было прервано
+     */
+    @PreDestroy
+    public void close() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Ставит в очередь генерацию всех отсутствующих вариантов изображения.
+     * Если вызов выполняется в транзакции, генерация ставится в очередь только после ее фиксации.
+     * Не блокирует вызывающий поток.
+     *
+     * @param fileName имя файла исходного изображения
+     */
+    public void enqueue(String fileName) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submitAll(fileName);
+                }
+            });
+        } else {
+            submitAll(fileName);
+        }
+    }
+
+    /**
+     * Находит готовый вариант изображения.
+     * Если варианта еще нет, ставит его генерацию в очередь и сразу возвращает пустой результат.
+     *
+     * @param original исходное изображение
+     * @param variant  вариант изображения
+     * @return готовый вариант, пустой если он еще не сгенерирован или формат не поддерживается
+     * @throws IOException при ошибке чтения атрибутов файла
+     */
+    public Optional<MenuImageService.StoredImage> findVariant(MenuImageService.StoredImage original,
+                                                              Variant variant) throws IOException {
+        if (!supportsVariants(original)) {
+            return Optional.empty();
+        }
+
+        Path target = resolve(original, variant);
+        if (!touch(target) || !Files.isRegularFile(target)) {
+            submit(original, variant, target);
+            return Optional.empty();
+        }
+
+        return Optional.of(new MenuImageService.StoredImage(
+                target, original.hash() + "-" + variant.getKey(), original.type(), Files.size(target)));
+    }
+
+    /**
+     * Генерирует вариант изображения и добавляет его в дисковый кэш
+     *
+     * @param original исходное изображение
+     * @param variant  вариант изображения
+     * @param target   путь к файлу варианта
+     * @throws IOException при ошибке чтения исходного изображения или записи варианта
+     */
+    void generate(MenuImageService.StoredImage original, Variant variant, Path target) throws IOException {
+        if (Files.exists(target)) {
+            return;
+        }
+
+        BufferedImage source = read(original.path());
+        if (source == null) {
+            return;
+        }
+
+        BufferedImage scaled = scale(source, variant.getMaxSize(), original.type() == MenuImageService.ImageType.PNG);
+
+        Files.createDirectories(target.getParent());
+        Path tempFile = Files.createTempFile(target.getParent(), "variant-", ".tmp");
+        try {
+            ImageIO.write(scaled, original.type().getImageIoFormat(), tempFile.toFile());
+            Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+
+        register(target, Files.size(target));
+    }
+
+    /**
+     * Удаляет файлы вариантов, исключенных из индекса раньше {@link MenuImageProps.Variants#getEvictionDelay()}
+     *
+     * @return количество удаленных файлов
+     */
+    public int purgeEvicted() {
+        List<Path> expired = new ArrayList<>();
+        Instant evictedBefore = Instant.now().minus(props.getEvictionDelay());
+
+        cacheLock.lock();
+        try {
+            Iterator<Map.Entry<Path, EvictedVariant>> iterator = evicted.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Path, EvictedVariant> eldest = iterator.next();
+                if (eldest.getValue().evictedAt().isAfter(evictedBefore)) {
+                    break;
+                }
+                iterator.remove();
+                expired.add(eldest.getKey());
+            }
+        } finally {
+            cacheLock.unlock();
+        }
+
+        int deleted = 0;
+        for (Path file : expired) {
+            try {
+                if (Files.deleteIfExists(file)) {
+                    deleted++;
+                }
+            } catch (IOException e) {
+                log.warn("Не удалось удалить вариант изображения {} из кэша", file, e);
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Ставит в очередь генерацию отсутствующих вариантов изображения
+     */
+    private void submitAll(String fileName) {
+        try {
+            Optional<MenuImageService.StoredImage> original = menuImageService.find(fileName);
+            if (original.isEmpty() || !supportsVariants(original.get())) {
+                return;
+            }
+
+            for (Variant variant : Variant.values()) {
+                Path target = resolve(original.get(), variant);
+                if (!Files.exists(target)) {
+                    submit(original.get(), variant, target);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Не удалось поставить в очередь генерацию вариантов изображения {}", fileName, e);
+        }
+    }
+
+    /**
+     * Отправляет задачу генерации в пул. Повторные задачи для того же варианта и задачи сверх
+     * емкости очереди отбрасываются: вариант будет сгенерирован при следующем запросе.
+     */
+    private void submit(MenuImageService.StoredImage original, Variant variant, Path target) {
+        if (!inFlight.add(target)) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(original, variant, target);
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Не удалось сгенерировать вариант {} изображения {}", variant.getKey(),
+                            original.path().getFileName(), e);
+                } finally {
+                    inFlight.remove(target);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(target);
+            log.debug("Очередь генерации вариантов переполнена, вариант {} изображения {} пропущен",
+                    variant.getKey(), original.path().getFileName());
+        }
+    }
+
+    /**
+     * Читает изображение, предварительно проверив его размеры по заголовку,
+     * чтобы не декодировать в память слишком большие изображения
+     *
+     * @param path путь к изображению
+     * @return изображение или null, если формат не распознан или изображение слишком большое
+     */
+    private BufferedImage read(Path path) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(path.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > props.getMaxPixels()) {
+                    log.warn("Изображение {} слишком большое для генерации вариантов: {} пикселей",
+                            path.getFileName(), pixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Уменьшает изображение так, чтобы большая сторона не превышала заданный размер.
+     * Изображения меньше заданного размера не увеличиваются.
+     */
+    private BufferedImage scale(BufferedImage source, int maxSize, boolean alpha) {
+        double ratio = Math.min(1.0, (double) maxSize / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage result = new BufferedImage(width, height,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = result.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return result;
+    }
+
+    /**
+     * Добавляет вариант в индекс кэша
+     */
+    private void register(Path path, long size) {
+        cacheLock.lock();
+        try {
+            evicted.remove(path);
+            index(path, size);
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    /**
+     * Отмечает обращение к варианту в индексе кэша.
+     * Вариант, исключенный из индекса, но еще не удаленный, возвращается в индекс.
+     *
+     * @return false, если варианта нет в индексе и он не ожидает удаления
+     */
+    private boolean touch(Path path) {
+        cacheLock.lock();
+        try {
+            if (cacheIndex.get(path) != null) {
+                return true;
+            }
+            EvictedVariant restored = evicted.remove(path);
+            if (restored == null) {
+                return false;
+            }
+            index(path, restored.size());
+            return true;
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    /**
+     * Добавляет вариант в индекс и исключает давно не запрошенные варианты, если кэш переполнен.
+     * Вызывается под блокировкой кэша
+     */
+    private void index(Path path, long size) {
+        long maxSize = props.getCacheMaxSize().toBytes();
+        Instant now = Instant.now();
+
+        Long previous = cacheIndex.put(path, size);
+        cacheSize += size - (previous == null ? 0 : previous);
+
+        Iterator<Map.Entry<Path, Long>> iterator = cacheIndex.entrySet().iterator();
+        while (cacheSize > maxSize && iterator.hasNext()) {
+            Map.Entry<Path, Long> eldest = iterator.next();
+            if (eldest.getKey().equals(path)) {
+                continue;
+            }
+            iterator.remove();
+            cacheSize -= eldest.getValue();
+            evicted.put(eldest.getKey(), new EvictedVariant(eldest.getValue(), now));
+        }
+    }
+
+    /**
+     * Определяет путь к файлу варианта изображения
+     */
+    private Path resolve(MenuImageService.StoredImage original, Variant variant) {
+        String hash = original.hash();
+        return props.getCacheDir()
+                .resolve(hash.substring(0, 2))
+                .resolve(hash + "-" + variant.getKey() + "." + original.type().getExtension());
+    }
+
+    private boolean supportsVariants(MenuImageService.StoredImage image) {
+        return image.type().getImageIoFormat() != null;
+    }
+
+    private FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    /**
+     * Вариант, исключенный из индекса кэша и ожидающий удаления
+     *
+     * @param size      размер файла варианта
+     * @param evictedAt момент исключения из индекса
+     */
+    private record EvictedVariant(long size, Instant evictedAt) {
+    }
+
+    /**
+     * Варианты изображения
+     */
+    public enum Variant {
+
+        /**
+         * Миниатюра
+         */
+        THUMBNAIL(160),
+
+        /**
+         * Изображение для списка блюд
+         */
+        LIST(480),
+
+        /**
+         * Изображение для карточки блюда
+         */
+        DETAIL(1080);
+
+        private final int maxSize;
+
+        Variant(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        /**
+         * Максимальный размер большей стороны в пикселях
+         */
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        /**
+         * Ключ варианта в API и именах файлов
+         */
+        public String getKey() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        /**
+         * Находит вариант по ключу
+         *
+         * @param key ключ варианта
+         * @return вариант, пустой если ключ неизвестен
+         */
+        public static Optional<Variant> byKey(String key) {
+            return Arrays.stream(values())
+                    .filter(variant -> variant.getKey().equals(key))
+                    .findFirst();
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package naumen.project.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import naumen.project.config.props.MenuImportProps;
+import naumen.project.dto.menu.CreateMenuItemRequestDto;
+import naumen.project.dto.menu.MenuImportErrorDto;
+import naumen.project.dto.menu.MenuImportResultDto;
+import naumen.project.entity.MenuItem;
+import naumen.project.entity.User;
+import naumen.project.exception.InvalidInputException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Сервис массового импорта меню ресторана.
+ * Читает входной поток построчно, валидирует каждую строку по мере чтения
+ * и сохраняет валидные позиции пачками фиксированного размера, не буферизуя весь файл в памяти.
+ * Каждая пачка фиксируется сразу, поэтому при превышении лимита строк импорт не отменяется,
+ * а прерывается: уже прочитанные строки сохраняются, и в результате возвращается их количество.
+ *
+ * @see MenuService
+ * @see MenuImportProps
+ */
+@Service
+public class MenuImportService {
+
+    private static final String TITLE_COLUMN = "title";
+    private static final String DESCRIPTION_COLUMN = "description";
+    private static final String PRICE_COLUMN = "price";
+
+    private final MenuService menuService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final MenuImportProps menuImportProps;
+
+    public MenuImportService(
+            MenuService menuService,
+            Validator validator,
+            ObjectMapper objectMapper,
+            MenuImportProps menuImportProps
+    ) {
+        this.menuService = menuService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.menuImportProps = menuImportProps;
+    }
+
+    /**
+     * Импортирует позиции меню из потока.
+     * Строки с ошибками пропускаются и попадают в список ошибок ответа.
+     * Строки сверх лимита не читаются, а импорт отмечается как прерванный.
+     *
+     * @param input      входной поток с данными
+     * @param format     формат данных
+     * @param restaurant ресторан, в меню которого добавляются позиции
+     * @return результат импорта
+     * @throws IOException при ошибке чтения потока
+     */
+    public MenuImportResultDto importMenu(InputStream input, Format format, User restaurant) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+
+        List<MenuItem> chunk = new ArrayList<>(menuImportProps.getBatchSize());
+        List<MenuImportErrorDto> errors = new ArrayList<>();
+        CsvHeader csvHeader = null;
+        long lineNumber = 0;
+        long rows = 0;
+        long imported = 0;
+        long failed = 0;
+        boolean truncated = false;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+
+            if (format == Format.CSV && csvHeader == null) {
+                csvHeader = parseCsvHeader(line);
+                continue;
+            }
+
+            if (++rows > menuImportProps.getMaxRows()) {
+                truncated = true;
+                if (errors.size() < menuImportProps.getMaxErrors()) {
+                    errors.add(new MenuImportErrorDto(lineNumber, "Импорт прерван: превышен лимит в %d строк"
+                            .formatted(menuImportProps.getMaxRows())));
+                }
+                break;
+            }
+
+            try {
+                CreateMenuItemRequestDto row = format == Format.CSV
+                        ? parseCsvRow(line, csvHeader)
+                        : parseJsonRow(line);
+                validate(row);
+
+                chunk.add(new MenuItem(row.title(), row.description(), row.price(), restaurant));
+            } catch (InvalidInputException e) {
+                failed++;
+                if (errors.size() < menuImportProps.getMaxErrors()) {
+                    errors.add(new MenuImportErrorDto(lineNumber, e.getMessage()));
+                }
+                continue;
+            }
+
+            if (chunk.size() >= menuImportProps.getBatchSize()) {
+                imported += flush(chunk);
+            }
+        }
+
+        imported += flush(chunk);
+
+        return new MenuImportResultDto(imported, failed, truncated, errors);
+    }
+
+    /**
+     * Сохраняет накопленную пачку позиций меню и очищает её
+     *
+     * @param chunk пачка позиций меню
+     * @return количество сохраненных позиций
+     */
+    private int flush(List<MenuItem> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+
+        int size = chunk.size();
+        menuService.saveAll(chunk);
+        chunk.clear();
+        return size;
+    }
+
+    /**
+     * Разбирает заголовок CSV и определяет позиции колонок
+     *
+     * @param line строка заголовка
+     * @return позиции колонок
+     */
+    private CsvHeader parseCsvHeader(String line) {
+        List<String> columns = splitCsvLine(line);
+        int title = -1;
+        int description = -1;
+        int price = -1;
+
+        for (int i = 0; i < columns.size(); i++) {
+            switch (columns.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case TITLE_COLUMN -> title = i;
+                case DESCRIPTION_COLUMN -> description = i;
+                case PRICE_COLUMN -> price = i;
+                default -> {
+                    // Неизвестные колонки игнорируются
+                }
+            }
+        }
+
+        if (title < 0 || price < 0) {
+            throw new InvalidInputException("Заголовок CSV должен содержать колонки '%s' и '%s'",
+                    TITLE_COLUMN, PRICE_COLUMN);
+        }
+
+        return new CsvHeader(title, description, price);
+    }
+
+    /**
+     * Разбирает строку CSV в запрос на создание позиции меню
+     *
+     * @param line   строка CSV
+     * @param header позиции колонок
+     * @return запрос на создание позиции меню
+     */
+    private CreateMenuItemRequestDto parseCsvRow(String line, CsvHeader header) {
+        List<String> values = splitCsvLine(line);
+
+        String title = valueAt(values, header.title());
+        String description = valueAt(values, header.description());
+        String price = valueAt(values, header.price());
+
+        return new CreateMenuItemRequestDto(title, description, parsePrice(price));
+    }
+
+    /**
+     * Разбирает строку NDJSON в запрос на создание позиции меню
+     *
+     * @param line JSON объект в одну строку
+     * @return запрос на создание позиции меню
+     */
+    private CreateMenuItemRequestDto parseJsonRow(String line) {
+        try {
+            return objectMapper.readValue(line, CreateMenuItemRequestDto.class);
+        } catch (JsonProcessingException e) {
+            throw new InvalidInputException("Неверный JSON");
+        }
+    }
+
+    /**
+     * Проверяет ограничения, заданные на {@link CreateMenuItemRequestDto}
+     *
+     * @param row запрос на создание позиции меню
+     */
+    private void validate(CreateMenuItemRequestDto row) {
+        Set<ConstraintViolation<CreateMenuItemRequestDto>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            throw new InvalidInputException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+    }
+
+    /**
+     * Преобразует строковое значение цены в число
+     *
+     * @param price цена в виде строки
+     * @return цена или null, если значение пустое
+     */
+    private BigDecimal parsePrice(String price) {
+        if (price == null || price.isBlank()) {
+            return null;
+        }
+
+        try {
+            return new BigDecimal(price.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidInputException("price: '%s' не является числом", price);
+        }
+    }
+
+    /**
+     * Получает значение колонки, пустые значения считаются отсутствующими
+     *
+     * @param values значения строки
+     * @param index  позиция колонки, -1 если колонки нет
+     * @return значение или null
+     */
+    private String valueAt(List<String> values, int index) {
+        if (index < 0 || index >= values.size()) {
+            return null;
+        }
+
+        String value = values.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Разбивает строку CSV на значения.
+     * Поддерживаются значения в двойных кавычках и экранирование кавычки удвоением.
+     *
+     * @param line строка CSV
+     * @return список значений
+     */
+    private List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+
+        if (quoted) {
+            throw new InvalidInputException("Незакрытая кавычка в строке CSV");
+        }
+
+        values.add(current.toString());
+        return values;
+    }
+
+    /**
+     * Поддерживаемые форматы импорта
+     */
+    public enum Format {
+
+        /**
+         * CSV с заголовком, колонки title, description, price
+         */
+        CSV,
+
+        /**
+         * JSON объект на каждой строке (newline delimited JSON)
+         */
+        NDJSON,
+    }
+
+    /**
+     * Позиции колонок в CSV
+     *
+     * @param title       позиция колонки с названием
+     * @param description позиция колонки с описанием, -1 если колонки нет
+     * @param price       позиция колонки с ценой
+     */
+    private record CsvHeader(int title, int description, int price) {
+    }
+}
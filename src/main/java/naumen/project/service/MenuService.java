@@ -1,29 +1,62 @@
 package naumen.project.service;
 
+import naumen.project.dto.menu.PriceAdjustmentType;
+import naumen.project.entity.MenuChange;
 import naumen.project.entity.MenuItem;
+import naumen.project.entity.MenuVersion;
 import naumen.project.entity.User;
+import naumen.project.event.RestaurantChangedEvent;
 import naumen.project.exception.InvalidInputException;
 import naumen.project.exception.PermissionCheckFailedException;
+import naumen.project.repository.MenuChangeRepository;
+import naumen.project.repository.MenuJdbcRepository;
 import naumen.project.repository.MenuRepository;
+import naumen.project.repository.MenuVersionRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Сервис для управления меню ресторанов.
  * Обеспечивает операции создания, чтения, обновления и удаления позиций меню.
  *
+ * Каждое изменение меню увеличивает версию меню ресторана и записывается в журнал изменений,
+ * по которому клиенты получают только изменившиеся позиции.
+ * Изменяющие методы транзакционны: версия меню и журнал изменений фиксируются вместе с самим изменением,
+ * даже если метод вызван вне транзакции контроллера (например, пачками при импорте).
+ *
  * @see MenuRepository
+ * @see MenuJdbcRepository
+ * @see MenuChangeRepository
  */
 @Service
 public class MenuService {
 
     private final MenuRepository menuRepository;
+    private final MenuJdbcRepository menuJdbcRepository;
+    private final MenuChangeRepository menuChangeRepository;
+    private final MenuVersionRepository menuVersionRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public MenuService(MenuRepository menuRepository) {
+    public MenuService(
+            MenuRepository menuRepository,
+            MenuJdbcRepository menuJdbcRepository,
+            MenuChangeRepository menuChangeRepository,
+            MenuVersionRepository menuVersionRepository,
+            ApplicationEventPublisher eventPublisher
+    ) {
         this.menuRepository = menuRepository;
+        this.menuJdbcRepository = menuJdbcRepository;
+        this.menuChangeRepository = menuChangeRepository;
+        this.menuVersionRepository = menuVersionRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -35,8 +68,7 @@ public class MenuService {
      * @return страница позиций меню
      */
     public Page<MenuItem> getMenuItems(Long restaurantId, String title, Pageable pageable) {
-        return menuRepository
-                .findByRestaurantIdAndTitle(restaurantId, title, pageable);
+        return menuRepository.findByRestaurantIdAndTitle(restaurantId, title, pageable);
     }
 
     /**
@@ -45,12 +77,30 @@ public class MenuService {
      * @param menuItem сущность позиции меню
      * @return созданная позиция меню
      */
+    @Transactional
     public MenuItem save(MenuItem menuItem) {
         menuRepository.save(menuItem);
+        recordChanges(menuItem.getRestaurant().getId(), List.of(menuItem.getId()), false);
 
         return menuItem;
     }
 
+    /**
+     * Сохраняет пачку новых позиций меню одним JDBC батчем, минуя контекст персистентности.
+     * Все позиции пачки должны принадлежать одному ресторану.
+     *
+     * @param menuItems новые позиции меню
+     */
+    @Transactional
+    public void saveAll(List<MenuItem> menuItems) {
+        if (menuItems.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = menuJdbcRepository.batchInsert(menuItems);
+        recordChanges(menuItems.getFirst().getRestaurant().getId(), ids, false);
+    }
+
     /**
      * Обновляет существующую позицию меню.
      *
@@ -58,20 +108,64 @@ public class MenuService {
      * @param user     пользователь, выполняющий обновление
      * @return обновленная позиция меню
      */
+    @Transactional
     public MenuItem updateMenuItem(MenuItem menuItem, User user) {
         assertBelongsToRestaurant(menuItem, user);
 
         menuRepository.save(menuItem);
+        recordChanges(user.getId(), List.of(menuItem.getId()), false);
 
         return menuItem;
     }
 
+    /**
+     * Массово изменяет цены позиций меню ресторана одним UPDATE.
+     * Если цена хотя бы одной подходящей под фильтры позиции выйдет за допустимые пределы,
+     * ни одна цена не изменяется.
+     *
+     * @param restaurant ресторан, цены которого изменяются
+     * @param type       способ изменения цены
+     * @param value      процент или сумма изменения
+     * @param title      фильтр по вхождению в название (опционально)
+     * @param ids        фильтр по идентификаторам позиций (опционально)
+     * @return количество позиций с измененной ценой
+     */
+    @Transactional
+    public int adjustPrices(User restaurant, PriceAdjustmentType type, BigDecimal value,
+                            String title, List<Long> ids) {
+        BigDecimal factor = type == PriceAdjustmentType.PERCENT
+                ? BigDecimal.ONE.add(value.movePointLeft(2))
+                : BigDecimal.ONE;
+        BigDecimal delta = type == PriceAdjustmentType.PERCENT
+                ? BigDecimal.ZERO
+                : value;
+        String titleFilter = title == null || title.isBlank() ? null : title;
+
+        long outOfRange = menuJdbcRepository.countWithAdjustedPriceOutOfRange(
+                restaurant.getId(), factor, delta, titleFilter, ids);
+        if (outOfRange > 0) {
+            throw new InvalidInputException(
+                    "Не удалось изменить цены, причина: цена %d позиций меню выйдет за пределы (0; 100000]",
+                    outOfRange);
+        }
+
+        // Версия меню увеличивается в том же запросе, только если изменилась хотя бы одна цена
+        menuJdbcRepository.lockVersion(restaurant.getId());
+        int updated = menuJdbcRepository.adjustPrices(restaurant.getId(), factor, delta, titleFilter, ids);
+        if (updated > 0) {
+            eventPublisher.publishEvent(new RestaurantChangedEvent(restaurant.getId()));
+        }
+
+        return updated;
+    }
+
     /**
      * Удаляет позицию меню.
      *
      * @param id   идентификатор удаляемой позиции
      * @param user пользователь, выполняющий удаление
      */
+    @Transactional
     public void deleteMenuItem(Long id, User user) {
         MenuItem menuItem = getMenuItemById(id)
                 .orElseThrow(() -> new InvalidInputException(
@@ -80,6 +174,49 @@ public class MenuService {
         assertBelongsToRestaurant(menuItem, user);
 
         menuRepository.delete(menuItem);
+        recordChanges(user.getId(), List.of(id), true);
+    }
+
+    /**
+     * Получает изменения меню ресторана после указанной версии.
+     * Если версия клиента нулевая или неизвестна серверу, возвращается полный снимок меню.
+     *
+     * @param restaurantId идентификатор ресторана
+     * @param sinceVersion версия меню, которая уже есть у клиента
+     * @return изменения меню
+     */
+    public MenuChanges getMenuChanges(Long restaurantId, long sinceVersion) {
+        long version = menuVersionRepository.findById(restaurantId)
+                .map(MenuVersion::getVersion)
+                .orElse(0L);
+
+        if (sinceVersion <= 0 || sinceVersion > version) {
+            return new MenuChanges(version, true, menuRepository.findAllByRestaurantId(restaurantId), List.of());
+        }
+        if (sinceVersion == version) {
+            return new MenuChanges(version, false, List.of(), List.of());
+        }
+
+        List<MenuChange> changes = menuChangeRepository.findByRestaurantIdAndVersionGreaterThan(
+                restaurantId, sinceVersion);
+
+        // Изменения, зафиксированные после чтения версии, тоже попадают в ответ, поэтому версия ответа
+        // не меньше максимальной версии среди них
+        for (MenuChange change : changes) {
+            version = Math.max(version, change.getVersion());
+        }
+
+        List<Long> upsertedIds = changes.stream()
+                .filter(change -> !change.isDeleted())
+                .map(MenuChange::getMenuItemId)
+                .toList();
+        List<Long> deletedIds = changes.stream()
+                .filter(MenuChange::isDeleted)
+                .map(MenuChange::getMenuItemId)
+                .toList();
+        List<MenuItem> upserted = upsertedIds.isEmpty() ? List.of() : menuRepository.findAllById(upsertedIds);
+
+        return new MenuChanges(version, false, upserted, deletedIds);
     }
 
     /**
@@ -92,17 +229,52 @@ public class MenuService {
         return menuRepository.findById(id);
     }
 
+    /**
+     * Находит позиции меню по идентификаторам одним запросом.
+     *
+     * @param ids идентификаторы позиций меню
+     * @return найденные позиции меню, несуществующие идентификаторы пропускаются
+     */
+    public List<MenuItem> getMenuItemsByIds(Collection<Long> ids) {
+        return menuRepository.findAllById(ids);
+    }
+
+    /**
+     * Увеличивает версию меню ресторана, записывает изменения позиций в журнал
+     * и публикует событие изменения ресторана
+     *
+     * @param restaurantId идентификатор ресторана
+     * @param menuItemIds  идентификаторы измененных позиций
+     * @param deleted      признак удаления позиций
+     */
+    private void recordChanges(Long restaurantId, List<Long> menuItemIds, boolean deleted) {
+        long version = menuJdbcRepository.nextVersion(restaurantId);
+        menuJdbcRepository.recordChanges(restaurantId, menuItemIds, version, deleted);
+        eventPublisher.publishEvent(new RestaurantChangedEvent(restaurantId));
+    }
+
     /**
      * Проверяет, принадлежит ли позиция меню указанному пользователю-ресторану.
      *
      * @param menuItem проверяемая позиция меню
      * @param user     пользователь для проверки принадлежности
      */
-    private void assertBelongsToRestaurant(MenuItem menuItem, User user) {
+    public void assertBelongsToRestaurant(MenuItem menuItem, User user) {
         if (!menuItem.getRestaurant().getId().equals(user.getId())) {
             throw new PermissionCheckFailedException(
                     "Позиция меню с id '%d' не принадлежит вашему ресторану",
                     menuItem.getId());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Изменения меню ресторана
+     *
+     * @param version  версия меню, до которой клиент синхронизирован после применения изменений
+     * @param full     признак полного снимка меню: клиент должен заменить меню целиком
+     * @param upserted добавленные и измененные позиции меню
+     * @param deleted  идентификаторы удаленных позиций меню
+     */
+    public record MenuChanges(long version, boolean full, List<MenuItem> upserted, List<Long> deleted) {
+    }
+}
@@ -33,6 +33,17 @@ public class OrderItemService {
                 .orElseThrow(() -> new InvalidInputException(
                         "Не удалось собрать заказ, причина: Позиция меню с id '%d' не найдена", menuItemId));
 
+        return buildOrderItem(menuItem, quantity);
+    }
+
+    /**
+     * Создать пункт меню из уже загруженной позиции меню, без сохранения. Происходит расчет цены.
+     *
+     * @param menuItem позиция меню
+     * @param quantity количество для заказа
+     * @return объект {@link OrderItem}. Ещё не сохраненный.
+     */
+    public OrderItem buildOrderItem(MenuItem menuItem, Integer quantity) {
         return new OrderItem(
                 menuItem,
                 menuItem.getPrice().multiply(BigDecimal.valueOf(quantity)),
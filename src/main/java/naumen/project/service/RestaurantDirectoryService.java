@@ -0,0 +1,88 @@
+package naumen.project.service;
+
+import naumen.project.dto.restaurant.RestaurantSummaryDto;
+import naumen.project.event.RestaurantChangedEvent;
+import naumen.project.repository.RestaurantDirectoryRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Каталог ресторанов.
+ * Хранит сводки по ресторанам в памяти, отсортированными по идентификатору,
+ * и обновляет сводку ресторана после фиксации каждого изменения его меню или данных.
+ * Обновления и полная перезагрузка выполняются под одной блокировкой, поэтому снимок,
+ * загруженный до фиксации изменения, не может перезаписать более свежую сводку.
+ *
+ * @see RestaurantDirectoryRepository
+ * @see RestaurantChangedEvent
+ */
+@Service
+public class RestaurantDirectoryService {
+
+    private final RestaurantDirectoryRepository restaurantDirectoryRepository;
+    private final NavigableMap<Long, RestaurantSummaryDto> summaries = new ConcurrentSkipListMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public RestaurantDirectoryService(RestaurantDirectoryRepository restaurantDirectoryRepository) {
+        this.restaurantDirectoryRepository = restaurantDirectoryRepository;
+    }
+
+    /**
+     * Получает страницу ресторанов после курсора
+     *
+     * @param cursor идентификатор последнего ресторана предыдущей страницы (опционально)
+     * @param limit  максимальное количество ресторанов
+     * @return сводки по ресторанам в порядке возрастания идентификатора
+     */
+    public List<RestaurantSummaryDto> getRestaurants(Long cursor, int limit) {
+        Map<Long, RestaurantSummaryDto> page = cursor == null ? summaries : summaries.tailMap(cursor, false);
+
+        return page.values().stream()
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Пересчитывает сводку ресторана после фиксации транзакции, в которой он изменился
+     *
+     * @param event событие изменения ресторана
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        lock.lock();
+        try {
+            restaurantDirectoryRepository.findSummary(event.restaurantId())
+                    .ifPresentOrElse(
+                            summary -> summaries.put(summary.id(), summary),
+                            () -> summaries.remove(event.restaurantId()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Полностью перезагружает каталог из базы данных
+     */
+    public void reload() {
+        lock.lock();
+        try {
+            List<RestaurantSummaryDto> loaded = restaurantDirectoryRepository.findAllSummaries();
+            Set<Long> ids = loaded.stream()
+                    .map(RestaurantSummaryDto::id)
+                    .collect(Collectors.toSet());
+
+            loaded.forEach(summary -> summaries.put(summary.id(), summary));
+            summaries.keySet().retainAll(ids);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package naumen.project.service;
 
 import naumen.project.entity.User;
+import naumen.project.entity.enums.Role;
+import naumen.project.event.RestaurantChangedEvent;
 import naumen.project.exception.InvalidInputException;
 import naumen.project.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 
@@ -18,12 +24,14 @@ import java.util.Optional;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Инициализация, внедрение зависимостей
      */
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -49,6 +57,7 @@ public class UserService {
      */
     public void deleteUser(User user) {
         userRepository.delete(user);
+        publishIfRestaurant(user);
     }
 
     /**
@@ -58,6 +67,7 @@ public class UserService {
      */
     public void saveUser(User user) {
         userRepository.save(user);
+        publishIfRestaurant(user);
     }
 
     /**
@@ -84,4 +94,27 @@ public class UserService {
     public Optional<User> getById(Long id) {
         return userRepository.findById(id);
     }
+
+    /**
+     * Получить пользователей по id одним запросом
+     *
+     * @param ids id пользователей
+     * @return найденные пользователи, несуществующие id пропускаются
+     */
+    public List<User> getAllByIds(Collection<Long> ids) {
+        List<User> users = new ArrayList<>();
+        userRepository.findAllById(ids).forEach(users::add);
+        return users;
+    }
+
+    /**
+     * Публикует событие изменения ресторана, если пользователь является рестораном
+     *
+     * @param user пользователь
+     */
+    private void publishIfRestaurant(User user) {
+        if (user.getRole() == Role.RESTAURANT) {
+            eventPublisher.publishEvent(new RestaurantChangedEvent(user.getId()));
+        }
+    }
 }
@@ -1,16 +1,32 @@
 package naumen.project.service.order;
 
+import naumen.project.config.props.KitchenProps;
+import naumen.project.config.props.ScheduledOrderProps;
+import naumen.project.entity.ArchivedOrder;
+import naumen.project.entity.MenuItem;
 import naumen.project.entity.Order;
 import naumen.project.entity.OrderItem;
 import naumen.project.entity.User;
 import naumen.project.entity.enums.OrderStatus;
 import naumen.project.exception.InvalidInputException;
 import naumen.project.exception.PermissionCheckFailedException;
+import naumen.project.exception.RestaurantOverloadedException;
+import naumen.project.kitchen.KitchenLoad;
+import naumen.project.scheduling.ScheduledOrderTimer;
+import naumen.project.service.MenuService;
+import naumen.project.service.OrderItemService;
 import naumen.project.service.UserService;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Сервис для работы с заказами со стороны клиентов
@@ -18,26 +34,50 @@ import java.util.List;
 @Service
 public class ClientOrderService {
 
+    /**
+     * Ошибка корректного заказа, не оформленного в режиме ALL_OR_NOTHING из-за других заказов запроса
+     */
+    static final String REJECTED_WITH_SIBLINGS = "Заказ не оформлен: в запросе есть некорректные заказы";
+
     private final OrderService orderService;
     private final UserService userService;
+    private final MenuService menuService;
+    private final OrderItemService orderItemService;
+    private final KitchenLoad kitchenLoad;
+    private final KitchenProps kitchenProps;
+    private final ScheduledOrderTimer scheduledOrderTimer;
+    private final ScheduledOrderProps scheduledOrderProps;
 
-    ClientOrderService(OrderService orderService, UserService userService) {
+    ClientOrderService(OrderService orderService, UserService userService, MenuService menuService,
+                       OrderItemService orderItemService, KitchenLoad kitchenLoad, KitchenProps kitchenProps,
+                       ScheduledOrderTimer scheduledOrderTimer, ScheduledOrderProps scheduledOrderProps) {
         this.orderService = orderService;
         this.userService = userService;
+        this.menuService = menuService;
+        this.orderItemService = orderItemService;
+        this.kitchenLoad = kitchenLoad;
+        this.kitchenProps = kitchenProps;
+        this.scheduledOrderTimer = scheduledOrderTimer;
+        this.scheduledOrderProps = scheduledOrderProps;
     }
 
     /**
      * Оформление заказа клиентом.
-     * Все позиции заказа должны принадлежать указанному ресторану
+     * Все позиции заказа должны принадлежать указанному ресторану, а в очереди кухни ресторана
+     * должно быть свободное место. Если до времени доставки больше, чем нужно на приготовление и доставку,
+     * заказ планируется в статусе SCHEDULED и передается ресторану позже, не занимая место в очереди кухни
      *
      * @param restaurantId    id ресторана
      * @param orderItems      заказанное меню
      * @param deliveryAddress адрес доставки
+     * @param deliverAt       время, к которому нужно доставить заказ, null - как можно скорее
      * @param client          заказчик - клиент
      * @return заказ
+     * @throws RestaurantOverloadedException если очередь кухни ресторана заполнена
+     * @throws InvalidInputException         если доставка запланирована слишком далеко
      */
     public Order createOrder(Long restaurantId, List<OrderItem> orderItems,
-                             String deliveryAddress, User client) {
+                             String deliveryAddress, Instant deliverAt, User client) {
         boolean allItemsBelongToRestaurant = orderItems.stream()
                 .allMatch(item -> item.getMenuItem().getRestaurant().getId().equals(restaurantId));
 
@@ -49,23 +89,91 @@ public class ClientOrderService {
                 .orElseThrow(() -> new InvalidInputException("Ошибка создания заказа, ресторан с id '%d' не найден",
                         restaurantId));
 
-        BigDecimal totalPrice = orderItems.stream()
-                .map(OrderItem::getItemPrice)
-                .reduce(BigDecimal::add)
-                .orElse(BigDecimal.ZERO);
+        String scheduleError = validateDeliverAt(deliverAt);
+        if (scheduleError != null) {
+            throw new InvalidInputException(scheduleError);
+        }
 
-        Order order = new Order(
-                deliveryAddress,
-                OrderStatus.CREATED,
-                orderItems,
-                totalPrice,
-                restaurant,
-                client
-        );
+        OrderStatus status = initialStatus(deliverAt);
+        if (status == OrderStatus.CREATED && kitchenLoad.tryReserve(restaurantId).isEmpty()) {
+            throw new RestaurantOverloadedException(kitchenProps.getRetryAfter().toSeconds(),
+                    "Ресторан с id '%d' сейчас перегружен заказами, повторите заказ позже", restaurantId);
+        }
 
-        orderItems.forEach(item -> item.setOrder(order));
+        Order order = orderService.save(buildOrder(restaurant, orderItems, deliveryAddress, status, deliverAt,
+                client));
+        orderService.publishStatusChanged(order, null);
+        if (status == OrderStatus.SCHEDULED) {
+            scheduledOrderTimer.schedule(order.getId(), deliverAt);
+        }
+        return order;
+    }
 
-        return orderService.save(order);
+    /**
+     * Массовое оформление заказов клиентом.
+     * Позиции меню и рестораны всех заказов загружаются двумя запросами, все заказы проверяются до сохранения,
+     * а вставки заказов и их позиций объединяются в JDBC батчи.
+     * Заказы в ресторан с заполненной очередью кухни считаются некорректными, запланированные заказы
+     * места в очереди не занимают.
+     *
+     * @param drafts       заказы для оформления
+     * @param allOrNothing true - если хотя бы один заказ некорректен, не оформляется ни один,
+     *                     и корректные заказы получают ошибку {@link #REJECTED_WITH_SIBLINGS};
+     *                     false - оформляются только корректные заказы
+     * @param client       заказчик - клиент
+     * @return результаты по каждому заказу в порядке переданных заказов
+     */
+    public List<BulkOrderResult> createOrders(List<OrderDraft> drafts, boolean allOrNothing, User client) {
+        Map<Long, MenuItem> menuItems = menuService.getMenuItemsByIds(drafts.stream()
+                        .flatMap(draft -> draft.items().stream())
+                        .map(OrderItemDraft::menuItemId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(MenuItem::getId, Function.identity()));
+        Map<Long, User> restaurants = userService.getAllByIds(drafts.stream()
+                        .map(OrderDraft::restaurantId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<Order> orders = new ArrayList<>(drafts.size());
+        List<String> errors = new ArrayList<>(drafts.size());
+        List<KitchenLoad.Reservation> reservations = new ArrayList<>();
+        for (OrderDraft draft : drafts) {
+            String error = validate(draft, menuItems, restaurants);
+            OrderStatus status = initialStatus(draft.deliverAt());
+            if (error == null && status == OrderStatus.CREATED) {
+                Optional<KitchenLoad.Reservation> reservation = kitchenLoad.tryReserve(draft.restaurantId());
+                reservation.ifPresent(reservations::add);
+                if (reservation.isEmpty()) {
+                    error = String.format("Ресторан с id '%d' сейчас перегружен заказами", draft.restaurantId());
+                }
+            }
+            errors.add(error);
+            orders.add(error == null ? buildOrder(draft, menuItems, restaurants, status, client) : null);
+        }
+
+        boolean hasErrors = errors.stream().anyMatch(Objects::nonNull);
+        if (!hasErrors || !allOrNothing) {
+            List<Order> saved = orderService.saveAll(orders.stream().filter(Objects::nonNull).toList());
+            saved.forEach(order -> orderService.publishStatusChanged(order, null));
+            saved.stream()
+                    .filter(order -> order.getStatus() == OrderStatus.SCHEDULED)
+                    .forEach(order -> scheduledOrderTimer.schedule(order.getId(), order.getDeliverAt()));
+        } else {
+            reservations.forEach(KitchenLoad.Reservation::release);
+        }
+
+        List<BulkOrderResult> results = new ArrayList<>(drafts.size());
+        for (int i = 0; i < drafts.size(); i++) {
+            if (allOrNothing && hasErrors) {
+                String error = errors.get(i) == null ? REJECTED_WITH_SIBLINGS : errors.get(i);
+                results.add(new BulkOrderResult(i, null, error));
+            } else {
+                results.add(new BulkOrderResult(i, orders.get(i), errors.get(i)));
+            }
+        }
+        return results;
     }
 
     /**
@@ -79,21 +187,45 @@ public class ClientOrderService {
     }
 
     /**
-     * Получить информацию по заказу. Для клиента. Проверяется, что заказ принадлежит клиенту
+     * Получение последних заказов клиента, перенесенных в архив
+     *
+     * @param client клиент
+     * @param limit  максимальное количество заказов
+     * @return архивные заказы клиента, начиная с последних
+     */
+    public List<ArchivedOrder> getArchivedOrders(User client, int limit) {
+        return orderService.getArchivedByClient(client, limit);
+    }
+
+    /**
+     * Найти заказ клиента среди неархивных заказов. Проверяется, что заказ принадлежит клиенту
      *
      * @param orderId id заказа
      * @param client  текущий клиент
-     * @return заказ
+     * @return заказ или пустой Optional, если заказа нет или он перенесен в архив
      */
-    public Order getOrder(Long orderId, User client) {
-        Order order = orderService.getById(orderId)
+    public Optional<Order> findOrder(Long orderId, User client) {
+        Optional<Order> order = orderService.getWithItemsById(orderId);
+        order.ifPresent(found -> assertBelongsToClient(found.getId(), found.getClient().getId(), client));
+        return order;
+    }
+
+    /**
+     * Получить заказ клиента из архива. Проверяется, что заказ принадлежит клиенту
+     *
+     * @param orderId id заказа
+     * @param client  текущий клиент
+     * @return архивный заказ
+     */
+    public ArchivedOrder getArchivedOrder(Long orderId, User client) {
+        ArchivedOrder order = orderService.getArchivedWithItemsById(orderId)
                 .orElseThrow(() -> new InvalidInputException("Заказ с id '%d' не найден", orderId));
-        assertBelongsToClient(order, client);
+        assertBelongsToClient(order.getId(), order.getClientId(), client);
         return order;
     }
 
     /**
-     * Удалить заказ. Т.е. перевести в статус DELETED
+     * Удалить заказ, в том числе запланированный. Т.е. перевести в статус DELETED
      *
      * @param orderId id заказа
      * @param client  текущий клиент
@@ -104,25 +236,146 @@ public class ClientOrderService {
                         "Не удалось удалить заказ. Причина: Заказ с id '%d' не найден",
                         orderId));
 
-        assertBelongsToClient(order, client);
-        if (order.getStatus() != OrderStatus.CREATED
+        assertBelongsToClient(order.getId(), order.getClient().getId(), client);
+        OrderStatus previousStatus = order.getStatus();
+        if (previousStatus != OrderStatus.CREATED && previousStatus != OrderStatus.SCHEDULED
             || order.getCourier() != null) {
             throw new InvalidInputException("Заказ с id '%d' уже принят в работу", orderId);
         }
 
         order.setStatus(OrderStatus.DELETED);
         orderService.save(order);
+        orderService.publishStatusChanged(order, previousStatus);
+    }
+
+    /**
+     * Проверяет заказ из массового запроса
+     *
+     * @return описание ошибки или null, если заказ корректен
+     */
+    private String validate(OrderDraft draft, Map<Long, MenuItem> menuItems, Map<Long, User> restaurants) {
+        if (!restaurants.containsKey(draft.restaurantId())) {
+            return String.format("Ресторан с id '%d' не найден", draft.restaurantId());
+        }
+
+        String scheduleError = validateDeliverAt(draft.deliverAt());
+        if (scheduleError != null) {
+            return scheduleError;
+        }
+
+        for (OrderItemDraft item : draft.items()) {
+            MenuItem menuItem = menuItems.get(item.menuItemId());
+            if (menuItem == null) {
+                return String.format("Позиция меню с id '%d' не найдена", item.menuItemId());
+            }
+            if (!menuItem.getRestaurant().getId().equals(draft.restaurantId())) {
+                return String.format("Все позиции заказа должны принадлежать ресторану с id '%d'",
+                        draft.restaurantId());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Собирает заказ из проверенного заказа массового запроса
+     */
+    private Order buildOrder(OrderDraft draft, Map<Long, MenuItem> menuItems, Map<Long, User> restaurants,
+                             OrderStatus status, User client) {
+        List<OrderItem> orderItems = draft.items().stream()
+                .map(item -> orderItemService.buildOrderItem(menuItems.get(item.menuItemId()), item.quantity()))
+                .toList();
+        return buildOrder(restaurants.get(draft.restaurantId()), orderItems, draft.deliveryAddress(), status,
+                draft.deliverAt(), client);
+    }
+
+    /**
+     * Проверяет время доставки
+     *
+     * @return описание ошибки или null, если время доставки не задано или допустимо
+     */
+    private String validateDeliverAt(Instant deliverAt) {
+        if (deliverAt != null && deliverAt.isAfter(Instant.now().plus(scheduledOrderProps.getMaxAdvance()))) {
+            return String.format("Доставку можно запланировать не больше чем на %d ч. вперед",
+                    scheduledOrderProps.getMaxAdvance().toHours());
+        }
+        return null;
+    }
+
+    /**
+     * Статус нового заказа: SCHEDULED, если до времени доставки больше, чем нужно на приготовление и доставку,
+     * иначе CREATED
+     */
+    private OrderStatus initialStatus(Instant deliverAt) {
+        return deliverAt != null && scheduledOrderTimer.releaseTimeOf(deliverAt).isAfter(Instant.now())
+                ? OrderStatus.SCHEDULED
+                : OrderStatus.CREATED;
+    }
+
+    /**
+     * Собирает новый заказ и считает его стоимость
+     */
+    private Order buildOrder(User restaurant, List<OrderItem> orderItems, String deliveryAddress,
+                             OrderStatus status, Instant deliverAt, User client) {
+        BigDecimal totalPrice = orderItems.stream()
+                .map(OrderItem::getItemPrice)
+                .reduce(BigDecimal::add)
+                .orElse(BigDecimal.ZERO);
+
+        Order order = new Order(
+                deliveryAddress,
+                status,
+                orderItems,
+                totalPrice,
+                restaurant,
+                client
+        );
+        order.setDeliverAt(deliverAt);
+
+        orderItems.forEach(item -> item.setOrder(order));
+        return order;
     }
 
     /**
      * Проверяет, принадлежит ли заказ указанному клиенту
      *
-     * @param order  заказ
-     * @param client клиент
+     * @param orderId       id заказа
+     * @param orderClientId id клиента заказа
+     * @param client        клиент
      */
-    private void assertBelongsToClient(Order order, User client) {
-        if (!order.getClient().getId().equals(client.getId())) {
-            throw new PermissionCheckFailedException("Заказ c id '%d' не принадлежит вам", order.getId());
+    private void assertBelongsToClient(Long orderId, Long orderClientId, User client) {
+        if (!orderClientId.equals(client.getId())) {
+            throw new PermissionCheckFailedException("Заказ c id '%d' не принадлежит вам", orderId);
         }
     }
+
+    /**
+     * Заказ для массового оформления
+     *
+     * @param restaurantId    id ресторана
+     * @param deliveryAddress адрес доставки
+     * @param items           состав заказа
+     * @param deliverAt       время, к которому нужно доставить заказ, null - как можно скорее
+     */
+    public record OrderDraft(Long restaurantId, String deliveryAddress, List<OrderItemDraft> items,
+                             Instant deliverAt) {
+    }
+
+    /**
+     * Пункт заказа для массового оформления
+     *
+     * @param menuItemId id позиции меню
+     * @param quantity   количество
+     */
+    public record OrderItemDraft(Long menuItemId, Integer quantity) {
+    }
+
+    /**
+     * Результат оформления заказа из массового запроса
+     *
+     * @param index номер заказа в запросе
+     * @param order оформленный заказ, null если заказ не оформлен
+     * @param error описание ошибки, null если заказ оформлен
+     */
+    public record BulkOrderResult(int index, Order order, String error) {
+    }
 }
@@ -58,9 +58,16 @@ public class CourierOrderService {
         if (order.getCourier() != null) {
             throw new InvalidInputException("Заказ с id '%d' уже принят курьером", orderId);
         }
+        if (order.getStatus() == OrderStatus.CANCELLED) {
+            throw new InvalidInputException("Заказ с id '%d' отменен", orderId);
+        }
+        if (order.getStatus() == OrderStatus.SCHEDULED) {
+            throw new InvalidInputException("Заказ с id '%d' запланирован и еще не передан ресторану", orderId);
+        }
 
         order.setCourier(courier);
         orderService.save(order);
+        orderService.publishStatusChanged(order, order.getStatus());
     }
 
     /**
@@ -77,14 +84,17 @@ public class CourierOrderService {
 
         assertBelongsToCourier(order, courier);
 
-        switch (order.getStatus()) {
+        OrderStatus previousStatus = order.getStatus();
+        switch (previousStatus) {
             case PREPARED -> order.setStatus(OrderStatus.DELIVERING);
             case DELIVERING -> throw new InvalidInputException("Заказ с id '%d' уже доставляется", orderId);
             case COMPLETED -> throw new InvalidInputException("Заказ с id '%d' уже доставлен", orderId);
+            case CANCELLED -> throw new InvalidInputException("Заказ с id '%d' отменен", orderId);
             default -> throw new InvalidInputException("Заказ с id '%d' ещё не готов", orderId);
         }
 
         orderService.save(order);
+        orderService.publishStatusChanged(order, previousStatus);
     }
 
     /**
@@ -101,13 +111,16 @@ public class CourierOrderService {
 
         assertBelongsToCourier(order, courier);
 
-        switch (order.getStatus()) {
+        OrderStatus previousStatus = order.getStatus();
+        switch (previousStatus) {
             case DELIVERING -> order.setStatus(OrderStatus.COMPLETED);
             case COMPLETED -> throw new InvalidInputException("Заказ с id '%d' уже доставлен", orderId);
+            case CANCELLED -> throw new InvalidInputException("Заказ с id '%d' отменен", orderId);
             default -> throw new InvalidInputException("Заказ с id '%d' ещё не доставляется", orderId);
         }
 
         orderService.save(order);
+        orderService.publishStatusChanged(order, previousStatus);
     }
 
     /**
@@ -0,0 +1,50 @@
+package naumen.project.service.order;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import naumen.project.entity.ArchivedOrder;
+import naumen.project.entity.enums.OrderStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Сервис переноса заказов в конечных статусах - COMPLETED, DELETED и CANCELLED - в архив.
+ * Заказ и его позиции копируются в архивные таблицы и удаляются из основных, поэтому таблица заказов
+ * содержит только активные и недавно завершенные заказы, а выборки активных заказов не просматривают историю.
+ * Количество перенесенных заказов публикуется в метрике {@code order.archive.archived}.
+ *
+ * @see ArchivedOrder
+ */
+@Service
+public class OrderArchiveService {
+
+    private static final Set<OrderStatus> TERMINAL_STATUSES =
+            EnumSet.of(OrderStatus.COMPLETED, OrderStatus.DELETED, OrderStatus.CANCELLED);
+
+    private final OrderService orderService;
+    private final MeterRegistry meterRegistry;
+
+    public OrderArchiveService(OrderService orderService, MeterRegistry meterRegistry) {
+        this.orderService = orderService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Переносит в архив одну пачку заказов, находящихся в конечном статусе дольше указанного времени,
+     * в отдельной транзакции, чтобы блокировки строк держались недолго
+     *
+     * @param age       время в конечном статусе, после которого заказ переносится в архив
+     * @param batchSize максимальное количество переносимых заказов
+     * @return количество перенесенных заказов
+     */
+    @Transactional
+    public int archiveOrders(Duration age, int batchSize) {
+        int archived = orderService.archive(TERMINAL_STATUSES, Instant.now().minus(age), batchSize);
+        meterRegistry.counter("order.archive.archived").increment(archived);
+        return archived;
+    }
+}
@@ -0,0 +1,142 @@
+package naumen.project.service.order;
+
+import naumen.project.entity.OrderChange;
+import naumen.project.entity.OrderTransition;
+import naumen.project.entity.User;
+import naumen.project.entity.enums.Role;
+import naumen.project.event.OrderStatusChangedEvent;
+import naumen.project.repository.OrderChangeRepository;
+import naumen.project.repository.OrderJdbcRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Сервис журнала изменений заказов для клиентов, которые не могут держать поток событий и опрашивают сервер.
+ * Изменения заказов копятся в течение транзакции и записываются в журнал одним батчем перед ее фиксацией.
+ * Журнал блокируется только на время записи и фиксации, поэтому номера изменений растут в порядке фиксации,
+ * и клиент, запрашивающий изменения после последнего полученного номера, ничего не пропускает.
+ * Вместе с журналом изменений тем же способом ведется журнал переходов заказов между статусами.
+ */
+@Service
+public class OrderChangeService {
+
+    private final OrderChangeRepository orderChangeRepository;
+    private final OrderJdbcRepository orderJdbcRepository;
+
+    public OrderChangeService(OrderChangeRepository orderChangeRepository, OrderJdbcRepository orderJdbcRepository) {
+        this.orderChangeRepository = orderChangeRepository;
+        this.orderJdbcRepository = orderJdbcRepository;
+    }
+
+    /**
+     * Запоминает изменение заказа для записи в журнал перед фиксацией транзакции
+     *
+     * @param event событие изменения статуса заказа
+     */
+    @EventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Изменение заказа должно публиковаться внутри транзакции");
+        }
+
+        PendingChanges pending = pendingChanges();
+        // Повторное изменение заказа в той же транзакции заменяет предыдущее и получит больший номер
+        pending.changes.remove(event.orderId());
+        pending.changes.put(event.orderId(), new OrderChange(event.orderId(), event.restaurantId(),
+                event.clientId(), event.courierId(), event.status(), Instant.now()));
+
+        if (event.previousStatus() != event.status()) {
+            pending.transitions.add(new OrderTransition(event.orderId(), event.status(), event.previousStatus(),
+                    event.restaurantId(), event.statusChangedAt(), event.previousStatusDurationMillis()));
+        }
+    }
+
+    /**
+     * Получение изменений заказов после указанного номера.
+     * Клиент и ресторан видят изменения своих заказов. Курьер видит изменения своих заказов
+     * и заказов в статусах, в которых заказ доступен для приема, чтобы узнавать и о новых доступных заказах,
+     * и о заказах, принятых другими курьерами, а также отмену и удаление заказов без курьера.
+     * Остальные изменения заказов других курьеров ему не отдаются.
+     *
+     * @param role     роль, со стороны которой запрашиваются изменения
+     * @param user     пользователь
+     * @param sequence номер последнего полученного изменения
+     * @param limit    максимальное количество изменений
+     * @return изменения заказов
+     */
+    public OrderChanges getChanges(Role role, User user, long sequence, int limit) {
+        Limit queryLimit = Limit.of(limit + 1);
+        List<OrderChange> changes = switch (role) {
+            case CLIENT -> orderChangeRepository.findByClientIdAndSequenceGreaterThanOrderBySequence(
+                    user.getId(), sequence, queryLimit);
+            case RESTAURANT -> orderChangeRepository.findByRestaurantIdAndSequenceGreaterThanOrderBySequence(
+                    user.getId(), sequence, queryLimit);
+            case COURIER -> orderChangeRepository.findCourierChanges(user.getId(), sequence, queryLimit);
+            case ADMIN -> throw new IllegalArgumentException("Журнал изменений заказов не ведется для роли ADMIN");
+        };
+
+        boolean hasMore = changes.size() > limit;
+        List<OrderChange> page = hasMore ? changes.subList(0, limit) : changes;
+        long lastSequence = page.isEmpty() ? sequence : page.getLast().getSequence();
+        return new OrderChanges(lastSequence, hasMore, page);
+    }
+
+    /**
+     * Изменения заказов текущей транзакции. При первом изменении регистрирует запись журналов перед фиксацией
+     */
+    private PendingChanges pendingChanges() {
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+
+        PendingChanges created = new PendingChanges();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                // Изменения сущностей сбрасываются в БД до блокировки журнала, чтобы во время блокировки
+                // не ждать блокировок строк заказов, которые держат другие транзакции
+                orderChangeRepository.flush();
+                if (!created.transitions.isEmpty()) {
+                    orderJdbcRepository.recordTransitions(created.transitions);
+                }
+                orderJdbcRepository.recordChanges(new ArrayList<>(created.changes.values()));
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(OrderChangeService.this);
+            }
+        });
+        return created;
+    }
+
+    /**
+     * Изменения и переходы заказов текущей транзакции, ожидающие записи в журналы
+     */
+    private static class PendingChanges {
+
+        private final Map<Long, OrderChange> changes = new LinkedHashMap<>();
+        private final List<OrderTransition> transitions = new ArrayList<>();
+    }
+
+    /**
+     * Изменения заказов после указанного номера
+     *
+     * @param sequence номер последнего изменения в ответе, который клиент передает при следующем запросе
+     * @param hasMore  признак того, что есть еще изменения и запрос нужно повторить сразу
+     * @param changes  изменения в порядке номеров
+     */
+    public record OrderChanges(long sequence, boolean hasMore, List<OrderChange> changes) {
+    }
+}
@@ -1,12 +1,21 @@
 package naumen.project.service.order;
 
+import naumen.project.entity.ArchivedOrder;
 import naumen.project.entity.Order;
 import naumen.project.entity.User;
+import naumen.project.entity.enums.OrderStatus;
+import naumen.project.event.OrderStatusChangedEvent;
+import naumen.project.repository.ArchivedOrderRepository;
+import naumen.project.repository.OrderJdbcRepository;
 import naumen.project.repository.OrderRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,9 +32,16 @@ import java.util.Optional;
 class OrderService {
 
     private final OrderRepository orderRepository;
+    private final OrderJdbcRepository orderJdbcRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public OrderService(OrderRepository orderRepository) {
+    public OrderService(OrderRepository orderRepository, OrderJdbcRepository orderJdbcRepository,
+                        ArchivedOrderRepository archivedOrderRepository, ApplicationEventPublisher eventPublisher) {
         this.orderRepository = orderRepository;
+        this.orderJdbcRepository = orderJdbcRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -38,6 +54,26 @@ class OrderService {
         return orderRepository.findById(id);
     }
 
+    /**
+     * Получение заказа по идентификатору вместе с позициями заказа и блюдами
+     *
+     * @param id идентификатор заказа
+     * @return заказ с загруженными позициями
+     */
+    Optional<Order> getWithItemsById(Long id) {
+        return orderRepository.findWithItemsById(id);
+    }
+
+    /**
+     * Получение архивного заказа по идентификатору вместе с позициями заказа
+     *
+     * @param id идентификатор заказа
+     * @return архивный заказ с загруженными позициями
+     */
+    Optional<ArchivedOrder> getArchivedWithItemsById(Long id) {
+        return archivedOrderRepository.findWithItemsById(id);
+    }
+
     /**
      * Сохранение заказа
      *
@@ -48,6 +84,101 @@ class OrderService {
         return orderRepository.save(order);
     }
 
+    /**
+     * Сохранение нескольких заказов. Вставки заказов и их позиций объединяются в JDBC батчи
+     *
+     * @param orders заказы
+     * @return сохраненные заказы
+     */
+    List<Order> saveAll(List<Order> orders) {
+        return orderRepository.saveAll(orders);
+    }
+
+    /**
+     * Перевод заказов ресторана из одного статуса в другой одним запросом
+     *
+     * @param restaurantId идентификатор ресторана
+     * @param ids          идентификаторы заказов
+     * @param fromStatus   ожидаемый исходный статус
+     * @param toStatus     новый статус
+     * @return состояние найденных заказов до перевода и признак перевода
+     */
+    List<OrderJdbcRepository.StatusTransition> transitionStatus(Long restaurantId, Collection<Long> ids,
+                                                                OrderStatus fromStatus, OrderStatus toStatus) {
+        return orderJdbcRepository.transitionStatus(restaurantId, ids, fromStatus, toStatus, Instant.now());
+    }
+
+    /**
+     * Отмена заказов, находящихся в статусе дольше допустимого, одним запросом
+     *
+     * @param status статус заказов
+     * @param cutoff заказы, перешедшие в статус раньше этого момента, отменяются
+     * @param limit  максимальное количество отменяемых заказов
+     * @return отмененные заказы
+     */
+    List<OrderJdbcRepository.StatusTransition> cancelStale(OrderStatus status, Instant cutoff, int limit) {
+        return orderJdbcRepository.cancelStale(status, cutoff, limit, Instant.now());
+    }
+
+    /**
+     * Перенос в архив одной пачки заказов в конечных статусах
+     *
+     * @param statuses конечные статусы заказов
+     * @param cutoff   заказы, перешедшие в статус раньше этого момента, переносятся
+     * @param limit    максимальное количество переносимых заказов
+     * @return количество перенесенных заказов
+     */
+    int archive(Collection<OrderStatus> statuses, Instant cutoff, int limit) {
+        return orderJdbcRepository.archive(statuses, cutoff, limit, Instant.now());
+    }
+
+    /**
+     * Передача запланированных заказов ресторанам, т.е. перевод из статуса SCHEDULED в CREATED
+     *
+     * @param ids идентификаторы заказов
+     * @return переданные заказы
+     */
+    List<OrderJdbcRepository.StatusTransition> releaseScheduled(Collection<Long> ids) {
+        return orderJdbcRepository.releaseScheduled(ids, Instant.now());
+    }
+
+    /**
+     * Публикация события изменения статуса сохраненного заказа.
+     * Если статус изменился, время перехода в него фиксируется в заказе и сохраняется вместе с транзакцией
+     *
+     * @param order          заказ с новым статусом
+     * @param previousStatus статус до изменения, null для созданного заказа
+     */
+    void publishStatusChanged(Order order, OrderStatus previousStatus) {
+        // Для заказов, созданных до появления времени смены статуса, отсчет ведется от создания
+        Instant previousStatusChangedAt = order.getStatusChangedAt() == null
+                ? order.getCreatedAt()
+                : order.getStatusChangedAt();
+        if (previousStatus == null) {
+            previousStatusChangedAt = null;
+        } else if (previousStatus != order.getStatus()) {
+            order.setStatusChangedAt(Instant.now());
+        }
+
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(order.getId(), order.getRestaurant().getId(),
+                order.getClient().getId(), order.getCourier() == null ? null : order.getCourier().getId(),
+                previousStatus, order.getStatus(), previousStatusChangedAt, order.getStatusChangedAt(),
+                order.getTotalPrice(), order.getCreatedAt()));
+    }
+
+    /**
+     * Публикация события изменения статуса заказа, переведенного массовым запросом
+     *
+     * @param transition результат перевода заказа
+     * @param status     новый статус
+     */
+    void publishStatusChanged(OrderJdbcRepository.StatusTransition transition, OrderStatus status) {
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(transition.orderId(), transition.restaurantId(),
+                transition.clientId(), transition.courierId(), transition.previousStatus(), status,
+                transition.previousStatusChangedAt(), transition.statusChangedAt(), transition.totalPrice(),
+                transition.createdAt()));
+    }
+
     /**
      * Получение заказов по клиенту
      *
@@ -58,6 +189,17 @@ class OrderService {
         return orderRepository.findOrdersByClient(client);
     }
 
+    /**
+     * Получение последних архивных заказов клиента
+     *
+     * @param client клиент
+     * @param limit  максимальное количество заказов
+     * @return архивные заказы клиента, начиная с последних
+     */
+    List<ArchivedOrder> getArchivedByClient(User client, int limit) {
+        return archivedOrderRepository.findByClientIdOrderByCreatedAtDesc(client.getId(), Limit.of(limit));
+    }
+
     /**
      * Получение доступных заказов для курьеров
      *
@@ -77,15 +219,4 @@ class OrderService {
     List<Order> getActiveOrdersByCourier(User courier) {
         return orderRepository.findActiveOrdersByCourier(courier);
     }
-
-    /**
-     * Получение активных заказов ресторана
-     *
-     * @param restaurant ресторан
-     * @param pageable   параметры пагинации
-     * @return страница с активными заказами ресторана
-     */
-    Page<Order> getActiveOrdersByRestaurant(User restaurant, Pageable pageable) {
-        return orderRepository.findActiveOrdersByRestaurant(restaurant, pageable);
-    }
 }
@@ -0,0 +1,57 @@
+package naumen.project.service.order;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import naumen.project.entity.enums.OrderStatus;
+import naumen.project.repository.OrderJdbcRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Сервис автоматической отмены заказов, которые слишком долго не меняют статус:
+ * не принятых рестораном, не забранных или не доставленных курьером.
+ * Такие заказы переводятся в статус CANCELLED и перестают попадать в выборки активных заказов.
+ * Количество отмененных заказов публикуется в метрике {@code order.sweep.cancelled}.
+ */
+@Service
+public class OrderSweepService {
+
+    private static final Set<OrderStatus> SWEEPABLE_STATUSES = EnumSet.of(OrderStatus.CREATED,
+            OrderStatus.ACCEPTED, OrderStatus.PREPARED, OrderStatus.DELIVERING);
+
+    private final OrderService orderService;
+    private final MeterRegistry meterRegistry;
+
+    public OrderSweepService(OrderService orderService, MeterRegistry meterRegistry) {
+        this.orderService = orderService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Отменяет одну пачку заказов, находящихся в статусе дольше допустимого, в отдельной транзакции,
+     * чтобы блокировки строк держались недолго
+     *
+     * @param status    статус заказов
+     * @param timeout   допустимое время в статусе
+     * @param batchSize максимальное количество отменяемых заказов
+     * @return количество отмененных заказов
+     * @throws IllegalArgumentException если заказы в указанном статусе нельзя отменить
+     */
+    @Transactional
+    public int cancelStaleOrders(OrderStatus status, Duration timeout, int batchSize) {
+        if (!SWEEPABLE_STATUSES.contains(status)) {
+            throw new IllegalArgumentException("Заказы в статусе " + status + " не отменяются автоматически");
+        }
+
+        List<OrderJdbcRepository.StatusTransition> cancelled = orderService.cancelStale(status,
+                Instant.now().minus(timeout), batchSize);
+        cancelled.forEach(transition -> orderService.publishStatusChanged(transition, OrderStatus.CANCELLED));
+        meterRegistry.counter("order.sweep.cancelled", "status", status.name()).increment(cancelled.size());
+        return cancelled.size();
+    }
+}
@@ -5,10 +5,22 @@ import naumen.project.entity.User;
 import naumen.project.entity.enums.OrderStatus;
 import naumen.project.exception.InvalidInputException;
 import naumen.project.exception.PermissionCheckFailedException;
+import naumen.project.kitchen.KitchenQueue;
+import naumen.project.repository.OrderJdbcRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 /**
  * Сервис для работы с заказами со стороны ресторанов
  */
@@ -16,20 +28,23 @@ import org.springframework.stereotype.Service;
 public class RestaurantOrderService {
 
     private final OrderService orderService;
+    private final KitchenQueue kitchenQueue;
 
-    RestaurantOrderService(OrderService orderService) {
+    RestaurantOrderService(OrderService orderService, KitchenQueue kitchenQueue) {
         this.orderService = orderService;
+        this.kitchenQueue = kitchenQueue;
     }
 
     /**
-     * Получение активных заказов ресторана
+     * Получение активных заказов ресторана из очереди кухни в памяти, без обращения к базе данных.
+     * Заказы упорядочены по времени создания, начиная с самых старых.
      *
      * @param restaurant ресторан
      * @param pageable   параметры пагинации
      * @return страница с активными заказами ресторана
      */
-    public Page<Order> getActiveOrders(User restaurant, Pageable pageable) {
-        return orderService.getActiveOrdersByRestaurant(restaurant, pageable);
+    public Page<OrderJdbcRepository.OrderSummary> getActiveOrders(User restaurant, Pageable pageable) {
+        return kitchenQueue.getActiveOrders(restaurant.getId(), pageable);
     }
 
     /**
@@ -40,7 +55,7 @@ public class RestaurantOrderService {
      * @return заказ
      */
     public Order getOrder(Long orderId, User restaurant) {
-        Order order = orderService.getById(orderId)
+        Order order = orderService.getWithItemsById(orderId)
                 .orElseThrow(() -> new InvalidInputException("Заказ с id '%d' не найден", orderId));
 
         assertBelongsToRestaurant(order, restaurant);
@@ -62,14 +77,13 @@ public class RestaurantOrderService {
 
         assertBelongsToRestaurant(order, restaurant);
 
-        switch (order.getStatus()) {
-            case CREATED -> order.setStatus(OrderStatus.ACCEPTED);
-            case ACCEPTED -> throw new InvalidInputException("Заказ с id '%d' уже готовится", orderId);
-            case PREPARED -> throw new InvalidInputException("Заказ с id '%d' уже приготовлен", orderId);
-            default -> throw new InvalidInputException("Заказ с id '%d' уже был отдан курьеру", orderId);
+        if (order.getStatus() != OrderStatus.CREATED) {
+            throw new InvalidInputException(prepareRejection(orderId, order.getStatus()));
         }
+        order.setStatus(OrderStatus.ACCEPTED);
 
         orderService.save(order);
+        orderService.publishStatusChanged(order, OrderStatus.CREATED);
     }
 
     /**
@@ -86,14 +100,94 @@ public class RestaurantOrderService {
 
         assertBelongsToRestaurant(order, restaurant);
 
-        switch (order.getStatus()) {
-            case ACCEPTED -> order.setStatus(OrderStatus.PREPARED);
-            case CREATED -> throw new InvalidInputException("Заказ с id '%d' еще не начал готовиться", orderId);
-            case PREPARED -> throw new InvalidInputException("Заказ с id '%d' уже приготовлен", orderId);
-            default -> throw new InvalidInputException("Заказ с id '%d' уже был отдан курьеру", orderId);
+        if (order.getStatus() != OrderStatus.ACCEPTED) {
+            throw new InvalidInputException(readyRejection(orderId, order.getStatus()));
         }
+        order.setStatus(OrderStatus.PREPARED);
 
         orderService.save(order);
+        orderService.publishStatusChanged(order, OrderStatus.ACCEPTED);
+    }
+
+    /**
+     * Пометка нескольких заказов как в приготовлении рестораном одним запросом
+     *
+     * @param orderIds   идентификаторы заказов
+     * @param restaurant ресторан
+     * @return переведенные заказы и причины отказа по остальным
+     */
+    public BulkTransitionResult prepareOrders(Collection<Long> orderIds, User restaurant) {
+        return transitionOrders(orderIds, restaurant, OrderStatus.CREATED, OrderStatus.ACCEPTED,
+                this::prepareRejection);
+    }
+
+    /**
+     * Пометка нескольких заказов как готовых рестораном одним запросом
+     *
+     * @param orderIds   идентификаторы заказов
+     * @param restaurant ресторан
+     * @return переведенные заказы и причины отказа по остальным
+     */
+    public BulkTransitionResult readyOrders(Collection<Long> orderIds, User restaurant) {
+        return transitionOrders(orderIds, restaurant, OrderStatus.ACCEPTED, OrderStatus.PREPARED,
+                this::readyRejection);
+    }
+
+    /**
+     * Переводит заказы ресторана в новый статус одним UPDATE и собирает причины отказа
+     * по заказам, которые не удалось перевести
+     */
+    private BulkTransitionResult transitionOrders(Collection<Long> orderIds, User restaurant,
+                                                  OrderStatus fromStatus, OrderStatus toStatus,
+                                                  BiFunction<Long, OrderStatus, String> rejection) {
+        Set<Long> requested = new LinkedHashSet<>(orderIds);
+        Map<Long, OrderJdbcRepository.StatusTransition> transitions = orderService
+                .transitionStatus(restaurant.getId(), requested, fromStatus, toStatus).stream()
+                .collect(Collectors.toMap(OrderJdbcRepository.StatusTransition::orderId, Function.identity()));
+
+        List<Long> transitioned = new ArrayList<>();
+        List<TransitionFailure> failed = new ArrayList<>();
+        for (Long orderId : requested) {
+            OrderJdbcRepository.StatusTransition transition = transitions.get(orderId);
+            if (transition == null) {
+                failed.add(new TransitionFailure(orderId, String.format("Заказ с id '%d' не найден", orderId)));
+            } else if (transition.transitioned()) {
+                transitioned.add(orderId);
+                orderService.publishStatusChanged(transition, toStatus);
+            } else if (!transition.restaurantId().equals(restaurant.getId())) {
+                failed.add(new TransitionFailure(orderId,
+                        String.format("Заказ с id '%d' не принадлежит вашему ресторану", orderId)));
+            } else {
+                failed.add(new TransitionFailure(orderId, rejection.apply(orderId, transition.previousStatus())));
+            }
+        }
+        return new BulkTransitionResult(transitioned, failed);
+    }
+
+    /**
+     * Причина, по которой заказ в указанном статусе нельзя начать готовить
+     */
+    private String prepareRejection(Long orderId, OrderStatus status) {
+        return switch (status) {
+            case SCHEDULED -> String.format("Заказ с id '%d' запланирован и еще не передан ресторану", orderId);
+            case ACCEPTED -> String.format("Заказ с id '%d' уже готовится", orderId);
+            case PREPARED -> String.format("Заказ с id '%d' уже приготовлен", orderId);
+            case CANCELLED -> String.format("Заказ с id '%d' отменен", orderId);
+            default -> String.format("Заказ с id '%d' уже был отдан курьеру", orderId);
+        };
+    }
+
+    /**
+     * Причина, по которой заказ в указанном статусе нельзя пометить готовым
+     */
+    private String readyRejection(Long orderId, OrderStatus status) {
+        return switch (status) {
+            case SCHEDULED -> String.format("Заказ с id '%d' запланирован и еще не передан ресторану", orderId);
+            case CREATED -> String.format("Заказ с id '%d' еще не начал готовиться", orderId);
+            case PREPARED -> String.format("Заказ с id '%d' уже приготовлен", orderId);
+            case CANCELLED -> String.format("Заказ с id '%d' отменен", orderId);
+            default -> String.format("Заказ с id '%d' уже был отдан курьеру", orderId);
+        };
     }
 
     /**
@@ -108,4 +202,22 @@ public class RestaurantOrderService {
             throw new PermissionCheckFailedException("Заказ с id '%d' не принадлежит вашему ресторану", order.getId());
         }
     }
+
+    /**
+     * Результат массового перевода заказов в другой статус
+     *
+     * @param transitioned идентификаторы переведенных заказов
+     * @param failed       заказы, которые не удалось перевести, с причинами
+     */
+    public record BulkTransitionResult(List<Long> transitioned, List<TransitionFailure> failed) {
+    }
+
+    /**
+     * Заказ, который не удалось перевести в другой статус
+     *
+     * @param orderId идентификатор заказа
+     * @param reason  причина
+     */
+    public record TransitionFailure(Long orderId, String reason) {
+    }
 }
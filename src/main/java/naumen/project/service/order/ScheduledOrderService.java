@@ -0,0 +1,42 @@
+package naumen.project.service.order;
+
+import naumen.project.entity.enums.OrderStatus;
+import naumen.project.repository.OrderJdbcRepository;
+import naumen.project.scheduling.ScheduledOrderTimer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Сервис передачи запланированных заказов ресторанам.
+ * Переданный заказ переходит из статуса SCHEDULED в CREATED и попадает в очередь кухни ресторана
+ * независимо от ее заполненности: ограничение очереди проверяется при оформлении заказа, а запланированный
+ * заказ клиент оформил заранее.
+ *
+ * @see ScheduledOrderTimer
+ */
+@Service
+public class ScheduledOrderService {
+
+    private final OrderService orderService;
+
+    public ScheduledOrderService(OrderService orderService) {
+        this.orderService = orderService;
+    }
+
+    /**
+     * Передает запланированные заказы ресторанам в одной транзакции.
+     * Заказы, которые уже переданы, удалены или обрабатываются другим экземпляром приложения, пропускаются
+     *
+     * @param ids идентификаторы заказов
+     * @return количество переданных заказов
+     */
+    @Transactional
+    public int releaseOrders(Collection<Long> ids) {
+        List<OrderJdbcRepository.StatusTransition> released = orderService.releaseScheduled(ids);
+        released.forEach(transition -> orderService.publishStatusChanged(transition, OrderStatus.CREATED));
+        return released.size();
+    }
+}
@@ -0,0 +1,203 @@
+package naumen.project.stream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import naumen.project.config.props.OrderStreamProps;
+import naumen.project.dto.order.OrderStatusEventDto;
+import naumen.project.entity.enums.OrderStatus;
+import naumen.project.event.OrderStatusChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Потоки событий заказов (Server-Sent Events) для клиентов, ресторанов и курьеров.
+ * После фиксации изменения статуса заказа событие получают клиент и ресторан заказа, назначенный курьер,
+ * а пока заказ доступен для приема - все подключенные курьеры.
+ * Первым событием подписчик получает resync: после него клиент запрашивает актуальное состояние заказов
+ * и дальше применяет события order-status. Пока соединение простаивает, оно не занимает поток.
+ * Отправка подписчику выполняется в отдельном виртуальном потоке, поэтому медленный клиент, заблокировавший
+ * запись, занимает только свой поток и не задерживает отправку остальным.
+ * Подписчики хранятся в памяти экземпляра приложения, и события рассылаются только подписчикам того экземпляра,
+ * на котором изменился статус заказа. При нескольких экземплярах подписчик не получает изменения, сделанные
+ * на других экземплярах, пока не запросит состояние заказов заново, поэтому соединения потоков событий
+ * нужно направлять на один экземпляр или получать изменения через ленту изменений заказов.
+ *
+ * @see OrderStreamSubscriber
+ * @see OrderStreamProps
+ */
+@Component
+public class OrderStreamHub {
+
+    /**
+     * Статусы, в которых заказ без курьера доступен курьерам для приема
+     */
+    private static final Set<OrderStatus> AVAILABLE_STATUSES =
+            EnumSet.of(OrderStatus.CREATED, OrderStatus.ACCEPTED, OrderStatus.PREPARED);
+
+    private final OrderStreamProps orderStreamProps;
+    private final ExecutorService executor;
+    private final Map<Channel, Map<Long, Set<OrderStreamSubscriber>>> subscribers = new EnumMap<>(Channel.class);
+    private final Counter resyncs;
+
+    public OrderStreamHub(OrderStreamProps orderStreamProps, MeterRegistry meterRegistry) {
+        this.orderStreamProps = orderStreamProps;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("order-stream-", 0).factory());
+        for (Channel channel : Channel.values()) {
+            subscribers.put(channel, new ConcurrentHashMap<>());
+        }
+        this.resyncs = Counter.builder("order.stream.resyncs").register(meterRegistry);
+        Gauge.builder("order.stream.subscribers", this, OrderStreamHub::getSubscriberCount).register(meterRegistry);
+    }
+
+    /**
+     * Закрывает все подключения и дожидается завершения отправки
+     *
+     * @throws InterruptedException если ожидание было прервано
+     */
+    @PreDestroy
+    public void close() throws InterruptedException {
+        subscribers.values().forEach(channel -> channel.values().forEach(set -> set.forEach(subscriber -> {
+            subscriber.close();
+            subscriber.getEmitter().complete();
+        })));
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Подписывает пользователя на события заказов
+     *
+     * @param channel канал событий
+     * @param userId  идентификатор клиента, ресторана или курьера
+     * @return подключение, в которое будут отправляться события
+     */
+    public SseEmitter subscribe(Channel channel, Long userId) {
+        SseEmitter emitter = new SseEmitter(orderStreamProps.getTimeout().toMillis());
+        OrderStreamSubscriber subscriber = new OrderStreamSubscriber(userId, emitter,
+                orderStreamProps.getBufferSize(), executor, resyncs::increment);
+
+        subscribers.get(channel).compute(userId, (id, set) -> {
+            Set<OrderStreamSubscriber> userSubscribers = set == null ? ConcurrentHashMap.newKeySet() : set;
+            userSubscribers.add(subscriber);
+            return userSubscribers;
+        });
+
+        Runnable unsubscribe = () -> unsubscribe(channel, subscriber);
+        emitter.onCompletion(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+        emitter.onTimeout(emitter::complete);
+
+        subscriber.resync();
+        return emitter;
+    }
+
+    /**
+     * Рассылает событие изменения статуса заказа после фиксации транзакции
+     *
+     * @param event событие изменения статуса заказа
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        OrderStreamSubscriber.StreamEvent streamEvent = new OrderStreamSubscriber.StreamEvent(
+                OrderStreamSubscriber.StreamEvent.STATUS,
+                new OrderStatusEventDto(event.orderId(), event.restaurantId(), event.courierId(),
+                        event.previousStatus(), event.status(), event.totalPrice(), event.createdAt()));
+
+        recipients(event).forEach(subscriber -> subscriber.offer(streamEvent));
+    }
+
+    /**
+     * Отправляет всем подписчикам комментарий, чтобы прокси не закрывали простаивающие соединения,
+     * а отключившиеся клиенты обнаруживались без ожидания событий
+     */
+    public void heartbeat() {
+        subscribers.values().forEach(channel -> channel.values().forEach(set ->
+                set.forEach(OrderStreamSubscriber::heartbeat)));
+    }
+
+    /**
+     * Количество подключенных подписчиков
+     */
+    public int getSubscriberCount() {
+        return subscribers.values().stream()
+                .flatMap(channel -> channel.values().stream())
+                .mapToInt(Set::size)
+                .sum();
+    }
+
+    /**
+     * Определяет подписчиков, которым нужно отправить событие
+     */
+    List<OrderStreamSubscriber> recipients(OrderStatusChangedEvent event) {
+        List<OrderStreamSubscriber> recipients = new ArrayList<>();
+        addSubscribers(recipients, Channel.CLIENT, event.clientId());
+        addSubscribers(recipients, Channel.RESTAURANT, event.restaurantId());
+
+        // Заказ появился среди доступных, перестал быть доступным или был принят курьером
+        boolean availabilityChanged = (event.courierId() == null || event.previousStatus() == event.status())
+                                      && (AVAILABLE_STATUSES.contains(event.status())
+                                          || AVAILABLE_STATUSES.contains(event.previousStatus()));
+        if (availabilityChanged) {
+            subscribers.get(Channel.COURIER).values().forEach(recipients::addAll);
+        } else {
+            addSubscribers(recipients, Channel.COURIER, event.courierId());
+        }
+        return recipients;
+    }
+
+    private void addSubscribers(List<OrderStreamSubscriber> recipients, Channel channel, Long userId) {
+        if (userId == null) {
+            return;
+        }
+        Set<OrderStreamSubscriber> userSubscribers = subscribers.get(channel).get(userId);
+        if (userSubscribers != null) {
+            recipients.addAll(userSubscribers);
+        }
+    }
+
+    /**
+     * Удаляет подписчика после закрытия подключения
+     */
+    private void unsubscribe(Channel channel, OrderStreamSubscriber subscriber) {
+        subscriber.close();
+        subscribers.get(channel).computeIfPresent(subscriber.getUserId(), (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /**
+     * Канал событий: определяет, чьи заказы получает подписчик
+     */
+    public enum Channel {
+
+        /**
+         * Заказы клиента
+         */
+        CLIENT,
+
+        /**
+         * Заказы ресторана
+         */
+        RESTAURANT,
+
+        /**
+         * Заказы курьера и заказы, доступные для приема
+         */
+        COURIER
+    }
+}
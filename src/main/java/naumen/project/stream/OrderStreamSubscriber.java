@@ -0,0 +1,160 @@
+package naumen.project.stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Подписчик потока событий заказов: подключение и ограниченный буфер неотправленных событий.
+ * События отправляются в отдельном потоке, а не в потоке, опубликовавшем событие, поэтому медленный клиент
+ * не задерживает остальных. Одновременно для подписчика выполняется не больше одной задачи отправки.
+ * При переполнении буфера события отбрасываются, а клиенту отправляется событие resync,
+ * по которому он заново запрашивает состояние заказов.
+ */
+class OrderStreamSubscriber {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderStreamSubscriber.class);
+
+    private final Long userId;
+    private final SseEmitter emitter;
+    private final ArrayBlockingQueue<StreamEvent> buffer;
+    private final Executor executor;
+    private final Runnable onOverflow;
+
+    private final AtomicBoolean overflowed = new AtomicBoolean();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile boolean closed;
+
+    OrderStreamSubscriber(Long userId, SseEmitter emitter, int bufferSize, Executor executor, Runnable onOverflow) {
+        this.userId = userId;
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.executor = executor;
+        this.onOverflow = onOverflow;
+    }
+
+    Long getUserId() {
+        return userId;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    /**
+     * Ставит событие в очередь на отправку, не блокируя вызывающий поток
+     *
+     * @param event событие
+     */
+    void offer(StreamEvent event) {
+        if (closed) {
+            return;
+        }
+        if (!buffer.offer(event)) {
+            overflowed.set(true);
+            buffer.clear();
+            onOverflow.run();
+        }
+        schedule();
+    }
+
+    /**
+     * Ставит в очередь комментарий, поддерживающий соединение.
+     * Если буфер заполнен, клиенту и так есть что отправить, поэтому комментарий не нужен
+     */
+    void heartbeat() {
+        if (!closed && buffer.offer(StreamEvent.HEARTBEAT)) {
+            schedule();
+        }
+    }
+
+    /**
+     * Требует от клиента заново запросить состояние заказов
+     */
+    void resync() {
+        if (closed) {
+            return;
+        }
+        overflowed.set(true);
+        schedule();
+    }
+
+    /**
+     * Отмечает подписчика закрытым, после этого события ему не отправляются
+     */
+    void close() {
+        closed = true;
+        buffer.clear();
+    }
+
+    /**
+     * Запускает задачу отправки, если она еще не запущена
+     */
+    private void schedule() {
+        if (!scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            scheduled.set(false);
+        }
+    }
+
+    /**
+     * Отправляет накопленные события. Ошибка отправки означает, что клиент отключился
+     */
+    private void drain() {
+        try {
+            while (!closed) {
+                StreamEvent event = overflowed.getAndSet(false) ? StreamEvent.RESYNC : buffer.poll();
+                if (event == null) {
+                    break;
+                }
+                emitter.send(event.toBuilder());
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Не удалось отправить событие подписчику {}: {}", userId, e.getMessage());
+            close();
+            emitter.completeWithError(e);
+        } finally {
+            scheduled.set(false);
+        }
+
+        // Событие могло прийти после опустошения буфера, но до снятия признака отправки
+        if (!closed && (overflowed.get() || !buffer.isEmpty())) {
+            schedule();
+        }
+    }
+
+    /**
+     * Событие потока
+     *
+     * @param name имя события, null для комментария
+     * @param data данные события или текст комментария
+     */
+    record StreamEvent(String name, Object data) {
+
+        static final String STATUS = "order-status";
+        static final String RESYNC_NAME = "resync";
+
+        static final StreamEvent RESYNC = new StreamEvent(RESYNC_NAME, "");
+        static final StreamEvent HEARTBEAT = new StreamEvent(null, "heartbeat");
+
+        /**
+         * Собирает событие для отправки. Сборщик изменяемый, поэтому создается на каждую отправку
+         */
+        SseEmitter.SseEventBuilder toBuilder() {
+            if (name == null) {
+                return SseEmitter.event().comment((String) data);
+            }
+            return SseEmitter.event().name(name).data(data);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package naumen.project.bulkhead;
+
+import naumen.project.config.props.BulkheadProps;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Модульные тесты для {@link BulkheadRegistry}
+ */
+class BulkheadRegistryTest {
+
+    private BulkheadRegistry bulkheadRegistry;
+
+    @BeforeEach
+    void setUp() {
+        BulkheadProps props = new BulkheadProps();
+        props.getGroups().put("courier", createGroup("/api/v1/courier/**"));
+        props.getGroups().put("menu", createGroup("/api/v1/menu/**", "/api/v1/restaurants/**"));
+        bulkheadRegistry = new BulkheadRegistry(props);
+    }
+
+    /**
+     * Тестирование определения группы по пути запроса
+     */
+    @Test
+    void resolveShouldMatchGroupByPath() {
+        Optional<BulkheadRegistry.Group> courier = bulkheadRegistry.resolve(request("/api/v1/courier/orders/available"));
+        Optional<BulkheadRegistry.Group> menu = bulkheadRegistry.resolve(request("/api/v1/restaurants"));
+
+        Assertions.assertEquals("courier", courier.map(BulkheadRegistry.Group::name).orElse(null));
+        Assertions.assertEquals("menu", menu.map(BulkheadRegistry.Group::name).orElse(null));
+    }
+
+    /**
+     * Тестирование запроса, не относящегося ни к одной группе
+     */
+    @Test
+    void resolveWithUnknownPathShouldReturnEmpty() {
+        Assertions.assertTrue(bulkheadRegistry.resolve(request("/api/v1/restaurant/orders")).isEmpty());
+    }
+
+    /**
+     * Тестирование разделения групп по пути: действия курьера с заказом не попадают в группу чтения
+     */
+    @Test
+    void resolveShouldMatchFirstGroupInOrder() {
+        BulkheadProps props = new BulkheadProps();
+        props.getGroups().put("courier-write", createGroup("/api/v1/courier/orders/*/*"));
+        props.getGroups().put("courier-read", createGroup("/api/v1/courier/**"));
+        BulkheadRegistry registry = new BulkheadRegistry(props);
+
+        Optional<BulkheadRegistry.Group> accept = registry.resolve(request("/api/v1/courier/orders/1/accept"));
+        Optional<BulkheadRegistry.Group> available = registry.resolve(request("/api/v1/courier/orders"));
+
+        Assertions.assertEquals("courier-write", accept.map(BulkheadRegistry.Group::name).orElse(null));
+        Assertions.assertEquals("courier-read", available.map(BulkheadRegistry.Group::name).orElse(null));
+    }
+
+    // Вспомогательные методы для создания тестовых данных
+
+    /**
+     * Создание группы с заданными шаблонами путей
+     */
+    private BulkheadProps.Group createGroup(String... paths) {
+        BulkheadProps.Group group = new BulkheadProps.Group();
+        group.setPaths(List.of(paths));
+        return group;
+    }
+
+    /**
+     * Создание GET запроса по пути
+     */
+    private MockHttpServletRequest request(String path) {
+        return new MockHttpServletRequest("GET", path);
+    }
+}
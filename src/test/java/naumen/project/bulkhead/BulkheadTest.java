@@ -0,0 +1,58 @@
+package naumen.project.bulkhead;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+/**
+ * Модульные тесты для {@link Bulkhead}
+ */
+class BulkheadTest {
+
+    /**
+     * Тестирование отказа без ожидания, если очередь не допускается
+     */
+    @Test
+    void tryAcquireWithoutQueueShouldRejectImmediately() {
+        Bulkhead bulkhead = new Bulkhead(1, 0, Duration.ofSeconds(10));
+
+        Assertions.assertTrue(bulkhead.tryAcquire());
+        Assertions.assertFalse(bulkhead.tryAcquire());
+
+        bulkhead.release();
+        Assertions.assertTrue(bulkhead.tryAcquire());
+    }
+
+    /**
+     * Тестирование отказа по истечении ожидания в очереди
+     */
+    @Test
+    void tryAcquireWithQueueShouldRejectAfterTimeout() {
+        Bulkhead bulkhead = new Bulkhead(1, 1, Duration.ofMillis(10));
+        bulkhead.tryAcquire();
+
+        Assertions.assertFalse(bulkhead.tryAcquire());
+    }
+
+    /**
+     * Тестирование получения места, освобожденного во время ожидания в очереди
+     */
+    @Test
+    void tryAcquireWithQueueShouldWaitForRelease() throws InterruptedException {
+        Bulkhead bulkhead = new Bulkhead(1, 1, Duration.ofSeconds(10));
+        bulkhead.tryAcquire();
+
+        Thread releaser = Thread.ofVirtual().start(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            bulkhead.release();
+        });
+
+        Assertions.assertTrue(bulkhead.tryAcquire());
+        releaser.join();
+    }
+}
@@ -0,0 +1,162 @@
+package naumen.project.coalescing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import naumen.project.config.props.DeadlineProps;
+import naumen.project.deadline.DeadlineFilter;
+import naumen.project.exception.handler.ErrorResponseWriter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Модульные тесты для {@link SingleFlight}
+ */
+class SingleFlightTest {
+
+    private MeterRegistry meterRegistry;
+    private SingleFlight<String, String> singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("test", meterRegistry);
+    }
+
+    /**
+     * Тестирование объединения одновременных вызовов с одним ключом в одну загрузку
+     */
+    @Test
+    void concurrentCallsWithSameKeyShouldShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute("key", () -> {
+            loads.incrementAndGet();
+            loadStarted.countDown();
+            await(release);
+            return "value";
+        }));
+        Assertions.assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> singleFlight.execute("key", () -> {
+            loads.incrementAndGet();
+            return "other";
+        }));
+        while (count("coalesced") < 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        Assertions.assertEquals("value", leader.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals("value", follower.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals(1, count("loaded"));
+    }
+
+    /**
+     * Тестирование ошибки загрузки: ожидающий вызов не получает чужую ошибку, а выполняет загрузку сам
+     */
+    @Test
+    void loadFailureShouldMakeCoalescedCallsLoadThemselves() throws Exception {
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute("key", () -> {
+            loadStarted.countDown();
+            await(release);
+            throw new IllegalStateException("Время на обработку запроса истекло");
+        }));
+        Assertions.assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(
+                () -> singleFlight.execute("key", () -> "other"));
+        while (count("coalesced") < 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        ExecutionException leaderError = Assertions.assertThrows(ExecutionException.class,
+                () -> leader.get(5, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(IllegalStateException.class, leaderError.getCause());
+        Assertions.assertEquals("other", follower.get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Тестирование ожидания чужой загрузки не дольше времени на обработку своего запроса
+     */
+    @Test
+    void coalescedCallShouldNotWaitPastRequestDeadline() throws Exception {
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute("key", () -> {
+            loadStarted.countDown();
+            await(release);
+            return "value";
+        }));
+        Assertions.assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+
+        DeadlineProps deadlineProps = new DeadlineProps();
+        deadlineProps.setDefaultTimeout(Duration.ofMillis(50));
+        DeadlineFilter deadlineFilter = new DeadlineFilter(deadlineProps,
+                new ErrorResponseWriter(new ObjectMapper().findAndRegisterModules()));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            deadlineFilter.doFilter(new MockHttpServletRequest("GET", "/api/v1/menu/1"), response,
+                    (request, ignored) -> singleFlight.execute("key", () -> "other"));
+        } finally {
+            release.countDown();
+        }
+
+        Assertions.assertEquals(HttpStatus.GATEWAY_TIMEOUT.value(), response.getStatus());
+        Assertions.assertEquals("value", leader.get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Тестирование отсутствия кэширования: последовательные вызовы выполняют загрузку каждый раз
+     */
+    @Test
+    void sequentialCallsShouldLoadEachTime() {
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.execute("key", () -> "value" + loads.incrementAndGet());
+        String second = singleFlight.execute("key", () -> "value" + loads.incrementAndGet());
+
+        Assertions.assertEquals("value2", second);
+        Assertions.assertEquals(2, count("loaded"));
+        Assertions.assertEquals(0, count("coalesced"));
+    }
+
+    // Вспомогательные методы для создания тестовых данных
+
+    /**
+     * Значение счетчика вызовов с заданным исходом
+     */
+    private double count(String outcome) {
+        return meterRegistry.get("singleflight.calls").tags("name", "test", "outcome", outcome).counter().count();
+    }
+
+    /**
+     * Ожидание защелки без проверяемого исключения
+     */
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,10 +1,17 @@
 package naumen.project.controller;
 
+import naumen.project.dto.order.OrderChangeDto;
+import naumen.project.dto.order.OrderChangesResponseDto;
+import naumen.project.dto.order.client.BulkOrderMode;
+import naumen.project.dto.order.client.OrderClientBulkCreateRequestDto;
+import naumen.project.dto.order.client.OrderClientBulkCreateResponseDto;
 import naumen.project.dto.order.client.OrderClientCreateRequestDto;
 import naumen.project.dto.order.client.OrderClientInfoResponseDto;
 import naumen.project.dto.order.client.OrderClientShortResponseDto;
 import naumen.project.dto.order.item.OrderItemCreateRequestDto;
+import naumen.project.entity.ArchivedOrder;
 import naumen.project.entity.Order;
+import naumen.project.entity.OrderChange;
 import naumen.project.entity.OrderItem;
 import naumen.project.entity.User;
 import naumen.project.entity.enums.OrderStatus;
@@ -12,6 +19,8 @@ import naumen.project.entity.enums.Role;
 import naumen.project.mapper.OrderMapper;
 import naumen.project.service.OrderItemService;
 import naumen.project.service.order.ClientOrderService;
+import naumen.project.service.order.OrderChangeService;
+import naumen.project.stream.OrderStreamHub;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,10 +28,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Модульные тесты для {@link ClientOrderController}
@@ -39,6 +50,12 @@ class ClientOrderControllerTest {
     @Mock
     private OrderMapper orderMapper;
 
+    @Mock
+    private OrderChangeService orderChangeService;
+
+    @Mock
+    private OrderStreamHub orderStreamHub;
+
     @InjectMocks
     private ClientOrderController clientOrderController;
 
@@ -62,6 +79,7 @@ class ClientOrderControllerTest {
                 1L,
                 1L,
                 Instant.now(),
+                null,
                 List.of()
         );
 
@@ -70,6 +88,7 @@ class ClientOrderControllerTest {
                 createRequest.restaurantId(),
                 orderItemList,
                 createRequest.deliveryAddress(),
+                createRequest.deliverAt(),
                 testClient
         )).thenReturn(testOrder);
         Mockito.when(orderMapper.toClientInfoResponse(testOrder)).thenReturn(expectedResponse);
@@ -86,13 +105,14 @@ class ClientOrderControllerTest {
                 createRequest.restaurantId(),
                 orderItemList,
                 createRequest.deliveryAddress(),
+                createRequest.deliverAt(),
                 testClient
         );
         Mockito.verify(orderMapper).toClientInfoResponse(testOrder);
     }
 
     /**
-     * Тестирование получения списка заказов текущего клиента
+     * Тестирование получения списка заказов текущего клиента вместе с архивными
      */
     @Test
     void getOrders_WithAuthenticatedClient_ShouldReturnOrdersList() {
@@ -103,13 +123,24 @@ class ClientOrderControllerTest {
                 "Test Restaurant"
         );
 
+        ArchivedOrder archivedOrder = new ArchivedOrder();
+        OrderClientShortResponseDto archivedResponse = new OrderClientShortResponseDto(
+                2L,
+                OrderStatus.COMPLETED,
+                new BigDecimal("300.00"),
+                "Test Restaurant"
+        );
+
         Mockito.when(clientOrderService.getOrders(testClient)).thenReturn(List.of(testOrder));
+        Mockito.when(clientOrderService.getArchivedOrders(testClient, 20)).thenReturn(List.of(archivedOrder));
         Mockito.when(orderMapper.toClientShortResponse(testOrder)).thenReturn(orderResponse);
+        Mockito.when(orderMapper.toClientShortResponse(archivedOrder)).thenReturn(archivedResponse);
 
-        List<OrderClientShortResponseDto> result = clientOrderController.getOrders(testClient);
+        List<OrderClientShortResponseDto> result = clientOrderController.getOrders(20, testClient);
 
         Assertions.assertNotNull(result);
-        Assertions.assertEquals(1, result.size());
+        Assertions.assertEquals(2, result.size());
+        Assertions.assertEquals(archivedResponse, result.get(1));
         Assertions.assertEquals(orderResponse.id(), result.getFirst().id());
         Assertions.assertEquals(orderResponse.status(), result.getFirst().status());
         Assertions.assertEquals(orderResponse.totalPrice(), result.getFirst().totalPrice());
@@ -131,10 +162,11 @@ class ClientOrderControllerTest {
                 1L,
                 1L,
                 Instant.now(),
+                null,
                 List.of()
         );
 
-        Mockito.when(clientOrderService.getOrder(orderId, testClient)).thenReturn(testOrder);
+        Mockito.when(clientOrderService.findOrder(orderId, testClient)).thenReturn(Optional.of(testOrder));
         Mockito.when(orderMapper.toClientInfoResponse(testOrder)).thenReturn(expectedResponse);
 
         OrderClientInfoResponseDto result = clientOrderController.getOrderInfoById(orderId, testClient);
@@ -143,8 +175,28 @@ class ClientOrderControllerTest {
         Assertions.assertEquals(expectedResponse.id(), result.id());
         Assertions.assertEquals(expectedResponse.status(), result.status());
         Assertions.assertEquals(expectedResponse.deliveryAddress(), result.deliveryAddress());
-        Mockito.verify(clientOrderService).getOrder(orderId, testClient);
+        Mockito.verify(clientOrderService).findOrder(orderId, testClient);
         Mockito.verify(orderMapper).toClientInfoResponse(testOrder);
+        Mockito.verify(clientOrderService, Mockito.never()).getArchivedOrder(Mockito.any(), Mockito.any());
+    }
+
+    /**
+     * Тестирование получения информации о заказе, перенесенном в архив
+     */
+    @Test
+    void getOrderInfoById_WithArchivedOrder_ShouldReturnArchivedOrderInfo() {
+        Long orderId = 1L;
+        ArchivedOrder archivedOrder = new ArchivedOrder();
+        OrderClientInfoResponseDto expectedResponse = new OrderClientInfoResponseDto(orderId, OrderStatus.COMPLETED,
+                new BigDecimal("500.00"), "Ул Пушкина", 1L, 2L, Instant.now(), null, List.of());
+
+        Mockito.when(clientOrderService.findOrder(orderId, testClient)).thenReturn(Optional.empty());
+        Mockito.when(clientOrderService.getArchivedOrder(orderId, testClient)).thenReturn(archivedOrder);
+        Mockito.when(orderMapper.toClientInfoResponse(archivedOrder)).thenReturn(expectedResponse);
+
+        OrderClientInfoResponseDto result = clientOrderController.getOrderInfoById(orderId, testClient);
+
+        Assertions.assertEquals(expectedResponse, result);
     }
 
     /**
@@ -159,6 +211,67 @@ class ClientOrderControllerTest {
         Mockito.verify(clientOrderService).deleteOrder(orderId, testClient);
     }
 
+    /**
+     * Тестирование массового оформления: результаты сервиса преобразуются в ответ с количеством
+     * оформленных и некорректных заказов
+     */
+    @Test
+    void createOrders_WithBestEffortMode_ShouldReturnPerOrderResults() {
+        OrderClientBulkCreateRequestDto request = new OrderClientBulkCreateRequestDto(
+                BulkOrderMode.BEST_EFFORT,
+                List.of(createOrderCreateRequest(), createOrderCreateRequest())
+        );
+        OrderClientInfoResponseDto orderResponse = new OrderClientInfoResponseDto(1L, OrderStatus.CREATED,
+                new BigDecimal("500.00"), "Ул Пушкина", 1L, null, Instant.now(), null, List.of());
+
+        Mockito.when(clientOrderService.createOrders(Mockito.anyList(), Mockito.eq(false), Mockito.eq(testClient)))
+                .thenReturn(List.of(
+                        new ClientOrderService.BulkOrderResult(0, testOrder, null),
+                        new ClientOrderService.BulkOrderResult(1, null, "Ресторан с id '1' не найден")
+                ));
+        Mockito.when(orderMapper.toClientInfoResponse(testOrder)).thenReturn(orderResponse);
+
+        OrderClientBulkCreateResponseDto result = clientOrderController.createOrders(request, testClient);
+
+        Assertions.assertEquals(1, result.created());
+        Assertions.assertEquals(1, result.failed());
+        Assertions.assertEquals(orderResponse, result.results().get(0).order());
+        Assertions.assertEquals("Ресторан с id '1' не найден", result.results().get(1).error());
+    }
+
+    /**
+     * Тестирование получения изменений заказов после указанного номера
+     */
+    @Test
+    void getOrderChanges_ShouldReturnChangesSinceSequence() {
+        OrderChange change = new OrderChange(1L, 2L, 3L, null, OrderStatus.CREATED, Instant.now());
+        change.setSequence(8L);
+        OrderChangeDto changeDto = new OrderChangeDto(8L, 1L, 2L, null, OrderStatus.CREATED, change.getChangedAt());
+        Mockito.when(orderChangeService.getChanges(Role.CLIENT, testClient, 5L, 100))
+                .thenReturn(new OrderChangeService.OrderChanges(8L, false, List.of(change)));
+        Mockito.when(orderMapper.toChangeResponse(change)).thenReturn(changeDto);
+
+        OrderChangesResponseDto result = clientOrderController.getOrderChanges(5L, 100, testClient);
+
+        Assertions.assertEquals(8L, result.sequence());
+        Assertions.assertFalse(result.hasMore());
+        Assertions.assertEquals(List.of(changeDto), result.changes());
+    }
+
+    /**
+     * Тестирование подписки на поток событий заказов
+     */
+    @Test
+    void streamOrders_ShouldSubscribeToChannel() {
+        SseEmitter emitter = new SseEmitter();
+        Mockito.when(orderStreamHub.subscribe(OrderStreamHub.Channel.CLIENT, testClient.getId()))
+                .thenReturn(emitter);
+
+        SseEmitter result = clientOrderController.streamOrders(testClient);
+
+        Assertions.assertSame(emitter, result);
+    }
+
     // Вспомогательные методы для создания тестовых данных
 
     /**
@@ -198,7 +311,8 @@ class ClientOrderControllerTest {
         return new OrderClientCreateRequestDto(
                 1L,
                 "Ул Пушкина",
-                items
+                items,
+                null
         );
     }
 
@@ -1,14 +1,19 @@
 package naumen.project.controller;
 
+import naumen.project.dto.order.OrderChangeDto;
+import naumen.project.dto.order.OrderChangesResponseDto;
 import naumen.project.dto.order.courier.OrderCourierResponseDto;
 import naumen.project.dto.paged.PagedResponseDto;
 import naumen.project.entity.Order;
+import naumen.project.entity.OrderChange;
 import naumen.project.entity.User;
 import naumen.project.entity.enums.OrderStatus;
 import naumen.project.entity.enums.Role;
 import naumen.project.mapper.OrderMapper;
 import naumen.project.mapper.PageMapper;
 import naumen.project.service.order.CourierOrderService;
+import naumen.project.service.order.OrderChangeService;
+import naumen.project.stream.OrderStreamHub;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,8 +24,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -35,6 +42,12 @@ class CourierOrderControllerTest {
     @Mock
     private OrderMapper orderMapper;
 
+    @Mock
+    private OrderChangeService orderChangeService;
+
+    @Mock
+    private OrderStreamHub orderStreamHub;
+
     @Mock
     private PageMapper pageMapper;
 
@@ -93,6 +106,39 @@ class CourierOrderControllerTest {
         Mockito.verify(orderMapper).toCourierResponse(testOrder);
     }
 
+    /**
+     * Тестирование получения изменений заказов после указанного номера
+     */
+    @Test
+    void getOrderChanges_ShouldReturnChangesSinceSequence() {
+        OrderChange change = new OrderChange(1L, 2L, 3L, null, OrderStatus.CREATED, Instant.now());
+        change.setSequence(8L);
+        OrderChangeDto changeDto = new OrderChangeDto(8L, 1L, 2L, null, OrderStatus.CREATED, change.getChangedAt());
+        Mockito.when(orderChangeService.getChanges(Role.COURIER, testCourier, 5L, 100))
+                .thenReturn(new OrderChangeService.OrderChanges(8L, false, List.of(change)));
+        Mockito.when(orderMapper.toChangeResponse(change)).thenReturn(changeDto);
+
+        OrderChangesResponseDto result = courierOrderController.getOrderChanges(5L, 100, testCourier);
+
+        Assertions.assertEquals(8L, result.sequence());
+        Assertions.assertFalse(result.hasMore());
+        Assertions.assertEquals(List.of(changeDto), result.changes());
+    }
+
+    /**
+     * Тестирование подписки на поток событий заказов
+     */
+    @Test
+    void streamOrders_ShouldSubscribeToChannel() {
+        SseEmitter emitter = new SseEmitter();
+        Mockito.when(orderStreamHub.subscribe(OrderStreamHub.Channel.COURIER, testCourier.getId()))
+                .thenReturn(emitter);
+
+        SseEmitter result = courierOrderController.streamOrders(testCourier);
+
+        Assertions.assertSame(emitter, result);
+    }
+
     // Вспомогательные методы
 
     /**
@@ -1,5 +1,8 @@
 package naumen.project.controller;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import naumen.project.dto.menu.MenuChangesResponseDto;
 import naumen.project.dto.menu.MenuItemResponseDto;
 import naumen.project.dto.paged.PagedResponseDto;
 import naumen.project.entity.MenuItem;
@@ -14,6 +17,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -39,6 +43,9 @@ class MenuControllerTest {
     @Mock
     private PageMapper pageMapper;
 
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private MenuController menuController;
 
@@ -130,6 +137,28 @@ class MenuControllerTest {
         Assertions.assertEquals(menuItemResponse.price(), result.price());
         Mockito.verify(menuService).getMenuItemById(menuId);
         Mockito.verify(menuMapper).toResponse(testMenuItem);
+        Assertions.assertEquals(1, meterRegistry.get("singleflight.calls")
+                .tags("name", "menu.item", "outcome", "loaded").counter().count());
+    }
+
+    /**
+     * Тестирование получения изменений меню ресторана после версии клиента
+     */
+    @Test
+    void getMenuChangesShouldMapUpsertedItems() {
+        MenuItemResponseDto menuItemResponse = createMenuItemResponse(testMenuItem);
+        MenuService.MenuChanges changes = new MenuService.MenuChanges(7L, false, List.of(testMenuItem), List.of(3L));
+
+        Mockito.when(menuService.getMenuChanges(testRestaurant.getId(), 5L)).thenReturn(changes);
+        Mockito.when(menuMapper.toResponse(testMenuItem)).thenReturn(menuItemResponse);
+
+        MenuChangesResponseDto result = menuController.getMenuChanges(testRestaurant.getId(), 5L);
+
+        Assertions.assertEquals(testRestaurant.getId(), result.restaurantId());
+        Assertions.assertEquals(7L, result.version());
+        Assertions.assertFalse(result.full());
+        Assertions.assertEquals(List.of(menuItemResponse), result.upserted());
+        Assertions.assertEquals(List.of(3L), result.deleted());
     }
 
     // Вспомогательные методы для создания тестовых данных
@@ -164,7 +193,8 @@ class MenuControllerTest {
                 menuItem.getTitle(),
                 menuItem.getDescription(),
                 menuItem.getPrice(),
-                menuItem.getRestaurant().getId()
+                menuItem.getRestaurant().getId(),
+                null
         );
     }
 }
@@ -0,0 +1,206 @@
+package naumen.project.controller;
+
+import naumen.project.exception.EntityNotFoundException;
+import naumen.project.exception.InvalidInputException;
+import naumen.project.service.MenuImageService;
+import naumen.project.service.MenuImageVariantService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Модульные тесты для {@link MenuImageController}
+ */
+@ExtendWith(MockitoExtension.class)
+class MenuImageControllerTest {
+
+    private static final String HASH = "c".repeat(64);
+    private static final String FILE_NAME = HASH + ".png";
+
+    @Mock
+    private MenuImageService menuImageService;
+
+    @Mock
+    private MenuImageVariantService menuImageVariantService;
+
+    @InjectMocks
+    private MenuImageController menuImageController;
+
+    @TempDir
+    private Path tempDir;
+
+    /**
+     * Тестирование выдачи изображения целиком с заголовками кэширования
+     */
+    @Test
+    void getImageShouldWriteWholeFileWithCacheHeaders() throws IOException {
+        mockStoredImage("0123456789");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        menuImageController.getImage(FILE_NAME, null, request, response);
+
+        Assertions.assertEquals(200, response.getStatus());
+        Assertions.assertEquals("0123456789", response.getContentAsString());
+        Assertions.assertEquals("\"" + HASH + "\"", response.getHeader(HttpHeaders.ETAG));
+        Assertions.assertEquals("public, max-age=31536000, immutable", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        Assertions.assertEquals("image/png", response.getContentType());
+        Assertions.assertEquals(10, response.getContentLengthLong());
+    }
+
+    /**
+     * Тестирование выдачи диапазона байт изображения
+     */
+    @Test
+    void getImageWithRangeShouldWritePartialContent() throws IOException {
+        mockStoredImage("0123456789");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        menuImageController.getImage(FILE_NAME, null, request, response);
+
+        Assertions.assertEquals(206, response.getStatus());
+        Assertions.assertEquals("2345", response.getContentAsString());
+        Assertions.assertEquals("bytes 2-5/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    /**
+     * Тестирование запроса диапазона за пределами файла
+     */
+    @Test
+    void getImageWithUnsatisfiableRangeShouldReturn416() throws IOException {
+        mockStoredImage("0123456789");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=20-30");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        menuImageController.getImage(FILE_NAME, null, request, response);
+
+        Assertions.assertEquals(416, response.getStatus());
+        Assertions.assertEquals("bytes */10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    /**
+     * Тестирование условного запроса с совпадающим ETag
+     */
+    @Test
+    void getImageWithMatchingEtagShouldReturn304() throws IOException {
+        mockStoredImage("0123456789");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + HASH + "\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        menuImageController.getImage(FILE_NAME, null, request, response);
+
+        Assertions.assertEquals(304, response.getStatus());
+        Assertions.assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    /**
+     * Тестирование передачи файла средствами sendfile контейнера
+     */
+    @Test
+    void getImageWithSendfileSupportShouldDelegateToContainer() throws IOException {
+        Path path = mockStoredImage("0123456789");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(MenuImageController.SENDFILE_SUPPORT_ATTR, Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=4-");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        menuImageController.getImage(FILE_NAME, null, request, response);
+
+        Assertions.assertEquals(206, response.getStatus());
+        Assertions.assertEquals(0, response.getContentAsByteArray().length, "Тело пишет контейнер");
+        Assertions.assertEquals(path.toAbsolutePath().toString(),
+                request.getAttribute(MenuImageController.SENDFILE_FILENAME_ATTR));
+        Assertions.assertEquals(4L, request.getAttribute(MenuImageController.SENDFILE_START_ATTR));
+        Assertions.assertEquals(10L, request.getAttribute(MenuImageController.SENDFILE_END_ATTR));
+    }
+
+    /**
+     * Тестирование выдачи готового варианта изображения
+     */
+    @Test
+    void getImageWithGeneratedVariantShouldWriteVariant() throws IOException {
+        mockStoredImage("0123456789");
+        Path variantPath = Files.writeString(tempDir.resolve("variant.png"), "abc");
+        MenuImageService.StoredImage variant = new MenuImageService.StoredImage(
+                variantPath, HASH + "-thumbnail", MenuImageService.ImageType.PNG, 3);
+        Mockito.when(menuImageVariantService.findVariant(Mockito.any(), Mockito.eq(
+                MenuImageVariantService.Variant.THUMBNAIL))).thenReturn(Optional.of(variant));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        menuImageController.getImage(FILE_NAME, "thumbnail", new MockHttpServletRequest(), response);
+
+        Assertions.assertEquals("abc", response.getContentAsString());
+        Assertions.assertEquals("\"" + HASH + "-thumbnail\"", response.getHeader(HttpHeaders.ETAG));
+        Assertions.assertEquals("public, max-age=31536000, immutable", response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    /**
+     * Тестирование запроса еще не сгенерированного варианта: отдается исходное изображение с коротким кэшем
+     */
+    @Test
+    void getImageWithPendingVariantShouldWriteOriginalWithShortCache() throws IOException {
+        mockStoredImage("0123456789");
+        Mockito.when(menuImageVariantService.findVariant(Mockito.any(), Mockito.eq(
+                MenuImageVariantService.Variant.LIST))).thenReturn(Optional.empty());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        menuImageController.getImage(FILE_NAME, "list", new MockHttpServletRequest(), response);
+
+        Assertions.assertEquals("0123456789", response.getContentAsString());
+        Assertions.assertEquals("public, max-age=60", response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    /**
+     * Тестирование запроса неизвестного варианта изображения
+     */
+    @Test
+    void getImageWithUnknownVariantShouldThrowException() throws IOException {
+        mockStoredImage("0123456789");
+
+        InvalidInputException exception = Assertions.assertThrows(InvalidInputException.class,
+                () -> menuImageController.getImage(FILE_NAME, "huge", new MockHttpServletRequest(),
+                        new MockHttpServletResponse()));
+
+        Assertions.assertEquals("Неизвестный вариант изображения 'huge'", exception.getMessage());
+    }
+
+    /**
+     * Тестирование запроса несуществующего изображения
+     */
+    @Test
+    void getImageWithUnknownFileShouldThrowException() throws IOException {
+        Mockito.when(menuImageService.find(FILE_NAME)).thenReturn(Optional.empty());
+
+        Assertions.assertThrows(EntityNotFoundException.class, () -> menuImageController.getImage(FILE_NAME, null,
+                new MockHttpServletRequest(), new MockHttpServletResponse()));
+    }
+
+    // Вспомогательные методы для создания тестовых данных
+
+    /**
+     * Создание файла изображения и настройка его поиска
+     */
+    private Path mockStoredImage(String content) throws IOException {
+        Path path = Files.writeString(tempDir.resolve(FILE_NAME), content);
+        Mockito.when(menuImageService.find(FILE_NAME)).thenReturn(Optional.of(
+                new MenuImageService.StoredImage(path, HASH, MenuImageService.ImageType.PNG, content.length())));
+        return path;
+    }
+}
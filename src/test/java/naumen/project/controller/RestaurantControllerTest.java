@@ -0,0 +1,65 @@
+package naumen.project.controller;
+
+import naumen.project.dto.paged.CursorPagedResponseDto;
+import naumen.project.dto.restaurant.RestaurantSummaryDto;
+import naumen.project.service.RestaurantDirectoryService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Модульные тесты для {@link RestaurantController}
+ */
+@ExtendWith(MockitoExtension.class)
+class RestaurantControllerTest {
+
+    @Mock
+    private RestaurantDirectoryService restaurantDirectoryService;
+
+    @InjectMocks
+    private RestaurantController restaurantController;
+
+    /**
+     * Тестирование получения страницы каталога, за которой есть следующая страница
+     */
+    @Test
+    void getRestaurantsWithMoreResultsShouldReturnNextCursor() {
+        Mockito.when(restaurantDirectoryService.getRestaurants(null, 3))
+                .thenReturn(List.of(createSummary(1L), createSummary(4L), createSummary(9L)));
+
+        CursorPagedResponseDto<RestaurantSummaryDto> result = restaurantController.getRestaurants(null, 2);
+
+        Assertions.assertEquals(2, result.content().size());
+        Assertions.assertEquals(4L, result.nextCursor());
+    }
+
+    /**
+     * Тестирование получения последней страницы каталога
+     */
+    @Test
+    void getRestaurantsOnLastPageShouldReturnNullCursor() {
+        Mockito.when(restaurantDirectoryService.getRestaurants(4L, 3)).thenReturn(List.of(createSummary(9L)));
+
+        CursorPagedResponseDto<RestaurantSummaryDto> result = restaurantController.getRestaurants(4L, 2);
+
+        Assertions.assertEquals(1, result.content().size());
+        Assertions.assertNull(result.nextCursor());
+    }
+
+    // Вспомогательные методы для создания тестовых данных
+
+    /**
+     * Создание тестовой сводки по ресторану
+     */
+    private RestaurantSummaryDto createSummary(Long id) {
+        return new RestaurantSummaryDto(id, "Restaurant " + id, "Пушкина 17", 1,
+                BigDecimal.TEN, BigDecimal.TEN, null);
+    }
+}
@@ -1,12 +1,17 @@
 package naumen.project.controller;
 
 import naumen.project.dto.menu.CreateMenuItemRequestDto;
+import naumen.project.dto.menu.MenuImportResultDto;
 import naumen.project.dto.menu.MenuItemResponseDto;
 import naumen.project.dto.menu.UpdateMenuItemRequestDto;
 import naumen.project.entity.MenuItem;
 import naumen.project.entity.User;
 import naumen.project.entity.enums.Role;
+import naumen.project.exception.InvalidInputException;
 import naumen.project.mapper.MenuMapper;
+import naumen.project.service.MenuImageService;
+import naumen.project.service.MenuImageVariantService;
+import naumen.project.service.MenuImportService;
 import naumen.project.service.MenuService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -17,7 +22,11 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -29,6 +38,15 @@ class RestaurantMenuControllerTest {
     @Mock
     private MenuService menuService;
 
+    @Mock
+    private MenuImportService menuImportService;
+
+    @Mock
+    private MenuImageService menuImageService;
+
+    @Mock
+    private MenuImageVariantService menuImageVariantService;
+
     @Mock
     private MenuMapper menuMapper;
 
@@ -56,7 +74,8 @@ class RestaurantMenuControllerTest {
                 createRequest.title(),
                 createRequest.description(),
                 createRequest.price(),
-                testRestaurant.getId()
+                testRestaurant.getId(),
+                null
         );
 
         ArgumentCaptor<MenuItem> menuItemCaptor = ArgumentCaptor.forClass(MenuItem.class);
@@ -102,7 +121,8 @@ class RestaurantMenuControllerTest {
                 updateRequest.title(),
                 updateRequest.description(),
                 updateRequest.price(),
-                testRestaurant.getId()
+                testRestaurant.getId(),
+                null
         );
 
         Mockito.when(menuService.getMenuItemById(menuItemId)).thenReturn(Optional.of(existingMenuItem));
@@ -120,6 +140,65 @@ class RestaurantMenuControllerTest {
         Mockito.verify(menuMapper).toResponse(existingMenuItem);
     }
 
+    /**
+     * Тестирование выбора формата импорта по заголовку Content-Type
+     */
+    @Test
+    void importMenuItemsShouldDetectFormatByContentType() throws IOException {
+        InputStream body = new ByteArrayInputStream(new byte[0]);
+        MenuImportResultDto expectedResponse = new MenuImportResultDto(0, 0, false, List.of());
+
+        Mockito.when(menuImportService.importMenu(body, MenuImportService.Format.NDJSON, testRestaurant))
+                .thenReturn(expectedResponse);
+        Mockito.when(menuImportService.importMenu(body, MenuImportService.Format.CSV, testRestaurant))
+                .thenReturn(expectedResponse);
+
+        Assertions.assertEquals(expectedResponse,
+                restaurantMenuController.importMenuItems("application/x-ndjson", body, testRestaurant));
+        Assertions.assertEquals(expectedResponse,
+                restaurantMenuController.importMenuItems("text/csv; charset=utf-8", body, testRestaurant));
+
+        Mockito.verify(menuImportService).importMenu(body, MenuImportService.Format.NDJSON, testRestaurant);
+        Mockito.verify(menuImportService).importMenu(body, MenuImportService.Format.CSV, testRestaurant);
+    }
+
+    /**
+     * Тестирование загрузки изображения позиции меню
+     */
+    @Test
+    void uploadMenuItemImageShouldStoreImageAndUpdateMenuItem() throws IOException {
+        MenuItem menuItem = createMenuItem(1L, "Пицца", "Большая", new BigDecimal(450), testRestaurant);
+        InputStream body = new ByteArrayInputStream(new byte[]{1, 2, 3});
+        String fileName = "a".repeat(64) + ".jpg";
+
+        Mockito.when(menuService.getMenuItemById(1L)).thenReturn(Optional.of(menuItem));
+        Mockito.when(menuImageService.store(body)).thenReturn(fileName);
+
+        restaurantMenuController.uploadMenuItemImage(1L, body, testRestaurant);
+
+        Assertions.assertEquals(fileName, menuItem.getImage());
+        Mockito.verify(menuService).assertBelongsToRestaurant(menuItem, testRestaurant);
+        Mockito.verify(menuService).updateMenuItem(menuItem, testRestaurant);
+        Mockito.verify(menuImageVariantService).enqueue(fileName);
+    }
+
+    /**
+     * Тестирование загрузки изображения несуществующей позиции меню: файл не сохраняется
+     */
+    @Test
+    void uploadMenuItemImageWithNotFoundMenuItemShouldThrowException() {
+        InputStream body = new ByteArrayInputStream(new byte[]{1, 2, 3});
+
+        Mockito.when(menuService.getMenuItemById(1L)).thenReturn(Optional.empty());
+
+        InvalidInputException exception = Assertions.assertThrows(InvalidInputException.class,
+                () -> restaurantMenuController.uploadMenuItemImage(1L, body, testRestaurant));
+
+        Assertions.assertEquals("Не удалось загрузить изображение, причина: Позиция меню с id '1' не найдена",
+                exception.getMessage());
+        Mockito.verifyNoInteractions(menuImageService);
+    }
+
     // Вспомогательные методы для создания тестовых данных
 
     /**
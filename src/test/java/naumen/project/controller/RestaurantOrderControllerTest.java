@@ -1,15 +1,24 @@
 package naumen.project.controller;
 
+import naumen.project.dto.order.OrderChangeDto;
+import naumen.project.dto.order.OrderChangesResponseDto;
+import naumen.project.dto.order.restaurant.OrderBulkTransitionRequestDto;
+import naumen.project.dto.order.restaurant.OrderBulkTransitionResponseDto;
 import naumen.project.dto.order.restaurant.OrderRestaurantResponseDto;
 import naumen.project.dto.order.restaurant.OrderRestaurantShortResponseDto;
+import naumen.project.dto.order.restaurant.OrderTransitionFailureDto;
 import naumen.project.dto.paged.PagedResponseDto;
 import naumen.project.entity.Order;
+import naumen.project.entity.OrderChange;
 import naumen.project.entity.User;
 import naumen.project.entity.enums.OrderStatus;
 import naumen.project.entity.enums.Role;
 import naumen.project.mapper.OrderMapper;
 import naumen.project.mapper.PageMapper;
+import naumen.project.repository.OrderJdbcRepository;
+import naumen.project.service.order.OrderChangeService;
 import naumen.project.service.order.RestaurantOrderService;
+import naumen.project.stream.OrderStreamHub;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,6 +29,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -37,6 +47,12 @@ class RestaurantOrderControllerTest {
     @Mock
     private OrderMapper orderMapper;
 
+    @Mock
+    private OrderChangeService orderChangeService;
+
+    @Mock
+    private OrderStreamHub orderStreamHub;
+
     @Mock
     private PageMapper pageMapper;
 
@@ -55,7 +71,9 @@ class RestaurantOrderControllerTest {
         int size = 10;
 
         PageRequest pageRequest = PageRequest.of(page, size);
-        Page<Order> orderPage = new PageImpl<>(List.of(testOrder));
+        OrderJdbcRepository.OrderSummary summary = new OrderJdbcRepository.OrderSummary(testOrder.getId(),
+                testRestaurant.getId(), testOrder.getStatus(), testOrder.getTotalPrice(), Instant.now());
+        Page<OrderJdbcRepository.OrderSummary> orderPage = new PageImpl<>(List.of(summary));
         OrderRestaurantShortResponseDto responseDto = createOrderRestaurantShortResponseDto(testOrder);
         Page<OrderRestaurantShortResponseDto> responsePage = new PageImpl<>(List.of(responseDto));
         PagedResponseDto<OrderRestaurantShortResponseDto> pagedResponse = new PagedResponseDto<>(
@@ -63,7 +81,7 @@ class RestaurantOrderControllerTest {
         );
 
         Mockito.when(restaurantOrderService.getActiveOrders(testRestaurant, pageRequest)).thenReturn(orderPage);
-        Mockito.when(orderMapper.toRestaurantShortResponse(testOrder)).thenReturn(responseDto);
+        Mockito.when(orderMapper.toRestaurantShortResponse(summary)).thenReturn(responseDto);
         Mockito.when(pageMapper.toOrderRestaurantResponse(responsePage)).thenReturn(pagedResponse);
 
         PagedResponseDto<OrderRestaurantShortResponseDto> result = restaurantOrderController.getActiveOrders(page, size, testRestaurant);
@@ -72,7 +90,7 @@ class RestaurantOrderControllerTest {
         Assertions.assertEquals(1, result.content().size());
         Assertions.assertEquals(responseDto, result.content().getFirst());
         Mockito.verify(restaurantOrderService).getActiveOrders(testRestaurant, pageRequest);
-        Mockito.verify(orderMapper).toRestaurantShortResponse(testOrder);
+        Mockito.verify(orderMapper).toRestaurantShortResponse(summary);
         Mockito.verify(pageMapper).toOrderRestaurantResponse(responsePage);
     }
 
@@ -95,6 +113,56 @@ class RestaurantOrderControllerTest {
         Mockito.verify(orderMapper).toRestaurantResponse(testOrder);
     }
 
+    /**
+     * Тестирование массовой пометки заказов как готовых: результат сервиса преобразуется в ответ
+     */
+    @Test
+    void readyOrders_ShouldReturnTransitionedAndFailed() {
+        OrderBulkTransitionRequestDto request = new OrderBulkTransitionRequestDto(List.of(1L, 2L));
+        Mockito.when(restaurantOrderService.readyOrders(request.orderIds(), testRestaurant))
+                .thenReturn(new RestaurantOrderService.BulkTransitionResult(List.of(1L), List.of(
+                        new RestaurantOrderService.TransitionFailure(2L, "Заказ с id '2' уже приготовлен"))));
+
+        OrderBulkTransitionResponseDto result = restaurantOrderController.readyOrders(request, testRestaurant);
+
+        Assertions.assertEquals(List.of(1L), result.transitioned());
+        Assertions.assertEquals(List.of(new OrderTransitionFailureDto(2L, "Заказ с id '2' уже приготовлен")),
+                result.failed());
+    }
+
+    /**
+     * Тестирование получения изменений заказов после указанного номера
+     */
+    @Test
+    void getOrderChanges_ShouldReturnChangesSinceSequence() {
+        OrderChange change = new OrderChange(1L, 2L, 3L, null, OrderStatus.CREATED, Instant.now());
+        change.setSequence(8L);
+        OrderChangeDto changeDto = new OrderChangeDto(8L, 1L, 2L, null, OrderStatus.CREATED, change.getChangedAt());
+        Mockito.when(orderChangeService.getChanges(Role.RESTAURANT, testRestaurant, 5L, 100))
+                .thenReturn(new OrderChangeService.OrderChanges(8L, false, List.of(change)));
+        Mockito.when(orderMapper.toChangeResponse(change)).thenReturn(changeDto);
+
+        OrderChangesResponseDto result = restaurantOrderController.getOrderChanges(5L, 100, testRestaurant);
+
+        Assertions.assertEquals(8L, result.sequence());
+        Assertions.assertFalse(result.hasMore());
+        Assertions.assertEquals(List.of(changeDto), result.changes());
+    }
+
+    /**
+     * Тестирование подписки на поток событий заказов
+     */
+    @Test
+    void streamOrders_ShouldSubscribeToChannel() {
+        SseEmitter emitter = new SseEmitter();
+        Mockito.when(orderStreamHub.subscribe(OrderStreamHub.Channel.RESTAURANT, testRestaurant.getId()))
+                .thenReturn(emitter);
+
+        SseEmitter result = restaurantOrderController.streamOrders(testRestaurant);
+
+        Assertions.assertSame(emitter, result);
+    }
+
     // Вспомогательные методы
 
     /**
@@ -151,6 +219,7 @@ class RestaurantOrderControllerTest {
                 order.getTotalPrice(),
                 null,
                 Instant.now(),
+                null,
                 List.of()
         );
     }
@@ -0,0 +1,59 @@
+package naumen.project.cron;
+
+import naumen.project.config.props.OrderArchiveProps;
+import naumen.project.service.order.OrderArchiveService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+/**
+ * Модульные тесты для {@link ArchiveOrdersTask}
+ */
+@ExtendWith(MockitoExtension.class)
+class ArchiveOrdersTaskTest {
+
+    @Mock
+    private OrderArchiveService orderArchiveService;
+
+    private OrderArchiveProps props;
+    private ArchiveOrdersTask archiveOrdersTask;
+
+    @BeforeEach
+    void setUp() {
+        props = new OrderArchiveProps();
+        props.setAge(Duration.ofDays(30));
+        props.setBatchSize(10);
+        props.setMaxBatches(3);
+        archiveOrdersTask = new ArchiveOrdersTask(orderArchiveService, props);
+    }
+
+    /**
+     * Тестирование переноса пачками: следующая пачка запрашивается, только если предыдущая заполнена целиком
+     */
+    @Test
+    void runShouldStopAfterPartialBatch() {
+        Mockito.when(orderArchiveService.archiveOrders(Duration.ofDays(30), 10)).thenReturn(10, 4);
+
+        archiveOrdersTask.run();
+
+        Mockito.verify(orderArchiveService, Mockito.times(2)).archiveOrders(Duration.ofDays(30), 10);
+    }
+
+    /**
+     * Тестирование ограничения числа пачек за один запуск
+     */
+    @Test
+    void runShouldArchiveNoMoreThanMaxBatches() {
+        Mockito.when(orderArchiveService.archiveOrders(Duration.ofDays(30), 10)).thenReturn(10);
+
+        archiveOrdersTask.run();
+
+        Mockito.verify(orderArchiveService, Mockito.times(props.getMaxBatches()))
+                .archiveOrders(Duration.ofDays(30), 10);
+    }
+}
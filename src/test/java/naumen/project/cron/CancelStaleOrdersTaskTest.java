@@ -0,0 +1,57 @@
+package naumen.project.cron;
+
+import naumen.project.config.props.OrderSweepProps;
+import naumen.project.entity.enums.OrderStatus;
+import naumen.project.service.order.OrderSweepService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Модульные тесты для {@link CancelStaleOrdersTask}
+ */
+@ExtendWith(MockitoExtension.class)
+class CancelStaleOrdersTaskTest {
+
+    @Mock
+    private OrderSweepService orderSweepService;
+
+    private CancelStaleOrdersTask cancelStaleOrdersTask;
+
+    @BeforeEach
+    void setUp() {
+        OrderSweepProps props = new OrderSweepProps();
+        props.setTimeouts(Map.of(
+                OrderStatus.CREATED, Duration.ofHours(2),
+                OrderStatus.DELIVERING, Duration.ofHours(4)
+        ));
+        props.setBatchSize(10);
+        props.setMaxBatches(3);
+        cancelStaleOrdersTask = new CancelStaleOrdersTask(orderSweepService, props);
+    }
+
+    /**
+     * Тестирование отмены пачками: следующая пачка запрашивается, только если предыдущая заполнена целиком,
+     * и не больше заданного числа пачек за запуск
+     */
+    @Test
+    void runShouldCancelInBoundedBatches() {
+        Mockito.when(orderSweepService.cancelStaleOrders(OrderStatus.CREATED, Duration.ofHours(2), 10))
+                .thenReturn(10, 4);
+        Mockito.when(orderSweepService.cancelStaleOrders(OrderStatus.DELIVERING, Duration.ofHours(4), 10))
+                .thenReturn(10);
+
+        cancelStaleOrdersTask.run();
+
+        Mockito.verify(orderSweepService, Mockito.times(2))
+                .cancelStaleOrders(OrderStatus.CREATED, Duration.ofHours(2), 10);
+        Mockito.verify(orderSweepService, Mockito.times(3))
+                .cancelStaleOrders(OrderStatus.DELIVERING, Duration.ofHours(4), 10);
+    }
+}
@@ -0,0 +1,37 @@
+package naumen.project.cron;
+
+import naumen.project.datasource.ReadYourWritesTracker;
+import naumen.project.datasource.ReplicaDataSources;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Модульные тесты для {@link CheckReplicaLagTask}
+ */
+@ExtendWith(MockitoExtension.class)
+class CheckReplicaLagTaskTest {
+
+    @Mock
+    private ReplicaDataSources replicaDataSources;
+
+    @Mock
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    @InjectMocks
+    private CheckReplicaLagTask checkReplicaLagTask;
+
+    /**
+     * Тестирование проверки реплик и очистки отметок о записях
+     */
+    @Test
+    void runShouldCheckLagAndEvictExpiredWrites() {
+        checkReplicaLagTask.run();
+
+        Mockito.verify(replicaDataSources).checkLag();
+        Mockito.verify(readYourWritesTracker).evictExpired();
+    }
+}
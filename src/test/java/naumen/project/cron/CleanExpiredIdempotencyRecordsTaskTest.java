@@ -0,0 +1,41 @@
+package naumen.project.cron;
+
+import naumen.project.repository.IdempotencyJdbcRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+
+/**
+ * Модульные тесты для {@link CleanExpiredIdempotencyRecordsTask}
+ */
+@ExtendWith(MockitoExtension.class)
+class CleanExpiredIdempotencyRecordsTaskTest {
+
+    @Mock
+    private IdempotencyJdbcRepository idempotencyJdbcRepository;
+
+    @InjectMocks
+    private CleanExpiredIdempotencyRecordsTask cleanExpiredIdempotencyRecordsTask;
+
+    /**
+     * Тестирование удаления истекших записей на текущий момент
+     */
+    @Test
+    void runShouldDeleteRecordsExpiredByNow() {
+        Instant before = Instant.now();
+
+        cleanExpiredIdempotencyRecordsTask.run();
+
+        ArgumentCaptor<Instant> captor = ArgumentCaptor.forClass(Instant.class);
+        Mockito.verify(idempotencyJdbcRepository).deleteExpired(captor.capture());
+        Assertions.assertFalse(captor.getValue().isBefore(before));
+        Assertions.assertFalse(captor.getValue().isAfter(Instant.now()));
+    }
+}
@@ -0,0 +1,32 @@
+package naumen.project.cron;
+
+import naumen.project.service.MenuImageVariantService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Модульные тесты для {@link PurgeEvictedImageVariantsTask}
+ */
+@ExtendWith(MockitoExtension.class)
+class PurgeEvictedImageVariantsTaskTest {
+
+    @Mock
+    private MenuImageVariantService menuImageVariantService;
+
+    @InjectMocks
+    private PurgeEvictedImageVariantsTask purgeEvictedImageVariantsTask;
+
+    /**
+     * Тестирование удаления файлов исключенных вариантов
+     */
+    @Test
+    void runShouldPurgeEvictedVariants() {
+        purgeEvictedImageVariantsTask.run();
+
+        Mockito.verify(menuImageVariantService).purgeEvicted();
+    }
+}
@@ -0,0 +1,53 @@
+package naumen.project.cron;
+
+import naumen.project.scheduling.ScheduledOrderTimer;
+import naumen.project.service.order.ScheduledOrderService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+/**
+ * Модульные тесты для {@link ReleaseScheduledOrdersTask}
+ */
+@ExtendWith(MockitoExtension.class)
+class ReleaseScheduledOrdersTaskTest {
+
+    @Mock
+    private ScheduledOrderTimer scheduledOrderTimer;
+
+    @Mock
+    private ScheduledOrderService scheduledOrderService;
+
+    @InjectMocks
+    private ReleaseScheduledOrdersTask releaseScheduledOrdersTask;
+
+    /**
+     * Тестирование передачи заказов, время передачи которых наступило
+     */
+    @Test
+    void runShouldReleaseDueOrders() {
+        Mockito.when(scheduledOrderTimer.advance()).thenReturn(List.of(1L, 2L));
+        Mockito.when(scheduledOrderService.releaseOrders(List.of(1L, 2L))).thenReturn(2);
+
+        releaseScheduledOrdersTask.run();
+
+        Mockito.verify(scheduledOrderService).releaseOrders(List.of(1L, 2L));
+    }
+
+    /**
+     * Тестирование тика без заказов к передаче: база данных не опрашивается
+     */
+    @Test
+    void runWithoutDueOrdersShouldNotCallService() {
+        Mockito.when(scheduledOrderTimer.advance()).thenReturn(List.of());
+
+        releaseScheduledOrdersTask.run();
+
+        Mockito.verifyNoInteractions(scheduledOrderService);
+    }
+}
@@ -0,0 +1,32 @@
+package naumen.project.cron;
+
+import naumen.project.kitchen.KitchenQueue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Модульные тесты для {@link ReloadKitchenQueueTask}
+ */
+@ExtendWith(MockitoExtension.class)
+class ReloadKitchenQueueTaskTest {
+
+    @Mock
+    private KitchenQueue kitchenQueue;
+
+    @InjectMocks
+    private ReloadKitchenQueueTask reloadKitchenQueueTask;
+
+    /**
+     * Тестирование перестроения очередей активных заказов
+     */
+    @Test
+    void runShouldReloadKitchenQueue() {
+        reloadKitchenQueueTask.run();
+
+        Mockito.verify(kitchenQueue).reload();
+    }
+}
@@ -0,0 +1,32 @@
+package naumen.project.cron;
+
+import naumen.project.metrics.OrderStageMetrics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Модульные тесты для {@link ReloadOrderStageMetricsTask}
+ */
+@ExtendWith(MockitoExtension.class)
+class ReloadOrderStageMetricsTaskTest {
+
+    @Mock
+    private OrderStageMetrics orderStageMetrics;
+
+    @InjectMocks
+    private ReloadOrderStageMetricsTask reloadOrderStageMetricsTask;
+
+    /**
+     * Тестирование перестроения гистограмм времени в статусах заказов
+     */
+    @Test
+    void runShouldReloadOrderStageMetrics() {
+        reloadOrderStageMetricsTask.run();
+
+        Mockito.verify(orderStageMetrics).reload();
+    }
+}
@@ -0,0 +1,32 @@
+package naumen.project.cron;
+
+import naumen.project.service.RestaurantDirectoryService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Модульные тесты для {@link ReloadRestaurantDirectoryTask}
+ */
+@ExtendWith(MockitoExtension.class)
+class ReloadRestaurantDirectoryTaskTest {
+
+    @Mock
+    private RestaurantDirectoryService restaurantDirectoryService;
+
+    @InjectMocks
+    private ReloadRestaurantDirectoryTask reloadRestaurantDirectoryTask;
+
+    /**
+     * Тестирование полной перезагрузки каталога ресторанов
+     */
+    @Test
+    void runShouldReloadDirectory() {
+        reloadRestaurantDirectoryTask.run();
+
+        Mockito.verify(restaurantDirectoryService).reload();
+    }
+}
@@ -0,0 +1,32 @@
+package naumen.project.cron;
+
+import naumen.project.scheduling.ScheduledOrderTimer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Модульные тесты для {@link ReloadScheduledOrdersTask}
+ */
+@ExtendWith(MockitoExtension.class)
+class ReloadScheduledOrdersTaskTest {
+
+    @Mock
+    private ScheduledOrderTimer scheduledOrderTimer;
+
+    @InjectMocks
+    private ReloadScheduledOrdersTask reloadScheduledOrdersTask;
+
+    /**
+     * Тестирование загрузки запланированных заказов в колесо таймеров
+     */
+    @Test
+    void runShouldReloadScheduledOrders() {
+        reloadScheduledOrdersTask.run();
+
+        Mockito.verify(scheduledOrderTimer).reload();
+    }
+}
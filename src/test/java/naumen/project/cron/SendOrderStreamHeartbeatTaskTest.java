@@ -0,0 +1,32 @@
+package naumen.project.cron;
+
+import naumen.project.stream.OrderStreamHub;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Модульные тесты для {@link SendOrderStreamHeartbeatTask}
+ */
+@ExtendWith(MockitoExtension.class)
+class SendOrderStreamHeartbeatTaskTest {
+
+    @Mock
+    private OrderStreamHub orderStreamHub;
+
+    @InjectMocks
+    private SendOrderStreamHeartbeatTask sendOrderStreamHeartbeatTask;
+
+    /**
+     * Тестирование отправки комментария подписчикам потоков событий заказов
+     */
+    @Test
+    void runShouldSendHeartbeat() {
+        sendOrderStreamHeartbeatTask.run();
+
+        Mockito.verify(orderStreamHub).heartbeat();
+    }
+}
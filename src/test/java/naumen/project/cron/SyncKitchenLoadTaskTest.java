@@ -0,0 +1,32 @@
+package naumen.project.cron;
+
+import naumen.project.kitchen.KitchenLoad;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Модульные тесты для {@link SyncKitchenLoadTask}
+ */
+@ExtendWith(MockitoExtension.class)
+class SyncKitchenLoadTaskTest {
+
+    @Mock
+    private KitchenLoad kitchenLoad;
+
+    @InjectMocks
+    private SyncKitchenLoadTask syncKitchenLoadTask;
+
+    /**
+     * Тестирование пересчета очередей кухонь
+     */
+    @Test
+    void runShouldReloadKitchenLoad() {
+        syncKitchenLoadTask.run();
+
+        Mockito.verify(kitchenLoad).reload();
+    }
+}
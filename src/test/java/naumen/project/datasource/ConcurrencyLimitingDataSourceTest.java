@@ -0,0 +1,95 @@
+package naumen.project.datasource;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+/**
+ * Модульные тесты для {@link ConcurrencyLimitingDataSource}
+ */
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitingDataSourceTest {
+
+    @Mock
+    private DataSource targetDataSource;
+
+    @Mock
+    private Connection targetConnection;
+
+    private ConcurrencyLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        Mockito.lenient().when(targetDataSource.getConnection()).thenReturn(targetConnection);
+        dataSource = new ConcurrencyLimitingDataSource(targetDataSource, 1, 0, Duration.ofMillis(10));
+    }
+
+    /**
+     * Тестирование отказа при исчерпании лимита соединений
+     */
+    @Test
+    void getConnectionOverLimitShouldThrowException() throws SQLException {
+        dataSource.getConnection();
+
+        SQLTransientConnectionException exception = Assertions.assertThrows(SQLTransientConnectionException.class,
+                () -> dataSource.getConnection());
+
+        Assertions.assertEquals("Превышено количество ожидающих соединения с БД: 0", exception.getMessage());
+        Mockito.verify(targetDataSource, Mockito.times(1)).getConnection();
+    }
+
+    /**
+     * Тестирование возврата разрешения при закрытии соединения, в том числе повторном
+     */
+    @Test
+    void closeConnectionShouldReleasePermitOnce() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        connection.close();
+        connection.close();
+
+        Connection next = dataSource.getConnection();
+
+        Assertions.assertNotSame(connection, next);
+        Assertions.assertThrows(SQLTransientConnectionException.class, () -> dataSource.getConnection());
+        Mockito.verify(targetConnection, Mockito.times(2)).close();
+    }
+
+    /**
+     * Тестирование отказа по таймауту ожидания соединения
+     */
+    @Test
+    void getConnectionWithTimeoutShouldThrowException() throws SQLException {
+        ConcurrencyLimitingDataSource waitingDataSource =
+                new ConcurrencyLimitingDataSource(targetDataSource, 1, 1, Duration.ofMillis(10));
+        waitingDataSource.getConnection();
+
+        SQLTransientConnectionException exception = Assertions.assertThrows(SQLTransientConnectionException.class,
+                () -> waitingDataSource.getConnection());
+
+        Assertions.assertEquals("Не удалось получить соединение с БД за 10 мс", exception.getMessage());
+    }
+
+    /**
+     * Тестирование возврата разрешения, если пул не выдал соединение
+     */
+    @Test
+    void getConnectionWithTargetFailureShouldReleasePermit() throws SQLException {
+        Mockito.when(targetDataSource.getConnection())
+                .thenThrow(new SQLException("Пул недоступен"))
+                .thenReturn(targetConnection);
+
+        Assertions.assertThrows(SQLException.class, () -> dataSource.getConnection());
+
+        Assertions.assertNotNull(dataSource.getConnection());
+    }
+}
@@ -0,0 +1,84 @@
+package naumen.project.datasource;
+
+import naumen.project.auth.JwtAuthentication;
+import naumen.project.config.props.DataSourceProps;
+import naumen.project.entity.User;
+import naumen.project.entity.enums.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Модульные тесты для {@link ReadYourWritesTracker}
+ */
+class ReadYourWritesTrackerTest {
+
+    private final DataSourceProps dataSourceProps = new DataSourceProps();
+
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    @BeforeEach
+    void setUp() {
+        dataSourceProps.setReadYourWritesWindow(Duration.ofMinutes(1));
+        readYourWritesTracker = new ReadYourWritesTracker(dataSourceProps);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Тестирование чтения из основной БД только для пользователя, выполнившего запись
+     */
+    @Test
+    void markWriteShouldMakeOnlyCurrentUserSticky() {
+        authenticate(1L);
+        readYourWritesTracker.markWrite();
+
+        Assertions.assertTrue(readYourWritesTracker.isSticky());
+
+        authenticate(2L);
+        Assertions.assertFalse(readYourWritesTracker.isSticky());
+    }
+
+    /**
+     * Тестирование истечения окна после записи
+     */
+    @Test
+    void stickinessShouldExpireAfterWindow() {
+        dataSourceProps.setReadYourWritesWindow(Duration.ZERO);
+        authenticate(1L);
+        readYourWritesTracker.markWrite();
+
+        readYourWritesTracker.evictExpired();
+
+        Assertions.assertFalse(readYourWritesTracker.isSticky());
+    }
+
+    /**
+     * Тестирование запросов без аутентификации
+     */
+    @Test
+    void anonymousRequestShouldNotBeSticky() {
+        readYourWritesTracker.markWrite();
+
+        Assertions.assertFalse(readYourWritesTracker.isSticky());
+    }
+
+    // Вспомогательные методы для создания тестовых данных
+
+    /**
+     * Аутентификация тестового пользователя в текущем потоке
+     */
+    private void authenticate(Long id) {
+        User user = new User("client" + id + "@example.com", "Test Client", "+79991234567", Role.CLIENT, null);
+        user.setId(id);
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthentication(user, true, List.of()));
+    }
+}
@@ -0,0 +1,122 @@
+package naumen.project.datasource;
+
+import naumen.project.entity.enums.TokenType;
+import naumen.project.service.AuthTokenService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Модульные тесты для {@link ReplicaRoutingDataSource}
+ */
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private ReplicaDataSources replicaDataSources;
+
+    @Mock
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        routingDataSource = new ReplicaRoutingDataSource(primary, Map.of("replica-0", replica),
+                replicaDataSources, readYourWritesTracker);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * Тестирование направления читающей транзакции на доступную реплику
+     */
+    @Test
+    void readOnlyTransactionShouldUseHealthyReplica() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Mockito.when(replicaDataSources.nextHealthy()).thenReturn(Optional.of("replica-0"));
+
+        Assertions.assertEquals("replica-0", routingDataSource.determineCurrentLookupKey());
+    }
+
+    /**
+     * Тестирование чтения из основной БД, если доступных реплик нет
+     */
+    @Test
+    void readOnlyTransactionWithoutHealthyReplicaShouldUsePrimary() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Mockito.when(replicaDataSources.nextHealthy()).thenReturn(Optional.empty());
+
+        Assertions.assertEquals(ReplicaRoutingDataSource.PRIMARY, routingDataSource.determineCurrentLookupKey());
+    }
+
+    /**
+     * Тестирование чтения из основной БД сразу после записи пользователя
+     */
+    @Test
+    void readOnlyTransactionAfterOwnWriteShouldUsePrimary() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Mockito.when(readYourWritesTracker.isSticky()).thenReturn(true);
+
+        Assertions.assertEquals(ReplicaRoutingDataSource.PRIMARY, routingDataSource.determineCurrentLookupKey());
+        Mockito.verify(replicaDataSources, Mockito.never()).nextHealthy();
+    }
+
+    /**
+     * Тестирование записи в основную БД с отметкой о записи пользователя после фиксации транзакции
+     */
+    @Test
+    void readWriteTransactionShouldUsePrimaryAndMarkWriteAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        Assertions.assertEquals(ReplicaRoutingDataSource.PRIMARY, routingDataSource.determineCurrentLookupKey());
+        Mockito.verify(readYourWritesTracker, Mockito.never()).markWrite();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCommit());
+
+        Mockito.verify(readYourWritesTracker).markWrite();
+        Mockito.verify(replicaDataSources, Mockito.never()).nextHealthy();
+    }
+
+    /**
+     * Тестирование проверки токена в основной БД: проверка выполняется до аутентификации,
+     * поэтому отставшая реплика не должна решать, разрешен ли токен
+     */
+    @Test
+    void tokenCheckShouldUsePrimary() throws NoSuchMethodException {
+        Method isTokenAllowed = AuthTokenService.class.getMethod("isTokenAllowed", String.class, TokenType.class);
+        TransactionAttribute attribute = new AnnotationTransactionAttributeSource()
+                .getTransactionAttribute(isTokenAllowed, AuthTokenService.class);
+
+        Assertions.assertNotNull(attribute);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(attribute.isReadOnly());
+
+        Assertions.assertEquals(ReplicaRoutingDataSource.PRIMARY, routingDataSource.determineCurrentLookupKey());
+        Mockito.verify(replicaDataSources, Mockito.never()).nextHealthy();
+    }
+}
@@ -0,0 +1,104 @@
+package naumen.project.deadline;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+
+/**
+ * Модульные тесты для {@link DeadlineDataSource}
+ */
+@ExtendWith(MockitoExtension.class)
+class DeadlineDataSourceTest {
+
+    private static final String SQL = "SELECT 1";
+
+    @Mock
+    private DataSource targetDataSource;
+
+    @Mock
+    private Connection targetConnection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    private DeadlineDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DeadlineDataSource(targetDataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    /**
+     * Тестирование таймаута запроса по оставшемуся времени, округленному вверх до секунд
+     */
+    @Test
+    void prepareStatementShouldSetRemainingTimeAsQueryTimeout() throws SQLException {
+        Mockito.when(targetDataSource.getConnection()).thenReturn(targetConnection);
+        Mockito.when(targetConnection.prepareStatement(SQL)).thenReturn(statement);
+        RequestDeadline.set(Duration.ofMillis(2500));
+
+        PreparedStatement result = dataSource.getConnection().prepareStatement(SQL);
+
+        Assertions.assertSame(statement, result);
+        Mockito.verify(statement).setQueryTimeout(3);
+    }
+
+    /**
+     * Тестирование запроса вне HTTP запроса: таймаут не выставляется
+     */
+    @Test
+    void prepareStatementWithoutDeadlineShouldNotSetTimeout() throws SQLException {
+        Mockito.when(targetDataSource.getConnection()).thenReturn(targetConnection);
+        Mockito.when(targetConnection.prepareStatement(SQL)).thenReturn(statement);
+
+        dataSource.getConnection().prepareStatement(SQL);
+
+        Mockito.verify(statement, Mockito.never()).setQueryTimeout(Mockito.anyInt());
+    }
+
+    /**
+     * Тестирование отказа в соединении после истечения времени на обработку запроса
+     */
+    @Test
+    void getConnectionAfterDeadlineShouldThrowException() throws SQLException {
+        RequestDeadline.set(Duration.ofMillis(-1));
+
+        SQLTimeoutException exception = Assertions.assertThrows(SQLTimeoutException.class,
+                () -> dataSource.getConnection());
+
+        Assertions.assertEquals("Время на обработку запроса истекло", exception.getMessage());
+        Mockito.verify(targetDataSource, Mockito.never()).getConnection();
+    }
+
+    /**
+     * Тестирование отказа в создании statement после истечения времени на обработку запроса
+     */
+    @Test
+    void prepareStatementAfterDeadlineShouldThrowException() throws SQLException {
+        Mockito.when(targetDataSource.getConnection()).thenReturn(targetConnection);
+        RequestDeadline.set(Duration.ofMinutes(1));
+        Connection connection = dataSource.getConnection();
+        RequestDeadline.set(Duration.ofMillis(-1));
+
+        Assertions.assertThrows(SQLTimeoutException.class, () -> connection.prepareStatement(SQL));
+
+        Mockito.verify(targetConnection, Mockito.never()).prepareStatement(Mockito.anyString());
+    }
+}
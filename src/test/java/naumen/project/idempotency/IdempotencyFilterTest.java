@@ -0,0 +1,119 @@
+package naumen.project.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import naumen.project.config.props.IdempotencyProps;
+import naumen.project.entity.User;
+import naumen.project.entity.enums.Role;
+import naumen.project.exception.handler.ErrorResponseWriter;
+import naumen.project.repository.IdempotencyJdbcRepository;
+import naumen.project.service.IdempotencyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Модульные тесты для {@link IdempotencyFilter}
+ */
+@ExtendWith(MockitoExtension.class)
+class IdempotencyFilterTest {
+
+    private static final String PATH = "/api/v1/client/orders";
+    private static final String KEY = "c0a8012e-7f3b-4a53-9d2e-1b5f6e2f9a10";
+
+    @Mock
+    private IdempotencyJdbcRepository idempotencyJdbcRepository;
+
+    private IdempotencyFilter idempotencyFilter;
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyProps.Endpoint endpoint = new IdempotencyProps.Endpoint();
+        endpoint.setMethod("POST");
+        endpoint.setPath(PATH);
+        IdempotencyProps props = new IdempotencyProps();
+        props.setEndpoints(List.of(endpoint));
+
+        IdempotencyService idempotencyService = new IdempotencyService(idempotencyJdbcRepository, props,
+                new SimpleMeterRegistry());
+        idempotencyFilter = new IdempotencyFilter(idempotencyService, props,
+                new ErrorResponseWriter(new ObjectMapper()));
+
+        User client = new User("client@example.com", "Test Client", "+79991234567", Role.CLIENT, null);
+        client.setId(1L);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(client, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Тестирование повтора после ответа 429 с тем же ключом: повтор выполняется заново и оформляет заказ,
+     * а не получает сохраненный ответ 429
+     */
+    @Test
+    void retryAfterTooManyRequestsShouldExecuteAgain() throws Exception {
+        Mockito.when(idempotencyJdbcRepository.tryAcquire(ArgumentMatchers.anyString(), ArgumentMatchers.anyString(),
+                ArgumentMatchers.any(), ArgumentMatchers.any())).thenReturn(true);
+        AtomicInteger calls = new AtomicInteger();
+        FilterChain chain = (request, response) -> {
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            if (calls.incrementAndGet() == 1) {
+                httpResponse.setStatus(429);
+                httpResponse.setHeader(HttpHeaders.RETRY_AFTER, "5");
+            } else {
+                httpResponse.setStatus(201);
+                httpResponse.setContentType("application/json");
+                httpResponse.getOutputStream().write("{\"id\": 1}".getBytes(StandardCharsets.UTF_8));
+            }
+        };
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        idempotencyFilter.doFilter(createRequest(), first, chain);
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        idempotencyFilter.doFilter(createRequest(), retry, chain);
+
+        Assertions.assertEquals(429, first.getStatus());
+        Assertions.assertEquals("5", first.getHeader(HttpHeaders.RETRY_AFTER));
+        Assertions.assertEquals(201, retry.getStatus());
+        Assertions.assertNull(retry.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED_HEADER));
+        Assertions.assertEquals("{\"id\": 1}", retry.getContentAsString());
+        Assertions.assertEquals(2, calls.get());
+        Mockito.verify(idempotencyJdbcRepository).release(ArgumentMatchers.anyString());
+        Mockito.verify(idempotencyJdbcRepository).complete(ArgumentMatchers.anyString(), ArgumentMatchers.eq(201),
+                ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    // Вспомогательные методы для создания тестовых данных
+
+    /**
+     * Создание запроса на оформление заказа с ключом идемпотентности
+     */
+    private MockHttpServletRequest createRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", PATH);
+        request.setServletPath(PATH);
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, KEY);
+        request.setContent("{\"items\": []}".getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
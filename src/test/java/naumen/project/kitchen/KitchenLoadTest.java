@@ -0,0 +1,183 @@
+package naumen.project.kitchen;
+
+import naumen.project.config.props.KitchenProps;
+import naumen.project.entity.enums.OrderStatus;
+import naumen.project.event.OrderStatusChangedEvent;
+import naumen.project.repository.OrderJdbcRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Модульные тесты для {@link KitchenLoad}
+ */
+@ExtendWith(MockitoExtension.class)
+class KitchenLoadTest {
+
+    private static final Long RESTAURANT_ID = 3L;
+
+    @Mock
+    private OrderJdbcRepository orderJdbcRepository;
+
+    private KitchenLoad kitchenLoad;
+
+    @BeforeEach
+    void setUp() {
+        KitchenProps props = new KitchenProps();
+        props.setDefaultCapacity(2);
+        props.setCapacities(Map.of(4L, 0));
+        kitchenLoad = new KitchenLoad(props, orderJdbcRepository);
+    }
+
+    /**
+     * Тестирование резервирования мест в очереди кухни до заполнения очереди
+     */
+    @Test
+    void tryReserveShouldFailWhenCapacityReached() {
+        Assertions.assertTrue(kitchenLoad.tryReserve(RESTAURANT_ID).isPresent());
+        Assertions.assertTrue(kitchenLoad.tryReserve(RESTAURANT_ID).isPresent());
+        Assertions.assertTrue(kitchenLoad.tryReserve(RESTAURANT_ID).isEmpty());
+        Assertions.assertEquals(2, kitchenLoad.getQueued(RESTAURANT_ID));
+
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertTrue(kitchenLoad.tryReserve(4L).isPresent(),
+                    "Нулевое ограничение означает отсутствие ограничения");
+        }
+    }
+
+    /**
+     * Тестирование возврата места при откате транзакции, в которой создавался заказ
+     */
+    @Test
+    void tryReserveShouldReleaseOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            Assertions.assertTrue(kitchenLoad.tryReserve(RESTAURANT_ID).isPresent());
+            Assertions.assertEquals(1, kitchenLoad.getQueued(RESTAURANT_ID));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Assertions.assertEquals(0, kitchenLoad.getQueued(RESTAURANT_ID));
+    }
+
+    /**
+     * Тестирование освобождения места только при выходе заказа из очереди кухни
+     */
+    @Test
+    void onOrderStatusChangedShouldReleaseWhenOrderLeavesQueue() {
+        kitchenLoad.tryReserve(RESTAURANT_ID);
+        kitchenLoad.tryReserve(RESTAURANT_ID);
+
+        kitchenLoad.onOrderStatusChanged(
+                new OrderStatusChangedEvent(1L, RESTAURANT_ID, 2L, null, OrderStatus.CREATED,
+                        OrderStatus.ACCEPTED, null, null, BigDecimal.TEN, Instant.now()));
+        Assertions.assertEquals(2, kitchenLoad.getQueued(RESTAURANT_ID));
+
+        kitchenLoad.onOrderStatusChanged(
+                new OrderStatusChangedEvent(1L, RESTAURANT_ID, 2L, null, OrderStatus.ACCEPTED,
+                        OrderStatus.PREPARED, null, null, BigDecimal.TEN, Instant.now()));
+        kitchenLoad.onOrderStatusChanged(
+                new OrderStatusChangedEvent(2L, RESTAURANT_ID, 2L, null, OrderStatus.CREATED,
+                        OrderStatus.DELETED, null, null, BigDecimal.TEN, Instant.now()));
+        Assertions.assertEquals(0, kitchenLoad.getQueued(RESTAURANT_ID));
+    }
+
+    /**
+     * Тестирование занятия места при передаче запланированного заказа ресторану, даже при заполненной очереди
+     */
+    @Test
+    void onOrderStatusChangedShouldOccupyPlaceWhenScheduledOrderReleased() {
+        kitchenLoad.tryReserve(RESTAURANT_ID);
+        kitchenLoad.tryReserve(RESTAURANT_ID);
+
+        kitchenLoad.onOrderStatusChanged(
+                new OrderStatusChangedEvent(1L, RESTAURANT_ID, 2L, null, OrderStatus.SCHEDULED,
+                        OrderStatus.CREATED, null, null, BigDecimal.TEN, Instant.now()));
+        kitchenLoad.onOrderStatusChanged(
+                new OrderStatusChangedEvent(2L, RESTAURANT_ID, 2L, null, OrderStatus.SCHEDULED,
+                        OrderStatus.DELETED, null, null, BigDecimal.TEN, Instant.now()));
+
+        Assertions.assertEquals(3, kitchenLoad.getQueued(RESTAURANT_ID));
+    }
+
+    /**
+     * Тестирование пересчета очередей по базе данных
+     */
+    @Test
+    void reloadShouldReplaceCountsFromDatabase() {
+        kitchenLoad.tryReserve(RESTAURANT_ID);
+        kitchenLoad.tryReserve(5L);
+        Mockito.when(orderJdbcRepository.countByRestaurant(Mockito.anyCollection()))
+                .thenReturn(Map.of(5L, 7));
+
+        kitchenLoad.reload();
+
+        Assertions.assertEquals(0, kitchenLoad.getQueued(RESTAURANT_ID));
+        Assertions.assertEquals(7, kitchenLoad.getQueued(5L));
+    }
+
+    /**
+     * Тестирование пересчета очередей: резервы незавершенных транзакций и изменения,
+     * зафиксированные во время загрузки снимка, не теряются
+     */
+    @Test
+    void reloadShouldKeepInFlightReservationsAndChangesDuringLoad() {
+        Mockito.when(orderJdbcRepository.countByRestaurant(Mockito.anyCollection())).thenAnswer(invocation -> {
+            kitchenLoad.onOrderStatusChanged(
+                    new OrderStatusChangedEvent(1L, RESTAURANT_ID, 2L, null, OrderStatus.SCHEDULED,
+                            OrderStatus.CREATED, null, null, BigDecimal.TEN, Instant.now()));
+            return Map.of(RESTAURANT_ID, 1);
+        });
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            kitchenLoad.tryReserve(RESTAURANT_ID);
+            kitchenLoad.reload();
+            Assertions.assertEquals(3, kitchenLoad.getQueued(RESTAURANT_ID));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Assertions.assertEquals(2, kitchenLoad.getQueued(RESTAURANT_ID));
+    }
+
+    /**
+     * Тестирование однократного возврата места: ручной возврат и откат транзакции возвращают место один раз
+     */
+    @Test
+    void reservationReleaseShouldBeIdempotent() {
+        kitchenLoad.tryReserve(RESTAURANT_ID);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            KitchenLoad.Reservation reservation = kitchenLoad.tryReserve(RESTAURANT_ID)
+                    .orElseThrow(() -> new IllegalArgumentException("Не должно быть равно null"));
+            reservation.release();
+            reservation.release();
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Assertions.assertEquals(1, kitchenLoad.getQueued(RESTAURANT_ID));
+    }
+}
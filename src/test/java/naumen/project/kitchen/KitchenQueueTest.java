@@ -0,0 +1,158 @@
+package naumen.project.kitchen;
+
+import naumen.project.entity.enums.OrderStatus;
+import naumen.project.event.OrderStatusChangedEvent;
+import naumen.project.repository.OrderJdbcRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Модульные тесты для {@link KitchenQueue}
+ */
+@ExtendWith(MockitoExtension.class)
+class KitchenQueueTest {
+
+    private static final Long RESTAURANT_ID = 3L;
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+    @Mock
+    private OrderJdbcRepository orderJdbcRepository;
+
+    @InjectMocks
+    private KitchenQueue kitchenQueue;
+
+    /**
+     * Тестирование упорядочивания заказов по времени создания и пагинации
+     */
+    @Test
+    void getActiveOrdersShouldReturnOrdersByCreationTime() {
+        kitchenQueue.onOrderStatusChanged(event(2L, null, OrderStatus.CREATED, NOW.plusSeconds(20)));
+        kitchenQueue.onOrderStatusChanged(event(1L, null, OrderStatus.CREATED, NOW.plusSeconds(10)));
+        kitchenQueue.onOrderStatusChanged(event(3L, null, OrderStatus.CREATED, NOW.plusSeconds(30)));
+
+        Page<OrderJdbcRepository.OrderSummary> first = kitchenQueue.getActiveOrders(RESTAURANT_ID,
+                PageRequest.of(0, 2));
+        Page<OrderJdbcRepository.OrderSummary> second = kitchenQueue.getActiveOrders(RESTAURANT_ID,
+                PageRequest.of(1, 2));
+
+        Assertions.assertEquals(List.of(1L, 2L), ids(first));
+        Assertions.assertEquals(List.of(3L), ids(second));
+        Assertions.assertEquals(3, first.getTotalElements());
+        Assertions.assertTrue(kitchenQueue.getActiveOrders(4L, PageRequest.of(0, 2)).isEmpty());
+        Mockito.verifyNoInteractions(orderJdbcRepository);
+    }
+
+    /**
+     * Тестирование смены статуса заказа в очереди и удаления заказа, покинувшего кухню
+     */
+    @Test
+    void onOrderStatusChangedShouldUpdateAndRemoveOrders() {
+        kitchenQueue.onOrderStatusChanged(event(1L, null, OrderStatus.CREATED, NOW));
+        kitchenQueue.onOrderStatusChanged(event(2L, null, OrderStatus.CREATED, NOW.plusSeconds(10)));
+
+        kitchenQueue.onOrderStatusChanged(event(1L, OrderStatus.CREATED, OrderStatus.ACCEPTED, NOW));
+        kitchenQueue.onOrderStatusChanged(event(1L, OrderStatus.ACCEPTED, OrderStatus.PREPARED, NOW));
+        kitchenQueue.onOrderStatusChanged(event(2L, OrderStatus.CREATED, OrderStatus.DELETED, NOW.plusSeconds(10)));
+
+        List<OrderJdbcRepository.OrderSummary> orders = kitchenQueue.getActiveOrders(RESTAURANT_ID,
+                PageRequest.of(0, 10)).getContent();
+
+        Assertions.assertEquals(1, orders.size());
+        Assertions.assertEquals(OrderStatus.PREPARED, orders.getFirst().status());
+
+        kitchenQueue.onOrderStatusChanged(event(1L, OrderStatus.PREPARED, OrderStatus.DELIVERING, NOW));
+
+        Assertions.assertTrue(kitchenQueue.getActiveOrders(RESTAURANT_ID, PageRequest.of(0, 10)).isEmpty());
+    }
+
+    /**
+     * Тестирование игнорирования запоздавшего события о более раннем статусе заказа
+     */
+    @Test
+    void onOrderStatusChangedShouldNotMoveOrderBack() {
+        kitchenQueue.onOrderStatusChanged(event(1L, OrderStatus.CREATED, OrderStatus.ACCEPTED, NOW));
+        kitchenQueue.onOrderStatusChanged(event(1L, null, OrderStatus.CREATED, NOW));
+
+        OrderJdbcRepository.OrderSummary order = kitchenQueue.getActiveOrders(RESTAURANT_ID,
+                PageRequest.of(0, 10)).getContent().getFirst();
+
+        Assertions.assertEquals(OrderStatus.ACCEPTED, order.status());
+    }
+
+    /**
+     * Тестирование перестроения очередей по базе данных
+     */
+    @Test
+    void reloadShouldReplaceQueuesWithDatabaseState() {
+        kitchenQueue.onOrderStatusChanged(event(1L, null, OrderStatus.CREATED, NOW));
+        kitchenQueue.onOrderStatusChanged(new OrderStatusChangedEvent(5L, 4L, 2L, null, null, OrderStatus.CREATED,
+                null, null, BigDecimal.TEN, NOW));
+        Mockito.when(orderJdbcRepository.findSummariesByStatuses(Mockito.anyCollection()))
+                .thenReturn(List.of(
+                        summary(7L, OrderStatus.PREPARED, NOW.plusSeconds(5)),
+                        summary(6L, OrderStatus.CREATED, NOW.plusSeconds(1))
+                ));
+
+        kitchenQueue.reload();
+
+        Assertions.assertEquals(List.of(6L, 7L),
+                ids(kitchenQueue.getActiveOrders(RESTAURANT_ID, PageRequest.of(0, 10))));
+        Assertions.assertTrue(kitchenQueue.getActiveOrders(4L, PageRequest.of(0, 10)).isEmpty());
+    }
+
+    /**
+     * Тестирование перестроения очередей: изменения, зафиксированные во время загрузки снимка, не теряются
+     */
+    @Test
+    void reloadShouldApplyEventsReceivedDuringLoad() {
+        Mockito.when(orderJdbcRepository.findSummariesByStatuses(Mockito.anyCollection())).thenAnswer(invocation -> {
+            kitchenQueue.onOrderStatusChanged(event(8L, null, OrderStatus.CREATED, NOW.plusSeconds(9)));
+            kitchenQueue.onOrderStatusChanged(event(6L, OrderStatus.PREPARED, OrderStatus.DELIVERING, NOW));
+            return List.of(
+                    summary(7L, OrderStatus.CREATED, NOW.plusSeconds(5)),
+                    summary(6L, OrderStatus.PREPARED, NOW.plusSeconds(1))
+            );
+        });
+
+        kitchenQueue.reload();
+
+        Assertions.assertEquals(List.of(7L, 8L),
+                ids(kitchenQueue.getActiveOrders(RESTAURANT_ID, PageRequest.of(0, 10))));
+    }
+
+    // Вспомогательные методы для создания тестовых данных
+
+    /**
+     * Создание события изменения статуса заказа ресторана
+     */
+    private OrderStatusChangedEvent event(Long orderId, OrderStatus previousStatus, OrderStatus status,
+                                          Instant createdAt) {
+        return new OrderStatusChangedEvent(orderId, RESTAURANT_ID, 2L, null, previousStatus, status, null, null,
+                BigDecimal.TEN, createdAt);
+    }
+
+    /**
+     * Создание кратких данных заказа ресторана
+     */
+    private OrderJdbcRepository.OrderSummary summary(Long orderId, OrderStatus status, Instant createdAt) {
+        return new OrderJdbcRepository.OrderSummary(orderId, RESTAURANT_ID, status, BigDecimal.TEN, createdAt);
+    }
+
+    /**
+     * Идентификаторы заказов страницы
+     */
+    private List<Long> ids(Page<OrderJdbcRepository.OrderSummary> page) {
+        return page.getContent().stream().map(OrderJdbcRepository.OrderSummary::id).toList();
+    }
+}
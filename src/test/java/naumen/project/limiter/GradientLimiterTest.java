@@ -0,0 +1,107 @@
+package naumen.project.limiter;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Модульные тесты для {@link GradientLimiter}
+ */
+class GradientLimiterTest {
+
+    private static final long RTT = 10_000_000;
+
+    /**
+     * Тестирование отказа обычным запросам в пределах резерва приоритетных
+     */
+    @Test
+    void tryAcquireShouldReserveCapacityForPriorityRequests() {
+        GradientLimiter limiter = new GradientLimiter(10, 5, 100, 0.2, 0.2);
+
+        for (int i = 0; i < 8; i++) {
+            Assertions.assertTrue(limiter.tryAcquire(false));
+        }
+
+        Assertions.assertFalse(limiter.tryAcquire(false));
+        Assertions.assertTrue(limiter.tryAcquire(true));
+        Assertions.assertTrue(limiter.tryAcquire(true));
+        Assertions.assertFalse(limiter.tryAcquire(true));
+    }
+
+    /**
+     * Тестирование роста лимита при полной загрузке и стабильном времени ответа
+     */
+    @Test
+    void stableLatencyUnderLoadShouldIncreaseLimit() {
+        GradientLimiter limiter = new GradientLimiter(10, 5, 100, 0.2, 0.2);
+
+        runFullLoad(limiter, 20, RTT);
+
+        Assertions.assertTrue(limiter.getLimit() > 10, "Лимит должен вырасти: " + limiter.getLimit());
+        Assertions.assertEquals(0, limiter.getInFlight());
+    }
+
+    /**
+     * Тестирование снижения лимита при росте времени ответа
+     */
+    @Test
+    void growingLatencyShouldDecreaseLimit() {
+        GradientLimiter limiter = new GradientLimiter(50, 5, 100, 0.2, 0.2);
+        runFullLoad(limiter, 5, RTT);
+        int before = limiter.getLimit();
+
+        runFullLoad(limiter, 5, RTT * 10);
+
+        Assertions.assertTrue(limiter.getLimit() < before,
+                "Лимит должен снизиться: было " + before + ", стало " + limiter.getLimit());
+    }
+
+    /**
+     * Тестирование снижения лимита после отказа из-за перегрузки, но не ниже минимального
+     */
+    @Test
+    void droppedRequestShouldDecreaseLimitToMinimum() {
+        GradientLimiter limiter = new GradientLimiter(10, 8, 100, 0.2, 0.2);
+
+        limiter.tryAcquire(true);
+        limiter.onComplete(RTT, true);
+        Assertions.assertEquals(9, limiter.getLimit());
+
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire(true);
+            limiter.onComplete(RTT, true);
+        }
+        Assertions.assertEquals(8, limiter.getLimit());
+    }
+
+    /**
+     * Тестирование неизменности лимита при малой загрузке
+     */
+    @Test
+    void lowLoadShouldKeepLimit() {
+        GradientLimiter limiter = new GradientLimiter(20, 5, 100, 0.2, 0.2);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire(false);
+            limiter.onComplete(RTT * (i % 2 == 0 ? 1 : 20), false);
+        }
+
+        Assertions.assertEquals(20, limiter.getLimit());
+    }
+
+    // Вспомогательные методы для создания тестовых данных
+
+    /**
+     * Несколько раундов, в каждом занимается весь текущий лимит и все запросы завершаются с заданным временем
+     */
+    private void runFullLoad(GradientLimiter limiter, int rounds, long rttNanos) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limiter.tryAcquire(true)) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.onComplete(rttNanos, false);
+            }
+        }
+    }
+}
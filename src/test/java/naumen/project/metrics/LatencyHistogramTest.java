@@ -0,0 +1,69 @@
+package naumen.project.metrics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Модульные тесты для {@link LatencyHistogram}
+ */
+class LatencyHistogramTest {
+
+    /**
+     * Тестирование перцентилей: малые значения точные, большие - с погрешностью не больше 1/16
+     */
+    @Test
+    void snapshotShouldReturnPercentilesWithBoundedError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value * 1000);
+        }
+        histogram.record(-5);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        Assertions.assertEquals(1001, snapshot.count());
+        Assertions.assertEquals(1_000_000, snapshot.max());
+        assertWithinError(500_000, snapshot.p50());
+        assertWithinError(900_000, snapshot.p90());
+        assertWithinError(990_000, snapshot.p99());
+        Assertions.assertEquals(500_000, snapshot.mean(), 1_000);
+    }
+
+    /**
+     * Тестирование границ корзин: каждое значение попадает в корзину, верхняя граница которой не меньше его
+     */
+    @Test
+    void indexOfShouldMatchUpperBounds() {
+        for (long value = 0; value < 100_000; value++) {
+            int index = LatencyHistogram.indexOf(value);
+            Assertions.assertTrue(LatencyHistogram.upperBoundOf(index) >= value);
+            Assertions.assertTrue(index == 0 || LatencyHistogram.upperBoundOf(index - 1) < value);
+        }
+        Assertions.assertEquals(17, LatencyHistogram.indexOf(17));
+        Assertions.assertTrue(LatencyHistogram.upperBoundOf(LatencyHistogram.indexOf(LatencyHistogram.MAX_VALUE))
+                              >= LatencyHistogram.MAX_VALUE);
+    }
+
+    /**
+     * Тестирование ограничения значений сверху и пустой гистограммы
+     */
+    @Test
+    void recordShouldClampLargeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assertions.assertEquals(0, histogram.snapshot().count());
+
+        histogram.record(Long.MAX_VALUE);
+
+        Assertions.assertEquals(LatencyHistogram.MAX_VALUE, histogram.snapshot().p99());
+    }
+
+    // Вспомогательные методы для создания тестовых данных
+
+    /**
+     * Проверка, что перцентиль не меньше точного значения и больше него не более чем на 1/16
+     */
+    private void assertWithinError(long expected, long actual) {
+        Assertions.assertTrue(actual >= expected && actual <= expected + expected / 16,
+                () -> "Ожидалось около " + expected + ", получено " + actual);
+    }
+}
@@ -0,0 +1,112 @@
+package naumen.project.metrics;
+
+import naumen.project.config.props.OrderMetricsProps;
+import naumen.project.entity.enums.OrderStatus;
+import naumen.project.event.OrderStatusChangedEvent;
+import naumen.project.repository.OrderJdbcRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Модульные тесты для {@link OrderStageMetrics}
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderStageMetricsTest {
+
+    private static final Long RESTAURANT_ID = 3L;
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+    @Mock
+    private OrderJdbcRepository orderJdbcRepository;
+
+    private OrderStageMetrics orderStageMetrics;
+
+    @BeforeEach
+    void setUp() {
+        OrderMetricsProps props = new OrderMetricsProps();
+        props.setWindow(Duration.ofHours(2));
+        orderStageMetrics = new OrderStageMetrics(orderJdbcRepository, props);
+    }
+
+    /**
+     * Тестирование записи времени в предыдущем статусе в общие гистограммы и гистограммы ресторана
+     */
+    @Test
+    void onOrderStatusChangedShouldRecordPreviousStageDuration() {
+        orderStageMetrics.onOrderStatusChanged(event(RESTAURANT_ID, OrderStatus.CREATED, OrderStatus.ACCEPTED, 20));
+        orderStageMetrics.onOrderStatusChanged(event(RESTAURANT_ID, OrderStatus.ACCEPTED, OrderStatus.PREPARED, 600));
+        orderStageMetrics.onOrderStatusChanged(event(4L, OrderStatus.CREATED, OrderStatus.ACCEPTED, 40));
+
+        Map<OrderStatus, LatencyHistogram.Snapshot> global = orderStageMetrics.getStages();
+        Map<OrderStatus, LatencyHistogram.Snapshot> restaurant = orderStageMetrics.getRestaurantStages(RESTAURANT_ID);
+
+        Assertions.assertEquals(2, global.get(OrderStatus.CREATED).count());
+        Assertions.assertEquals(40_000, global.get(OrderStatus.CREATED).max());
+        Assertions.assertEquals(1, restaurant.get(OrderStatus.CREATED).count());
+        Assertions.assertEquals(20_000, restaurant.get(OrderStatus.CREATED).max());
+        Assertions.assertEquals(600_000, restaurant.get(OrderStatus.ACCEPTED).max());
+        Assertions.assertEquals(0, restaurant.get(OrderStatus.DELIVERING).count());
+        Assertions.assertNull(orderStageMetrics.getRestaurantStages(5L));
+    }
+
+    /**
+     * Тестирование пропуска событий без смены статуса, создания и отмены заказа
+     */
+    @Test
+    void onOrderStatusChangedWithoutStageDurationShouldIgnoreEvent() {
+        orderStageMetrics.onOrderStatusChanged(event(RESTAURANT_ID, null, OrderStatus.CREATED, 0));
+        orderStageMetrics.onOrderStatusChanged(event(RESTAURANT_ID, OrderStatus.PREPARED, OrderStatus.PREPARED, 30));
+        orderStageMetrics.onOrderStatusChanged(event(RESTAURANT_ID, OrderStatus.PREPARED, OrderStatus.CANCELLED,
+                7200));
+
+        Assertions.assertEquals(0, orderStageMetrics.getStages().get(OrderStatus.PREPARED).count());
+        Assertions.assertNull(orderStageMetrics.getRestaurantStages(RESTAURANT_ID));
+    }
+
+    /**
+     * Тестирование перестроения гистограмм по журналу переходов за последний период
+     */
+    @Test
+    void reloadShouldReplaceHistogramsWithTransitionLog() {
+        orderStageMetrics.onOrderStatusChanged(event(4L, OrderStatus.CREATED, OrderStatus.ACCEPTED, 40));
+        Mockito.doAnswer(invocation -> {
+            Instant since = invocation.getArgument(0);
+            Assertions.assertTrue(since.isBefore(Instant.now().minus(Duration.ofMinutes(119))));
+            Consumer<OrderJdbcRepository.StageDuration> handler = invocation.getArgument(1);
+            handler.accept(new OrderJdbcRepository.StageDuration(RESTAURANT_ID, OrderStatus.DELIVERING, 1_200_000));
+            handler.accept(new OrderJdbcRepository.StageDuration(RESTAURANT_ID, OrderStatus.COMPLETED, 5));
+            return null;
+        }).when(orderJdbcRepository).forEachStageDuration(Mockito.any(), Mockito.any());
+
+        orderStageMetrics.reload();
+
+        Assertions.assertEquals(0, orderStageMetrics.getStages().get(OrderStatus.CREATED).count());
+        Assertions.assertEquals(1, orderStageMetrics.getStages().get(OrderStatus.DELIVERING).count());
+        Assertions.assertFalse(orderStageMetrics.getStages().containsKey(OrderStatus.COMPLETED));
+        Assertions.assertEquals(1_200_000,
+                orderStageMetrics.getRestaurantStages(RESTAURANT_ID).get(OrderStatus.DELIVERING).max());
+        Assertions.assertNull(orderStageMetrics.getRestaurantStages(4L));
+    }
+
+    // Вспомогательные методы для создания тестовых данных
+
+    /**
+     * Создание события перехода заказа в статус через указанное число секунд после предыдущего
+     */
+    private OrderStatusChangedEvent event(Long restaurantId, OrderStatus previousStatus, OrderStatus status,
+                                          long seconds) {
+        return new OrderStatusChangedEvent(1L, restaurantId, 2L, null, previousStatus, status,
+                previousStatus == null ? null : NOW, NOW.plusSeconds(seconds), BigDecimal.TEN, NOW);
+    }
+}
@@ -0,0 +1,73 @@
+package naumen.project.scheduling;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Модульные тесты для {@link HierarchicalTimingWheel}
+ */
+class HierarchicalTimingWheelTest {
+
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+
+    /**
+     * Тестирование срабатывания элементов в пределах одного оборота нулевого уровня
+     */
+    @Test
+    void advanceShouldExpireElementsWhenDeadlineReached() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(Duration.ofSeconds(1), 8, START);
+        wheel.schedule("b", START.plusSeconds(5));
+        wheel.schedule("a", START.plusSeconds(3));
+
+        Assertions.assertEquals(List.of(), wheel.advance(START.plusSeconds(2)));
+        Assertions.assertEquals(List.of("a"), wheel.advance(START.plusMillis(3500)));
+        Assertions.assertEquals(List.of("b"), wheel.advance(START.plusSeconds(10)));
+        Assertions.assertEquals(0, wheel.size());
+    }
+
+    /**
+     * Тестирование срабатывания далеких элементов через несколько уровней точно в свой тик
+     */
+    @Test
+    void advanceShouldCascadeDistantElementsToTheirTick() {
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(Duration.ofSeconds(1), 4, START);
+        List<Integer> deadlines = List.of(1, 4, 5, 15, 16, 17, 63, 64, 65, 100, 255, 256, 1000);
+        deadlines.forEach(deadline -> wheel.schedule(deadline, START.plusSeconds(deadline)));
+        Assertions.assertEquals(deadlines.size(), wheel.size());
+
+        List<Integer> expired = new ArrayList<>();
+        for (int second = 1; second <= 1000; second++) {
+            for (Integer element : wheel.advance(START.plusSeconds(second))) {
+                Assertions.assertEquals(second, element, "Элемент сработал не в свой тик");
+                expired.add(element);
+            }
+        }
+
+        Assertions.assertEquals(deadlines, expired);
+        Assertions.assertEquals(0, wheel.size());
+    }
+
+    /**
+     * Тестирование элементов со сроком в прошлом и поворота колеса сразу на много тиков
+     */
+    @Test
+    void advanceShouldExpireOverdueAndSkippedElements() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(Duration.ofSeconds(1), 4, START);
+        wheel.schedule("overdue", START.minusSeconds(30));
+        wheel.schedule("later", START.plusSeconds(50));
+        wheel.schedule("distant", START.plusSeconds(500));
+
+        Assertions.assertEquals(List.of("overdue"), wheel.advance(START));
+        Assertions.assertEquals(List.of("later"), wheel.advance(START.plusSeconds(120)));
+        Assertions.assertEquals(1, wheel.size());
+
+        wheel.schedule("added", START.plusSeconds(200));
+        Assertions.assertEquals(List.of("added", "distant"), wheel.advance(START.plusSeconds(600)));
+        Assertions.assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,90 @@
+package naumen.project.scheduling;
+
+import naumen.project.config.props.ScheduledOrderProps;
+import naumen.project.repository.OrderJdbcRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Модульные тесты для {@link ScheduledOrderTimer}
+ */
+@ExtendWith(MockitoExtension.class)
+class ScheduledOrderTimerTest {
+
+    @Mock
+    private OrderJdbcRepository orderJdbcRepository;
+
+    private ScheduledOrderTimer scheduledOrderTimer;
+
+    @BeforeEach
+    void setUp() {
+        ScheduledOrderProps props = new ScheduledOrderProps();
+        props.setLeadTime(Duration.ofHours(1));
+        props.setReloadHorizon(Duration.ofMinutes(10));
+        scheduledOrderTimer = new ScheduledOrderTimer(props, orderJdbcRepository);
+    }
+
+    /**
+     * Тестирование передачи заказа, время передачи которого наступило, и ожидания далекого заказа
+     */
+    @Test
+    void advanceShouldReturnOrdersWhoseReleaseTimeReached() {
+        Instant now = Instant.now();
+        scheduledOrderTimer.schedule(1L, now.plus(Duration.ofMinutes(30)));
+        scheduledOrderTimer.schedule(2L, now.plus(Duration.ofHours(3)));
+
+        Assertions.assertEquals(List.of(1L), scheduledOrderTimer.advance());
+        Assertions.assertEquals(1, scheduledOrderTimer.size());
+        Assertions.assertEquals(now.plus(Duration.ofHours(2)), scheduledOrderTimer.releaseTimeOf(
+                now.plus(Duration.ofHours(3))));
+    }
+
+    /**
+     * Тестирование добавления заказа только после фиксации транзакции
+     */
+    @Test
+    void scheduleShouldAddOrderAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            scheduledOrderTimer.schedule(1L, Instant.now());
+            Assertions.assertEquals(0, scheduledOrderTimer.size());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Assertions.assertEquals(1, scheduledOrderTimer.size());
+    }
+
+    /**
+     * Тестирование загрузки заказов из базы данных без повторного добавления заказов, уже находящихся в колесе
+     */
+    @Test
+    void reloadShouldLoadUpcomingOrdersOnce() {
+        Instant deliverAt = Instant.now().plus(Duration.ofMinutes(65));
+        scheduledOrderTimer.schedule(1L, deliverAt);
+        Mockito.when(orderJdbcRepository.findScheduled(Mockito.any())).thenReturn(List.of(
+                new OrderJdbcRepository.ScheduledOrder(1L, deliverAt),
+                new OrderJdbcRepository.ScheduledOrder(2L, deliverAt)));
+
+        scheduledOrderTimer.reload();
+
+        Assertions.assertEquals(2, scheduledOrderTimer.size());
+        ArgumentCaptor<Instant> deliverBefore = ArgumentCaptor.forClass(Instant.class);
+        Mockito.verify(orderJdbcRepository).findScheduled(deliverBefore.capture());
+        Assertions.assertTrue(deliverBefore.getValue().isAfter(Instant.now().plus(Duration.ofMinutes(69))));
+    }
+}
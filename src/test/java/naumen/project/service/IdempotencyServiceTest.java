@@ -0,0 +1,209 @@
+package naumen.project.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import naumen.project.config.props.IdempotencyProps;
+import naumen.project.entity.IdempotencyRecord;
+import naumen.project.exception.ConflictException;
+import naumen.project.exception.InvalidInputException;
+import naumen.project.repository.IdempotencyJdbcRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Модульные тесты для {@link IdempotencyService}
+ */
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    private static final String ENDPOINT = "POST /api/v1/client/orders";
+    private static final String KEY = "c0a8012e-7f3b-4a53-9d2e-1b5f6e2f9a10";
+
+    @Mock
+    private IdempotencyJdbcRepository idempotencyJdbcRepository;
+
+    private IdempotencyService idempotencyService;
+
+    private final byte[] requestBody = "{\"items\": []}".getBytes(StandardCharsets.UTF_8);
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(idempotencyJdbcRepository, new IdempotencyProps(),
+                new SimpleMeterRegistry());
+    }
+
+    /**
+     * Тестирование первого запроса с ключом: запрос выполняется, ответ сохраняется
+     */
+    @Test
+    void executeWithNewKeyShouldCallAndStoreResponse() {
+        acquireKey(true);
+        IdempotencyService.IdempotentResponse response = createResponse(201);
+
+        IdempotencyService.IdempotentResponse result = idempotencyService.execute(1L, ENDPOINT, KEY, requestBody,
+                () -> response);
+
+        Assertions.assertSame(response, result);
+        Mockito.verify(idempotencyJdbcRepository).complete(ArgumentMatchers.anyString(),
+                ArgumentMatchers.eq(201), ArgumentMatchers.eq("application/json"),
+                ArgumentMatchers.eq(response.body()), ArgumentMatchers.any(Instant.class));
+        Mockito.verify(idempotencyJdbcRepository, Mockito.never()).release(ArgumentMatchers.anyString());
+    }
+
+    /**
+     * Тестирование повтора запроса: возвращается сохраненный ответ без повторного выполнения
+     */
+    @Test
+    void executeWithCompletedKeyShouldReturnStoredResponse() {
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<IdempotencyService.IdempotentResponse> call = () -> {
+            calls.incrementAndGet();
+            return createResponse(201);
+        };
+        String[] hashes = captureAcquire(true, false);
+        Mockito.when(idempotencyJdbcRepository.find(ArgumentMatchers.anyString(), ArgumentMatchers.any()))
+                .thenAnswer(invocation -> Optional.of(new IdempotencyRecord(hashes[0], hashes[1], 201,
+                        "application/json", createResponse(201).body(), Instant.now().plusSeconds(60))));
+        idempotencyService.execute(1L, ENDPOINT, KEY, requestBody, call);
+
+        IdempotencyService.IdempotentResponse result = idempotencyService.execute(1L, ENDPOINT, KEY, requestBody,
+                call);
+
+        Assertions.assertEquals(1, calls.get());
+        Assertions.assertEquals(201, result.status());
+        Assertions.assertArrayEquals(createResponse(201).body(), result.body());
+    }
+
+    /**
+     * Тестирование повтора ключа с другим телом запроса
+     */
+    @Test
+    void executeWithKeyUsedForOtherRequestShouldThrowException() {
+        acquireKey(false);
+        Mockito.when(idempotencyJdbcRepository.find(ArgumentMatchers.anyString(), ArgumentMatchers.any()))
+                .thenReturn(Optional.of(new IdempotencyRecord("hash", "other", 201, "application/json",
+                        new byte[0], Instant.now().plusSeconds(60))));
+
+        InvalidInputException exception = Assertions.assertThrows(InvalidInputException.class,
+                () -> idempotencyService.execute(1L, ENDPOINT, KEY, requestBody, () -> createResponse(201)));
+
+        Assertions.assertEquals("Ключ идемпотентности уже использован для другого запроса", exception.getMessage());
+    }
+
+    /**
+     * Тестирование повтора запроса, который еще выполняется на другом экземпляре приложения
+     */
+    @Test
+    void executeWithKeyInProgressShouldThrowConflict() {
+        String[] hashes = captureAcquire(false);
+        Mockito.when(idempotencyJdbcRepository.find(ArgumentMatchers.anyString(), ArgumentMatchers.any()))
+                .thenAnswer(invocation -> Optional.of(new IdempotencyRecord(hashes[0], hashes[1], null, null, null,
+                        Instant.now().plusSeconds(60))));
+
+        Assertions.assertThrows(ConflictException.class,
+                () -> idempotencyService.execute(1L, ENDPOINT, KEY, requestBody, () -> createResponse(201)));
+    }
+
+    /**
+     * Тестирование ответа 5xx: ответ не сохраняется, ключ освобождается для повтора
+     */
+    @Test
+    void executeWithServerErrorShouldReleaseKey() {
+        acquireKey(true);
+
+        IdempotencyService.IdempotentResponse result = idempotencyService.execute(1L, ENDPOINT, KEY, requestBody,
+                () -> createResponse(503));
+
+        Assertions.assertEquals(503, result.status());
+        Mockito.verify(idempotencyJdbcRepository).release(ArgumentMatchers.anyString());
+        Mockito.verify(idempotencyJdbcRepository, Mockito.never()).complete(ArgumentMatchers.anyString(),
+                ArgumentMatchers.anyInt(), ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    /**
+     * Тестирование ответа 429: ответ не сохраняется, ключ освобождается для повтора после Retry-After
+     */
+    @Test
+    void executeWithTooManyRequestsShouldReleaseKey() {
+        acquireKey(true);
+
+        IdempotencyService.IdempotentResponse result = idempotencyService.execute(1L, ENDPOINT, KEY, requestBody,
+                () -> createResponse(429));
+
+        Assertions.assertEquals(429, result.status());
+        Mockito.verify(idempotencyJdbcRepository).release(ArgumentMatchers.anyString());
+        Mockito.verify(idempotencyJdbcRepository, Mockito.never()).complete(ArgumentMatchers.anyString(),
+                ArgumentMatchers.anyInt(), ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    /**
+     * Тестирование исключения при выполнении запроса: ключ освобождается, исключение пробрасывается
+     */
+    @Test
+    void executeWithFailedCallShouldReleaseKey() {
+        acquireKey(true);
+
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> idempotencyService.execute(1L, ENDPOINT, KEY, requestBody, () -> {
+                    throw new IllegalStateException("Ошибка");
+                }));
+
+        Mockito.verify(idempotencyJdbcRepository).release(ArgumentMatchers.anyString());
+    }
+
+    /**
+     * Тестирование слишком длинного ключа
+     */
+    @Test
+    void executeWithTooLongKeyShouldThrowException() {
+        Assertions.assertThrows(InvalidInputException.class,
+                () -> idempotencyService.execute(1L, ENDPOINT, "k".repeat(256), requestBody,
+                        () -> createResponse(201)));
+
+        Mockito.verifyNoInteractions(idempotencyJdbcRepository);
+    }
+
+    // Вспомогательные методы для создания тестовых данных
+
+    /**
+     * Настраивает результат захвата ключа
+     */
+    private void acquireKey(boolean acquired) {
+        Mockito.when(idempotencyJdbcRepository.tryAcquire(ArgumentMatchers.anyString(), ArgumentMatchers.anyString(),
+                ArgumentMatchers.any(), ArgumentMatchers.any())).thenReturn(acquired);
+    }
+
+    /**
+     * Настраивает результат захвата ключа и запоминает хэши ключа и тела запроса
+     */
+    private String[] captureAcquire(boolean... acquired) {
+        String[] hashes = new String[2];
+        AtomicInteger attempts = new AtomicInteger();
+        Mockito.when(idempotencyJdbcRepository.tryAcquire(ArgumentMatchers.anyString(), ArgumentMatchers.anyString(),
+                ArgumentMatchers.any(), ArgumentMatchers.any())).thenAnswer(invocation -> {
+            hashes[0] = invocation.getArgument(0);
+            hashes[1] = invocation.getArgument(1);
+            return acquired[Math.min(attempts.getAndIncrement(), acquired.length - 1)];
+        });
+        return hashes;
+    }
+
+    /**
+     * Создание тестового ответа
+     */
+    private IdempotencyService.IdempotentResponse createResponse(int status) {
+        return new IdempotencyService.IdempotentResponse(status, "application/json",
+                "{\"id\": 1}".getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,122 @@
+package naumen.project.service;
+
+import naumen.project.config.props.MenuImageProps;
+import naumen.project.exception.InvalidInputException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Модульные тесты для {@link MenuImageService}
+ */
+class MenuImageServiceTest {
+
+    private static final byte[] PNG_HEADER = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    @TempDir
+    private Path storageDir;
+
+    private MenuImageService menuImageService;
+
+    @BeforeEach
+    void setUp() {
+        MenuImageProps props = new MenuImageProps();
+        props.setStorageDir(storageDir);
+        props.setMaxSize(DataSize.ofBytes(64));
+
+        menuImageService = new MenuImageService(props);
+    }
+
+    /**
+     * Тестирование сохранения изображения: имя файла - хэш содержимого, одинаковые изображения хранятся один раз
+     */
+    @Test
+    void storeShouldUseContentHashAsFileName() throws IOException {
+        byte[] content = png(16);
+
+        String fileName = menuImageService.store(new ByteArrayInputStream(content));
+        String sameFileName = menuImageService.store(new ByteArrayInputStream(content));
+
+        Assertions.assertEquals(fileName, sameFileName);
+        Assertions.assertTrue(fileName.matches("[0-9a-f]{64}\\.png"));
+
+        Path stored = storageDir.resolve(fileName.substring(0, 2)).resolve(fileName);
+        Assertions.assertArrayEquals(content, Files.readAllBytes(stored));
+        try (var files = Files.list(storageDir)) {
+            Assertions.assertEquals(1, files.count(), "Временные файлы должны удаляться");
+        }
+    }
+
+    /**
+     * Тестирование поиска сохраненного изображения
+     */
+    @Test
+    void findShouldReturnStoredImage() throws IOException {
+        byte[] content = png(20);
+        String fileName = menuImageService.store(new ByteArrayInputStream(content));
+
+        MenuImageService.StoredImage image = menuImageService.find(fileName)
+                .orElseThrow(() -> new IllegalArgumentException("Не должно быть равно null"));
+
+        Assertions.assertEquals(fileName.substring(0, 64), image.hash());
+        Assertions.assertEquals("image/png", image.contentType());
+        Assertions.assertEquals(20, image.size());
+    }
+
+    /**
+     * Тестирование поиска изображения по некорректному имени файла
+     */
+    @Test
+    void findWithInvalidFileNameShouldReturnEmpty() throws IOException {
+        Assertions.assertEquals(Optional.empty(), menuImageService.find("../../etc/passwd"));
+        Assertions.assertEquals(Optional.empty(), menuImageService.find("b".repeat(64) + ".png"));
+    }
+
+    /**
+     * Тестирование сохранения файла неподдерживаемого формата
+     */
+    @Test
+    void storeWithUnsupportedFormatShouldThrowException() throws IOException {
+        InvalidInputException exception = Assertions.assertThrows(InvalidInputException.class,
+                () -> menuImageService.store(new ByteArrayInputStream("GIF89a....".getBytes())));
+
+        Assertions.assertEquals("Поддерживаются только изображения в форматах JPEG, PNG и WebP",
+                exception.getMessage());
+        try (var files = Files.list(storageDir)) {
+            Assertions.assertEquals(0, files.count());
+        }
+    }
+
+    /**
+     * Тестирование сохранения изображения, превышающего максимальный размер
+     */
+    @Test
+    void storeWithTooLargeImageShouldThrowException() {
+        InvalidInputException exception = Assertions.assertThrows(InvalidInputException.class,
+                () -> menuImageService.store(new ByteArrayInputStream(png(65))));
+
+        Assertions.assertEquals("Размер изображения превышает 64 байт", exception.getMessage());
+    }
+
+    // Вспомогательные методы для создания тестовых данных
+
+    /**
+     * Создание содержимого PNG изображения заданного размера
+     */
+    private byte[] png(int size) {
+        byte[] content = Arrays.copyOf(PNG_HEADER, size);
+        for (int i = PNG_HEADER.length; i < size; i++) {
+            content[i] = (byte) i;
+        }
+        return content;
+    }
+}
@@ -0,0 +1,154 @@
+package naumen.project.service;
+
+import naumen.project.config.props.MenuImageProps;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Модульные тесты для {@link MenuImageVariantService}
+ */
+class MenuImageVariantServiceTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private MenuImageProps props;
+    private MenuImageService menuImageService;
+    private MenuImageVariantService menuImageVariantService;
+
+    @BeforeEach
+    void setUp() {
+        props = new MenuImageProps();
+        props.setStorageDir(tempDir.resolve("images"));
+        props.getVariants().setCacheDir(tempDir.resolve("variants"));
+        props.getVariants().setWorkers(1);
+        props.getVariants().setQueueCapacity(10);
+
+        menuImageService = new MenuImageService(props);
+        menuImageVariantService = new MenuImageVariantService(menuImageService, props);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        menuImageVariantService.close();
+    }
+
+    /**
+     * Тестирование ленивой генерации варианта: первый запрос ставит генерацию в очередь, не дожидаясь ее
+     */
+    @Test
+    void findVariantShouldGenerateMissingVariantInBackground() throws IOException, InterruptedException {
+        MenuImageService.StoredImage original = storePng(800, 400);
+
+        Optional<MenuImageService.StoredImage> first = menuImageVariantService.findVariant(original,
+                MenuImageVariantService.Variant.THUMBNAIL);
+        menuImageVariantService.close();
+        Optional<MenuImageService.StoredImage> second = menuImageVariantService.findVariant(original,
+                MenuImageVariantService.Variant.THUMBNAIL);
+
+        Assertions.assertTrue(first.isEmpty());
+        MenuImageService.StoredImage variant = second
+                .orElseThrow(() -> new IllegalArgumentException("Не должно быть равно null"));
+        Assertions.assertEquals(original.hash() + "-thumbnail", variant.hash());
+
+        BufferedImage image = ImageIO.read(variant.path().toFile());
+        Assertions.assertEquals(160, image.getWidth());
+        Assertions.assertEquals(80, image.getHeight());
+    }
+
+    /**
+     * Тестирование генерации варианта для изображения меньше размера варианта: изображение не увеличивается
+     */
+    @Test
+    void generateShouldNotUpscaleSmallImages() throws IOException {
+        MenuImageService.StoredImage original = storePng(100, 50);
+        Path target = tempDir.resolve("variants").resolve("detail.png");
+
+        menuImageVariantService.generate(original, MenuImageVariantService.Variant.DETAIL, target);
+
+        BufferedImage image = ImageIO.read(target.toFile());
+        Assertions.assertEquals(100, image.getWidth());
+        Assertions.assertEquals(50, image.getHeight());
+    }
+
+    /**
+     * Тестирование ограничения размера дискового кэша: вариант, к которому дольше всего не обращались,
+     * исключается из кэша, а его файл удаляется только по истечении задержки
+     */
+    @Test
+    void generateShouldEvictLeastRecentlyUsedVariant() throws IOException {
+        MenuImageService.StoredImage original = storePng(400, 400);
+        Path first = tempDir.resolve("variants").resolve("first.png");
+        Path second = tempDir.resolve("variants").resolve("second.png");
+
+        menuImageVariantService.generate(original, MenuImageVariantService.Variant.THUMBNAIL, first);
+        props.getVariants().setCacheMaxSize(DataSize.ofBytes(Files.size(first)));
+        menuImageVariantService.generate(original, MenuImageVariantService.Variant.LIST, second);
+
+        Assertions.assertEquals(0, menuImageVariantService.purgeEvicted());
+        Assertions.assertTrue(Files.exists(first));
+
+        props.getVariants().setEvictionDelay(Duration.ZERO);
+
+        Assertions.assertEquals(1, menuImageVariantService.purgeEvicted());
+        Assertions.assertFalse(Files.exists(first));
+        Assertions.assertTrue(Files.exists(second));
+    }
+
+    /**
+     * Тестирование повторного запроса исключенного варианта до удаления: вариант возвращается в кэш,
+     * а вытесняется вариант, к которому дольше всего не обращались
+     */
+    @Test
+    void findVariantShouldRestoreEvictedVariant() throws IOException, InterruptedException {
+        MenuImageService.StoredImage original = storePng(800, 400);
+        props.getVariants().setCacheMaxSize(DataSize.ofBytes(1));
+
+        menuImageVariantService.findVariant(original, MenuImageVariantService.Variant.THUMBNAIL);
+        menuImageVariantService.findVariant(original, MenuImageVariantService.Variant.LIST);
+        menuImageVariantService.close();
+        Optional<MenuImageService.StoredImage> restored = menuImageVariantService.findVariant(original,
+                MenuImageVariantService.Variant.THUMBNAIL);
+        props.getVariants().setEvictionDelay(Duration.ZERO);
+        menuImageVariantService.purgeEvicted();
+
+        Path thumbnail = restored
+                .orElseThrow(() -> new IllegalArgumentException("Не должно быть равно null"))
+                .path();
+        Path list = thumbnail.resolveSibling(thumbnail.getFileName().toString().replace("thumbnail", "list"));
+        Assertions.assertTrue(Files.exists(thumbnail));
+        Assertions.assertFalse(Files.exists(list));
+    }
+
+    // Вспомогательные методы для создания тестовых данных
+
+    /**
+     * Сохранение тестового PNG изображения заданного размера
+     */
+    private MenuImageService.StoredImage storePng(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int x = 0; x < width; x++) {
+            image.setRGB(x, x * height / width, 0xFFFF0000);
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+
+        String fileName = menuImageService.store(new ByteArrayInputStream(output.toByteArray()));
+        return menuImageService.find(fileName)
+                .orElseThrow(() -> new IllegalArgumentException("Не должно быть равно null"));
+    }
+}
@@ -0,0 +1,203 @@
+package naumen.project.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import naumen.project.config.props.MenuImportProps;
+import naumen.project.dto.menu.MenuImportResultDto;
+import naumen.project.entity.MenuItem;
+import naumen.project.entity.User;
+import naumen.project.entity.enums.Role;
+import naumen.project.exception.InvalidInputException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Модульные тесты для {@link MenuImportService}
+ */
+@ExtendWith(MockitoExtension.class)
+class MenuImportServiceTest {
+
+    @Mock
+    private MenuService menuService;
+
+    private ValidatorFactory validatorFactory;
+    private MenuImportService menuImportService;
+
+    private final User testRestaurant = createTestRestaurantUser();
+    private final List<List<String>> savedChunks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        Validator validator = validatorFactory.getValidator();
+
+        MenuImportProps props = new MenuImportProps();
+        props.setBatchSize(2);
+        props.setMaxRows(5);
+        props.setMaxErrors(1);
+
+        menuImportService = new MenuImportService(menuService, validator, new ObjectMapper(), props);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    /**
+     * Тестирование импорта CSV: валидные строки сохраняются пачками фиксированного размера
+     */
+    @Test
+    void importCsvWithValidRowsShouldSaveInChunks() throws IOException {
+        captureSavedChunks();
+        String csv = """
+                title,price,description
+                Пицца,450,"Сыр, томаты"
+                Суп дня,300,
+
+                Салат,"250.50","С ""заправкой"" и хлебом"
+                """;
+
+        MenuImportResultDto result = menuImportService.importMenu(stream(csv), MenuImportService.Format.CSV,
+                testRestaurant);
+
+        Assertions.assertEquals(3, result.imported());
+        Assertions.assertEquals(0, result.failed());
+        Assertions.assertFalse(result.truncated());
+        Assertions.assertTrue(result.errors().isEmpty());
+        Assertions.assertEquals(List.of(List.of("Пицца", "Суп дня"), List.of("Салат")), savedChunks);
+    }
+
+    /**
+     * Тестирование импорта CSV: невалидные строки пропускаются и попадают в ошибки с номером строки
+     */
+    @Test
+    void importCsvWithInvalidRowsShouldReportErrors() throws IOException {
+        captureSavedChunks();
+        String csv = """
+                title,price
+                Пицца,abc
+                ок,100
+                Борщ,200
+                """;
+
+        MenuImportResultDto result = menuImportService.importMenu(stream(csv), MenuImportService.Format.CSV,
+                testRestaurant);
+
+        Assertions.assertEquals(1, result.imported());
+        Assertions.assertEquals(2, result.failed());
+        Assertions.assertEquals(1, result.errors().size(), "Количество ошибок ограничено настройками");
+        Assertions.assertEquals(2, result.errors().getFirst().line());
+        Assertions.assertEquals("price: 'abc' не является числом", result.errors().getFirst().message());
+        Assertions.assertEquals(List.of(List.of("Борщ")), savedChunks);
+    }
+
+    /**
+     * Тестирование импорта NDJSON
+     */
+    @Test
+    void importNdjsonShouldParseEachLine() throws IOException {
+        captureSavedChunks();
+        String ndjson = """
+                {"title": "Пицца", "description": "Большая", "price": 450}
+                {"title": "Суп", "price": 300
+                {"title": "Борщ", "price": 200}
+                """;
+
+        MenuImportResultDto result = menuImportService.importMenu(stream(ndjson), MenuImportService.Format.NDJSON,
+                testRestaurant);
+
+        Assertions.assertEquals(2, result.imported());
+        Assertions.assertEquals(1, result.failed());
+        Assertions.assertEquals("Неверный JSON", result.errors().getFirst().message());
+        Assertions.assertEquals(List.of(List.of("Пицца", "Борщ")), savedChunks);
+    }
+
+    /**
+     * Тестирование импорта CSV без обязательных колонок
+     */
+    @Test
+    void importCsvWithoutRequiredColumnsShouldThrowException() {
+        String csv = """
+                title,description
+                Пицца,Большая
+                """;
+
+        InvalidInputException exception = Assertions.assertThrows(InvalidInputException.class,
+                () -> menuImportService.importMenu(stream(csv), MenuImportService.Format.CSV, testRestaurant));
+
+        Assertions.assertEquals("Заголовок CSV должен содержать колонки 'title' и 'price'", exception.getMessage());
+        Mockito.verify(menuService, Mockito.never()).saveAll(Mockito.any());
+    }
+
+    /**
+     * Тестирование превышения лимита строк в импорте: строки до лимита сохраняются, импорт прерывается
+     */
+    @Test
+    void importWithTooManyRowsShouldStopAtLimit() throws IOException {
+        captureSavedChunks();
+        StringBuilder csv = new StringBuilder("title,price\n");
+        for (int i = 0; i < 7; i++) {
+            csv.append("Блюдо ").append(i).append(",100\n");
+        }
+
+        MenuImportResultDto result = menuImportService.importMenu(stream(csv.toString()),
+                MenuImportService.Format.CSV, testRestaurant);
+
+        Assertions.assertEquals(5, result.imported());
+        Assertions.assertTrue(result.truncated());
+        Assertions.assertEquals(7, result.errors().getFirst().line());
+        Assertions.assertEquals("Импорт прерван: превышен лимит в 5 строк", result.errors().getFirst().message());
+        Assertions.assertEquals(3, savedChunks.size());
+    }
+
+    // Вспомогательные методы для создания тестовых данных
+
+    /**
+     * Запоминает названия блюд в каждой сохраненной пачке
+     */
+    private void captureSavedChunks() {
+        Mockito.doAnswer(invocation -> {
+            List<MenuItem> chunk = invocation.getArgument(0);
+            chunk.forEach(item -> {
+                Assertions.assertEquals(testRestaurant, item.getRestaurant());
+                Assertions.assertTrue(item.getPrice().compareTo(BigDecimal.ZERO) > 0);
+            });
+            savedChunks.add(chunk.stream().map(MenuItem::getTitle).toList());
+            return null;
+        }).when(menuService).saveAll(Mockito.anyList());
+    }
+
+    /**
+     * Создание входного потока из строки
+     */
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Создание тестового пользователя-ресторана
+     */
+    private User createTestRestaurantUser() {
+        User user = new User("restaurant@example.com", "Test Restaurant",
+                "+79991234567", Role.RESTAURANT, "Пушкина 17");
+        user.setId(1L);
+        return user;
+    }
+}
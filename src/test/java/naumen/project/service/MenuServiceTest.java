@@ -1,11 +1,18 @@
 package naumen.project.service;
 
+import naumen.project.dto.menu.PriceAdjustmentType;
+import naumen.project.entity.MenuChange;
 import naumen.project.entity.MenuItem;
+import naumen.project.entity.MenuVersion;
 import naumen.project.entity.User;
 import naumen.project.entity.enums.Role;
+import naumen.project.event.RestaurantChangedEvent;
 import naumen.project.exception.InvalidInputException;
 import naumen.project.exception.PermissionCheckFailedException;
+import naumen.project.repository.MenuChangeRepository;
+import naumen.project.repository.MenuJdbcRepository;
 import naumen.project.repository.MenuRepository;
+import naumen.project.repository.MenuVersionRepository;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,12 +20,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,6 +40,18 @@ class MenuServiceTest {
     @Mock
     private MenuRepository menuRepository;
 
+    @Mock
+    private MenuJdbcRepository menuJdbcRepository;
+
+    @Mock
+    private MenuChangeRepository menuChangeRepository;
+
+    @Mock
+    private MenuVersionRepository menuVersionRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private MenuService menuService;
 
@@ -83,12 +104,126 @@ class MenuServiceTest {
     @Test
     void createMenuItemWithValidRequestShouldSave() {
         Mockito.when(menuRepository.save(testMenuItem)).thenReturn(testMenuItem);
+        Mockito.when(menuJdbcRepository.nextVersion(testRestaurant.getId())).thenReturn(3L);
 
         MenuItem result = menuService.save(testMenuItem);
 
         Assertions.assertNotNull(result);
         Assertions.assertEquals(testRestaurant, result.getRestaurant());
         Mockito.verify(menuRepository).save(testMenuItem);
+        Mockito.verify(menuJdbcRepository).recordChanges(testRestaurant.getId(), List.of(testMenuItem.getId()),
+                3L, false);
+    }
+
+    /**
+     * Тестирование пакетного сохранения позиций меню через JDBC
+     */
+    @Test
+    void saveAllShouldBatchInsertMenuItems() {
+        List<MenuItem> menuItems = List.of(testMenuItem);
+        List<Long> ids = List.of(testMenuItem.getId());
+
+        Mockito.when(menuJdbcRepository.batchInsert(menuItems)).thenReturn(ids);
+        Mockito.when(menuJdbcRepository.nextVersion(testRestaurant.getId())).thenReturn(2L);
+
+        menuService.saveAll(menuItems);
+
+        Mockito.verify(menuJdbcRepository).batchInsert(menuItems);
+        Mockito.verify(menuJdbcRepository).recordChanges(testRestaurant.getId(), ids, 2L, false);
+        Mockito.verify(eventPublisher).publishEvent(new RestaurantChangedEvent(testRestaurant.getId()));
+        Mockito.verify(menuRepository, Mockito.never()).save(Mockito.any());
+    }
+
+    /**
+     * Тестирование пакетного сохранения пустого списка позиций меню
+     */
+    @Test
+    void saveAllWithEmptyListShouldNotTouchDatabase() {
+        menuService.saveAll(List.of());
+
+        Mockito.verifyNoInteractions(menuJdbcRepository);
+    }
+
+    /**
+     * Тестирование массового изменения цен на процент
+     */
+    @Test
+    void adjustPricesByPercentShouldRunSingleUpdateScopedToRestaurant() {
+        List<Long> ids = List.of(1L, 2L);
+        BigDecimal factor = new BigDecimal("1.07");
+
+        Mockito.when(menuJdbcRepository.countWithAdjustedPriceOutOfRange(
+                testRestaurant.getId(), factor, BigDecimal.ZERO, "Пицца", ids)).thenReturn(0L);
+        Mockito.when(menuJdbcRepository.adjustPrices(
+                testRestaurant.getId(), factor, BigDecimal.ZERO, "Пицца", ids)).thenReturn(2);
+
+        int result = menuService.adjustPrices(testRestaurant, PriceAdjustmentType.PERCENT, new BigDecimal(7),
+                "Пицца", ids);
+
+        Assertions.assertEquals(2, result);
+        Mockito.verify(menuJdbcRepository).lockVersion(testRestaurant.getId());
+        Mockito.verify(menuJdbcRepository)
+                .adjustPrices(testRestaurant.getId(), factor, BigDecimal.ZERO, "Пицца", ids);
+        Mockito.verify(eventPublisher).publishEvent(new RestaurantChangedEvent(testRestaurant.getId()));
+        Mockito.verifyNoInteractions(menuRepository);
+    }
+
+    /**
+     * Тестирование массового изменения цен на фиксированную сумму с пустым фильтром по названию
+     */
+    @Test
+    void adjustPricesByAbsoluteValueShouldIgnoreBlankTitle() {
+        BigDecimal delta = new BigDecimal("-50");
+
+        Mockito.when(menuJdbcRepository.countWithAdjustedPriceOutOfRange(
+                testRestaurant.getId(), BigDecimal.ONE, delta, null, null)).thenReturn(0L);
+        Mockito.when(menuJdbcRepository.adjustPrices(
+                testRestaurant.getId(), BigDecimal.ONE, delta, null, null)).thenReturn(5);
+
+        int result = menuService.adjustPrices(testRestaurant, PriceAdjustmentType.ABSOLUTE, delta, " ", null);
+
+        Assertions.assertEquals(5, result);
+    }
+
+    /**
+     * Тестирование массового изменения цен, под фильтры которого не попала ни одна позиция:
+     * версия меню не увеличивается и событие изменения ресторана не публикуется
+     */
+    @Test
+    void adjustPricesWithoutMatchingItemsShouldNotPublishEvent() {
+        Mockito.when(menuJdbcRepository.countWithAdjustedPriceOutOfRange(
+                testRestaurant.getId(), BigDecimal.ONE, BigDecimal.TEN, "Нет такой", null)).thenReturn(0L);
+        Mockito.when(menuJdbcRepository.adjustPrices(
+                testRestaurant.getId(), BigDecimal.ONE, BigDecimal.TEN, "Нет такой", null)).thenReturn(0);
+
+        int result = menuService.adjustPrices(testRestaurant, PriceAdjustmentType.ABSOLUTE, BigDecimal.TEN,
+                "Нет такой", null);
+
+        Assertions.assertEquals(0, result);
+        Mockito.verify(menuJdbcRepository, Mockito.never()).nextVersion(Mockito.any());
+        Mockito.verifyNoInteractions(eventPublisher);
+    }
+
+    /**
+     * Тестирование массового изменения цен, при котором цена части позиций станет недопустимой
+     */
+    @Test
+    void adjustPricesWithOutOfRangeResultShouldThrowException() {
+        BigDecimal factor = new BigDecimal("0.00");
+
+        Mockito.when(menuJdbcRepository.countWithAdjustedPriceOutOfRange(
+                testRestaurant.getId(), factor, BigDecimal.ZERO, null, null)).thenReturn(3L);
+
+        InvalidInputException exception = Assertions.assertThrows(InvalidInputException.class,
+                () -> menuService.adjustPrices(testRestaurant, PriceAdjustmentType.PERCENT, new BigDecimal(-100),
+                        null, null));
+
+        Assertions.assertEquals(
+                "Не удалось изменить цены, причина: цена 3 позиций меню выйдет за пределы (0; 100000]",
+                exception.getMessage());
+        Mockito.verify(menuJdbcRepository, Mockito.never()).nextVersion(Mockito.any());
+        Mockito.verify(menuJdbcRepository, Mockito.never()).adjustPrices(
+                Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
     }
 
     /**
@@ -125,10 +260,14 @@ class MenuServiceTest {
     void deleteMenuItemWithValidOwnerShouldDeleteMenuItem() {
         Mockito.when(menuRepository.findById(testMenuItem.getId())).thenReturn(Optional.of(testMenuItem));
 
+        Mockito.when(menuJdbcRepository.nextVersion(testRestaurant.getId())).thenReturn(7L);
+
         menuService.deleteMenuItem(testMenuItem.getId(), testRestaurant);
 
         Mockito.verify(menuRepository).findById(testMenuItem.getId());
         Mockito.verify(menuRepository).delete(testMenuItem);
+        Mockito.verify(menuJdbcRepository).recordChanges(testRestaurant.getId(), List.of(testMenuItem.getId()),
+                7L, true);
     }
 
     /**
@@ -165,6 +304,76 @@ class MenuServiceTest {
         Mockito.verify(menuRepository, Mockito.never()).delete(Mockito.any());
     }
 
+    /**
+     * Тестирование получения изменений меню с нулевой версией: возвращается полный снимок
+     */
+    @Test
+    void getMenuChangesFromZeroVersionShouldReturnFullSnapshot() {
+        Mockito.when(menuVersionRepository.findById(testRestaurant.getId()))
+                .thenReturn(Optional.of(createMenuVersion(testRestaurant.getId(), 5L)));
+        Mockito.when(menuRepository.findAllByRestaurantId(testRestaurant.getId())).thenReturn(List.of(testMenuItem));
+
+        MenuService.MenuChanges result = menuService.getMenuChanges(testRestaurant.getId(), 0);
+
+        Assertions.assertTrue(result.full());
+        Assertions.assertEquals(5L, result.version());
+        Assertions.assertEquals(List.of(testMenuItem), result.upserted());
+        Assertions.assertTrue(result.deleted().isEmpty());
+        Mockito.verifyNoInteractions(menuChangeRepository);
+    }
+
+    /**
+     * Тестирование получения изменений меню с актуальной версией: журнал изменений не читается
+     */
+    @Test
+    void getMenuChangesWithCurrentVersionShouldReturnNoChanges() {
+        Mockito.when(menuVersionRepository.findById(testRestaurant.getId()))
+                .thenReturn(Optional.of(createMenuVersion(testRestaurant.getId(), 5L)));
+
+        MenuService.MenuChanges result = menuService.getMenuChanges(testRestaurant.getId(), 5L);
+
+        Assertions.assertFalse(result.full());
+        Assertions.assertEquals(5L, result.version());
+        Assertions.assertTrue(result.upserted().isEmpty());
+        Assertions.assertTrue(result.deleted().isEmpty());
+        Mockito.verifyNoInteractions(menuChangeRepository, menuRepository);
+    }
+
+    /**
+     * Тестирование получения изменений меню: возвращаются только измененные и удаленные позиции
+     */
+    @Test
+    void getMenuChangesSinceVersionShouldReturnUpsertedAndDeletedItems() {
+        Mockito.when(menuVersionRepository.findById(testRestaurant.getId()))
+                .thenReturn(Optional.of(createMenuVersion(testRestaurant.getId(), 5L)));
+        Mockito.when(menuChangeRepository.findByRestaurantIdAndVersionGreaterThan(testRestaurant.getId(), 3L))
+                .thenReturn(List.of(
+                        new MenuChange(testMenuItem.getId(), testRestaurant.getId(), 4L, false),
+                        new MenuChange(42L, testRestaurant.getId(), 6L, true)));
+        Mockito.when(menuRepository.findAllById(List.of(testMenuItem.getId()))).thenReturn(List.of(testMenuItem));
+
+        MenuService.MenuChanges result = menuService.getMenuChanges(testRestaurant.getId(), 3L);
+
+        Assertions.assertFalse(result.full());
+        Assertions.assertEquals(6L, result.version(), "Версия ответа учитывает изменения после чтения версии");
+        Assertions.assertEquals(List.of(testMenuItem), result.upserted());
+        Assertions.assertEquals(List.of(42L), result.deleted());
+    }
+
+    /**
+     * Тестирование получения изменений меню с версией больше известной серверу
+     */
+    @Test
+    void getMenuChangesWithUnknownVersionShouldReturnFullSnapshot() {
+        Mockito.when(menuVersionRepository.findById(testRestaurant.getId())).thenReturn(Optional.empty());
+        Mockito.when(menuRepository.findAllByRestaurantId(testRestaurant.getId())).thenReturn(List.of());
+
+        MenuService.MenuChanges result = menuService.getMenuChanges(testRestaurant.getId(), 10L);
+
+        Assertions.assertTrue(result.full());
+        Assertions.assertEquals(0L, result.version());
+    }
+
     /**
      * Тестирование получения позиции меню по ID
      */
@@ -200,5 +409,11 @@ class MenuServiceTest {
         item.setId(1L);
         return item;
     }
-}
 
+    /**
+     * Создание тестовой версии меню ресторана
+     */
+    private MenuVersion createMenuVersion(Long restaurantId, long version) {
+        return new MenuVersion(restaurantId, version, Instant.now());
+    }
+}
@@ -0,0 +1,102 @@
+package naumen.project.service;
+
+import naumen.project.dto.restaurant.RestaurantSummaryDto;
+import naumen.project.event.RestaurantChangedEvent;
+import naumen.project.repository.RestaurantDirectoryRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Модульные тесты для {@link RestaurantDirectoryService}
+ */
+@ExtendWith(MockitoExtension.class)
+class RestaurantDirectoryServiceTest {
+
+    @Mock
+    private RestaurantDirectoryRepository restaurantDirectoryRepository;
+
+    @InjectMocks
+    private RestaurantDirectoryService restaurantDirectoryService;
+
+    /**
+     * Тестирование получения страниц каталога по курсору
+     */
+    @Test
+    void getRestaurantsShouldReturnPageAfterCursor() {
+        Mockito.when(restaurantDirectoryRepository.findAllSummaries())
+                .thenReturn(List.of(createSummary(3L, 2), createSummary(1L, 5), createSummary(7L, 0)));
+        restaurantDirectoryService.reload();
+
+        List<RestaurantSummaryDto> firstPage = restaurantDirectoryService.getRestaurants(null, 2);
+        List<RestaurantSummaryDto> secondPage = restaurantDirectoryService.getRestaurants(3L, 2);
+
+        Assertions.assertEquals(List.of(1L, 3L), firstPage.stream().map(RestaurantSummaryDto::id).toList());
+        Assertions.assertEquals(List.of(7L), secondPage.stream().map(RestaurantSummaryDto::id).toList());
+    }
+
+    /**
+     * Тестирование обновления сводки ресторана после изменения его меню
+     */
+    @Test
+    void onRestaurantChangedShouldReplaceSummary() {
+        Mockito.when(restaurantDirectoryRepository.findAllSummaries()).thenReturn(List.of(createSummary(1L, 5)));
+        Mockito.when(restaurantDirectoryRepository.findSummary(1L)).thenReturn(Optional.of(createSummary(1L, 6)));
+        restaurantDirectoryService.reload();
+
+        restaurantDirectoryService.onRestaurantChanged(new RestaurantChangedEvent(1L));
+
+        Assertions.assertEquals(6, restaurantDirectoryService.getRestaurants(null, 10).getFirst().itemCount());
+        Mockito.verify(restaurantDirectoryRepository).findSummary(1L);
+    }
+
+    /**
+     * Тестирование удаления ресторана из каталога, если он больше не найден
+     */
+    @Test
+    void onRestaurantChangedWithDeletedRestaurantShouldRemoveSummary() {
+        Mockito.when(restaurantDirectoryRepository.findAllSummaries()).thenReturn(List.of(createSummary(1L, 5)));
+        Mockito.when(restaurantDirectoryRepository.findSummary(1L)).thenReturn(Optional.empty());
+        restaurantDirectoryService.reload();
+
+        restaurantDirectoryService.onRestaurantChanged(new RestaurantChangedEvent(1L));
+
+        Assertions.assertTrue(restaurantDirectoryService.getRestaurants(null, 10).isEmpty());
+    }
+
+    /**
+     * Тестирование полной перезагрузки каталога: удаленные рестораны пропадают из каталога
+     */
+    @Test
+    void reloadShouldDropMissingRestaurants() {
+        Mockito.when(restaurantDirectoryRepository.findAllSummaries())
+                .thenReturn(List.of(createSummary(1L, 5), createSummary(2L, 1)))
+                .thenReturn(List.of(createSummary(2L, 1)));
+
+        restaurantDirectoryService.reload();
+        restaurantDirectoryService.reload();
+
+        Assertions.assertEquals(List.of(2L), restaurantDirectoryService.getRestaurants(null, 10).stream()
+                .map(RestaurantSummaryDto::id)
+                .toList());
+    }
+
+    // Вспомогательные методы для создания тестовых данных
+
+    /**
+     * Создание тестовой сводки по ресторану
+     */
+    private RestaurantSummaryDto createSummary(Long id, long itemCount) {
+        return new RestaurantSummaryDto(id, "Restaurant " + id, "Пушкина 17", itemCount,
+                new BigDecimal(100), new BigDecimal(500), Instant.now());
+    }
+}
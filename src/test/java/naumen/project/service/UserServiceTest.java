@@ -2,6 +2,7 @@ package naumen.project.service;
 
 import naumen.project.entity.User;
 import naumen.project.entity.enums.Role;
+import naumen.project.event.RestaurantChangedEvent;
 import naumen.project.exception.InvalidInputException;
 import naumen.project.repository.UserRepository;
 import org.junit.jupiter.api.Assertions;
@@ -11,6 +12,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 
@@ -23,6 +25,9 @@ public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserService userService;
 
@@ -83,6 +88,32 @@ public class UserServiceTest {
         Mockito.verify(userRepository, Mockito.never()).save(Mockito.any());
     }
 
+    /**
+     * Тестирование сохранения ресторана: публикуется событие изменения ресторана
+     */
+    @Test
+    void saveUserWithRestaurantRoleShouldPublishRestaurantChangedEvent() {
+        User restaurant = new User("restaurant@example.com", "Test Restaurant", "+79990000000",
+                Role.RESTAURANT, "Пушкина 17");
+        restaurant.setId(5L);
+
+        userService.saveUser(restaurant);
+
+        Mockito.verify(userRepository).save(restaurant);
+        Mockito.verify(eventPublisher).publishEvent(new RestaurantChangedEvent(5L));
+    }
+
+    /**
+     * Тестирование удаления клиента: событие изменения ресторана не публикуется
+     */
+    @Test
+    void deleteUserWithClientRoleShouldNotPublishEvent() {
+        userService.deleteUser(testUser);
+
+        Mockito.verify(userRepository).delete(testUser);
+        Mockito.verifyNoInteractions(eventPublisher);
+    }
+
     // Вспомогательные методы для создания тестовых данных
 
     /**
@@ -1,5 +1,8 @@
 package naumen.project.service.order;
 
+import naumen.project.config.props.KitchenProps;
+import naumen.project.config.props.ScheduledOrderProps;
+import naumen.project.entity.ArchivedOrder;
 import naumen.project.entity.MenuItem;
 import naumen.project.entity.Order;
 import naumen.project.entity.OrderItem;
@@ -8,6 +11,11 @@ import naumen.project.entity.enums.OrderStatus;
 import naumen.project.entity.enums.Role;
 import naumen.project.exception.InvalidInputException;
 import naumen.project.exception.PermissionCheckFailedException;
+import naumen.project.exception.RestaurantOverloadedException;
+import naumen.project.kitchen.KitchenLoad;
+import naumen.project.scheduling.ScheduledOrderTimer;
+import naumen.project.service.MenuService;
+import naumen.project.service.OrderItemService;
 import naumen.project.service.UserService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -15,11 +23,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Модульные тесты для {@link ClientOrderService}
@@ -33,6 +45,27 @@ class ClientOrderServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private MenuService menuService;
+
+    @Mock
+    private OrderItemService orderItemService;
+
+    @Mock
+    private KitchenLoad kitchenLoad;
+
+    @Mock
+    private KitchenLoad.Reservation reservation;
+
+    @Spy
+    private KitchenProps kitchenProps = new KitchenProps();
+
+    @Mock
+    private ScheduledOrderTimer scheduledOrderTimer;
+
+    @Spy
+    private ScheduledOrderProps scheduledOrderProps = new ScheduledOrderProps();
+
     @InjectMocks
     private ClientOrderService clientOrderService;
 
@@ -51,9 +84,10 @@ class ClientOrderServiceTest {
         String deliveryAddress = "Ул Пушкина";
 
         Mockito.when(userService.getById(restaurantId)).thenReturn(Optional.of(testRestaurant));
+        Mockito.when(kitchenLoad.tryReserve(restaurantId)).thenReturn(Optional.of(reservation));
         Mockito.when(orderService.save(Mockito.any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        Order result = clientOrderService.createOrder(restaurantId, orderItems, deliveryAddress, testClient);
+        Order result = clientOrderService.createOrder(restaurantId, orderItems, deliveryAddress, null, testClient);
 
         Assertions.assertNotNull(result);
         Assertions.assertEquals(OrderStatus.CREATED, result.getStatus());
@@ -63,6 +97,94 @@ class ClientOrderServiceTest {
         Assertions.assertEquals(new BigDecimal("250.00"), result.getTotalPrice());
         Mockito.verify(userService).getById(restaurantId);
         Mockito.verify(orderService).save(Mockito.any(Order.class));
+        Mockito.verify(orderService).publishStatusChanged(result, null);
+    }
+
+    /**
+     * Тестирование оформления заказа в ресторан с заполненной очередью кухни
+     */
+    @Test
+    void createOrder_WithFullKitchenQueue_ShouldThrowException() {
+        Long restaurantId = testRestaurant.getId();
+
+        Mockito.when(userService.getById(restaurantId)).thenReturn(Optional.of(testRestaurant));
+        Mockito.when(kitchenLoad.tryReserve(restaurantId)).thenReturn(Optional.empty());
+
+        RestaurantOverloadedException exception = Assertions.assertThrows(RestaurantOverloadedException.class,
+                () -> clientOrderService.createOrder(restaurantId, List.of(testOrderItem), "Ул Пушкина",
+                        null, testClient));
+
+        Assertions.assertEquals("Ресторан с id '3' сейчас перегружен заказами, повторите заказ позже",
+                exception.getMessage());
+        Assertions.assertEquals(60, exception.getRetryAfterSeconds());
+        Mockito.verify(orderService, Mockito.never()).save(Mockito.any());
+    }
+
+    /**
+     * Тестирование оформления заказа с далеким временем доставки: заказ планируется и не занимает место
+     * в очереди кухни
+     */
+    @Test
+    void createOrder_WithDistantDeliverAt_ShouldScheduleOrder() {
+        Long restaurantId = testRestaurant.getId();
+        Instant deliverAt = Instant.now().plus(Duration.ofHours(3));
+
+        Mockito.when(userService.getById(restaurantId)).thenReturn(Optional.of(testRestaurant));
+        Mockito.when(scheduledOrderTimer.releaseTimeOf(deliverAt)).thenReturn(deliverAt.minus(Duration.ofHours(1)));
+        Mockito.when(orderService.save(Mockito.any(Order.class))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            order.setId(5L);
+            return order;
+        });
+
+        Order result = clientOrderService.createOrder(restaurantId, List.of(testOrderItem), "Ул Пушкина",
+                deliverAt, testClient);
+
+        Assertions.assertEquals(OrderStatus.SCHEDULED, result.getStatus());
+        Assertions.assertEquals(deliverAt, result.getDeliverAt());
+        Mockito.verify(kitchenLoad, Mockito.never()).tryReserve(Mockito.any());
+        Mockito.verify(orderService).publishStatusChanged(result, null);
+        Mockito.verify(scheduledOrderTimer).schedule(5L, deliverAt);
+    }
+
+    /**
+     * Тестирование оформления заказа с близким временем доставки: заказ сразу передается ресторану
+     */
+    @Test
+    void createOrder_WithNearDeliverAt_ShouldCreateOrder() {
+        Long restaurantId = testRestaurant.getId();
+        Instant deliverAt = Instant.now().plus(Duration.ofMinutes(30));
+
+        Mockito.when(userService.getById(restaurantId)).thenReturn(Optional.of(testRestaurant));
+        Mockito.when(scheduledOrderTimer.releaseTimeOf(deliverAt)).thenReturn(deliverAt.minus(Duration.ofHours(1)));
+        Mockito.when(kitchenLoad.tryReserve(restaurantId)).thenReturn(Optional.of(reservation));
+        Mockito.when(orderService.save(Mockito.any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Order result = clientOrderService.createOrder(restaurantId, List.of(testOrderItem), "Ул Пушкина",
+                deliverAt, testClient);
+
+        Assertions.assertEquals(OrderStatus.CREATED, result.getStatus());
+        Assertions.assertEquals(deliverAt, result.getDeliverAt());
+        Mockito.verify(scheduledOrderTimer, Mockito.never()).schedule(Mockito.any(), Mockito.any());
+    }
+
+    /**
+     * Тестирование оформления заказа с временем доставки дальше допустимого
+     */
+    @Test
+    void createOrder_WithTooDistantDeliverAt_ShouldThrowException() {
+        Long restaurantId = testRestaurant.getId();
+        Instant deliverAt = Instant.now().plus(Duration.ofDays(8));
+
+        Mockito.when(userService.getById(restaurantId)).thenReturn(Optional.of(testRestaurant));
+
+        InvalidInputException exception = Assertions.assertThrows(InvalidInputException.class,
+                () -> clientOrderService.createOrder(restaurantId, List.of(testOrderItem), "Ул Пушкина",
+                        deliverAt, testClient));
+
+        Assertions.assertEquals("Доставку можно запланировать не больше чем на 168 ч. вперед", exception.getMessage());
+        Mockito.verify(kitchenLoad, Mockito.never()).tryReserve(Mockito.any());
+        Mockito.verify(orderService, Mockito.never()).save(Mockito.any());
     }
 
     /**
@@ -76,7 +198,7 @@ class ClientOrderServiceTest {
         String deliveryAddress = "Ул Пушкина";
 
         InvalidInputException exception = Assertions.assertThrows(InvalidInputException.class,
-                () -> clientOrderService.createOrder(restaurantId, orderItems, deliveryAddress, testClient));
+                () -> clientOrderService.createOrder(restaurantId, orderItems, deliveryAddress, null, testClient));
 
         Assertions.assertEquals("Все позиции заказа должны принадлежать ресторану с id '1'", exception.getMessage());
         Mockito.verify(userService, Mockito.never()).getById(Mockito.any());
@@ -104,33 +226,81 @@ class ClientOrderServiceTest {
      * Тестирование успешного получения заказа клиента
      */
     @Test
-    void getOrder_WithValidClientAndOrder_ShouldReturnOrder() {
+    void findOrder_WithValidClientAndOrder_ShouldReturnOrder() {
         Long orderId = 1L;
 
-        Mockito.when(orderService.getById(orderId)).thenReturn(Optional.of(testOrder));
+        Mockito.when(orderService.getWithItemsById(orderId)).thenReturn(Optional.of(testOrder));
 
-        Order result = clientOrderService.getOrder(orderId, testClient);
+        Optional<Order> result = clientOrderService.findOrder(orderId, testClient);
 
-        Assertions.assertNotNull(result);
-        Assertions.assertEquals(testOrder, result);
-        Mockito.verify(orderService).getById(orderId);
+        Assertions.assertTrue(result.isPresent());
+        Assertions.assertEquals(testOrder, result.get());
+        Mockito.verify(orderService).getWithItemsById(orderId);
     }
 
     /**
      * Тестирование получения заказа чужим клиентом
      */
     @Test
-    void getOrder_WithDifferentClient_ShouldThrowException() {
+    void findOrder_WithDifferentClient_ShouldThrowException() {
         Long orderId = 1L;
         User differentClient = createDifferentClient();
 
-        Mockito.when(orderService.getById(orderId)).thenReturn(Optional.of(testOrder));
+        Mockito.when(orderService.getWithItemsById(orderId)).thenReturn(Optional.of(testOrder));
 
         PermissionCheckFailedException exception = Assertions.assertThrows(PermissionCheckFailedException.class,
-                () -> clientOrderService.getOrder(orderId, differentClient));
+                () -> clientOrderService.findOrder(orderId, differentClient));
 
         Assertions.assertEquals("Заказ c id '1' не принадлежит вам", exception.getMessage());
-        Mockito.verify(orderService).getById(orderId);
+        Mockito.verify(orderService).getWithItemsById(orderId);
+    }
+
+    /**
+     * Тестирование получения чужого заказа из архива
+     */
+    @Test
+    void getArchivedOrder_WithDifferentClient_ShouldThrowException() {
+        Long orderId = 1L;
+        ArchivedOrder archivedOrder = Mockito.mock(ArchivedOrder.class);
+        Mockito.when(archivedOrder.getId()).thenReturn(orderId);
+        Mockito.when(archivedOrder.getClientId()).thenReturn(testClient.getId());
+
+        Mockito.when(orderService.getArchivedWithItemsById(orderId)).thenReturn(Optional.of(archivedOrder));
+
+        Assertions.assertEquals(archivedOrder, clientOrderService.getArchivedOrder(orderId, testClient));
+        PermissionCheckFailedException exception = Assertions.assertThrows(PermissionCheckFailedException.class,
+                () -> clientOrderService.getArchivedOrder(orderId, createDifferentClient()));
+        Assertions.assertEquals("Заказ c id '1' не принадлежит вам", exception.getMessage());
+    }
+
+    /**
+     * Тестирование получения заказа, которого нет ни в основной таблице, ни в архиве
+     */
+    @Test
+    void getArchivedOrder_WithUnknownOrder_ShouldThrowException() {
+        Mockito.when(orderService.getArchivedWithItemsById(7L)).thenReturn(Optional.empty());
+
+        InvalidInputException exception = Assertions.assertThrows(InvalidInputException.class,
+                () -> clientOrderService.getArchivedOrder(7L, testClient));
+
+        Assertions.assertEquals("Заказ с id '7' не найден", exception.getMessage());
+    }
+
+    /**
+     * Тестирование удаления запланированного заказа
+     */
+    @Test
+    void deleteOrder_WithScheduledStatus_ShouldDeleteOrder() {
+        Long orderId = 1L;
+        testOrder.setStatus(OrderStatus.SCHEDULED);
+
+        Mockito.when(orderService.getById(orderId)).thenReturn(Optional.of(testOrder));
+
+        clientOrderService.deleteOrder(orderId, testClient);
+
+        Assertions.assertEquals(OrderStatus.DELETED, testOrder.getStatus());
+        Mockito.verify(orderService).save(testOrder);
+        Mockito.verify(orderService).publishStatusChanged(testOrder, OrderStatus.SCHEDULED);
     }
 
     /**
@@ -172,8 +342,81 @@ class ClientOrderServiceTest {
         Mockito.verify(orderService, Mockito.never()).save(Mockito.any());
     }
 
+    /**
+     * Тестирование массового оформления в режиме BEST_EFFORT: корректные заказы сохраняются одним вызовом,
+     * некорректные возвращаются с ошибкой
+     */
+    @Test
+    void createOrders_BestEffort_ShouldSaveOnlyValidOrders() {
+        mockBulkLookups();
+        List<ClientOrderService.OrderDraft> drafts = List.of(
+                createDraft(testRestaurant.getId(), 10L),
+                createDraft(testRestaurant.getId(), 99L),
+                createDraft(42L, 10L)
+        );
+
+        List<ClientOrderService.BulkOrderResult> results = clientOrderService.createOrders(drafts, false, testClient);
+
+        Assertions.assertNotNull(results.get(0).order());
+        Assertions.assertNull(results.get(0).error());
+        Assertions.assertEquals(new BigDecimal("500.00"), results.get(0).order().getTotalPrice());
+        Assertions.assertEquals("Позиция меню с id '99' не найдена", results.get(1).error());
+        Assertions.assertEquals("Ресторан с id '42' не найден", results.get(2).error());
+        Assertions.assertNull(results.get(2).order());
+        Mockito.verify(orderService).saveAll(List.of(results.get(0).order()));
+        Mockito.verify(menuService).getMenuItemsByIds(Set.of(10L, 99L));
+    }
+
+    /**
+     * Тестирование массового оформления в режиме ALL_OR_NOTHING с некорректным заказом: ничего не сохраняется,
+     * а корректный заказ получает ошибку о том, что он отклонен вместе с некорректными
+     */
+    @Test
+    void createOrders_AllOrNothingWithInvalidOrder_ShouldSaveNothing() {
+        mockBulkLookups();
+        List<ClientOrderService.OrderDraft> drafts = List.of(
+                createDraft(testRestaurant.getId(), 10L),
+                createDraft(testRestaurant.getId(), 99L)
+        );
+
+        List<ClientOrderService.BulkOrderResult> results = clientOrderService.createOrders(drafts, true, testClient);
+
+        Assertions.assertNull(results.get(0).order());
+        Assertions.assertEquals("Заказ не оформлен: в запросе есть некорректные заказы", results.get(0).error());
+        Assertions.assertNull(results.get(1).order());
+        Assertions.assertNotNull(results.get(1).error());
+        Assertions.assertNotEquals(results.get(0).error(), results.get(1).error());
+        Mockito.verify(orderService, Mockito.never()).saveAll(Mockito.anyList());
+        Mockito.verify(reservation).release();
+    }
+
     // Вспомогательные методы для создания тестовых данных
 
+    /**
+     * Настройка загрузки позиций меню и ресторанов для массового оформления
+     */
+    private void mockBulkLookups() {
+        MenuItem menuItem = new MenuItem("Пицца", null, new BigDecimal("250.00"), testRestaurant);
+        menuItem.setId(10L);
+        Mockito.when(menuService.getMenuItemsByIds(Mockito.anyCollection())).thenReturn(List.of(menuItem));
+        Mockito.when(userService.getAllByIds(Mockito.anyCollection())).thenReturn(List.of(testRestaurant));
+        Mockito.when(kitchenLoad.tryReserve(testRestaurant.getId())).thenReturn(Optional.of(reservation));
+        Mockito.when(orderItemService.buildOrderItem(Mockito.any(MenuItem.class), Mockito.anyInt()))
+                .thenAnswer(invocation -> {
+                    MenuItem item = invocation.getArgument(0);
+                    Integer quantity = invocation.getArgument(1);
+                    return new OrderItem(item, item.getPrice().multiply(BigDecimal.valueOf(quantity)), quantity);
+                });
+    }
+
+    /**
+     * Создание заказа для массового оформления с одной позицией в количестве 2
+     */
+    private ClientOrderService.OrderDraft createDraft(Long restaurantId, Long menuItemId) {
+        return new ClientOrderService.OrderDraft(restaurantId, "Ул Пушкина",
+                List.of(new ClientOrderService.OrderItemDraft(menuItemId, 2)), null);
+    }
+
     /**
      * Создание тестового клиента
      */
@@ -89,6 +89,7 @@ class CourierOrderServiceTest {
         Assertions.assertEquals(testCourier, testOrder.getCourier());
         Mockito.verify(orderService).getById(orderId);
         Mockito.verify(orderService).save(testOrder);
+        Mockito.verify(orderService).publishStatusChanged(testOrder, testOrder.getStatus());
     }
 
     /**
@@ -109,6 +110,42 @@ class CourierOrderServiceTest {
         Mockito.verify(orderService, Mockito.never()).save(Mockito.any());
     }
 
+    /**
+     * Тестирование приема курьером автоматически отмененного заказа
+     */
+    @Test
+    void acceptOrder_WithCancelledOrder_ShouldThrowException() {
+        Long orderId = 1L;
+        testOrder.setCourier(null);
+        testOrder.setStatus(OrderStatus.CANCELLED);
+
+        Mockito.when(orderService.getById(orderId)).thenReturn(Optional.of(testOrder));
+
+        InvalidInputException exception = Assertions.assertThrows(InvalidInputException.class,
+                () -> courierOrderService.acceptOrder(orderId, testCourier));
+
+        Assertions.assertEquals("Заказ с id '1' отменен", exception.getMessage());
+        Mockito.verify(orderService, Mockito.never()).save(Mockito.any());
+    }
+
+    /**
+     * Тестирование принятия курьером запланированного заказа, еще не переданного ресторану
+     */
+    @Test
+    void acceptOrder_WithScheduledOrder_ShouldThrowException() {
+        Long orderId = 1L;
+        testOrder.setCourier(null);
+        testOrder.setStatus(OrderStatus.SCHEDULED);
+
+        Mockito.when(orderService.getById(orderId)).thenReturn(Optional.of(testOrder));
+
+        InvalidInputException exception = Assertions.assertThrows(InvalidInputException.class,
+                () -> courierOrderService.acceptOrder(orderId, testCourier));
+
+        Assertions.assertEquals("Заказ с id '1' запланирован и еще не передан ресторану", exception.getMessage());
+        Mockito.verify(orderService, Mockito.never()).save(Mockito.any());
+    }
+
     /**
      * Тестирование принятия заказа курьером со статусом PREPARED
      */
@@ -0,0 +1,56 @@
+package naumen.project.service.order;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import naumen.project.entity.enums.OrderStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Модульные тесты для {@link OrderArchiveService}
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderArchiveServiceTest {
+
+    @Mock
+    private OrderService orderService;
+
+    private MeterRegistry meterRegistry;
+    private OrderArchiveService orderArchiveService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        orderArchiveService = new OrderArchiveService(orderService, meterRegistry);
+    }
+
+    /**
+     * Тестирование переноса пачки заказов в конечных статусах: количество попадает в метрику
+     */
+    @Test
+    void archiveOrdersShouldArchiveTerminalOrdersOlderThanAge() {
+        Mockito.when(orderService.archive(Mockito.anyCollection(), Mockito.any(), Mockito.eq(100))).thenReturn(42);
+
+        int archived = orderArchiveService.archiveOrders(Duration.ofDays(30), 100);
+
+        Assertions.assertEquals(42, archived);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Set<OrderStatus>> statuses = ArgumentCaptor.forClass(Set.class);
+        ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+        Mockito.verify(orderService).archive(statuses.capture(), cutoff.capture(), Mockito.eq(100));
+        Assertions.assertEquals(Set.of(OrderStatus.COMPLETED, OrderStatus.DELETED, OrderStatus.CANCELLED),
+                statuses.getValue());
+        Assertions.assertTrue(cutoff.getValue().isBefore(Instant.now().minus(Duration.ofDays(29))));
+        Assertions.assertEquals(42, meterRegistry.counter("order.archive.archived").count());
+    }
+}
@@ -0,0 +1,176 @@
+package naumen.project.service.order;
+
+import naumen.project.entity.OrderChange;
+import naumen.project.entity.OrderTransition;
+import naumen.project.entity.User;
+import naumen.project.entity.enums.OrderStatus;
+import naumen.project.entity.enums.Role;
+import naumen.project.event.OrderStatusChangedEvent;
+import naumen.project.repository.OrderChangeRepository;
+import naumen.project.repository.OrderJdbcRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Модульные тесты для {@link OrderChangeService}
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderChangeServiceTest {
+
+    @Mock
+    private OrderChangeRepository orderChangeRepository;
+
+    @Mock
+    private OrderJdbcRepository orderJdbcRepository;
+
+    @InjectMocks
+    private OrderChangeService orderChangeService;
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+    private final User testClient = createTestUser(3L, Role.CLIENT);
+
+    /**
+     * Тестирование записи изменений транзакции в журнал перед ее фиксацией, по одному изменению на заказ,
+     * и записи всех переходов заказов между статусами в журнал переходов
+     */
+    @Test
+    void onOrderStatusChangedShouldRecordChangesBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            orderChangeService.onOrderStatusChanged(event(1L, null, OrderStatus.CREATED));
+            orderChangeService.onOrderStatusChanged(event(2L, OrderStatus.CREATED, OrderStatus.ACCEPTED));
+            orderChangeService.onOrderStatusChanged(event(1L, OrderStatus.CREATED, OrderStatus.DELETED));
+            Mockito.verifyNoInteractions(orderJdbcRepository);
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            Assertions.assertEquals(1, synchronizations.size());
+            synchronizations.forEach(sync -> sync.beforeCommit(false));
+            synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<OrderTransition>> transitionCaptor = ArgumentCaptor.forClass(List.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<OrderChange>> captor = ArgumentCaptor.forClass(List.class);
+        InOrder inOrder = Mockito.inOrder(orderChangeRepository, orderJdbcRepository);
+        inOrder.verify(orderChangeRepository).flush();
+        inOrder.verify(orderJdbcRepository).recordTransitions(transitionCaptor.capture());
+        inOrder.verify(orderJdbcRepository).recordChanges(captor.capture());
+
+        List<OrderTransition> transitions = transitionCaptor.getValue();
+        Assertions.assertEquals(List.of(OrderStatus.CREATED, OrderStatus.ACCEPTED, OrderStatus.DELETED),
+                transitions.stream().map(OrderTransition::getStatus).toList());
+        Assertions.assertNull(transitions.getFirst().getDurationMillis());
+        Assertions.assertEquals(90_000L, transitions.get(1).getDurationMillis());
+
+        List<OrderChange> changes = captor.getValue();
+        Assertions.assertEquals(List.of(2L, 1L), changes.stream().map(OrderChange::getOrderId).toList());
+        Assertions.assertEquals(OrderStatus.DELETED, changes.get(1).getStatus());
+        Assertions.assertFalse(TransactionSynchronizationManager.hasResource(orderChangeService));
+    }
+
+    /**
+     * Тестирование смены курьера без смены статуса: изменение записывается, переход - нет
+     */
+    @Test
+    void onOrderStatusChangedWithSameStatusShouldNotRecordTransition() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            orderChangeService.onOrderStatusChanged(event(1L, OrderStatus.PREPARED, OrderStatus.PREPARED));
+            TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+        } finally {
+            TransactionSynchronizationManager.unbindResourceIfPossible(orderChangeService);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Mockito.verify(orderJdbcRepository).recordChanges(Mockito.anyList());
+        Mockito.verify(orderJdbcRepository, Mockito.never()).recordTransitions(Mockito.anyList());
+    }
+
+    /**
+     * Тестирование изменения заказа вне транзакции
+     */
+    @Test
+    void onOrderStatusChangedWithoutTransactionShouldThrowException() {
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> orderChangeService.onOrderStatusChanged(event(1L, null, OrderStatus.CREATED)));
+    }
+
+    /**
+     * Тестирование получения изменений заказов клиента, когда изменений больше лимита
+     */
+    @Test
+    void getChangesWithMoreChangesThanLimitShouldReturnPage() {
+        Mockito.when(orderChangeRepository.findByClientIdAndSequenceGreaterThanOrderBySequence(
+                        testClient.getId(), 5L, Limit.of(3)))
+                .thenReturn(List.of(change(1L, 6L), change(2L, 7L), change(3L, 9L)));
+
+        OrderChangeService.OrderChanges result = orderChangeService.getChanges(Role.CLIENT, testClient, 5L, 2);
+
+        Assertions.assertTrue(result.hasMore());
+        Assertions.assertEquals(7L, result.sequence());
+        Assertions.assertEquals(List.of(1L, 2L), result.changes().stream().map(OrderChange::getOrderId).toList());
+    }
+
+    /**
+     * Тестирование получения изменений заказов курьером, когда изменений нет
+     */
+    @Test
+    void getChangesWithoutChangesShouldKeepSequence() {
+        User courier = createTestUser(4L, Role.COURIER);
+        Mockito.when(orderChangeRepository.findCourierChanges(4L, 5L, Limit.of(101)))
+                .thenReturn(List.of());
+
+        OrderChangeService.OrderChanges result = orderChangeService.getChanges(Role.COURIER, courier, 5L, 100);
+
+        Assertions.assertFalse(result.hasMore());
+        Assertions.assertEquals(5L, result.sequence());
+        Assertions.assertTrue(result.changes().isEmpty());
+    }
+
+    // Вспомогательные методы для создания тестовых данных
+
+    /**
+     * Создание события изменения статуса заказа
+     */
+    private OrderStatusChangedEvent event(Long orderId, OrderStatus previousStatus, OrderStatus status) {
+        return new OrderStatusChangedEvent(orderId, 2L, testClient.getId(), null, previousStatus, status,
+                previousStatus == null ? null : NOW, NOW.plusSeconds(90), BigDecimal.TEN, NOW);
+    }
+
+    /**
+     * Создание записи журнала изменений заказов
+     */
+    private OrderChange change(Long orderId, long sequence) {
+        OrderChange change = new OrderChange(orderId, 2L, testClient.getId(), null, OrderStatus.CREATED,
+                Instant.now());
+        change.setSequence(sequence);
+        return change;
+    }
+
+    /**
+     * Создание тестового пользователя
+     */
+    private User createTestUser(Long id, Role role) {
+        User user = new User("user" + id + "@example.com", "Test User", "+79991234567", role, null);
+        user.setId(id);
+        return user;
+    }
+}
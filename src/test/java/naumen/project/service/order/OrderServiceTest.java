@@ -1,23 +1,31 @@
 package naumen.project.service.order;
 
+import naumen.project.entity.ArchivedOrder;
 import naumen.project.entity.Order;
 import naumen.project.entity.User;
 import naumen.project.entity.enums.OrderStatus;
 import naumen.project.entity.enums.Role;
+import naumen.project.event.OrderStatusChangedEvent;
+import naumen.project.repository.ArchivedOrderRepository;
+import naumen.project.repository.OrderJdbcRepository;
 import naumen.project.repository.OrderRepository;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,6 +38,15 @@ class OrderServiceTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private OrderJdbcRepository orderJdbcRepository;
+
+    @Mock
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private OrderService orderService;
 
@@ -55,6 +72,23 @@ class OrderServiceTest {
         Mockito.verify(orderRepository).findById(orderId);
     }
 
+    /**
+     * Тестирование получения заказа вместе с позициями
+     */
+    @Test
+    void getWithItemsById_WithExistingOrder_ShouldReturnOrder() {
+        Long orderId = 1L;
+
+        Mockito.when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(testOrder));
+
+        Order result = orderService.getWithItemsById(orderId)
+                .orElseThrow(() -> new IllegalArgumentException("Ожидали получить заказ, но он не был найден"));
+
+        Assertions.assertEquals(testOrder, result);
+        Mockito.verify(orderRepository).findWithItemsById(orderId);
+        Mockito.verify(orderRepository, Mockito.never()).findById(Mockito.any());
+    }
+
     /**
      * Тестирование успешного сохранения заказа
      */
@@ -122,22 +156,73 @@ class OrderServiceTest {
     }
 
     /**
-     * Тестирование получения активных заказов ресторана
+     * Тестирование отмены зависших заказов одним запросом
      */
     @Test
-    void getActiveOrdersByRestaurant_WithValidRestaurant_ShouldReturnPagedOrders() {
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<Order> ordersPage = new PageImpl<>(List.of(testOrder));
+    void cancelStale_WithStatus_ShouldDelegateToJdbcRepository() {
+        Instant cutoff = Instant.now().minusSeconds(3600);
+        Mockito.when(orderJdbcRepository.cancelStale(Mockito.eq(OrderStatus.CREATED), Mockito.eq(cutoff),
+                        Mockito.eq(50), Mockito.any()))
+                .thenReturn(List.of());
 
-        Mockito.when(orderRepository.findActiveOrdersByRestaurant(testRestaurant, pageable))
-                .thenReturn(ordersPage);
+        List<OrderJdbcRepository.StatusTransition> result = orderService.cancelStale(OrderStatus.CREATED, cutoff, 50);
 
-        Page<Order> result = orderService.getActiveOrdersByRestaurant(testRestaurant, pageable);
+        Assertions.assertTrue(result.isEmpty());
+    }
 
-        Assertions.assertNotNull(result);
-        Assertions.assertEquals(1, result.getTotalElements());
-        Assertions.assertEquals(testOrder, result.getContent().getFirst());
-        Mockito.verify(orderRepository).findActiveOrdersByRestaurant(testRestaurant, pageable);
+    /**
+     * Тестирование получения последних архивных заказов клиента по его идентификатору с ограничением количества
+     */
+    @Test
+    void getArchivedByClient_WithClient_ShouldFindLatestByClientId() {
+        ArchivedOrder archivedOrder = new ArchivedOrder();
+        Mockito.when(archivedOrderRepository.findByClientIdOrderByCreatedAtDesc(testClient.getId(), Limit.of(20)))
+                .thenReturn(List.of(archivedOrder));
+
+        List<ArchivedOrder> result = orderService.getArchivedByClient(testClient, 20);
+
+        Assertions.assertEquals(List.of(archivedOrder), result);
+    }
+
+    /**
+     * Тестирование публикации события смены статуса: время перехода фиксируется в заказе,
+     * а в событие попадает и время перехода в предыдущий статус
+     */
+    @Test
+    void publishStatusChanged_WithNewStatus_ShouldStampStatusChangedAt() {
+        Instant previousStatusChangedAt = Instant.now().minusSeconds(60);
+        testOrder.setRestaurant(testRestaurant);
+        testOrder.setStatusChangedAt(previousStatusChangedAt);
+        testOrder.setStatus(OrderStatus.ACCEPTED);
+
+        orderService.publishStatusChanged(testOrder, OrderStatus.CREATED);
+
+        ArgumentCaptor<OrderStatusChangedEvent> captor = ArgumentCaptor.forClass(OrderStatusChangedEvent.class);
+        Mockito.verify(eventPublisher).publishEvent(captor.capture());
+        OrderStatusChangedEvent event = captor.getValue();
+        Assertions.assertEquals(previousStatusChangedAt, event.previousStatusChangedAt());
+        Assertions.assertEquals(testOrder.getStatusChangedAt(), event.statusChangedAt());
+        Assertions.assertTrue(testOrder.getStatusChangedAt().isAfter(previousStatusChangedAt));
+        Assertions.assertTrue(event.previousStatusDurationMillis() >= 60_000);
+    }
+
+    /**
+     * Тестирование публикации события назначения курьера без смены статуса: время перехода не меняется
+     */
+    @Test
+    void publishStatusChanged_WithSameStatus_ShouldKeepStatusChangedAt() {
+        Instant statusChangedAt = Instant.now().minusSeconds(60);
+        testOrder.setRestaurant(testRestaurant);
+        testOrder.setCourier(testCourier);
+        testOrder.setStatusChangedAt(statusChangedAt);
+
+        orderService.publishStatusChanged(testOrder, testOrder.getStatus());
+
+        ArgumentCaptor<OrderStatusChangedEvent> captor = ArgumentCaptor.forClass(OrderStatusChangedEvent.class);
+        Mockito.verify(eventPublisher).publishEvent(captor.capture());
+        Assertions.assertEquals(statusChangedAt, testOrder.getStatusChangedAt());
+        Assertions.assertEquals(testCourier.getId(), captor.getValue().courierId());
+        Assertions.assertNull(captor.getValue().previousStatusDurationMillis());
     }
 
     // Вспомогательные методы для создания тестовых данных
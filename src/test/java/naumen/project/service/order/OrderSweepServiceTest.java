@@ -0,0 +1,81 @@
+package naumen.project.service.order;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import naumen.project.entity.enums.OrderStatus;
+import naumen.project.repository.OrderJdbcRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Модульные тесты для {@link OrderSweepService}
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderSweepServiceTest {
+
+    @Mock
+    private OrderService orderService;
+
+    private MeterRegistry meterRegistry;
+    private OrderSweepService orderSweepService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        orderSweepService = new OrderSweepService(orderService, meterRegistry);
+    }
+
+    /**
+     * Тестирование отмены пачки зависших заказов: по каждому публикуется событие, количество попадает в метрику
+     */
+    @Test
+    void cancelStaleOrdersShouldPublishEventsAndCountCancelled() {
+        OrderJdbcRepository.StatusTransition first = transition(1L);
+        OrderJdbcRepository.StatusTransition second = transition(2L);
+        Mockito.when(orderService.cancelStale(Mockito.eq(OrderStatus.CREATED), Mockito.any(), Mockito.eq(100)))
+                .thenReturn(List.of(first, second));
+
+        int cancelled = orderSweepService.cancelStaleOrders(OrderStatus.CREATED, Duration.ofHours(2), 100);
+
+        Assertions.assertEquals(2, cancelled);
+        ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+        Mockito.verify(orderService).cancelStale(Mockito.eq(OrderStatus.CREATED), cutoff.capture(), Mockito.eq(100));
+        Assertions.assertTrue(cutoff.getValue().isBefore(Instant.now().minus(Duration.ofMinutes(119))));
+        Mockito.verify(orderService).publishStatusChanged(first, OrderStatus.CANCELLED);
+        Mockito.verify(orderService).publishStatusChanged(second, OrderStatus.CANCELLED);
+        Assertions.assertEquals(2, meterRegistry.counter("order.sweep.cancelled", "status", "CREATED").count());
+    }
+
+    /**
+     * Тестирование отмены заказов в конечном статусе
+     */
+    @Test
+    void cancelStaleOrdersWithTerminalStatusShouldThrowException() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> orderSweepService.cancelStaleOrders(OrderStatus.COMPLETED, Duration.ofHours(2), 100));
+
+        Mockito.verifyNoInteractions(orderService);
+    }
+
+    // Вспомогательные методы для создания тестовых данных
+
+    /**
+     * Создание результата отмены заказа
+     */
+    private OrderJdbcRepository.StatusTransition transition(Long orderId) {
+        Instant now = Instant.now();
+        return new OrderJdbcRepository.StatusTransition(orderId, OrderStatus.CREATED, 3L, 2L, null, BigDecimal.TEN,
+                now.minus(Duration.ofHours(3)), now.minus(Duration.ofHours(3)), now, true);
+    }
+}
@@ -6,6 +6,8 @@ import naumen.project.entity.enums.OrderStatus;
 import naumen.project.entity.enums.Role;
 import naumen.project.exception.InvalidInputException;
 import naumen.project.exception.PermissionCheckFailedException;
+import naumen.project.kitchen.KitchenQueue;
+import naumen.project.repository.OrderJdbcRepository;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,8 +21,10 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Модульные тесты для {@link RestaurantOrderService}
@@ -31,6 +35,9 @@ class RestaurantOrderServiceTest {
     @Mock
     private OrderService orderService;
 
+    @Mock
+    private KitchenQueue kitchenQueue;
+
     @InjectMocks
     private RestaurantOrderService restaurantOrderService;
 
@@ -44,17 +51,20 @@ class RestaurantOrderServiceTest {
     @Test
     void getActiveOrders_WithValidRestaurant_ShouldReturnPagedOrders() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Order> ordersPage = new PageImpl<>(List.of(testOrder));
+        OrderJdbcRepository.OrderSummary summary = new OrderJdbcRepository.OrderSummary(orderId,
+                testRestaurant.getId(), OrderStatus.CREATED, testOrder.getTotalPrice(), Instant.now());
+        Page<OrderJdbcRepository.OrderSummary> ordersPage = new PageImpl<>(List.of(summary));
 
-        Mockito.when(orderService.getActiveOrdersByRestaurant(testRestaurant, pageable))
+        Mockito.when(kitchenQueue.getActiveOrders(testRestaurant.getId(), pageable))
                 .thenReturn(ordersPage);
 
-        Page<Order> result = restaurantOrderService.getActiveOrders(testRestaurant, pageable);
+        Page<OrderJdbcRepository.OrderSummary> result = restaurantOrderService.getActiveOrders(testRestaurant,
+                pageable);
 
         Assertions.assertNotNull(result);
         Assertions.assertEquals(1, result.getTotalElements());
-        Assertions.assertEquals(testOrder, result.getContent().getFirst());
-        Mockito.verify(orderService).getActiveOrdersByRestaurant(testRestaurant, pageable);
+        Assertions.assertEquals(summary, result.getContent().getFirst());
+        Mockito.verifyNoInteractions(orderService);
     }
 
     /**
@@ -62,13 +72,13 @@ class RestaurantOrderServiceTest {
      */
     @Test
     void getOrder_WithValidRestaurantAndOrder_ShouldReturnOrder() {
-        Mockito.when(orderService.getById(orderId)).thenReturn(Optional.of(testOrder));
+        Mockito.when(orderService.getWithItemsById(orderId)).thenReturn(Optional.of(testOrder));
 
         Order result = restaurantOrderService.getOrder(orderId, testRestaurant);
 
         Assertions.assertNotNull(result);
         Assertions.assertEquals(testOrder, result);
-        Mockito.verify(orderService).getById(orderId);
+        Mockito.verify(orderService).getWithItemsById(orderId);
     }
 
     /**
@@ -78,13 +88,13 @@ class RestaurantOrderServiceTest {
     void getOrder_WithDifferentRestaurant_ShouldThrowException() {
         User differentRestaurant = createDifferentRestaurant();
 
-        Mockito.when(orderService.getById(orderId)).thenReturn(Optional.of(testOrder));
+        Mockito.when(orderService.getWithItemsById(orderId)).thenReturn(Optional.of(testOrder));
 
         PermissionCheckFailedException exception = Assertions.assertThrows(PermissionCheckFailedException.class,
                 () -> restaurantOrderService.getOrder(orderId, differentRestaurant));
 
         Assertions.assertEquals("Заказ с id '1' не принадлежит вашему ресторану", exception.getMessage());
-        Mockito.verify(orderService).getById(orderId);
+        Mockito.verify(orderService).getWithItemsById(orderId);
     }
 
     /**
@@ -259,6 +269,62 @@ class RestaurantOrderServiceTest {
         Mockito.verify(orderService, Mockito.never()).save(Mockito.any());
     }
 
+    /**
+     * Тестирование массовой пометки заказов как в приготовлении: причины отказа определяются
+     * по состоянию заказов, полученному тем же запросом
+     */
+    @Test
+    void prepareOrders_WithMixedOrders_ShouldReportTransitionedAndFailed() {
+        Long restaurantId = testRestaurant.getId();
+        Mockito.when(orderService.transitionStatus(Mockito.eq(restaurantId), Mockito.anyCollection(),
+                        Mockito.eq(OrderStatus.CREATED), Mockito.eq(OrderStatus.ACCEPTED)))
+                .thenReturn(List.of(
+                        new OrderJdbcRepository.StatusTransition(1L, OrderStatus.CREATED, restaurantId, 2L, null,
+                                BigDecimal.TEN, Instant.now(), Instant.now(), Instant.now(), true),
+                        new OrderJdbcRepository.StatusTransition(2L, OrderStatus.ACCEPTED, restaurantId, 2L, null,
+                                BigDecimal.TEN, Instant.now(), Instant.now(), Instant.now(), false),
+                        new OrderJdbcRepository.StatusTransition(3L, OrderStatus.CREATED, 99L, 2L, null,
+                                BigDecimal.TEN, Instant.now(), Instant.now(), Instant.now(), false)
+                ));
+
+        RestaurantOrderService.BulkTransitionResult result = restaurantOrderService
+                .prepareOrders(List.of(1L, 2L, 3L, 4L, 1L), testRestaurant);
+
+        Assertions.assertEquals(List.of(1L), result.transitioned());
+        Assertions.assertEquals(List.of(
+                new RestaurantOrderService.TransitionFailure(2L, "Заказ с id '2' уже готовится"),
+                new RestaurantOrderService.TransitionFailure(3L, "Заказ с id '3' не принадлежит вашему ресторану"),
+                new RestaurantOrderService.TransitionFailure(4L, "Заказ с id '4' не найден")
+        ), result.failed());
+        Mockito.verify(orderService).transitionStatus(restaurantId, Set.of(1L, 2L, 3L, 4L),
+                OrderStatus.CREATED, OrderStatus.ACCEPTED);
+        Mockito.verify(orderService, Mockito.never()).getById(Mockito.any());
+    }
+
+    /**
+     * Тестирование массовой пометки заказов как готовых: заказ, который еще не начал готовиться, не переводится
+     */
+    @Test
+    void readyOrders_WithCreatedOrder_ShouldReportFailure() {
+        Long restaurantId = testRestaurant.getId();
+        Mockito.when(orderService.transitionStatus(Mockito.eq(restaurantId), Mockito.anyCollection(),
+                        Mockito.eq(OrderStatus.ACCEPTED), Mockito.eq(OrderStatus.PREPARED)))
+                .thenReturn(List.of(
+                        new OrderJdbcRepository.StatusTransition(1L, OrderStatus.ACCEPTED, restaurantId, 2L, null,
+                                BigDecimal.TEN, Instant.now(), Instant.now(), Instant.now(), true),
+                        new OrderJdbcRepository.StatusTransition(2L, OrderStatus.CREATED, restaurantId, 2L, null,
+                                BigDecimal.TEN, Instant.now(), Instant.now(), Instant.now(), false)
+                ));
+
+        RestaurantOrderService.BulkTransitionResult result = restaurantOrderService
+                .readyOrders(List.of(1L, 2L), testRestaurant);
+
+        Assertions.assertEquals(List.of(1L), result.transitioned());
+        Assertions.assertEquals(List.of(
+                new RestaurantOrderService.TransitionFailure(2L, "Заказ с id '2' еще не начал готовиться")
+        ), result.failed());
+    }
+
     // Вспомогательные методы для создания тестовых данных
 
     /**
@@ -0,0 +1,47 @@
+package naumen.project.service.order;
+
+import naumen.project.entity.enums.OrderStatus;
+import naumen.project.repository.OrderJdbcRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Модульные тесты для {@link ScheduledOrderService}
+ */
+@ExtendWith(MockitoExtension.class)
+class ScheduledOrderServiceTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @InjectMocks
+    private ScheduledOrderService scheduledOrderService;
+
+    /**
+     * Тестирование передачи запланированных заказов: событие публикуется только по переданным заказам
+     */
+    @Test
+    void releaseOrdersShouldPublishEventsForReleasedOrders() {
+        Instant now = Instant.now();
+        OrderJdbcRepository.StatusTransition released = new OrderJdbcRepository.StatusTransition(1L,
+                OrderStatus.SCHEDULED, 3L, 2L, null, BigDecimal.TEN, now.minus(Duration.ofDays(1)),
+                now.minus(Duration.ofDays(1)), now, true);
+        Mockito.when(orderService.releaseScheduled(List.of(1L, 2L))).thenReturn(List.of(released));
+
+        int count = scheduledOrderService.releaseOrders(List.of(1L, 2L));
+
+        Assertions.assertEquals(1, count);
+        Mockito.verify(orderService).publishStatusChanged(released, OrderStatus.CREATED);
+        Mockito.verifyNoMoreInteractions(orderService);
+    }
+}
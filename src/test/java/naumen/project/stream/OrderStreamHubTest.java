@@ -0,0 +1,107 @@
+package naumen.project.stream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import naumen.project.config.props.OrderStreamProps;
+import naumen.project.entity.enums.OrderStatus;
+import naumen.project.event.OrderStatusChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Модульные тесты для {@link OrderStreamHub}
+ */
+class OrderStreamHubTest {
+
+    private static final Long CLIENT_ID = 10L;
+    private static final Long RESTAURANT_ID = 20L;
+    private static final Long COURIER_ID = 30L;
+    private static final Long OTHER_COURIER_ID = 31L;
+
+    private final OrderStreamHub orderStreamHub = new OrderStreamHub(new OrderStreamProps(), new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        orderStreamHub.close();
+    }
+
+    /**
+     * Тестирование рассылки события о новом заказе клиенту, ресторану и всем курьерам
+     */
+    @Test
+    void recipientsForAvailableOrderShouldIncludeAllCouriers() {
+        subscribeAll();
+        orderStreamHub.subscribe(OrderStreamHub.Channel.CLIENT, 11L);
+
+        List<Long> recipients = recipientIds(event(null, null, OrderStatus.CREATED));
+
+        Assertions.assertEquals(List.of(CLIENT_ID, RESTAURANT_ID, COURIER_ID, OTHER_COURIER_ID),
+                recipients.stream().sorted().toList());
+    }
+
+    /**
+     * Тестирование рассылки события о заказе в доставке только назначенному курьеру
+     */
+    @Test
+    void recipientsForAssignedOrderShouldIncludeOnlyItsCourier() {
+        subscribeAll();
+
+        List<Long> recipients = recipientIds(event(COURIER_ID, OrderStatus.PREPARED, OrderStatus.DELIVERING));
+
+        Assertions.assertEquals(List.of(CLIENT_ID, RESTAURANT_ID, COURIER_ID), recipients.stream().sorted().toList());
+    }
+
+    /**
+     * Тестирование рассылки события о приеме заказа курьером всем курьерам
+     */
+    @Test
+    void recipientsForAcceptedByCourierOrderShouldIncludeAllCouriers() {
+        subscribeAll();
+
+        List<Long> recipients = recipientIds(event(COURIER_ID, OrderStatus.ACCEPTED, OrderStatus.ACCEPTED));
+
+        Assertions.assertTrue(recipients.contains(OTHER_COURIER_ID));
+    }
+
+    /**
+     * Тестирование учета подписчиков
+     */
+    @Test
+    void subscribeShouldRegisterSubscribers() {
+        subscribeAll();
+        orderStreamHub.subscribe(OrderStreamHub.Channel.CLIENT, CLIENT_ID);
+
+        Assertions.assertEquals(5, orderStreamHub.getSubscriberCount());
+    }
+
+    // Вспомогательные методы для создания тестовых данных
+
+    /**
+     * Подписка клиента, ресторана и двух курьеров
+     */
+    private void subscribeAll() {
+        orderStreamHub.subscribe(OrderStreamHub.Channel.CLIENT, CLIENT_ID);
+        orderStreamHub.subscribe(OrderStreamHub.Channel.RESTAURANT, RESTAURANT_ID);
+        orderStreamHub.subscribe(OrderStreamHub.Channel.COURIER, COURIER_ID);
+        orderStreamHub.subscribe(OrderStreamHub.Channel.COURIER, OTHER_COURIER_ID);
+    }
+
+    /**
+     * Создание события изменения статуса заказа
+     */
+    private OrderStatusChangedEvent event(Long courierId, OrderStatus previousStatus, OrderStatus status) {
+        return new OrderStatusChangedEvent(1L, RESTAURANT_ID, CLIENT_ID, courierId, previousStatus, status, null, null,
+                BigDecimal.TEN, Instant.now());
+    }
+
+    /**
+     * Идентификаторы пользователей, которым будет отправлено событие
+     */
+    private List<Long> recipientIds(OrderStatusChangedEvent event) {
+        return orderStreamHub.recipients(event).stream().map(OrderStreamSubscriber::getUserId).toList();
+    }
+}
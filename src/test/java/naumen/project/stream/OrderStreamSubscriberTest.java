@@ -0,0 +1,119 @@
+package naumen.project.stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Модульные тесты для {@link OrderStreamSubscriber}
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderStreamSubscriberTest {
+
+    @Mock
+    private SseEmitter emitter;
+
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final AtomicInteger overflows = new AtomicInteger();
+
+    /**
+     * Тестирование отправки событий по порядку одной задачей отправки
+     */
+    @Test
+    void offerShouldSendEventsInOrder() throws IOException {
+        OrderStreamSubscriber subscriber = createSubscriber(4);
+
+        subscriber.offer(event("first"));
+        subscriber.offer(event("second"));
+        Assertions.assertEquals(1, tasks.size(), "Для подписчика запускается одна задача отправки");
+        runTasks();
+
+        Assertions.assertEquals(List.of("event:order-status\ndata:first\n\n", "event:order-status\ndata:second\n\n"),
+                sentEvents(2));
+        Assertions.assertEquals(0, overflows.get());
+    }
+
+    /**
+     * Тестирование переполнения буфера: накопленные события отбрасываются и отправляется resync
+     */
+    @Test
+    void offerWhenBufferFullShouldDropEventsAndSendResync() throws IOException {
+        OrderStreamSubscriber subscriber = createSubscriber(2);
+
+        subscriber.offer(event("first"));
+        subscriber.offer(event("second"));
+        subscriber.offer(event("third"));
+        runTasks();
+
+        Assertions.assertEquals(List.of("event:resync\ndata:\n\n"), sentEvents(1));
+        Assertions.assertEquals(1, overflows.get());
+    }
+
+    /**
+     * Тестирование закрытия подписчика при ошибке отправки
+     */
+    @Test
+    void drainWhenSendFailsShouldCloseSubscriber() throws IOException {
+        OrderStreamSubscriber subscriber = createSubscriber(4);
+        IOException error = new IOException("Broken pipe");
+        Mockito.doThrow(error).when(emitter).send(Mockito.any(SseEmitter.SseEventBuilder.class));
+
+        subscriber.offer(event("first"));
+        runTasks();
+        subscriber.offer(event("second"));
+        subscriber.heartbeat();
+
+        Assertions.assertTrue(tasks.isEmpty(), "Закрытому подписчику события не отправляются");
+        Mockito.verify(emitter).send(Mockito.any(SseEmitter.SseEventBuilder.class));
+        Mockito.verify(emitter).completeWithError(error);
+    }
+
+    // Вспомогательные методы для создания тестовых данных
+
+    /**
+     * Создание подписчика, задачи отправки которого запускаются вручную
+     */
+    private OrderStreamSubscriber createSubscriber(int bufferSize) {
+        return new OrderStreamSubscriber(1L, emitter, bufferSize, tasks::add, overflows::incrementAndGet);
+    }
+
+    /**
+     * Выполнение накопленных задач отправки
+     */
+    private void runTasks() {
+        while (!tasks.isEmpty()) {
+            tasks.removeFirst().run();
+        }
+    }
+
+    /**
+     * Создание события изменения статуса заказа
+     */
+    private OrderStreamSubscriber.StreamEvent event(String data) {
+        return new OrderStreamSubscriber.StreamEvent(OrderStreamSubscriber.StreamEvent.STATUS, data);
+    }
+
+    /**
+     * Отправленные события в текстовом виде
+     */
+    private List<String> sentEvents(int count) throws IOException {
+        ArgumentCaptor<SseEmitter.SseEventBuilder> captor = ArgumentCaptor.forClass(SseEmitter.SseEventBuilder.class);
+        Mockito.verify(emitter, Mockito.times(count)).send(captor.capture());
+        return captor.getAllValues().stream()
+                .map(builder -> builder.build().stream()
+                        .map(part -> part.getData().toString())
+                        .collect(Collectors.joining()))
+                .toList();
+    }
+}